@@ -1,14 +1,114 @@
 package com.Java.demo.config;
 
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
 
 @Configuration
+@EnableConfigurationProperties({DataGeneratorProperties.class, OutboundHttpProperties.class, StubGatewayProperties.class})
 public class AppConfig {
     
+    /**
+     * Outbound transport: a pooled HTTP/1.1 keep-alive client by default, or the JDK
+     * HttpClient negotiating HTTP/2 when app.http.client.http2=true. Both bound every call
+     * by the configured connect and read timeouts. The pooled client caps connections per
+     * host and publishes its pool through {@link HttpClientPoolMetrics}.
+     */
+    @Bean
+    public ClientHttpRequestFactory outboundRequestFactory(OutboundHttpProperties properties, Environment environment,
+                                                           MeterRegistry meterRegistry) {
+        return createRequestFactory(properties, Threading.VIRTUAL.isActive(environment), meterRegistry);
+    }
+    
+    public static ClientHttpRequestFactory createRequestFactory(OutboundHttpProperties properties,
+                                                                boolean virtualThreads, MeterRegistry meterRegistry) {
+        if (properties.isHttp2()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+            // Reuse body-writer threads instead of starting one per request; in virtual-thread mode they are cheap anyway
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient, virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-body-writer-", 0).factory())
+                : Executors.newCachedThreadPool(Thread.ofPlatform().daemon().name("http-body-writer-", 0).factory()));
+            requestFactory.setReadTimeout(properties.getReadTimeout());
+            return requestFactory;
+        }
+        
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .useSystemProperties()
+            .setMaxConnPerRoute(properties.getMaxConnectionsPerHost())
+            .setMaxConnTotal(Math.max(properties.getMaxConnectionsTotal(), properties.getMaxConnectionsPerHost()))
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build())
+            .build();
+        
+        return new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .addRequestInterceptorFirst(new HttpClientPoolMetrics(connectionManager, meterRegistry))
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(properties.getAcquireTimeout()))
+                .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                .build())
+            .evictIdleConnections(TimeValue.of(properties.getIdleTimeout()))
+            .build());
+    }
+    
+    /**
+     * Registered with Spring Boot's ObjectMapper: property access through generated lambdas
+     * instead of reflection, for every request and response body.
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+    
+    /**
+     * Async timeout of the streamed downloads (GET /api/exports/payments and
+     * /api/reports/payments/export). Without one the container's default applies, which for
+     * Tomcat aborts any download still running after 30s.
+     */
+    @Bean
+    public WebMvcConfigurer streamingRequestTimeout(@Value("${app.export.request-timeout:1h}") Duration timeout) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setDefaultTimeout(timeout.toMillis());
+            }
+        };
+    }
+    
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder, ClientHttpRequestFactory outboundRequestFactory) {
+        return builder
+            .requestFactory(() -> outboundRequestFactory)
+            .build();
     }
 }
@@ -0,0 +1,109 @@
+package com.Java.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the synthetic dataset generator (app.data.generator.*).
+ * Total employees = departments * employeesPerDepartment * scaleFactor,
+ * total payments = total employees * paymentsPerEmployee.
+ */
+@ConfigurationProperties(prefix = "app.data.generator")
+public class DataGeneratorProperties {
+    
+    private double scaleFactor = 1.0;
+    private int departments = 10;
+    private int employeesPerDepartment = 100;
+    private int paymentsPerEmployee = 24;
+    private int spanDays = 730;
+    private long seed = 42L;
+    private int batchSize = 1000;
+    private int chunkSize = 500;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    
+    // Getters and Setters
+    public double getScaleFactor() {
+        return scaleFactor;
+    }
+    
+    public void setScaleFactor(double scaleFactor) {
+        this.scaleFactor = scaleFactor;
+    }
+    
+    public int getDepartments() {
+        return departments;
+    }
+    
+    public void setDepartments(int departments) {
+        this.departments = departments;
+    }
+    
+    public int getEmployeesPerDepartment() {
+        return employeesPerDepartment;
+    }
+    
+    public void setEmployeesPerDepartment(int employeesPerDepartment) {
+        this.employeesPerDepartment = employeesPerDepartment;
+    }
+    
+    public int getPaymentsPerEmployee() {
+        return paymentsPerEmployee;
+    }
+    
+    public void setPaymentsPerEmployee(int paymentsPerEmployee) {
+        this.paymentsPerEmployee = paymentsPerEmployee;
+    }
+    
+    public int getSpanDays() {
+        return spanDays;
+    }
+    
+    public void setSpanDays(int spanDays) {
+        this.spanDays = spanDays;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+    public int getChunkSize() {
+        return chunkSize;
+    }
+    
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+    
+    public int getThreads() {
+        return threads;
+    }
+    
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+    
+    public DataGeneratorProperties copy() {
+        DataGeneratorProperties copy = new DataGeneratorProperties();
+        copy.setScaleFactor(scaleFactor);
+        copy.setDepartments(departments);
+        copy.setEmployeesPerDepartment(employeesPerDepartment);
+        copy.setPaymentsPerEmployee(paymentsPerEmployee);
+        copy.setSpanDays(spanDays);
+        copy.setSeed(seed);
+        copy.setBatchSize(batchSize);
+        copy.setChunkSize(chunkSize);
+        copy.setThreads(threads);
+        return copy;
+    }
+}
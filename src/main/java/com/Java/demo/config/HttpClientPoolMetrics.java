@@ -0,0 +1,84 @@
+package com.Java.demo.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.RouteInfo;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpRequestInterceptor;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.pool.PoolStats;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Publishes the state of the outbound connection pool from HttpClient's own accounting, so a
+ * connection counts as leased until its response body has been read and it is released:
+ * http.client.pool.leased, .pending (callers waiting for a connection), .available (idle) and
+ * .max per host, plus the same gauges as http.client.pool.total.* across all hosts.
+ *
+ * Added to the client as a request interceptor, which registers the gauges of a host the
+ * first time a request is routed to it.
+ */
+public class HttpClientPoolMetrics implements HttpRequestInterceptor {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> hosts = ConcurrentHashMap.newKeySet();
+
+    public HttpClientPoolMetrics(PoolingHttpClientConnectionManager connectionManager, MeterRegistry meterRegistry) {
+        this.connectionManager = connectionManager;
+        this.meterRegistry = meterRegistry;
+        register("http.client.pool.total.leased", "Connections in use", null, PoolStats::getLeased);
+        register("http.client.pool.total.pending", "Callers waiting for a connection", null, PoolStats::getPending);
+        register("http.client.pool.total.available", "Idle connections kept alive", null, PoolStats::getAvailable);
+        Gauge.builder("http.client.pool.total.max", connectionManager, manager -> manager.getMaxTotal())
+            .description("Connections allowed across all hosts").register(meterRegistry);
+    }
+
+    @Override
+    public void process(HttpRequest request, EntityDetails entity, HttpContext context) {
+        RouteInfo route = HttpClientContext.castOrCreate(context).getHttpRoute();
+        if (route == null) {
+            return;
+        }
+        String host = hostKey(route.getTargetHost());
+        if (hosts.add(host)) {
+            register("http.client.pool.leased", "Connections in use", host, PoolStats::getLeased);
+            register("http.client.pool.pending", "Callers waiting for a connection", host, PoolStats::getPending);
+            register("http.client.pool.available", "Idle connections kept alive", host, PoolStats::getAvailable);
+            register("http.client.pool.max", "Connections allowed", host, PoolStats::getMax);
+        }
+    }
+
+    /** Sums the stats of the host's routes (plain, TLS, via proxy), or of the whole pool if host is null. */
+    private void register(String name, String description, String host, ToIntFunction<PoolStats> value) {
+        Gauge.Builder<PoolingHttpClientConnectionManager> builder = Gauge.builder(name, connectionManager, manager -> {
+            if (host == null) {
+                return value.applyAsInt(manager.getTotalStats());
+            }
+            int sum = 0;
+            for (HttpRoute route : manager.getRoutes()) {
+                if (host.equals(hostKey(route.getTargetHost()))) {
+                    sum += value.applyAsInt(manager.getStats(route));
+                }
+            }
+            return sum;
+        }).description(description);
+        if (host != null) {
+            builder.tag("host", host);
+        }
+        builder.register(meterRegistry);
+    }
+
+    private static String hostKey(HttpHost target) {
+        int port = target.getPort() != -1 ? target.getPort() : "https".equalsIgnoreCase(target.getSchemeName()) ? 443 : 80;
+        return target.getHostName() + ":" + port;
+    }
+}
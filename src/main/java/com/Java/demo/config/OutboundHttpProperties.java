@@ -0,0 +1,97 @@
+package com.Java.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the outbound HTTP client behind the RestTemplate (app.http.client.*).
+ * Every call is bounded by connectTimeout + acquireTimeout + readTimeout.
+ */
+@ConfigurationProperties(prefix = "app.http.client")
+public class OutboundHttpProperties {
+    
+    /** Time allowed to establish a TCP/TLS connection. */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    
+    /** Time allowed for the response to arrive once the request is sent. */
+    private Duration readTimeout = Duration.ofSeconds(10);
+    
+    /**
+     * Use the JDK HttpClient and negotiate HTTP/2 via ALPN instead of the pooled
+     * HTTP/1.1 keep-alive client. Pays off with many concurrent calls to one distant host.
+     */
+    private boolean http2 = false;
+    
+    /**
+     * Pooled connections allowed per host; further callers wait for one to be released. Applies
+     * to the HTTP/1.1 client, since HTTP/2 multiplexes requests over one connection per host.
+     */
+    private int maxConnectionsPerHost = 50;
+    
+    /** Pooled connections across all hosts. */
+    private int maxConnectionsTotal = 200;
+    
+    /** Idle pooled connections are closed after this long. */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    
+    /** How long a caller waits for a pooled connection before failing. */
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+    
+    // Getters and Setters
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+    
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+    
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+    
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+    
+    public boolean isHttp2() {
+        return http2;
+    }
+    
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+    
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+    
+    public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+    
+    public int getMaxConnectionsTotal() {
+        return maxConnectionsTotal;
+    }
+    
+    public void setMaxConnectionsTotal(int maxConnectionsTotal) {
+        this.maxConnectionsTotal = maxConnectionsTotal;
+    }
+    
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+    
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+    
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+    
+    public void setAcquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+}
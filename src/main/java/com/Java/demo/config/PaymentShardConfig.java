@@ -0,0 +1,125 @@
+package com.Java.demo.config;
+
+import com.Java.demo.repository.PaymentRepository;
+import com.Java.demo.repository.PaymentRepositoryCustom;
+import com.Java.demo.repository.PaymentShards;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sharded PAYMENTS, active once app.sharding.payments.urls names a shard. PaymentRepository
+ * then writes payments to the shard of their employee and reads them by ID from there, and
+ * ShardedPaymentReportService answers the payment analysis report by scatter-gather.
+ *
+ * The features that read PAYMENTS (or state derived from it) on the application database
+ * cannot see sharded payments. Their endpoints (reports, exports, the analytics snapshot,
+ * payroll rollups and the materialized aggregates) are only registered when {@link #UNSHARDED},
+ * and startup fails if one of their background jobs is switched on. The PaymentRepository
+ * methods that would read the stale local table throw {@link IllegalStateException}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding.payments", name = "urls")
+@EnableConfigurationProperties(PaymentShardProperties.class)
+public class PaymentShardConfig {
+    
+    /** Condition of the beans that read PAYMENTS on the application database, for @ConditionalOnExpression. */
+    public static final String UNSHARDED = "'${app.sharding.payments.urls:}'.isEmpty()";
+    
+    @Bean
+    public PaymentShards paymentShards(PaymentShardProperties properties, DataSourceProperties dataSourceProperties,
+                                       MeterRegistry meterRegistry, Environment environment) {
+        checkNoLocalPaymentJobs(environment);
+        List<DataSource> shards = new ArrayList<>();
+        List<String> urls = properties.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("payment-shard-" + i);
+            config.setJdbcUrl(urls.get(i));
+            config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            config.setUsername(StringUtils.hasText(properties.getUsername())
+                ? properties.getUsername() : dataSourceProperties.determineUsername());
+            config.setPassword(StringUtils.hasText(properties.getPassword())
+                ? properties.getPassword() : dataSourceProperties.determinePassword());
+            config.setMaximumPoolSize(properties.getMaximumPoolSize());
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(new HikariDataSource(config));
+        }
+        PaymentShards paymentShards = new PaymentShards(shards);
+        if (properties.isMigrate()) {
+            paymentShards.migrate();
+        }
+        return paymentShards;
+    }
+    
+    /**
+     * Lets only the shard-aware methods of {@link PaymentRepositoryCustom} through; the report
+     * queries and the inherited finders (findAll, getReferenceById, ...) would read the local
+     * PAYMENTS table, and saveAndFlush would write to it.
+     */
+    @Bean
+    public static BeanPostProcessor localPaymentReadGuard() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean
+                        && PaymentRepository.class.equals(factoryBean.getObjectType())) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                        (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0, rejectLocalReads())));
+                }
+                return bean;
+            }
+        };
+    }
+    
+    private static MethodInterceptor rejectLocalReads() {
+        return invocation -> {
+            Method method = invocation.getMethod();
+            if (method.getDeclaringClass() == Object.class || isShardAware(method)) {
+                return invocation.proceed();
+            }
+            throw new IllegalStateException("PaymentRepository." + method.getName() + " reads PAYMENTS on the"
+                + " application database, which does not hold the payments while they are sharded");
+        };
+    }
+    
+    private static boolean isShardAware(Method method) {
+        return Arrays.stream(PaymentRepositoryCustom.class.getMethods()).anyMatch(custom ->
+            custom.getName().equals(method.getName()) && custom.getParameterCount() == method.getParameterCount());
+    }
+    
+    /** Fails startup if a background job would read or write PAYMENTS on the application database. */
+    static void checkNoLocalPaymentJobs(Environment environment) {
+        List<String> conflicts = new ArrayList<>();
+        if (environment.getProperty("app.rollup.enabled", Boolean.class, true)) {
+            conflicts.add("app.rollup.enabled=true (monthly rollup compaction)");
+        }
+        if (environment.getProperty("app.export.nightly.enabled", Boolean.class, false)) {
+            conflicts.add("app.export.nightly.enabled=true (nightly payment snapshot)");
+        }
+        if ("synthetic".equalsIgnoreCase(environment.getProperty("app.data.mode", "sample"))) {
+            conflicts.add("app.data.mode=synthetic (synthetic data generator)");
+        }
+        if (!conflicts.isEmpty()) {
+            throw new IllegalStateException("PAYMENTS is sharded (app.sharding.payments.urls), but these read or write"
+                + " PAYMENTS on the application database: " + String.join(", ", conflicts));
+        }
+    }
+}
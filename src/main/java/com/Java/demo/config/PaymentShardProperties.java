@@ -0,0 +1,70 @@
+package com.Java.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Payment shards (app.sharding.payments.*); see {@link PaymentShardConfig}. Credentials and
+ * driver default to the application database's spring.datasource.* settings.
+ */
+@ConfigurationProperties(prefix = "app.sharding.payments")
+public class PaymentShardProperties {
+    
+    /** JDBC URLs of the shards, in shard order; PAYMENTS is only sharded when at least one is given. */
+    private List<String> urls = new ArrayList<>();
+    
+    /** Shard user; blank uses spring.datasource.username. */
+    private String username;
+    
+    /** Shard password; blank uses spring.datasource.password. */
+    private String password;
+    
+    /** Hikari pool size per shard. */
+    private int maximumPoolSize = 10;
+    
+    /** Apply the db/shard migrations to every shard on startup. */
+    private boolean migrate = true;
+    
+    // Getters and Setters
+    public List<String> getUrls() {
+        return urls;
+    }
+    
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public String getPassword() {
+        return password;
+    }
+    
+    public void setPassword(String password) {
+        this.password = password;
+    }
+    
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+    
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+    
+    public boolean isMigrate() {
+        return migrate;
+    }
+    
+    public void setMigrate(boolean migrate) {
+        this.migrate = migrate;
+    }
+}
@@ -0,0 +1,117 @@
+package com.Java.demo.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read/write routing, active once app.datasource.replicas.urls names a replica. The application
+ * DataSource hands out lazy connections: a transaction marked {@code @Transactional(readOnly = true)}
+ * (Spring Data's inherited finders included) reads from {@link ReplicaDataSource}, everything else
+ * runs on the primary pool configured by spring.datasource.*. Code that must read its own writes
+ * therefore runs in a read-write transaction.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "urls")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+    
+    /** The pool Boot would otherwise create, still bound to spring.datasource.hikari.*. */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    @Bean
+    public ReplicaDataSource replicaDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               DataSourceProperties dataSourceProperties,
+                                               ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<String> urls = properties.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(withPrimaryParameters(urls.get(i), dataSourceProperties.determineUrl()));
+            config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            config.setUsername(StringUtils.hasText(properties.getUsername())
+                ? properties.getUsername() : dataSourceProperties.determineUsername());
+            config.setPassword(StringUtils.hasText(properties.getPassword())
+                ? properties.getPassword() : dataSourceProperties.determinePassword());
+            config.setMaximumPoolSize(properties.getMaximumPoolSize());
+            config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+            config.setReadOnly(true);
+            // A replica that is down at startup only stays out of the rotation
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+        return new ReplicaDataSource(primaryDataSource, replicas, properties.getMaxLag(),
+            properties.getCheckInterval(), meterRegistry);
+    }
+    
+    /**
+     * The replica URL plus every connection parameter of the primary URL that it does not set
+     * itself: read-only transactions then run with the primary's serverTimezone, and with its
+     * useCursorFetch, which keeps exports and snapshot loads streaming instead of buffering the
+     * whole result. Handles MySQL ({@code ?a=b&c=d}) and H2 ({@code ;A=B}) parameters.
+     */
+    static String withPrimaryParameters(String replicaUrl, String primaryUrl) {
+        boolean query = primaryUrl.indexOf('?') >= 0;
+        char start = query ? '?' : ';';
+        String separator = query ? "&" : ";";
+        if (primaryUrl.indexOf(start) < 0) {
+            return replicaUrl;
+        }
+        Set<String> names = new HashSet<>();
+        if (replicaUrl.indexOf(start) >= 0) {
+            for (String parameter : replicaUrl.substring(replicaUrl.indexOf(start) + 1).split(separator)) {
+                names.add(parameterName(parameter));
+            }
+        }
+        StringBuilder url = new StringBuilder(replicaUrl);
+        for (String parameter : primaryUrl.substring(primaryUrl.indexOf(start) + 1).split(separator)) {
+            if (!parameter.isEmpty() && names.add(parameterName(parameter))) {
+                url.append(url.indexOf(String.valueOf(start)) < 0 ? String.valueOf(start) : separator).append(parameter);
+            }
+        }
+        return url.toString();
+    }
+    
+    private static String parameterName(String parameter) {
+        int equals = parameter.indexOf('=');
+        return (equals < 0 ? parameter : parameter.substring(0, equals)).toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Connections are fetched on first statement, once the transaction's read-only flag is known
+     * (Hibernate acquires them lazily under Spring's JPA vendor adapter).
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,93 @@
+package com.Java.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions (app.datasource.replicas.*); see {@link ReadReplicaConfig}.
+ * Credentials and driver default to the primary's spring.datasource.* settings.
+ */
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReadReplicaProperties {
+    
+    /** JDBC URLs of the replicas; routing is only set up when at least one is given. */
+    private List<String> urls = new ArrayList<>();
+    
+    /** Replica user; blank uses spring.datasource.username. */
+    private String username;
+    
+    /** Replica password; blank uses spring.datasource.password. */
+    private String password;
+    
+    /** Replicas whose heartbeat is older than this leave the rotation. */
+    private Duration maxLag = Duration.ofSeconds(5);
+    
+    /** Interval of the health and lag checks (and of the heartbeat written to the primary). */
+    private Duration checkInterval = Duration.ofSeconds(1);
+    
+    /** Hikari pool size per replica. */
+    private int maximumPoolSize = 10;
+    
+    /** How long a read waits for a replica connection before failing over. */
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+    
+    // Getters and Setters
+    public List<String> getUrls() {
+        return urls;
+    }
+    
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public String getPassword() {
+        return password;
+    }
+    
+    public void setPassword(String password) {
+        this.password = password;
+    }
+    
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+    
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+    
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+    
+    public void setCheckInterval(Duration checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+    
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+    
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+    
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+    
+    public void setConnectionTimeout(Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+}
@@ -0,0 +1,223 @@
+package com.Java.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read-only side of the routing DataSource (see {@link ReadReplicaConfig}): hands out connections
+ * of the replica pools round-robin. A replica leaves the rotation when a connection attempt or a
+ * health check fails, or when it lags the primary by more than app.datasource.replicas.max-lag,
+ * and rejoins at the next check that passes. With no replica in rotation, reads go to the primary.
+ *
+ * Lag is measured with a heartbeat: every check reads the replicated REPLICA_HEARTBEAT stamp from
+ * each replica, then stamps the current time on the primary. A replica in sync therefore reports
+ * about one check interval of lag.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements SmartLifecycle, AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSource.class);
+    
+    public static final String HEARTBEAT_TABLE = "REPLICA_HEARTBEAT";
+    
+    /** State of one replica as of its last check or connection attempt. */
+    public record ReplicaStatus(String name, boolean available, long lagMillis, String lastError) {}
+    
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        final Counter connections;
+        volatile boolean available;
+        volatile long lagMillis = -1;
+        volatile String lastError = "not checked yet";
+    
+        Replica(String name, DataSource dataSource, Counter connections) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.connections = connections;
+        }
+    }
+    
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    /** The available replicas, rebuilt whenever one joins or leaves. */
+    private volatile List<Replica> rotation = List.of();
+    private final long maxLagMillis;
+    private final Duration checkInterval;
+    private final Counter primaryFallbacks;
+    private final AtomicInteger next = new AtomicInteger();
+    
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("replica-health").daemon().factory());
+    private final ReentrantLock checking = new ReentrantLock();
+    private volatile boolean running;
+    
+    /**
+     * @param replicas the replica pools by name, in rotation order
+     */
+    public ReplicaDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                             Duration checkInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagMillis = maxLag.toMillis();
+        this.checkInterval = checkInterval;
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, connections(meterRegistry, name));
+            this.replicas.add(replica);
+            Gauge.builder("datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                .description("Whether the replica is in the read rotation")
+                .tag("replica", name)
+                .register(meterRegistry);
+            TimeGauge.builder("datasource.replica.lag", replica, TimeUnit.MILLISECONDS, r -> r.lagMillis)
+                .description("Age of the replica's heartbeat at the last check; -1 if unknown")
+                .tag("replica", name)
+                .register(meterRegistry);
+        });
+        this.primaryFallbacks = connections(meterRegistry, "primary");
+    }
+    
+    private static Counter connections(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.replica.connections")
+            .description("Read-only connections handed out, by replica (primary = no replica available)")
+            .tag("replica", target)
+            .register(meterRegistry);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        List<Replica> candidates = rotation;
+        int size = candidates.size();
+        int first = size == 0 ? 0 : Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = candidates.get((first + i) % size);
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.connections.increment();
+                return connection;
+            } catch (SQLException e) {
+                // Fail over now; the next passing check puts the replica back
+                leaveRotation(replica, e.getMessage());
+            }
+        }
+        primaryFallbacks.increment();
+        return primary.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica credentials come from app.datasource.replicas.*");
+    }
+    
+    /**
+     * Updates the rotation from each replica's heartbeat, then writes a new heartbeat to the primary.
+     */
+    public void checkReplicas() {
+        checking.lock();
+        try {
+            long now = System.currentTimeMillis();
+            for (Replica replica : replicas) {
+                Long beat;
+                try {
+                    beat = new JdbcTemplate(replica.dataSource).queryForObject(
+                        "SELECT BEAT_MILLIS FROM " + HEARTBEAT_TABLE + " WHERE ID = 1", Long.class);
+                } catch (DataAccessException e) {
+                    replica.lagMillis = -1;
+                    leaveRotation(replica, e.getMostSpecificCause().getMessage());
+                    continue;
+                }
+                replica.lagMillis = beat == null ? -1 : Math.max(0, now - beat);
+                if (beat == null || replica.lagMillis > maxLagMillis) {
+                    leaveRotation(replica, "lagging by " + replica.lagMillis + " ms (max " + maxLagMillis + " ms)");
+                } else if (!replica.available) {
+                    replica.available = true;
+                    replica.lastError = null;
+                    logger.info("Read replica {} joined the rotation (lag {} ms)", replica.name, replica.lagMillis);
+                }
+            }
+            updateRotation();
+            new JdbcTemplate(primary).update("UPDATE " + HEARTBEAT_TABLE + " SET BEAT_MILLIS = ? WHERE ID = 1", now);
+        } finally {
+            checking.unlock();
+        }
+    }
+    
+    public List<ReplicaStatus> status() {
+        return replicas.stream()
+            .map(replica -> new ReplicaStatus(replica.name, replica.available, replica.lagMillis, replica.lastError))
+            .toList();
+    }
+    
+    private void leaveRotation(Replica replica, String reason) {
+        boolean wasAvailable = replica.available;
+        replica.available = false;
+        replica.lastError = reason;
+        if (wasAvailable) {
+            logger.warn("Read replica {} left the rotation: {}", replica.name, reason);
+            updateRotation();
+        }
+    }
+    
+    private void updateRotation() {
+        rotation = replicas.stream().filter(replica -> replica.available).toList();
+    }
+    
+    private void checkQuietly() {
+        try {
+            checkReplicas();
+        } catch (Exception e) {
+            logger.error("Read replica check failed", e);
+        }
+    }
+    
+    /** Checks once before the application takes traffic, then every check interval. */
+    @Override
+    public void start() {
+        checkQuietly();
+        scheduler.scheduleWithFixedDelay(this::checkQuietly,
+            checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+    
+    @Override
+    public void stop() {
+        scheduler.shutdownNow();
+        running = false;
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+}
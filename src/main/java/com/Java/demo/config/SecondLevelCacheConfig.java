@@ -0,0 +1,70 @@
+package com.Java.demo.config;
+
+import com.Java.demo.entity.Department;
+import com.Java.demo.entity.Employee;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for the read-mostly reference entities, backed by Caffeine
+ * through JCache. Every region is created here with an explicit size bound and time-to-live;
+ * Hibernate is told to fail on regions not declared below.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    
+    public static final List<String> ENTITY_REGIONS = List.of(Department.class.getName(), Employee.class.getName());
+    
+    @Value("${app.cache.reference.max-entries:10000}")
+    private long referenceMaxEntries;
+    
+    @Value("${app.cache.reference.ttl:30m}")
+    private Duration referenceTtl;
+    
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+            CaffeineCachingProvider.class.getName());
+        // One manager per application context, so contexts in the same JVM never share regions
+        CacheManager cacheManager = provider.getCacheManager(
+            URI.create("urn:demo:second-level-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+        
+        for (String region : ENTITY_REGIONS) {
+            cacheManager.createCache(region, regionConfiguration(referenceMaxEntries, referenceTtl));
+        }
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+    
+    /** Size and TTL bounds; zero means unbounded. Native statistics feed the stats endpoint. */
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setNativeStatisticsEnabled(true);
+        configuration.setMaximumSize(maxEntries > 0 ? OptionalLong.of(maxEntries) : OptionalLong.empty());
+        configuration.setExpireAfterWrite(ttl.isZero() ? OptionalLong.empty() : OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+}
@@ -0,0 +1,91 @@
+package com.Java.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the embedded stand-in of the remote webhook gateway (app.stub-gateway.*).
+ * Activate it with the stub-gateway profile, which also points app.webhook.* at it.
+ */
+@ConfigurationProperties(prefix = "app.stub-gateway")
+public class StubGatewayProperties {
+    
+    /** Start the stub gateway with the application. */
+    private boolean enabled = false;
+    
+    /** Port the stub listens on (loopback only); 0 picks a free port. */
+    private int port = 18080;
+    
+    /** Fixed delay before every response, standing in for the network and the remote service. */
+    private Duration latency = Duration.ofMillis(50);
+    
+    /** Random extra delay, uniformly distributed between zero and this value. */
+    private Duration latencyJitter = Duration.ZERO;
+    
+    /** Fraction of requests (0.0 - 1.0) answered with errorStatus. */
+    private double errorRate = 0.0;
+    
+    /** HTTP status of injected errors. */
+    private int errorStatus = 503;
+    
+    /** Access token returned by generateWebhook; blank issues a fresh token per call. */
+    private String accessToken = "";
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getPort() {
+        return port;
+    }
+    
+    public void setPort(int port) {
+        this.port = port;
+    }
+    
+    public Duration getLatency() {
+        return latency;
+    }
+    
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+    
+    public Duration getLatencyJitter() {
+        return latencyJitter;
+    }
+    
+    public void setLatencyJitter(Duration latencyJitter) {
+        this.latencyJitter = latencyJitter;
+    }
+    
+    public double getErrorRate() {
+        return errorRate;
+    }
+    
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+    
+    public int getErrorStatus() {
+        return errorStatus;
+    }
+    
+    public void setErrorStatus(int errorStatus) {
+        this.errorStatus = errorStatus;
+    }
+    
+    public String getAccessToken() {
+        return accessToken;
+    }
+    
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+}
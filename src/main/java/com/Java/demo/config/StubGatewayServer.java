@@ -0,0 +1,170 @@
+package com.Java.demo.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the remote webhook gateway, so the whole pipeline runs without network
+ * access. Serves the generateWebhook and testWebhook endpoints on the loopback interface with
+ * configurable latency, injected errors and issued tokens (see {@link StubGatewayProperties}).
+ * Each exchange runs on its own virtual thread, so simulated latency costs no platform threads.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.stub-gateway", name = "enabled", havingValue = "true")
+public class StubGatewayServer implements SmartLifecycle {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StubGatewayServer.class);
+    
+    public static final String GENERATE_PATH = "/hiring/generateWebhook/JAVA";
+    public static final String SUBMIT_PATH = "/hiring/testWebhook/JAVA";
+    
+    private final StubGatewayProperties properties;
+    
+    private final AtomicLong generateRequests = new AtomicLong();
+    private final AtomicLong submitRequests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    
+    private HttpServer server;
+    private ExecutorService executor;
+    
+    public StubGatewayServer(StubGatewayProperties properties) {
+        this.properties = properties;
+    }
+    
+    @Override
+    public synchronized void start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), properties.getPort()), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start stub gateway on port " + properties.getPort(), e);
+        }
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stub-gateway-", 0).factory());
+        server.setExecutor(executor);
+        server.createContext(GENERATE_PATH, this::generateWebhook);
+        server.createContext(SUBMIT_PATH, this::submitSolution);
+        server.start();
+        logger.info("Stub webhook gateway listening on {} (latency {}, jitter {}, error rate {})",
+            getBaseUrl(), properties.getLatency(), properties.getLatencyJitter(), properties.getErrorRate());
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+    
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+    
+    public synchronized String getBaseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+    
+    public long getGenerateRequests() {
+        return generateRequests.get();
+    }
+    
+    public long getSubmitRequests() {
+        return submitRequests.get();
+    }
+    
+    public long getInjectedErrors() {
+        return injectedErrors.get();
+    }
+    
+    private void generateWebhook(HttpExchange exchange) throws IOException {
+        generateRequests.incrementAndGet();
+        if (!prepare(exchange)) {
+            return;
+        }
+        
+        String token = properties.getAccessToken() == null || properties.getAccessToken().isBlank()
+            ? "stub-" + UUID.randomUUID()
+            : properties.getAccessToken();
+        respond(exchange, 200, "{\"webhook\":\"" + getBaseUrl() + SUBMIT_PATH + "\",\"accessToken\":\"" + token + "\"}");
+    }
+    
+    private void submitSolution(HttpExchange exchange) throws IOException {
+        submitRequests.incrementAndGet();
+        if (!prepare(exchange)) {
+            return;
+        }
+        
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || authorization.isBlank()) {
+            respond(exchange, 401, "{\"success\":false,\"message\":\"Missing Authorization header\"}");
+            return;
+        }
+        respond(exchange, 200, "{\"success\":true,\"message\":\"Solution received\"}");
+    }
+    
+    /**
+     * Consumes the request, waits out the simulated latency and injects an error when due.
+     * Returns false when the exchange has already been answered.
+     */
+    private boolean prepare(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "{\"success\":false,\"message\":\"POST only\"}");
+            return false;
+        }
+        
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delayNanos = properties.getLatency().toNanos();
+        long jitterNanos = properties.getLatencyJitter().toNanos();
+        if (jitterNanos > 0) {
+            delayNanos += random.nextLong(jitterNanos + 1);
+        }
+        if (delayNanos > 0) {
+            try {
+                Thread.sleep(delayNanos / 1_000_000, (int) (delayNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.close();
+                return false;
+            }
+        }
+        
+        if (properties.getErrorRate() > 0 && random.nextDouble() < properties.getErrorRate()) {
+            injectedErrors.incrementAndGet();
+            respond(exchange, properties.getErrorStatus(), "{\"success\":false,\"message\":\"Injected error\"}");
+            return false;
+        }
+        return true;
+    }
+    
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
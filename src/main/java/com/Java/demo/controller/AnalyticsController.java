@@ -0,0 +1,201 @@
+package com.Java.demo.controller;
+
+import com.Java.demo.config.PaymentShardConfig;
+import com.Java.demo.dto.PaymentReportRow;
+import com.Java.demo.service.PaymentAnalyticsService;
+import com.Java.demo.service.PaymentColumnStore;
+import com.Java.demo.service.PaymentRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reads PAYMENTS on the application database, so only without payment shards; see ShardedAnalyticsController
+@RestController
+@ConditionalOnExpression(PaymentShardConfig.UNSHARDED)
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+    
+    @Autowired
+    private PaymentAnalyticsService paymentAnalyticsService;
+    
+    @Autowired
+    private PaymentRollupService paymentRollupService;
+    
+    /**
+     * GET endpoint to compute the employee payment report in memory
+     * GET /api/analytics/report?groupBy=employee|department&from=...&to=...
+     */
+    @GetMapping("/report")
+    public ResponseEntity<Map<String, Object>> getReport(
+            @RequestParam(defaultValue = "employee") String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        PaymentAnalyticsService.GroupBy grouping;
+        try {
+            grouping = PaymentAnalyticsService.GroupBy.valueOf(groupBy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", "groupBy must be 'employee' or 'department'");
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        
+        try {
+            long started = System.nanoTime();
+            List<PaymentReportRow> rows = paymentAnalyticsService.report(grouping, from, to);
+            PaymentColumnStore snapshot = paymentAnalyticsService.getSnapshot();
+            
+            response.put("success", true);
+            response.put("groupBy", grouping.name().toLowerCase());
+            response.put("rowCount", rows.size());
+            response.put("rows", rows);
+            response.put("snapshotRows", snapshot.rowCount());
+            response.put("snapshotLoadedAt", snapshot.getLoadedAt());
+            response.put("computeMillis", (System.nanoTime() - started) / 1_000_000);
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error computing payment report", e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    /**
+     * POST endpoint to reload the in-memory payment snapshot
+     * POST /api/analytics/refresh
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Object>> refreshSnapshot() {
+        logger.info("Payment snapshot refresh requested");
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            PaymentColumnStore snapshot = paymentAnalyticsService.refresh();
+            
+            response.put("success", true);
+            response.put("snapshotRows", snapshot.rowCount());
+            response.put("employees", snapshot.employeeCount());
+            response.put("snapshotLoadedAt", snapshot.getLoadedAt());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error refreshing payment snapshot", e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    /**
+     * GET endpoint to compute the payment report from the monthly rollups plus raw rows
+     * GET /api/analytics/payroll?groupBy=employee|department&from=...&to=...
+     */
+    @GetMapping("/payroll")
+    public ResponseEntity<Map<String, Object>> getPayroll(
+            @RequestParam(defaultValue = "employee") String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        PaymentAnalyticsService.GroupBy grouping;
+        try {
+            grouping = PaymentAnalyticsService.GroupBy.valueOf(groupBy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", "groupBy must be 'employee' or 'department'");
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        
+        try {
+            long started = System.nanoTime();
+            PaymentRollupService.PayrollReport report = paymentRollupService.report(grouping, from, to);
+            
+            response.put("success", true);
+            response.put("groupBy", grouping.name().toLowerCase());
+            response.put("rowCount", report.rows().size());
+            response.put("rows", report.rows());
+            response.put("compactedMonths", report.compactedMonths());
+            response.put("rollupRowsRead", report.rollupRowsRead());
+            response.put("rawRanges", report.rawRanges());
+            response.put("rawPaymentsRead", report.rawPaymentsRead());
+            response.put("computeMillis", (System.nanoTime() - started) / 1_000_000);
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error computing payroll report", e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    /**
+     * POST endpoint to compact every closed month that has no current rollup
+     * POST /api/analytics/rollups/compact
+     */
+    @PostMapping("/rollups/compact")
+    public ResponseEntity<Map<String, Object>> compactRollups() {
+        logger.info("Payment rollup compaction requested");
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            PaymentRollupService.CompactionResult result = paymentRollupService.compactClosedMonths();
+            
+            response.put("success", true);
+            response.put("monthsCompacted", result.monthsCompacted());
+            response.put("rollupRows", result.rollupRows());
+            response.put("elapsedMillis", result.elapsedMillis());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error compacting payment rollups", e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.Java.demo.controller;
+
+import com.Java.demo.dto.CacheRegionStats;
+import com.Java.demo.service.ReferenceDataCacheService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CacheController.class);
+    
+    @Autowired
+    private ReferenceDataCacheService referenceDataCacheService;
+    
+    /**
+     * GET endpoint to read hit/miss/eviction statistics of the second-level cache
+     * GET /api/cache/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            List<CacheRegionStats> regions = referenceDataCacheService.stats();
+            
+            response.put("success", true);
+            response.put("regions", regions);
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error reading cache statistics", e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    /**
+     * POST endpoint to drop all cached reference entities and query results
+     * POST /api/cache/evict
+     */
+    @PostMapping("/evict")
+    public ResponseEntity<Map<String, Object>> evict() {
+        logger.info("Second-level cache eviction requested");
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            referenceDataCacheService.evictAll();
+            
+            response.put("success", true);
+            response.put("message", "Second-level cache evicted");
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error evicting cache", e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
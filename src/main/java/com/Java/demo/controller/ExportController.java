@@ -0,0 +1,197 @@
+package com.Java.demo.controller;
+
+import com.Java.demo.config.PaymentShardConfig;
+import com.Java.demo.service.PaymentExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reads PAYMENTS on the application database, so only without payment shards
+@RestController
+@ConditionalOnExpression(PaymentShardConfig.UNSHARDED)
+@RequestMapping("/api/exports")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    /** Request attributes of Tomcat's sendfile support (NIO connector, useSendfile=true). */
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private PaymentExportService paymentExportService;
+
+    /**
+     * GET endpoint to stream the payments with PAYMENT_ID in (afterId, untilId] as CSV or the
+     * compressed columnar format; a client resumes after the last PAYMENT_ID it received
+     * GET /api/exports/payments?format=csv|columnar&afterId=0&untilId=...
+     */
+    @GetMapping("/payments")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam(defaultValue = "columnar") String format,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long untilId) {
+
+        // The declared StreamingResponseBody type is what hands the body to the async streaming
+        // support (and its timeout); a bad format is answered by badRequest below
+        PaymentExportService.Format exportFormat;
+        try {
+            exportFormat = PaymentExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("format must be 'csv' or 'columnar'", e);
+        }
+
+        logger.info("Bulk payment export requested: format={}, afterId={}, untilId={}", exportFormat, afterId, untilId);
+
+        // The servlet stream is not a FileChannel; the channel adapter copies each buffer once
+        StreamingResponseBody body = out -> {
+            WritableByteChannel channel = Channels.newChannel(out);
+            paymentExportService.export(exportFormat, afterId, untilId, channel);
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+            .contentType(mediaType(exportFormat))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"payments-" + afterId + "."
+                + exportFormat.extension() + "\"")
+            .body(body);
+    }
+
+    /**
+     * POST endpoint to write (or continue) the snapshot of a day in the background
+     * POST /api/exports/payments/snapshots?date=2025-01-31
+     */
+    @PostMapping("/payments/snapshots")
+    public ResponseEntity<Map<String, Object>> startSnapshot(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        Map<String, Object> response = new HashMap<>();
+        LocalDate snapshotDate = date == null ? LocalDate.now() : date;
+
+        if (!paymentExportService.snapshotAsync(snapshotDate)) {
+            response.put("success", false);
+            response.put("message", "A payment snapshot is already running");
+            response.put("timestamp", java.time.LocalDateTime.now());
+
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+
+        response.put("success", true);
+        response.put("date", snapshotDate);
+        response.put("directory", paymentExportService.snapshotDirectory(snapshotDate).toString());
+        response.put("timestamp", java.time.LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * GET endpoint to list the completed files of a day's snapshot
+     * GET /api/exports/payments/snapshots/2025-01-31
+     */
+    @GetMapping("/payments/snapshots/{date}")
+    public ResponseEntity<Map<String, Object>> getSnapshot(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            List<String> files = paymentExportService.snapshotFiles(date).stream()
+                .map(file -> file.getFileName().toString())
+                .toList();
+
+            response.put("success", true);
+            response.put("date", date);
+            response.put("complete", paymentExportService.snapshotFile(date, PaymentExportService.SUCCESS_FILE) != null);
+            response.put("files", files);
+            response.put("timestamp", java.time.LocalDateTime.now());
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error listing payment snapshot {}", date, e);
+
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * GET endpoint to download one snapshot file; under Tomcat the kernel sends it (sendfile)
+     * GET /api/exports/payments/snapshots/2025-01-31/payments-1-1000000.pcol
+     */
+    @GetMapping("/payments/snapshots/{date}/{file:.+}")
+    public void downloadSnapshotFile(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @PathVariable String file,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        Path path = paymentExportService.snapshotFile(date, file);
+        if (path == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value(), "No such snapshot file");
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path)) {
+            long size = channel.size();
+            response.setContentType(file.endsWith(".csv") ? "text/csv" : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setContentLengthLong(size);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file + "\"");
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // Tomcat writes the file after this method returns, straight from the page cache
+                request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = 0; position < size; ) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> badRequest(IllegalArgumentException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        response.put("timestamp", java.time.LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    private static MediaType mediaType(PaymentExportService.Format format) {
+        return format == PaymentExportService.Format.CSV
+            ? new MediaType("text", "csv")
+            : MediaType.APPLICATION_OCTET_STREAM;
+    }
+}
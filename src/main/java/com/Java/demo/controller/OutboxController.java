@@ -0,0 +1,82 @@
+package com.Java.demo.controller;
+
+import com.Java.demo.service.SolutionOutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/outbox")
+@CrossOrigin(origins = "*")
+public class OutboxController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OutboxController.class);
+    
+    @Autowired
+    private SolutionOutboxService solutionOutboxService;
+    
+    /**
+     * GET endpoint to read queue depth, delivery counts and the latest dead letters
+     * GET /api/outbox?deadLetters=20
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getOutbox(
+            @RequestParam(defaultValue = "20") int deadLetters) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            response.put("success", true);
+            response.put("outbox", solutionOutboxService.stats(deadLetters));
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error reading outbox", e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    /**
+     * POST endpoint to put a dead-lettered submission back in the queue
+     * POST /api/outbox/{id}/retry
+     */
+    @PostMapping("/{id}/retry")
+    public ResponseEntity<Map<String, Object>> retry(@PathVariable Long id) {
+        logger.info("Retry requested for outbox entry {}", id);
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            boolean requeued = solutionOutboxService.requeue(id);
+            
+            response.put("success", requeued);
+            response.put("message", requeued ? "Submission requeued" : "No dead-lettered submission with id " + id);
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return requeued
+                ? ResponseEntity.ok(response)
+                : ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            
+        } catch (Exception e) {
+            logger.error("Error requeueing outbox entry", e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
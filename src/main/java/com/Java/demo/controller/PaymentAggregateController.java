@@ -0,0 +1,124 @@
+package com.Java.demo.controller;
+
+import com.Java.demo.config.PaymentShardConfig;
+import com.Java.demo.dto.AggregateDriftReport;
+import com.Java.demo.repository.DepartmentPaymentAggregateRepository;
+import com.Java.demo.repository.EmployeePaymentAggregateRepository;
+import com.Java.demo.service.PaymentAggregateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// The aggregates are only maintained, and rebuilt from PAYMENTS, without payment shards
+@RestController
+@ConditionalOnExpression(PaymentShardConfig.UNSHARDED)
+@RequestMapping("/api/payments")
+@CrossOrigin(origins = "*")
+public class PaymentAggregateController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PaymentAggregateController.class);
+    
+    @Autowired
+    private PaymentAggregateService paymentAggregateService;
+    
+    @Autowired
+    private EmployeePaymentAggregateRepository employeePaymentAggregateRepository;
+    
+    @Autowired
+    private DepartmentPaymentAggregateRepository departmentPaymentAggregateRepository;
+    
+    /**
+     * GET endpoint to read the materialized payment aggregate of an employee
+     * GET /api/payments/aggregates/employees/{empId}
+     */
+    @GetMapping("/aggregates/employees/{empId}")
+    public ResponseEntity<Map<String, Object>> getEmployeeAggregate(@PathVariable Long empId) {
+        Map<String, Object> response = new HashMap<>();
+        
+        return employeePaymentAggregateRepository.findById(empId)
+            .map(aggregate -> {
+                response.put("success", true);
+                response.put("aggregate", aggregate);
+                response.put("timestamp", java.time.LocalDateTime.now());
+                return ResponseEntity.ok(response);
+            })
+            .orElseGet(() -> {
+                response.put("success", false);
+                response.put("message", "No payments recorded for employee " + empId);
+                response.put("timestamp", java.time.LocalDateTime.now());
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            });
+    }
+    
+    /**
+     * GET endpoint to read the materialized payment aggregate of a department
+     * GET /api/payments/aggregates/departments/{departmentId}
+     */
+    @GetMapping("/aggregates/departments/{departmentId}")
+    public ResponseEntity<Map<String, Object>> getDepartmentAggregate(@PathVariable Long departmentId) {
+        Map<String, Object> response = new HashMap<>();
+        
+        return departmentPaymentAggregateRepository.findById(departmentId)
+            .map(aggregate -> {
+                response.put("success", true);
+                response.put("aggregate", aggregate);
+                response.put("timestamp", java.time.LocalDateTime.now());
+                return ResponseEntity.ok(response);
+            })
+            .orElseGet(() -> {
+                response.put("success", false);
+                response.put("message", "No payments recorded for department " + departmentId);
+                response.put("timestamp", java.time.LocalDateTime.now());
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            });
+    }
+    
+    /**
+     * GET endpoint to compare the aggregates with a from-scratch recomputation
+     * GET /api/payments/aggregates/verify
+     */
+    @GetMapping("/aggregates/verify")
+    public ResponseEntity<Map<String, Object>> verifyAggregates() {
+        return aggregateMaintenance(false);
+    }
+    
+    /**
+     * POST endpoint to rebuild the aggregates from PAYMENTS, reporting any drift found
+     * POST /api/payments/aggregates/rebuild
+     */
+    @PostMapping("/aggregates/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildAggregates() {
+        logger.info("Payment aggregate rebuild requested");
+        return aggregateMaintenance(true);
+    }
+    
+    private ResponseEntity<Map<String, Object>> aggregateMaintenance(boolean rebuild) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            AggregateDriftReport report = rebuild ? paymentAggregateService.rebuild() : paymentAggregateService.verify();
+            
+            response.put("success", true);
+            response.put("report", report);
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error checking payment aggregates", e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
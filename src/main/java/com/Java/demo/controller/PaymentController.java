@@ -0,0 +1,59 @@
+package com.Java.demo.controller;
+
+import com.Java.demo.dto.IngestionResult;
+import com.Java.demo.service.PaymentIngestionService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/payments")
+@CrossOrigin(origins = "*")
+public class PaymentController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PaymentController.class);
+    
+    @Autowired
+    private PaymentIngestionService paymentIngestionService;
+    
+    /**
+     * POST endpoint to ingest payments as newline-delimited JSON
+     * POST /api/payments/stream
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<Map<String, Object>> streamPayments(HttpServletRequest request) {
+        logger.info("Streaming payment ingestion requested");
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            IngestionResult result = paymentIngestionService.ingest(request.getInputStream());
+            
+            response.put("success", true);
+            response.put("accepted", result.getAccepted());
+            response.put("rejected", result.getRejected());
+            response.put("batches", result.getBatches());
+            response.put("elapsedMillis", result.getElapsedMillis());
+            response.put("errors", result.getErrors());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error ingesting payments", e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.Java.demo.controller;
+
+import com.Java.demo.config.PaymentShardConfig;
+import com.Java.demo.dto.PaymentDetailRow;
+import com.Java.demo.repository.PaymentRepository;
+import com.Java.demo.service.PaymentReportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Limit;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reads PAYMENTS on the application database, so only without payment shards
+@RestController
+@ConditionalOnExpression(PaymentShardConfig.UNSHARDED)
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "*")
+public class ReportController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
+    
+    @Autowired
+    private PaymentReportService paymentReportService;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    /**
+     * GET endpoint to list the payments of an employee with employee and department names
+     * GET /api/reports/employees/{empId}/payments
+     */
+    @GetMapping("/employees/{empId}/payments")
+    public ResponseEntity<Map<String, Object>> getEmployeePayments(@PathVariable Long empId) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            List<PaymentDetailRow> rows = paymentRepository.findDetailsByEmpId(empId);
+            
+            response.put("success", true);
+            response.put("rowCount", rows.size());
+            response.put("rows", rows);
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error reading payments of employee {}", empId, e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    /**
+     * GET endpoint to list the payments of a department in time order, capped by limit
+     * GET /api/reports/departments/{departmentId}/payments?limit=500
+     */
+    @GetMapping("/departments/{departmentId}/payments")
+    public ResponseEntity<Map<String, Object>> getDepartmentPayments(
+            @PathVariable Long departmentId,
+            @RequestParam(defaultValue = "500") int limit) {
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            int size = Math.max(1, Math.min(limit, PaymentReportService.MAX_PAGE_SIZE));
+            List<PaymentDetailRow> rows = paymentRepository.findDetailsByDepartmentId(departmentId, Limit.of(size));
+            
+            response.put("success", true);
+            response.put("rowCount", rows.size());
+            response.put("rows", rows);
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error reading payments of department {}", departmentId, e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    /**
+     * GET endpoint to page through payment details with a keyset cursor
+     * GET /api/reports/payments?afterTime=...&afterId=...&limit=500
+     */
+    @GetMapping("/payments")
+    public ResponseEntity<Map<String, Object>> getPaymentPage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterTime,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "500") int limit) {
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            PaymentReportService.Page page = paymentReportService.page(afterTime, afterId, limit);
+            
+            response.put("success", true);
+            response.put("rowCount", page.rows().size());
+            response.put("rows", page.rows());
+            response.put("hasMore", page.hasMore());
+            if (page.hasMore()) {
+                Map<String, Object> next = new HashMap<>();
+                next.put("afterTime", page.nextAfterTime());
+                next.put("afterId", page.nextAfterId());
+                response.put("next", next);
+            }
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error reading payment page", e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
+    /**
+     * GET endpoint to stream all payment details as NDJSON or CSV
+     * GET /api/reports/payments/export?format=ndjson|csv&from=...&to=...
+     */
+    @GetMapping("/payments/export")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        // Declared as StreamingResponseBody so the body is streamed asynchronously; a bad format
+        // is answered by badRequest below
+        PaymentReportService.Format exportFormat;
+        try {
+            exportFormat = PaymentReportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("format must be 'ndjson' or 'csv'", e);
+        }
+        
+        logger.info("Payment export requested: format={}, from={}, to={}", exportFormat, from, to);
+        
+        StreamingResponseBody body = out -> paymentReportService.export(exportFormat, from, to, out);
+        MediaType mediaType = exportFormat == PaymentReportService.Format.CSV
+            ? new MediaType("text", "csv")
+            : MediaType.APPLICATION_NDJSON;
+        
+        return ResponseEntity.ok()
+            .contentType(mediaType)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"payments." + exportFormat.name().toLowerCase() + "\"")
+            .body(body);
+    }
+    
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> badRequest(IllegalArgumentException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        response.put("timestamp", java.time.LocalDateTime.now());
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+}
@@ -0,0 +1,78 @@
+package com.Java.demo.controller;
+
+import com.Java.demo.dto.PaymentReportRow;
+import com.Java.demo.service.PaymentAnalyticsService;
+import com.Java.demo.service.ShardedPaymentReportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The analytics endpoints that work on sharded PAYMENTS (app.sharding.payments.urls)
+@RestController
+@ConditionalOnProperty(prefix = "app.sharding.payments", name = "urls")
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class ShardedAnalyticsController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ShardedAnalyticsController.class);
+    
+    @Autowired
+    private ShardedPaymentReportService shardedPaymentReportService;
+    
+    /**
+     * GET endpoint to compute the payment report across the payment shards
+     * GET /api/analytics/shards/report?groupBy=employee|department&from=...&to=...
+     */
+    @GetMapping("/shards/report")
+    public ResponseEntity<Map<String, Object>> getShardedReport(
+            @RequestParam(defaultValue = "employee") String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        PaymentAnalyticsService.GroupBy grouping;
+        try {
+            grouping = PaymentAnalyticsService.GroupBy.valueOf(groupBy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", "groupBy must be 'employee' or 'department'");
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        
+        try {
+            long started = System.nanoTime();
+            List<PaymentReportRow> rows = shardedPaymentReportService.report(grouping, from, to);
+            
+            response.put("success", true);
+            response.put("groupBy", grouping.name().toLowerCase());
+            response.put("rowCount", rows.size());
+            response.put("rows", rows);
+            response.put("computeMillis", (System.nanoTime() - started) / 1_000_000);
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error computing sharded payment report", e);
+            
+            response.put("success", false);
+            response.put("message", "Error occurred: " + e.getMessage());
+            response.put("timestamp", java.time.LocalDateTime.now());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
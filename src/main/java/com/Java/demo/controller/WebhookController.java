@@ -1,19 +1,35 @@
 package com.Java.demo.controller;
 
+import com.Java.demo.dto.DataGenerationReport;
+import com.Java.demo.dto.DataGenerationRequest;
 import com.Java.demo.dto.SolutionRequest;
+import com.Java.demo.dto.WebhookApiResponse;
 import com.Java.demo.dto.WebhookRequest;
 import com.Java.demo.dto.WebhookResponse;
+import com.Java.demo.entity.SolutionOutboxEntry;
 import com.Java.demo.service.DataInitializationService;
+import com.Java.demo.service.PipelineRun;
+import com.Java.demo.service.WebhookPipeline;
 import com.Java.demo.service.WebhookService;
+import com.Java.demo.service.WebhookTokenCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/webhook")
@@ -22,81 +38,130 @@ public class WebhookController {
     
     private static final Logger logger = LoggerFactory.getLogger(WebhookController.class);
     
+    private static final String[] ENDPOINTS = {
+        "POST /api/webhook/trigger - Queue complete webhook process as a job",
+        "GET /api/webhook/jobs/{id} - Get webhook process job status",
+        "POST /api/webhook/generate - Generate webhook only",
+        "POST /api/webhook/submit - Queue SQL solution for submission",
+        "POST /api/webhook/init-data - Initialize sample data",
+        "POST /api/webhook/generate-data - Generate synthetic dataset",
+        "GET /api/webhook/pipeline - Get webhook process progress",
+        "GET /api/webhook/status - Get application status"
+    };
+    
     @Autowired
     private WebhookService webhookService;
     
+    @Autowired
+    private WebhookTokenCache webhookTokenCache;
+    
+    @Autowired
+    private WebhookPipeline webhookPipeline;
+    
     @Autowired
     private DataInitializationService dataInitializationService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /** The /status body up to the timestamp value, serialized once: {"status":...,"timestamp":" */
+    private byte[] statusPrefix;
+    
+    @PostConstruct
+    void init() throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(new StaticStatus("running", "Webhook SQL Problem Solver", "1.0.0",
+            ENDPOINTS));
+        statusPrefix = (json.substring(0, json.length() - 1) + ",\"timestamp\":\"").getBytes(StandardCharsets.UTF_8);
+    }
+    
     /**
-     * POST endpoint to manually trigger the complete webhook process
+     * POST endpoint to queue the complete webhook process as a job
      * POST /api/webhook/trigger
      */
     @PostMapping("/trigger")
-    public ResponseEntity<Map<String, Object>> triggerWebhookProcess() {
+    public ResponseEntity<WebhookApiResponse> triggerWebhookProcess() {
         logger.info("Manual webhook process triggered via API");
         
-        Map<String, Object> response = new HashMap<>();
-        
         try {
-            // Trigger the webhook process
-            webhookService.run();
+            // Runs on the pipeline's job executor; poll the job for progress
+            PipelineRun run = webhookPipeline.start();
+            String statusUrl = "/api/webhook/jobs/" + run.getId();
+            
+            return ResponseEntity.accepted()
+                .location(URI.create(statusUrl))
+                .body(new WebhookApiResponse.JobAccepted(true, "Webhook process accepted", run.getId(), statusUrl,
+                    run.describe(), LocalDateTime.now()));
             
-            response.put("success", true);
-            response.put("message", "Webhook process completed successfully");
-            response.put("timestamp", java.time.LocalDateTime.now());
+        } catch (RejectedExecutionException e) {
+            logger.warn("Webhook process rejected: job queue is full");
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(new WebhookApiResponse.JobRejected(false, "Too many webhook processes in progress, retry later",
+                    webhookPipeline.getActiveRuns(), webhookPipeline.getQueuedRuns(), LocalDateTime.now()));
             
         } catch (Exception e) {
             logger.error("Error in manual webhook process", e);
             
-            response.put("success", false);
-            response.put("message", "Error occurred: " + e.getMessage());
-            response.put("timestamp", java.time.LocalDateTime.now());
-            
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(WebhookApiResponse.Result.error("Error occurred: " + e.getMessage()));
         }
     }
     
+    /**
+     * GET endpoint to read the state and per-stage timings of a webhook process job
+     * GET /api/webhook/jobs/{id}
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<WebhookApiResponse> getJob(@PathVariable String id) {
+        PipelineRun run = webhookPipeline.findRun(id);
+        
+        if (run == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(WebhookApiResponse.Result.error("Unknown job: " + id));
+        }
+        
+        return ResponseEntity.ok(new WebhookApiResponse.JobStatus(true, run.describe(), LocalDateTime.now()));
+    }
+    
+    /**
+     * GET endpoint to read the progress of the latest webhook process run
+     * GET /api/webhook/pipeline
+     */
+    @GetMapping("/pipeline")
+    public ResponseEntity<WebhookApiResponse> getPipelineStatus() {
+        PipelineRun run = webhookPipeline.getLastRun();
+        
+        return ResponseEntity.ok(new WebhookApiResponse.PipelineStatus(true, webhookPipeline.getStartupToReadyMillis(),
+            webhookPipeline.getActiveRuns(), webhookPipeline.getQueuedRuns(), run == null ? null : run.describe(),
+            LocalDateTime.now()));
+    }
+    
     /**
      * POST endpoint to generate a webhook
      * POST /api/webhook/generate
      */
     @PostMapping("/generate")
-    public ResponseEntity<Map<String, Object>> generateWebhook(@RequestBody WebhookRequest request) {
+    public ResponseEntity<WebhookApiResponse> generateWebhook(@RequestBody WebhookRequest request) {
         logger.info("Webhook generation requested for: {}", request.getName());
         
-        Map<String, Object> response = new HashMap<>();
-        
         try {
-            // Call the webhook generation logic
-            WebhookResponse webhookResponse = webhookService.generateWebhook();
+            // Reuse a recently generated webhook; concurrent requests share one remote call
+            WebhookResponse webhookResponse = webhookTokenCache.get();
             
             if (webhookResponse != null) {
-                response.put("success", true);
-                response.put("message", "Webhook generated successfully");
-                response.put("webhook", webhookResponse.getWebhook());
-                response.put("accessToken", webhookResponse.getAccessToken());
-                response.put("timestamp", java.time.LocalDateTime.now());
-                
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok(new WebhookApiResponse.WebhookGenerated(true, "Webhook generated successfully",
+                    webhookResponse.getWebhook(), webhookResponse.getAccessToken(), LocalDateTime.now()));
             } else {
-                response.put("success", false);
-                response.put("message", "Failed to generate webhook");
-                response.put("timestamp", java.time.LocalDateTime.now());
-                
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(WebhookApiResponse.Result.error("Failed to generate webhook"));
             }
             
         } catch (Exception e) {
             logger.error("Error generating webhook", e);
             
-            response.put("success", false);
-            response.put("message", "Error occurred: " + e.getMessage());
-            response.put("timestamp", java.time.LocalDateTime.now());
-            
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(WebhookApiResponse.Result.error("Error occurred: " + e.getMessage()));
         }
     }
     
@@ -105,21 +170,16 @@ public class WebhookController {
      * POST /api/webhook/submit
      */
     @PostMapping("/submit")
-    public ResponseEntity<Map<String, Object>> submitSolution(
+    public ResponseEntity<WebhookApiResponse> submitSolution(
             @RequestBody SolutionRequest solutionRequest,
             @RequestHeader("Authorization") String authorization) {
         
         logger.info("Solution submission requested");
         
-        Map<String, Object> response = new HashMap<>();
-        
         try {
             if (authorization == null || authorization.trim().isEmpty()) {
-                response.put("success", false);
-                response.put("message", "Authorization header is required");
-                response.put("timestamp", java.time.LocalDateTime.now());
-                
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(WebhookApiResponse.Result.error("Authorization header is required"));
             }
             
             // Extract token from "Bearer <token>" format
@@ -128,24 +188,18 @@ public class WebhookController {
                 token = authorization.substring(7);
             }
             
-            // Submit the solution
-            webhookService.submitSolution(token);
-            
-            response.put("success", true);
-            response.put("message", "Solution submitted successfully");
-            response.put("query", solutionRequest.getFinalQuery());
-            response.put("timestamp", java.time.LocalDateTime.now());
+            // Queue the solution; it is delivered in the background and retried on failure
+            SolutionOutboxEntry entry = webhookService.submitSolution(token);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(new WebhookApiResponse.SolutionQueued(true,
+                "Solution queued for submission", solutionRequest.getFinalQuery(), entry.getId(),
+                entry.getIdempotencyKey(), entry.getStatus(), LocalDateTime.now()));
             
         } catch (Exception e) {
             logger.error("Error submitting solution", e);
             
-            response.put("success", false);
-            response.put("message", "Error occurred: " + e.getMessage());
-            response.put("timestamp", java.time.LocalDateTime.now());
-            
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(WebhookApiResponse.Result.error("Error occurred: " + e.getMessage()));
         }
     }
     
@@ -154,28 +208,42 @@ public class WebhookController {
      * POST /api/webhook/init-data
      */
     @PostMapping("/init-data")
-    public ResponseEntity<Map<String, Object>> initializeSampleData() {
+    public ResponseEntity<WebhookApiResponse> initializeSampleData() {
         logger.info("Sample data initialization requested");
         
-        Map<String, Object> response = new HashMap<>();
-        
         try {
             dataInitializationService.initializeSampleData();
             
-            response.put("success", true);
-            response.put("message", "Sample data initialized successfully");
-            response.put("timestamp", java.time.LocalDateTime.now());
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(WebhookApiResponse.Result.ok("Sample data initialized successfully"));
             
         } catch (Exception e) {
             logger.error("Error initializing sample data", e);
             
-            response.put("success", false);
-            response.put("message", "Error occurred: " + e.getMessage());
-            response.put("timestamp", java.time.LocalDateTime.now());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(WebhookApiResponse.Result.error("Error occurred: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * POST endpoint to generate a scalable synthetic dataset
+     * POST /api/webhook/generate-data
+     */
+    @PostMapping("/generate-data")
+    public ResponseEntity<WebhookApiResponse> generateSyntheticData(
+            @RequestBody(required = false) DataGenerationRequest request) {
+        logger.info("Synthetic data generation requested");
+        
+        try {
+            DataGenerationReport report = dataInitializationService.generateSyntheticData(request);
+            
+            return ResponseEntity.ok(new WebhookApiResponse.DataGenerated(true, "Synthetic data generated successfully",
+                report, LocalDateTime.now()));
             
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        } catch (Exception e) {
+            logger.error("Error generating synthetic data", e);
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(WebhookApiResponse.Result.error("Error occurred: " + e.getMessage()));
         }
     }
     
@@ -184,21 +252,19 @@ public class WebhookController {
      * GET /api/webhook/status
      */
     @GetMapping("/status")
-    public ResponseEntity<Map<String, Object>> getStatus() {
-        Map<String, Object> response = new HashMap<>();
-        
-        response.put("status", "running");
-        response.put("application", "Webhook SQL Problem Solver");
-        response.put("version", "1.0.0");
-        response.put("timestamp", java.time.LocalDateTime.now());
-        response.put("endpoints", new String[]{
-            "POST /api/webhook/trigger - Trigger complete webhook process",
-            "POST /api/webhook/generate - Generate webhook only",
-            "POST /api/webhook/submit - Submit SQL solution",
-            "POST /api/webhook/init-data - Initialize sample data",
-            "GET /api/webhook/status - Get application status"
-        });
+    public ResponseEntity<byte[]> getStatus() {
+        // Health checkers poll this endpoint; only the timestamp is serialized per request
+        String timestamp = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now());
+        byte[] body = Arrays.copyOf(statusPrefix, statusPrefix.length + timestamp.length() + 2);
+        int position = statusPrefix.length;
+        for (int i = 0; i < timestamp.length(); i++) {
+            body[position++] = (byte) timestamp.charAt(i);
+        }
+        body[position++] = '"';
+        body[position] = '}';
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
+    
+    private record StaticStatus(String status, String application, String version, String[] endpoints) {}
 }
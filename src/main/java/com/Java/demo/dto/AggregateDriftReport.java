@@ -0,0 +1,75 @@
+package com.Java.demo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AggregateDriftReport {
+    private static final int MAX_SAMPLES = 50;
+    
+    private long employeesChecked;
+    private long departmentsChecked;
+    private long driftedRows;
+    private boolean rebuilt;
+    private long elapsedMillis;
+    private List<String> samples = new ArrayList<>();
+    
+    // Constructors
+    public AggregateDriftReport() {}
+    
+    public void addDrift(String description) {
+        driftedRows++;
+        if (samples.size() < MAX_SAMPLES) {
+            samples.add(description);
+        }
+    }
+    
+    // Getters and Setters
+    public long getEmployeesChecked() {
+        return employeesChecked;
+    }
+    
+    public void setEmployeesChecked(long employeesChecked) {
+        this.employeesChecked = employeesChecked;
+    }
+    
+    public long getDepartmentsChecked() {
+        return departmentsChecked;
+    }
+    
+    public void setDepartmentsChecked(long departmentsChecked) {
+        this.departmentsChecked = departmentsChecked;
+    }
+    
+    public long getDriftedRows() {
+        return driftedRows;
+    }
+    
+    public void setDriftedRows(long driftedRows) {
+        this.driftedRows = driftedRows;
+    }
+    
+    public boolean isRebuilt() {
+        return rebuilt;
+    }
+    
+    public void setRebuilt(boolean rebuilt) {
+        this.rebuilt = rebuilt;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    /** First drifted rows found, capped to keep the response small. */
+    public List<String> getSamples() {
+        return samples;
+    }
+    
+    public void setSamples(List<String> samples) {
+        this.samples = samples;
+    }
+}
@@ -0,0 +1,85 @@
+package com.Java.demo.dto;
+
+/**
+ * Point-in-time statistics of one second-level cache region.
+ */
+public class CacheRegionStats {
+    private String region;
+    private long size;
+    private Long maxEntries;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    
+    // Constructors
+    public CacheRegionStats() {}
+    
+    public CacheRegionStats(String region, long size, Long maxEntries, long hits, long misses, double hitRate,
+                            long evictions) {
+        this.region = region;
+        this.size = size;
+        this.maxEntries = maxEntries;
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRate = hitRate;
+        this.evictions = evictions;
+    }
+    
+    // Getters and Setters
+    public String getRegion() {
+        return region;
+    }
+    
+    public void setRegion(String region) {
+        this.region = region;
+    }
+    
+    public long getSize() {
+        return size;
+    }
+    
+    public void setSize(long size) {
+        this.size = size;
+    }
+    
+    public Long getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public void setMaxEntries(Long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+    
+    public double getHitRate() {
+        return hitRate;
+    }
+    
+    public void setHitRate(double hitRate) {
+        this.hitRate = hitRate;
+    }
+    
+    public long getEvictions() {
+        return evictions;
+    }
+    
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+}
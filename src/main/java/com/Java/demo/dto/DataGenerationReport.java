@@ -0,0 +1,63 @@
+package com.Java.demo.dto;
+
+public class DataGenerationReport {
+    private long departments;
+    private long employees;
+    private long payments;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    
+    // Constructors
+    public DataGenerationReport() {}
+    
+    public DataGenerationReport(long departments, long employees, long payments, long elapsedMillis) {
+        this.departments = departments;
+        this.employees = employees;
+        this.payments = payments;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = elapsedMillis > 0
+            ? (departments + employees + payments) * 1000.0 / elapsedMillis
+            : 0.0;
+    }
+    
+    // Getters and Setters
+    public long getDepartments() {
+        return departments;
+    }
+    
+    public void setDepartments(long departments) {
+        this.departments = departments;
+    }
+    
+    public long getEmployees() {
+        return employees;
+    }
+    
+    public void setEmployees(long employees) {
+        this.employees = employees;
+    }
+    
+    public long getPayments() {
+        return payments;
+    }
+    
+    public void setPayments(long payments) {
+        this.payments = payments;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+    
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
@@ -0,0 +1,66 @@
+package com.Java.demo.dto;
+
+/**
+ * Optional overrides for a synthetic data generation run.
+ * Any field left null falls back to the app.data.generator.* defaults.
+ */
+public class DataGenerationRequest {
+    private Double scaleFactor;
+    private Integer departments;
+    private Integer employeesPerDepartment;
+    private Integer paymentsPerEmployee;
+    private Integer spanDays;
+    private Long seed;
+    
+    // Constructors
+    public DataGenerationRequest() {}
+    
+    // Getters and Setters
+    public Double getScaleFactor() {
+        return scaleFactor;
+    }
+    
+    public void setScaleFactor(Double scaleFactor) {
+        this.scaleFactor = scaleFactor;
+    }
+    
+    public Integer getDepartments() {
+        return departments;
+    }
+    
+    public void setDepartments(Integer departments) {
+        this.departments = departments;
+    }
+    
+    public Integer getEmployeesPerDepartment() {
+        return employeesPerDepartment;
+    }
+    
+    public void setEmployeesPerDepartment(Integer employeesPerDepartment) {
+        this.employeesPerDepartment = employeesPerDepartment;
+    }
+    
+    public Integer getPaymentsPerEmployee() {
+        return paymentsPerEmployee;
+    }
+    
+    public void setPaymentsPerEmployee(Integer paymentsPerEmployee) {
+        this.paymentsPerEmployee = paymentsPerEmployee;
+    }
+    
+    public Integer getSpanDays() {
+        return spanDays;
+    }
+    
+    public void setSpanDays(Integer spanDays) {
+        this.spanDays = spanDays;
+    }
+    
+    public Long getSeed() {
+        return seed;
+    }
+    
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
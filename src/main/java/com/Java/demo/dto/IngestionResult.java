@@ -0,0 +1,71 @@
+package com.Java.demo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IngestionResult {
+    private static final int MAX_ERRORS = 20;
+    
+    private long accepted;
+    private long rejected;
+    private long batches;
+    private long elapsedMillis;
+    private List<String> errors = new ArrayList<>();
+    
+    // Constructors
+    public IngestionResult() {}
+    
+    public void accept(long count) {
+        accepted += count;
+        batches++;
+    }
+    
+    public void reject(long line, String reason) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("line " + line + ": " + reason);
+        }
+    }
+    
+    // Getters and Setters
+    public long getAccepted() {
+        return accepted;
+    }
+    
+    public void setAccepted(long accepted) {
+        this.accepted = accepted;
+    }
+    
+    public long getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+    
+    public long getBatches() {
+        return batches;
+    }
+    
+    public void setBatches(long batches) {
+        this.batches = batches;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    /** First rejection reasons, capped so a bad upload cannot blow up the response. */
+    public List<String> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
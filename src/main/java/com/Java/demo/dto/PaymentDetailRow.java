@@ -0,0 +1,99 @@
+package com.Java.demo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a payment with its employee and department, built directly by
+ * JPQL constructor expressions so report reads never load entities.
+ */
+public class PaymentDetailRow {
+    private Long paymentId;
+    private LocalDateTime paymentTime;
+    private BigDecimal amount;
+    private Long empId;
+    private String firstName;
+    private String lastName;
+    private Long departmentId;
+    private String departmentName;
+    
+    // Constructors
+    public PaymentDetailRow() {}
+    
+    public PaymentDetailRow(Long paymentId, LocalDateTime paymentTime, BigDecimal amount, Long empId,
+                            String firstName, String lastName, Long departmentId, String departmentName) {
+        this.paymentId = paymentId;
+        this.paymentTime = paymentTime;
+        this.amount = amount;
+        this.empId = empId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.departmentId = departmentId;
+        this.departmentName = departmentName;
+    }
+    
+    // Getters and Setters
+    public Long getPaymentId() {
+        return paymentId;
+    }
+    
+    public void setPaymentId(Long paymentId) {
+        this.paymentId = paymentId;
+    }
+    
+    public LocalDateTime getPaymentTime() {
+        return paymentTime;
+    }
+    
+    public void setPaymentTime(LocalDateTime paymentTime) {
+        this.paymentTime = paymentTime;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+    
+    public Long getEmpId() {
+        return empId;
+    }
+    
+    public void setEmpId(Long empId) {
+        this.empId = empId;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+    
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+    
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+    
+    public String getDepartmentName() {
+        return departmentName;
+    }
+    
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+}
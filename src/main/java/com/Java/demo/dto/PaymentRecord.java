@@ -0,0 +1,47 @@
+package com.Java.demo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One line of an NDJSON payment upload.
+ */
+public class PaymentRecord {
+    private Long empId;
+    private BigDecimal amount;
+    private LocalDateTime paymentTime;
+    
+    // Constructors
+    public PaymentRecord() {}
+    
+    public PaymentRecord(Long empId, BigDecimal amount, LocalDateTime paymentTime) {
+        this.empId = empId;
+        this.amount = amount;
+        this.paymentTime = paymentTime;
+    }
+    
+    // Getters and Setters
+    public Long getEmpId() {
+        return empId;
+    }
+    
+    public void setEmpId(Long empId) {
+        this.empId = empId;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+    
+    public LocalDateTime getPaymentTime() {
+        return paymentTime;
+    }
+    
+    public void setPaymentTime(LocalDateTime paymentTime) {
+        this.paymentTime = paymentTime;
+    }
+}
@@ -0,0 +1,151 @@
+package com.Java.demo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the employee payment report (same columns as the submitted SQL query).
+ * When the report is grouped by department the employee columns are null.
+ */
+public class PaymentReportRow {
+    private Long departmentId;
+    private String departmentName;
+    private Long empId;
+    private String firstName;
+    private String lastName;
+    private String gender;
+    private LocalDate dob;
+    private long totalPayments;
+    private BigDecimal totalSalaryPaid;
+    private BigDecimal averageSalary;
+    private BigDecimal minSalary;
+    private BigDecimal maxSalary;
+    private LocalDateTime lastPaymentDate;
+    private LocalDateTime firstPaymentDate;
+    private long paymentPeriodDays;
+    
+    // Constructors
+    public PaymentReportRow() {}
+    
+    // Getters and Setters
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+    
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+    
+    public String getDepartmentName() {
+        return departmentName;
+    }
+    
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+    
+    public Long getEmpId() {
+        return empId;
+    }
+    
+    public void setEmpId(Long empId) {
+        this.empId = empId;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+    
+    public String getGender() {
+        return gender;
+    }
+    
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+    
+    public LocalDate getDob() {
+        return dob;
+    }
+    
+    public void setDob(LocalDate dob) {
+        this.dob = dob;
+    }
+    
+    public long getTotalPayments() {
+        return totalPayments;
+    }
+    
+    public void setTotalPayments(long totalPayments) {
+        this.totalPayments = totalPayments;
+    }
+    
+    public BigDecimal getTotalSalaryPaid() {
+        return totalSalaryPaid;
+    }
+    
+    public void setTotalSalaryPaid(BigDecimal totalSalaryPaid) {
+        this.totalSalaryPaid = totalSalaryPaid;
+    }
+    
+    public BigDecimal getAverageSalary() {
+        return averageSalary;
+    }
+    
+    public void setAverageSalary(BigDecimal averageSalary) {
+        this.averageSalary = averageSalary;
+    }
+    
+    public BigDecimal getMinSalary() {
+        return minSalary;
+    }
+    
+    public void setMinSalary(BigDecimal minSalary) {
+        this.minSalary = minSalary;
+    }
+    
+    public BigDecimal getMaxSalary() {
+        return maxSalary;
+    }
+    
+    public void setMaxSalary(BigDecimal maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+    
+    public LocalDateTime getLastPaymentDate() {
+        return lastPaymentDate;
+    }
+    
+    public void setLastPaymentDate(LocalDateTime lastPaymentDate) {
+        this.lastPaymentDate = lastPaymentDate;
+    }
+    
+    public LocalDateTime getFirstPaymentDate() {
+        return firstPaymentDate;
+    }
+    
+    public void setFirstPaymentDate(LocalDateTime firstPaymentDate) {
+        this.firstPaymentDate = firstPaymentDate;
+    }
+    
+    public long getPaymentPeriodDays() {
+        return paymentPeriodDays;
+    }
+    
+    public void setPaymentPeriodDays(long paymentPeriodDays) {
+        this.paymentPeriodDays = paymentPeriodDays;
+    }
+}
@@ -0,0 +1,49 @@
+package com.Java.demo.dto;
+
+import com.Java.demo.entity.SolutionOutboxEntry;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Response bodies of the /api/webhook endpoints. Each variant serializes to the same JSON
+ * fields the endpoints have always returned, in a fixed order.
+ */
+public sealed interface WebhookApiResponse {
+    
+    boolean success();
+    
+    LocalDateTime timestamp();
+    
+    /** Outcome without further data: errors, and endpoints that only report success. */
+    record Result(boolean success, String message, LocalDateTime timestamp) implements WebhookApiResponse {
+        
+        public static Result ok(String message) {
+            return new Result(true, message, LocalDateTime.now());
+        }
+        
+        public static Result error(String message) {
+            return new Result(false, message, LocalDateTime.now());
+        }
+    }
+    
+    record JobAccepted(boolean success, String message, String jobId, String statusUrl, Map<String, Object> job,
+                       LocalDateTime timestamp) implements WebhookApiResponse {}
+    
+    record JobRejected(boolean success, String message, int activeJobs, int queuedJobs,
+                       LocalDateTime timestamp) implements WebhookApiResponse {}
+    
+    record JobStatus(boolean success, Map<String, Object> job, LocalDateTime timestamp) implements WebhookApiResponse {}
+    
+    record PipelineStatus(boolean success, Long startupToReadyMillis, int activeJobs, int queuedJobs,
+                          Map<String, Object> run, LocalDateTime timestamp) implements WebhookApiResponse {}
+    
+    record WebhookGenerated(boolean success, String message, String webhook, String accessToken,
+                            LocalDateTime timestamp) implements WebhookApiResponse {}
+    
+    record SolutionQueued(boolean success, String message, String query, Long outboxId, String idempotencyKey,
+                          SolutionOutboxEntry.Status status, LocalDateTime timestamp) implements WebhookApiResponse {}
+    
+    record DataGenerated(boolean success, String message, DataGenerationReport report,
+                         LocalDateTime timestamp) implements WebhookApiResponse {}
+}
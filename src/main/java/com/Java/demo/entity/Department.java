@@ -1,13 +1,19 @@
 package com.Java.demo.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "DEPARTMENT")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Department {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "department_id")
+    @TableGenerator(name = "department_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+        valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.DEPARTMENT, allocationSize = 50)
     @Column(name = "DEPARTMENT_ID")
     private Long departmentId;
     
@@ -1,14 +1,24 @@
 package com.Java.demo.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "EMPLOYEE")
+@Table(name = "EMPLOYEE", indexes = {
+    // Department to employee join of the payment analysis query
+    @Index(name = "IDX_EMPLOYEE_DEPARTMENT", columnList = "DEPARTMENT, EMP_ID")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(EmployeeReferenceListener.class)
 public class Employee {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "employee_id")
+    @TableGenerator(name = "employee_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+        valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.EMPLOYEE, allocationSize = 100)
     @Column(name = "EMP_ID")
     private Long empId;
     
@@ -24,7 +34,7 @@ public class Employee {
     @Column(name = "GENDER")
     private String gender;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "DEPARTMENT", referencedColumnName = "DEPARTMENT_ID")
     private Department department;
     
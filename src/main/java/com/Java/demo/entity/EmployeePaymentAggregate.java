@@ -0,0 +1,106 @@
+package com.Java.demo.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized payment totals per employee, kept up to date by PaymentRepository writes.
+ */
+@Entity
+@Table(name = "EMPLOYEE_PAYMENT_AGGREGATE")
+public class EmployeePaymentAggregate {
+    
+    @Id
+    @Column(name = "EMP_ID")
+    private Long empId;
+    
+    @Column(name = "DEPARTMENT_ID")
+    private Long departmentId;
+    
+    @Column(name = "PAYMENT_COUNT")
+    private long paymentCount;
+    
+    @Column(name = "TOTAL_AMOUNT", precision = 38, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Column(name = "MIN_AMOUNT", precision = 38, scale = 2)
+    private BigDecimal minAmount;
+    
+    @Column(name = "MAX_AMOUNT", precision = 38, scale = 2)
+    private BigDecimal maxAmount;
+    
+    @Column(name = "FIRST_PAYMENT_TIME")
+    private LocalDateTime firstPaymentTime;
+    
+    @Column(name = "LAST_PAYMENT_TIME")
+    private LocalDateTime lastPaymentTime;
+    
+    // Constructors
+    public EmployeePaymentAggregate() {}
+    
+    // Getters and Setters
+    public Long getEmpId() {
+        return empId;
+    }
+    
+    public void setEmpId(Long empId) {
+        this.empId = empId;
+    }
+    
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+    
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+    
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+    
+    public void setPaymentCount(long paymentCount) {
+        this.paymentCount = paymentCount;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+    
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+    
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+    
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+    
+    public LocalDateTime getFirstPaymentTime() {
+        return firstPaymentTime;
+    }
+    
+    public void setFirstPaymentTime(LocalDateTime firstPaymentTime) {
+        this.firstPaymentTime = firstPaymentTime;
+    }
+    
+    public LocalDateTime getLastPaymentTime() {
+        return lastPaymentTime;
+    }
+    
+    public void setLastPaymentTime(LocalDateTime lastPaymentTime) {
+        this.lastPaymentTime = lastPaymentTime;
+    }
+}
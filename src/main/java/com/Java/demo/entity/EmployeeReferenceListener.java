@@ -0,0 +1,32 @@
+package com.Java.demo.entity;
+
+import com.Java.demo.service.EmployeeReferenceCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Keeps {@link EmployeeReferenceCache} in step with employee writes made through JPA.
+ * Instantiated by Hibernate through Spring's bean container; contexts without the
+ * cache simply skip the callbacks.
+ */
+public class EmployeeReferenceListener {
+    
+    @Autowired
+    private ObjectProvider<EmployeeReferenceCache> employeeReferenceCache;
+    
+    @PostPersist
+    @PostUpdate
+    public void written(Employee employee) {
+        Department department = employee.getDepartment();
+        employeeReferenceCache.ifAvailable(cache ->
+            cache.register(employee.getEmpId(), department == null ? null : department.getDepartmentId()));
+    }
+    
+    @PostRemove
+    public void removed(Employee employee) {
+        employeeReferenceCache.ifAvailable(cache -> cache.evict(employee.getEmpId()));
+    }
+}
@@ -0,0 +1,22 @@
+package com.Java.demo.entity;
+
+/**
+ * Names shared by the table-based ID generators of the entities and by the
+ * JDBC bulk writers that reserve ID blocks from the same table.
+ *
+ * IDs are handed out by Hibernate's pooled-lo optimizer, so NEXT_VAL always
+ * holds the first ID that has not been allocated yet.
+ */
+public final class IdSequences {
+    
+    public static final String TABLE = "ID_SEQUENCES";
+    public static final String NAME_COLUMN = "SEQUENCE_NAME";
+    public static final String VALUE_COLUMN = "NEXT_VAL";
+    
+    public static final String DEPARTMENT = "DEPARTMENT";
+    public static final String EMPLOYEE = "EMPLOYEE";
+    public static final String PAYMENTS = "PAYMENTS";
+    public static final String SOLUTION_OUTBOX = "SOLUTION_OUTBOX";
+    
+    private IdSequences() {}
+}
@@ -5,15 +5,22 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "PAYMENTS")
+@Table(name = "PAYMENTS", indexes = {
+    // Keyset pagination, time-ordered streaming and time-range aggregation; covers the row
+    @Index(name = "IDX_PAYMENTS_TIME_ID", columnList = "PAYMENT_TIME, PAYMENT_ID, EMP_ID, AMOUNT"),
+    // Per-employee joins and aggregation of the payment analysis query, index-only
+    @Index(name = "IDX_PAYMENTS_EMP_TIME", columnList = "EMP_ID, PAYMENT_TIME, AMOUNT")
+})
 public class Payment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payment_id")
+    @TableGenerator(name = "payment_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+        valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.PAYMENTS, allocationSize = 500)
     @Column(name = "PAYMENT_ID")
     private Long paymentId;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "EMP_ID", referencedColumnName = "EMP_ID")
     private Employee employee;
     
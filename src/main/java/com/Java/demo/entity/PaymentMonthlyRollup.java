@@ -0,0 +1,152 @@
+package com.Java.demo.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Payment totals of one employee in one calendar month, built by the rollup compaction job.
+ * The department is the employee's department when the month was compacted, so department
+ * rollups are a GROUP BY over these rows. Rows only count for months listed in
+ * PAYMENT_ROLLUP_MONTH.
+ */
+@Entity
+@Table(name = "PAYMENT_MONTHLY_ROLLUP", indexes = {
+    @Index(name = "IDX_ROLLUP_MONTH_DEPARTMENT", columnList = "PAYMENT_MONTH, DEPARTMENT_ID")
+})
+@IdClass(PaymentMonthlyRollup.Key.class)
+public class PaymentMonthlyRollup {
+
+    @Id
+    @Column(name = "PAYMENT_MONTH")
+    private LocalDate paymentMonth;
+
+    @Id
+    @Column(name = "EMP_ID")
+    private Long empId;
+
+    @Column(name = "DEPARTMENT_ID")
+    private Long departmentId;
+
+    @Column(name = "PAYMENT_COUNT")
+    private long paymentCount;
+
+    @Column(name = "TOTAL_AMOUNT", precision = 38, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "MIN_AMOUNT", precision = 38, scale = 2)
+    private BigDecimal minAmount;
+
+    @Column(name = "MAX_AMOUNT", precision = 38, scale = 2)
+    private BigDecimal maxAmount;
+
+    @Column(name = "FIRST_PAYMENT_TIME")
+    private LocalDateTime firstPaymentTime;
+
+    @Column(name = "LAST_PAYMENT_TIME")
+    private LocalDateTime lastPaymentTime;
+
+    /** Composite primary key: first day of the month plus employee. */
+    public static class Key implements Serializable {
+        private LocalDate paymentMonth;
+        private Long empId;
+
+        public Key() {}
+
+        public Key(LocalDate paymentMonth, Long empId) {
+            this.paymentMonth = paymentMonth;
+            this.empId = empId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other
+                && Objects.equals(paymentMonth, other.paymentMonth)
+                && Objects.equals(empId, other.empId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(paymentMonth, empId);
+        }
+    }
+
+    // Constructors
+    public PaymentMonthlyRollup() {}
+
+    // Getters and Setters
+    public LocalDate getPaymentMonth() {
+        return paymentMonth;
+    }
+
+    public void setPaymentMonth(LocalDate paymentMonth) {
+        this.paymentMonth = paymentMonth;
+    }
+
+    public Long getEmpId() {
+        return empId;
+    }
+
+    public void setEmpId(Long empId) {
+        this.empId = empId;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public void setPaymentCount(long paymentCount) {
+        this.paymentCount = paymentCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public LocalDateTime getFirstPaymentTime() {
+        return firstPaymentTime;
+    }
+
+    public void setFirstPaymentTime(LocalDateTime firstPaymentTime) {
+        this.firstPaymentTime = firstPaymentTime;
+    }
+
+    public LocalDateTime getLastPaymentTime() {
+        return lastPaymentTime;
+    }
+
+    public void setLastPaymentTime(LocalDateTime lastPaymentTime) {
+        this.lastPaymentTime = lastPaymentTime;
+    }
+}
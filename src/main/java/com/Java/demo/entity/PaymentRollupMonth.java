@@ -0,0 +1,52 @@
+package com.Java.demo.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A month whose PAYMENT_MONTHLY_ROLLUP rows are complete. Payment writes into the month
+ * delete this row, which sends reports back to the raw PAYMENTS rows until the next compaction.
+ */
+@Entity
+@Table(name = "PAYMENT_ROLLUP_MONTH")
+public class PaymentRollupMonth {
+
+    @Id
+    @Column(name = "PAYMENT_MONTH")
+    private LocalDate paymentMonth;
+
+    @Column(name = "ROLLUP_ROWS")
+    private long rollupRows;
+
+    @Column(name = "COMPACTED_AT")
+    private LocalDateTime compactedAt;
+
+    // Constructors
+    public PaymentRollupMonth() {}
+
+    // Getters and Setters
+    public LocalDate getPaymentMonth() {
+        return paymentMonth;
+    }
+
+    public void setPaymentMonth(LocalDate paymentMonth) {
+        this.paymentMonth = paymentMonth;
+    }
+
+    public long getRollupRows() {
+        return rollupRows;
+    }
+
+    public void setRollupRows(long rollupRows) {
+        this.rollupRows = rollupRows;
+    }
+
+    public LocalDateTime getCompactedAt() {
+        return compactedAt;
+    }
+
+    public void setCompactedAt(LocalDateTime compactedAt) {
+        this.compactedAt = compactedAt;
+    }
+}
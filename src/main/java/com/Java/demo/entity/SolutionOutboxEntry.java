@@ -0,0 +1,150 @@
+package com.Java.demo.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A solution submission waiting to be (or already) delivered to the submission endpoint.
+ * Rows are written in the caller's transaction and drained by SolutionOutboxDispatcher;
+ * NEXT_ATTEMPT_AT doubles as the claim lease while a delivery is in flight.
+ */
+@Entity
+@Table(name = "SOLUTION_OUTBOX", indexes = {
+    // Dispatcher poll: due PENDING rows in NEXT_ATTEMPT_AT order
+    @Index(name = "IDX_SOLUTION_OUTBOX_DUE", columnList = "STATUS, NEXT_ATTEMPT_AT")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "UK_SOLUTION_OUTBOX_KEY", columnNames = "IDEMPOTENCY_KEY")
+})
+public class SolutionOutboxEntry {
+    
+    public enum Status { PENDING, DELIVERED, DEAD }
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "solution_outbox_id")
+    @TableGenerator(name = "solution_outbox_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+        valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.SOLUTION_OUTBOX, allocationSize = 50)
+    @Column(name = "ID")
+    private Long id;
+    
+    @Column(name = "IDEMPOTENCY_KEY", nullable = false, length = 64)
+    private String idempotencyKey;
+    
+    @Column(name = "ACCESS_TOKEN", nullable = false, length = 4096)
+    private String accessToken;
+    
+    // TEXT rather than @Lob, which maps to TINYTEXT on MySQL (too short for the query)
+    @Column(name = "FINAL_QUERY", nullable = false, columnDefinition = "TEXT")
+    private String finalQuery;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false, length = 16)
+    private Status status;
+    
+    @Column(name = "ATTEMPTS", nullable = false)
+    private int attempts;
+    
+    @Column(name = "NEXT_ATTEMPT_AT", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "DELIVERED_AT")
+    private LocalDateTime deliveredAt;
+    
+    @Column(name = "LAST_ERROR", length = 1000)
+    private String lastError;
+    
+    // Constructors
+    public SolutionOutboxEntry() {}
+    
+    public SolutionOutboxEntry(String idempotencyKey, String accessToken, String finalQuery, LocalDateTime createdAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.accessToken = accessToken;
+        this.finalQuery = finalQuery;
+        this.status = Status.PENDING;
+        this.nextAttemptAt = createdAt;
+        this.createdAt = createdAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+    
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+    
+    public String getAccessToken() {
+        return accessToken;
+    }
+    
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+    
+    public String getFinalQuery() {
+        return finalQuery;
+    }
+    
+    public void setFinalQuery(String finalQuery) {
+        this.finalQuery = finalQuery;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+    
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getDeliveredAt() {
+        return deliveredAt;
+    }
+    
+    public void setDeliveredAt(LocalDateTime deliveredAt) {
+        this.deliveredAt = deliveredAt;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,9 @@
+package com.Java.demo.repository;
+
+import com.Java.demo.entity.DepartmentPaymentAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DepartmentPaymentAggregateRepository extends JpaRepository<DepartmentPaymentAggregate, Long> {
+}
@@ -0,0 +1,9 @@
+package com.Java.demo.repository;
+
+import com.Java.demo.entity.EmployeePaymentAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmployeePaymentAggregateRepository extends JpaRepository<EmployeePaymentAggregate, Long> {
+}
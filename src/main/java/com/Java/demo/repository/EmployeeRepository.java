@@ -1,9 +1,26 @@
 package com.Java.demo.repository;
 
 import com.Java.demo.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+    
+    /**
+     * All employees with their department fetched in the same select. Neither the result nor
+     * the loaded entities go into the second-level cache: a full table would evict the working
+     * set from the bounded regions.
+     */
+    @EntityGraph(attributePaths = "department")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS"))
+    @Query("select e from Employee e order by e.empId")
+    List<Employee> findAllWithDepartment();
 }
@@ -0,0 +1,135 @@
+package com.Java.demo.repository;
+
+import com.Java.demo.entity.Payment;
+import com.Java.demo.service.PaymentAggregateService;
+import com.Java.demo.service.PaymentAggregateService.PaymentChange;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records every payment row Hibernate inserts, updates or deletes as {@link PaymentChange}s
+ * and applies them to the aggregates once per transaction, after the final flush and before
+ * the commit. Update and delete events carry the state the session last loaded or flushed,
+ * so an earlier auto-flush is seen as its own change, and entities changed by dirty checking
+ * alone are covered as well as those passed to save().
+ *
+ * Writes that do not go through the session (JDBC, bulk JPQL) are added with
+ * {@link #record(SessionImplementor, Collection)}.
+ */
+@Component
+public class PaymentAggregateListener
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PaymentAggregateService paymentAggregateService;
+
+    private final Map<SessionImplementor, List<PaymentChange>> pending = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Payment) {
+            record(event.getSession(), event.getPersister(), event.getState(), false);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Payment)) {
+            return;
+        }
+        // Session.update() of a detached payment carries no old state; recomputing the new
+        // employee then still covers every change except a move between employees
+        Object[] oldState = event.getOldState() != null ? event.getOldState() : event.getState();
+        record(event.getSession(), event.getPersister(), oldState, true);
+        record(event.getSession(), event.getPersister(), event.getState(), false);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Payment) {
+            record(event.getSession(), event.getPersister(), event.getDeletedState(), true);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Adds changes to those applied when the session's transaction commits.
+     */
+    public void record(SessionImplementor session, Collection<PaymentChange> changes) {
+        pending(session).addAll(changes);
+    }
+
+    /**
+     * Drops the changes recorded so far, after the payments they describe were deleted in bulk.
+     */
+    public void discard(SessionImplementor session) {
+        List<PaymentChange> changes = pending.get(session);
+        if (changes != null) {
+            changes.clear();
+        }
+    }
+
+    private void record(SessionImplementor session, EntityPersister persister, Object[] state, boolean removal) {
+        Object employee = state[persister.getPropertyIndex("employee")];
+        if (employee == null) {
+            return;
+        }
+        long empId = (Long) persister.getFactory().getPersistenceUnitUtil().getIdentifier(employee);
+        pending(session).add(new PaymentChange(empId, (BigDecimal) state[persister.getPropertyIndex("amount")],
+            (LocalDateTime) state[persister.getPropertyIndex("paymentTime")], removal));
+    }
+
+    private List<PaymentChange> pending(SessionImplementor session) {
+        return pending.computeIfAbsent(session, key -> {
+            // Runs after the flush that precedes the commit, so PAYMENTS already holds every change
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing -> {
+                List<PaymentChange> changes = pending.remove(completing);
+                if (changes != null && !changes.isEmpty()) {
+                    paymentAggregateService.apply(changes);
+                }
+            });
+            session.getActionQueue().registerProcess(
+                (AfterTransactionCompletionProcess) (success, completed) -> pending.remove(completed));
+            return new ArrayList<>();
+        });
+    }
+}
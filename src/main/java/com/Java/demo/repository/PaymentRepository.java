@@ -1,9 +1,129 @@
 package com.Java.demo.repository;
 
+import com.Java.demo.dto.PaymentDetailRow;
 import com.Java.demo.entity.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Payment persistence and report queries. The report queries are read-only transactions, so
+ * they are served by a read replica when one is configured (see ReadReplicaConfig).
+ */
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends JpaRepository<Payment, Long>, PaymentRepositoryCustom {
+    
+    String DETAIL_ROW = "select new com.Java.demo.dto.PaymentDetailRow(p.paymentId, p.paymentTime, p.amount,"
+        + " e.empId, e.firstName, e.lastName, d.departmentId, d.departmentName)"
+        + " from Payment p left join p.employee e left join e.department d";
+    
+    // Redeclared so callers resolve to the aggregate-maintaining fragment methods
+    @Override
+    <S extends Payment> S save(S payment);
+    
+    @Override
+    <S extends Payment> List<S> saveAll(Iterable<S> payments);
+    
+    @Override
+    void delete(Payment payment);
+    
+    @Override
+    void deleteById(Long paymentId);
+    
+    @Override
+    void deleteAll(Iterable<? extends Payment> payments);
+    
+    @Override
+    void deleteAllById(Iterable<? extends Long> paymentIds);
+    
+    @Override
+    void deleteAll();
+    
+    @Override
+    void deleteAllInBatch(Iterable<Payment> payments);
+    
+    @Override
+    void deleteAllByIdInBatch(Iterable<Long> paymentIds);
+    
+    @Override
+    void deleteAllInBatch();
+    
+    @Override
+    @Deprecated
+    void deleteInBatch(Iterable<Payment> payments);
+    
+    @Override
+    Optional<Payment> findById(Long paymentId);
+    
+    @Override
+    boolean existsById(Long paymentId);
+    
+    @Override
+    long count();
+    
+    /**
+     * Payments in a time window with employee and department fetched in the same select.
+     */
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = {"employee", "employee.department"})
+    @Query("select p from Payment p where p.paymentTime >= :from and p.paymentTime < :to"
+        + " order by p.paymentTime, p.paymentId")
+    List<Payment> findWithEmployeeBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = {"employee", "employee.department"})
+    List<Payment> findByEmployeeEmpIdOrderByPaymentTime(Long empId);
+    
+    // Inner join: a filter behind DETAIL_ROW's outer join is not pushed down to PAYMENTS, which
+    // then walks every payment instead of IDX_PAYMENTS_EMP_TIME (see QueryPlanTest)
+    @Transactional(readOnly = true)
+    @Query("select new com.Java.demo.dto.PaymentDetailRow(p.paymentId, p.paymentTime, p.amount,"
+        + " e.empId, e.firstName, e.lastName, d.departmentId, d.departmentName)"
+        + " from Payment p join p.employee e left join e.department d"
+        + " where e.empId = :empId order by p.paymentTime, p.paymentId")
+    List<PaymentDetailRow> findDetailsByEmpId(@Param("empId") Long empId);
+    
+    @Transactional(readOnly = true)
+    @Query(DETAIL_ROW + " where d.departmentId = :departmentId order by p.paymentTime, p.paymentId")
+    List<PaymentDetailRow> findDetailsByDepartmentId(@Param("departmentId") Long departmentId, Limit limit);
+    
+    /**
+     * Streams payments in (PAYMENT_TIME, PAYMENT_ID) order through a server-side cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query(DETAIL_ROW + " where p.paymentTime >= :from and p.paymentTime < :to order by p.paymentTime, p.paymentId")
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<PaymentDetailRow> streamDetails(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    /**
+     * First keyset page in (PAYMENT_TIME, PAYMENT_ID) order.
+     */
+    @Transactional(readOnly = true)
+    @Query(DETAIL_ROW + " where p.paymentTime is not null order by p.paymentTime, p.paymentId")
+    List<PaymentDetailRow> findFirstDetailPage(Limit limit);
+    
+    /**
+     * Keyset page strictly after the given (PAYMENT_TIME, PAYMENT_ID) position, so every
+     * page is an index range scan instead of an OFFSET scan.
+     */
+    @Transactional(readOnly = true)
+    @Query(DETAIL_ROW + " where (p.paymentTime, p.paymentId) > (:afterTime, :afterId)"
+        + " order by p.paymentTime, p.paymentId")
+    List<PaymentDetailRow> findDetailPageAfter(@Param("afterTime") LocalDateTime afterTime,
+                                               @Param("afterId") Long afterId, Limit limit);
 }
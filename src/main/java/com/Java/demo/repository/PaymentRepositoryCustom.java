@@ -0,0 +1,43 @@
+package com.Java.demo.repository;
+
+import com.Java.demo.entity.Payment;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Write methods of {@link PaymentRepository} that also maintain the materialized
+ * payment aggregates, and the lookups by ID, which read from the payment shards when
+ * PAYMENTS is sharded. They override the default Spring Data implementations.
+ */
+public interface PaymentRepositoryCustom {
+    
+    <S extends Payment> S save(S payment);
+    
+    <S extends Payment> List<S> saveAll(Iterable<S> payments);
+    
+    void delete(Payment payment);
+    
+    void deleteById(Long paymentId);
+    
+    void deleteAll(Iterable<? extends Payment> payments);
+    
+    void deleteAllById(Iterable<? extends Long> paymentIds);
+    
+    void deleteAll();
+    
+    /** One DELETE statement (per 1000 IDs) instead of loading and removing each payment. */
+    void deleteAllInBatch(Iterable<Payment> payments);
+    
+    void deleteAllByIdInBatch(Iterable<Long> paymentIds);
+    
+    void deleteAllInBatch();
+    
+    void deleteInBatch(Iterable<Payment> payments);
+    
+    Optional<Payment> findById(Long paymentId);
+    
+    boolean existsById(Long paymentId);
+    
+    long count();
+}
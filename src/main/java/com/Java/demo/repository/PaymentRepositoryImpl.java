@@ -0,0 +1,263 @@
+package com.Java.demo.repository;
+
+import com.Java.demo.entity.Employee;
+import com.Java.demo.entity.IdSequences;
+import com.Java.demo.entity.Payment;
+import com.Java.demo.repository.PaymentShards.PaymentRow;
+import com.Java.demo.service.IdRangeAllocator;
+import com.Java.demo.service.PaymentAggregateService;
+import com.Java.demo.service.PaymentAggregateService.PaymentChange;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persists payments. Inserts, updates and deletes made through the session reach the
+ * aggregates through {@link PaymentAggregateListener}; the bulk deletes, which bypass the
+ * session, record their {@link PaymentChange}s with it themselves.
+ *
+ * With {@link PaymentShards} configured, payments are written to the shard of their employee
+ * over JDBC instead, and findById and count read the shards. Each shard commits on its own
+ * and the aggregates are not maintained; ShardedPaymentReportService computes the report
+ * from the shards.
+ */
+public class PaymentRepositoryImpl implements PaymentRepositoryCustom {
+    
+    private static final int IN_LIST_CHUNK = 1000;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    
+    // Resolved on use: the listener registers with the entity manager factory the repositories
+    // are built on. Providers rather than @Lazy, whose lazy-resolution proxy clashes with the
+    // AOT-generated proxy class
+    @Autowired
+    private ObjectProvider<PaymentAggregateListener> paymentAggregateListener;
+    
+    @Autowired
+    private ObjectProvider<PaymentAggregateService> paymentAggregateService;
+    
+    @Autowired
+    private ObjectProvider<PaymentShards> paymentShards;
+    
+    @Autowired
+    private ObjectProvider<IdRangeAllocator> idRangeAllocator;
+    
+    @Override
+    @Transactional
+    public <S extends Payment> S save(S payment) {
+        return saveAll(List.of(payment)).get(0);
+    }
+    
+    @Override
+    @Transactional
+    public <S extends Payment> List<S> saveAll(Iterable<S> payments) {
+        PaymentShards shards = paymentShards.getIfAvailable();
+        if (shards != null) {
+            return saveAllToShards(shards, payments);
+        }
+        List<S> saved = new ArrayList<>();
+        for (S payment : payments) {
+            if (payment.getPaymentId() == null) {
+                entityManager.persist(payment);
+                saved.add(payment);
+            } else {
+                saved.add(entityManager.merge(payment));
+            }
+        }
+        return saved;
+    }
+    
+    @Override
+    @Transactional
+    public void delete(Payment payment) {
+        if (payment.getPaymentId() != null) {
+            deleteById(payment.getPaymentId());
+        }
+    }
+    
+    @Override
+    @Transactional
+    public void deleteById(Long paymentId) {
+        PaymentShards shards = paymentShards.getIfAvailable();
+        if (shards != null) {
+            shards.delete(List.of(paymentId));
+            return;
+        }
+        Payment payment = entityManager.find(Payment.class, paymentId);
+        if (payment != null) {
+            entityManager.remove(payment);
+        }
+    }
+    
+    @Override
+    @Transactional
+    public void deleteAll(Iterable<? extends Payment> payments) {
+        deleteAllById(paymentIds(payments));
+    }
+    
+    @Override
+    @Transactional
+    public void deleteAllById(Iterable<? extends Long> paymentIds) {
+        PaymentShards shards = paymentShards.getIfAvailable();
+        if (shards != null) {
+            List<Long> ids = new ArrayList<>();
+            paymentIds.forEach(ids::add);
+            shards.delete(ids);
+            return;
+        }
+        for (Long paymentId : paymentIds) {
+            Payment managed = entityManager.find(Payment.class, paymentId);
+            if (managed != null) {
+                entityManager.remove(managed);
+            }
+        }
+    }
+    
+    @Override
+    @Transactional
+    public void deleteAll() {
+        deleteAllInBatch();
+    }
+    
+    @Override
+    @Transactional
+    public void deleteAllInBatch(Iterable<Payment> payments) {
+        deleteAllByIdInBatch(paymentIds(payments));
+    }
+    
+    @Override
+    @Transactional
+    public void deleteAllByIdInBatch(Iterable<Long> paymentIds) {
+        List<Long> ids = new ArrayList<>();
+        paymentIds.forEach(ids::add);
+        PaymentShards shards = paymentShards.getIfAvailable();
+        if (shards != null) {
+            shards.delete(ids);
+            return;
+        }
+        // Flushed first, so the rows read below are the ones the DELETE removes
+        entityManager.flush();
+        List<PaymentChange> changes = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += IN_LIST_CHUNK) {
+            List<Long> chunk = ids.subList(i, Math.min(ids.size(), i + IN_LIST_CHUNK));
+            changes.addAll(namedParameterJdbcTemplate.query(
+                "SELECT EMP_ID, AMOUNT, PAYMENT_TIME FROM PAYMENTS WHERE PAYMENT_ID IN (:ids) AND EMP_ID IS NOT NULL",
+                Map.of("ids", chunk), (rs, rowNum) -> new PaymentChange(rs.getLong(1), rs.getBigDecimal(2),
+                    rs.getObject(3, LocalDateTime.class), true)));
+            entityManager.createQuery("delete from Payment p where p.paymentId in :ids")
+                .setParameter("ids", chunk)
+                .executeUpdate();
+        }
+        paymentAggregateListener.getObject().record(session(), changes);
+    }
+    
+    @Override
+    @Transactional
+    public void deleteAllInBatch() {
+        PaymentShards shards = paymentShards.getIfAvailable();
+        if (shards != null) {
+            shards.scatter((shard, shardJdbcTemplate) -> shardJdbcTemplate.update("DELETE FROM PAYMENTS"));
+            return;
+        }
+        entityManager.flush();
+        entityManager.createQuery("delete from Payment").executeUpdate();
+        // Changes flushed so far describe payments that are gone now
+        paymentAggregateListener.getObject().discard(session());
+        paymentAggregateService.getObject().clear();
+    }
+    
+    @Override
+    @Transactional
+    public void deleteInBatch(Iterable<Payment> payments) {
+        deleteAllInBatch(payments);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Payment> findById(Long paymentId) {
+        PaymentShards shards = paymentShards.getIfAvailable();
+        if (shards == null) {
+            return Optional.ofNullable(entityManager.find(Payment.class, paymentId));
+        }
+        PaymentRow row = shards.find(paymentId);
+        if (row == null) {
+            return Optional.empty();
+        }
+        // Not managed: the row lives on a shard, which the persistence context does not know
+        Payment payment = new Payment(row.empId() == null ? null : entityManager.getReference(Employee.class, row.empId()),
+            row.amount(), row.paymentTime());
+        payment.setPaymentId(row.paymentId());
+        return Optional.of(payment);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsById(Long paymentId) {
+        return findById(paymentId).isPresent();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        PaymentShards shards = paymentShards.getIfAvailable();
+        return shards != null ? shards.count()
+            : entityManager.createQuery("select count(p) from Payment p", Long.class).getSingleResult();
+    }
+    
+    private <S extends Payment> List<S> saveAllToShards(PaymentShards shards, Iterable<S> payments) {
+        List<S> saved = new ArrayList<>();
+        payments.forEach(saved::add);
+        long newPayments = saved.stream().filter(payment -> payment.getPaymentId() == null).count();
+        long nextId = newPayments == 0 ? 0
+            : idRangeAllocator.getObject().reserve(IdSequences.PAYMENTS, "PAYMENTS", "PAYMENT_ID", newPayments);
+        
+        List<Long> updated = new ArrayList<>();
+        List<PaymentRow> rows = new ArrayList<>(saved.size());
+        for (S payment : saved) {
+            if (payment.getPaymentId() == null) {
+                payment.setPaymentId(nextId++);
+            } else {
+                updated.add(payment.getPaymentId());
+            }
+            rows.add(new PaymentRow(payment.getPaymentId(), payment.getEmployee() == null ? null : employeeId(payment),
+                payment.getAmount(), payment.getPaymentTime()));
+        }
+        // An update may have moved the payment to another employee, and so to another shard
+        shards.save(rows, updated);
+        return saved;
+    }
+    
+    private static List<Long> paymentIds(Iterable<? extends Payment> payments) {
+        List<Long> ids = new ArrayList<>();
+        payments.forEach(payment -> {
+            if (payment.getPaymentId() != null) {
+                ids.add(payment.getPaymentId());
+            }
+        });
+        return ids;
+    }
+    
+    /** Reads the ID without initializing an employee reference proxy. */
+    private long employeeId(Payment payment) {
+        return (Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil()
+            .getIdentifier(payment.getEmployee());
+    }
+    
+    private SessionImplementor session() {
+        return entityManager.unwrap(SessionImplementor.class);
+    }
+}
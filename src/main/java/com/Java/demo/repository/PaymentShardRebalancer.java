@@ -0,0 +1,138 @@
+package com.Java.demo.repository;
+
+import com.Java.demo.repository.PaymentShards.PaymentRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves payments from one shard layout to another, for changing the number of payment shards.
+ * A database listed in both layouts is the same shard and keeps the rows that still belong to it.
+ * Run it with payment writes stopped, then restart with the new app.sharding.payments.urls:
+ *
+ * <pre>
+ * java -cp demo.jar -Dloader.main=com.Java.demo.repository.PaymentShardRebalancer \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher \
+ *      --from=jdbc:mysql://shard-0/demo_db,jdbc:mysql://shard-1/demo_db \
+ *      --to=jdbc:mysql://shard-0/demo_db,jdbc:mysql://shard-1/demo_db,jdbc:mysql://shard-2/demo_db \
+ *      --username=root --password=password
+ * </pre>
+ *
+ * Rows are moved in pages: each page is written to its new shard (replacing any copy left by an
+ * interrupted run) before it is deleted from the old one, so a run can simply be repeated.
+ */
+public class PaymentShardRebalancer {
+    
+    /** Rows read from the old layout and rows that changed shard. */
+    public record Result(long rowsScanned, long rowsMoved, long elapsedMillis) {}
+    
+    private final List<DataSource> from;
+    private final List<DataSource> to;
+    private final int pageSize;
+    
+    /**
+     * @param from the current shards, in shard order
+     * @param to the new shards, in shard order; the same instance as in {@code from} for a kept shard
+     */
+    public PaymentShardRebalancer(List<DataSource> from, List<DataSource> to, int pageSize) {
+        if (to.isEmpty()) {
+            throw new IllegalArgumentException("The new layout needs at least one shard");
+        }
+        this.from = List.copyOf(from);
+        this.to = List.copyOf(to);
+        this.pageSize = pageSize;
+    }
+    
+    public Result rebalance() {
+        long started = System.nanoTime();
+        to.forEach(PaymentShards::migrate);
+        
+        Map<DataSource, TransactionTemplate> transactions = new IdentityHashMap<>();
+        for (DataSource dataSource : to) {
+            transactions.put(dataSource, new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        }
+        
+        long scanned = 0;
+        long moved = 0;
+        for (DataSource source : from) {
+            JdbcTemplate sourceJdbc = new JdbcTemplate(source);
+            long after = Long.MIN_VALUE;
+            List<PaymentRow> page;
+            do {
+                page = sourceJdbc.query("SELECT PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME FROM PAYMENTS"
+                        + " WHERE PAYMENT_ID > ? ORDER BY PAYMENT_ID LIMIT ?",
+                    (rs, rowNum) -> new PaymentRow(rs.getLong(1), rs.getObject(2, Long.class),
+                        rs.getBigDecimal(3), rs.getObject(4, LocalDateTime.class)),
+                    after, pageSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                scanned += page.size();
+                after = page.get(page.size() - 1).paymentId();
+                
+                Map<DataSource, List<PaymentRow>> byTarget = new LinkedHashMap<>();
+                for (PaymentRow row : page) {
+                    DataSource target = to.get(row.empId() == null ? 0 : PaymentShards.shardOf(row.empId(), to.size()));
+                    if (target != source) {
+                        byTarget.computeIfAbsent(target, dataSource -> new ArrayList<>()).add(row);
+                    }
+                }
+                for (Map.Entry<DataSource, List<PaymentRow>> entry : byTarget.entrySet()) {
+                    List<PaymentRow> rows = entry.getValue();
+                    List<Long> ids = rows.stream().map(PaymentRow::paymentId).toList();
+                    JdbcTemplate targetJdbc = new JdbcTemplate(entry.getKey());
+                    transactions.get(entry.getKey()).executeWithoutResult(status -> {
+                        PaymentShards.delete(targetJdbc, ids);
+                        PaymentShards.insert(targetJdbc, rows);
+                    });
+                    PaymentShards.delete(sourceJdbc, ids);
+                    moved += rows.size();
+                }
+            } while (page.size() == pageSize);
+        }
+        return new Result(scanned, moved, (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        if (!options.containsKey("from") || !options.containsKey("to")) {
+            throw new IllegalArgumentException(
+                "Usage: --from=url,... --to=url,... [--username=...] [--password=...] [--page-size=1000]");
+        }
+        
+        // One DataSource per database, so a URL in both layouts is recognized as the same shard
+        Map<String, DataSource> databases = new HashMap<>();
+        String username = options.get("username");
+        String password = options.getOrDefault("password", "");
+        List<List<DataSource>> layouts = new ArrayList<>();
+        for (String layout : List.of(options.get("from"), options.get("to"))) {
+            layouts.add(Arrays.stream(layout.split(","))
+                .map(String::trim)
+                .map(url -> databases.computeIfAbsent(url, key -> new DriverManagerDataSource(key, username, password)))
+                .toList());
+        }
+        
+        int pageSize = Integer.parseInt(options.getOrDefault("page-size", "1000"));
+        Result result = new PaymentShardRebalancer(layouts.get(0), layouts.get(1), pageSize).rebalance();
+        System.out.printf("Rebalanced %d to %d payment shards: %d rows scanned, %d moved in %d ms%n",
+            layouts.get(0).size(), layouts.get(1).size(), result.rowsScanned(), result.rowsMoved(), result.elapsedMillis());
+    }
+}
@@ -0,0 +1,280 @@
+package com.Java.demo.repository;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * PAYMENTS split across several databases by employee (app.sharding.payments.urls). A payment
+ * lives on the shard of its employee, see {@link #shardOf(long, int)}; payments without an
+ * employee live on shard 0. The shards hold only PAYMENTS (migrations in db/shard); employees,
+ * departments and ID_SEQUENCES stay on the application database.
+ *
+ * Each shard commits its own part of a write; there is no transaction spanning shards.
+ */
+public class PaymentShards implements AutoCloseable {
+    
+    public static final String MIGRATIONS = "classpath:db/shard";
+    
+    private static final int IN_LIST_CHUNK = 1000;
+    
+    private static final String INSERT =
+        "INSERT INTO PAYMENTS (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME) VALUES (?, ?, ?, ?)";
+    
+    /** One PAYMENTS row as stored on a shard. */
+    public record PaymentRow(long paymentId, Long empId, BigDecimal amount, LocalDateTime paymentTime) {}
+    
+    /** Work run against one shard by {@link #scatter(ShardWork)}. */
+    @FunctionalInterface
+    public interface ShardWork<T> {
+        T apply(int shard, JdbcTemplate jdbcTemplate);
+    }
+    
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> jdbcTemplates = new ArrayList<>();
+    private final List<TransactionTemplate> transactionTemplates = new ArrayList<>();
+    private final ExecutorService executor;
+    
+    /**
+     * @param dataSources the shards, in shard order; only appending or removing at the end
+     *                    keeps the rows that {@link PaymentShardRebalancer} has to move minimal
+     */
+    public PaymentShards(List<DataSource> dataSources) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("At least one payment shard is required");
+        }
+        this.dataSources = List.copyOf(dataSources);
+        for (DataSource dataSource : dataSources) {
+            jdbcTemplates.add(new JdbcTemplate(dataSource));
+            transactionTemplates.add(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        }
+        // One thread per shard: a scatter never waits for another shard's query to finish
+        this.executor = Executors.newFixedThreadPool(dataSources.size(),
+            Thread.ofPlatform().name("payment-shard-", 0).daemon().factory());
+    }
+    
+    public int size() {
+        return dataSources.size();
+    }
+    
+    public DataSource dataSource(int shard) {
+        return dataSources.get(shard);
+    }
+    
+    public int shardOf(Long empId) {
+        return empId == null ? 0 : shardOf(empId, size());
+    }
+    
+    /**
+     * Jump consistent hash (Lamping and Veach) of the employee ID. Going from n to n + 1 shards
+     * moves only the employees that now belong to the new shard, about 1/(n + 1) of them.
+     */
+    public static int shardOf(long empId, int shards) {
+        // Spread sequential IDs over the key space first (MurmurHash3 finalizer)
+        long key = empId;
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        
+        long bucket = -1;
+        long next = 0;
+        while (next < shards) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+    
+    /** Runs {@code work} on every shard in parallel and returns the results in shard order. */
+    public <T> List<T> scatter(ShardWork<T> work) {
+        List<Future<T>> futures = new ArrayList<>(size());
+        for (int shard = 0; shard < size(); shard++) {
+            int target = shard;
+            futures.add(executor.submit(() -> work.apply(target, jdbcTemplates.get(target))));
+        }
+        List<T> results = new ArrayList<>(size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the payment shards", e);
+        } catch (ExecutionException e) {
+            // A partial result would be a wrong report; fail the whole request
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Payment shard query failed", e.getCause());
+        }
+        return results;
+    }
+    
+    /** Inserts the rows on the shards of their employees, each shard in one transaction. */
+    public void insert(List<PaymentRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<List<PaymentRow>> byShard = new ArrayList<>(size());
+        for (int shard = 0; shard < size(); shard++) {
+            byShard.add(new ArrayList<>());
+        }
+        rows.forEach(row -> byShard.get(shardOf(row.empId())).add(row));
+        scatter((shard, jdbcTemplate) -> {
+            if (!byShard.get(shard).isEmpty()) {
+                transactionTemplates.get(shard).executeWithoutResult(status -> insert(jdbcTemplate, byShard.get(shard)));
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * Writes the rows to the shards of their employees, replacing the stored rows of
+     * {@code existingIds}. A payment that stays on its shard is replaced in that shard's
+     * transaction together with the shard's other rows. A payment that moves to another
+     * shard is inserted there first and only then deleted from its old shard, so a failure
+     * in between leaves it on both shards rather than on neither.
+     */
+    public void save(List<PaymentRow> rows, Collection<Long> existingIds) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> storedOn = locate(existingIds);
+        List<List<PaymentRow>> byShard = new ArrayList<>(size());
+        List<List<Long>> replaced = new ArrayList<>(size());
+        List<List<Long>> moved = new ArrayList<>(size());
+        for (int shard = 0; shard < size(); shard++) {
+            byShard.add(new ArrayList<>());
+            replaced.add(new ArrayList<>());
+            moved.add(new ArrayList<>());
+        }
+        for (PaymentRow row : rows) {
+            int shard = shardOf(row.empId());
+            byShard.get(shard).add(row);
+            Integer current = storedOn.get(row.paymentId());
+            if (current != null) {
+                (current == shard ? replaced.get(shard) : moved.get(current)).add(row.paymentId());
+            }
+        }
+        scatter((shard, jdbcTemplate) -> {
+            if (!byShard.get(shard).isEmpty()) {
+                transactionTemplates.get(shard).executeWithoutResult(status -> {
+                    if (!replaced.get(shard).isEmpty()) {
+                        delete(jdbcTemplate, replaced.get(shard));
+                    }
+                    insert(jdbcTemplate, byShard.get(shard));
+                });
+            }
+            return null;
+        });
+        scatter((shard, jdbcTemplate) -> moved.get(shard).isEmpty() ? 0L : delete(jdbcTemplate, moved.get(shard)));
+    }
+    
+    /** Finds the shard holding each of the payments; payments on no shard are left out. */
+    private Map<Long, Integer> locate(Collection<Long> paymentIds) {
+        Map<Long, Integer> shards = new HashMap<>();
+        if (paymentIds.isEmpty()) {
+            return shards;
+        }
+        List<Long> ids = List.copyOf(paymentIds);
+        List<List<Long>> found = scatter((shard, jdbcTemplate) -> {
+            List<Long> stored = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += IN_LIST_CHUNK) {
+                List<Long> chunk = ids.subList(from, Math.min(from + IN_LIST_CHUNK, ids.size()));
+                stored.addAll(jdbcTemplate.queryForList("SELECT PAYMENT_ID FROM PAYMENTS WHERE PAYMENT_ID IN ("
+                    + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")", Long.class, chunk.toArray()));
+            }
+            return stored;
+        });
+        for (int shard = 0; shard < found.size(); shard++) {
+            for (Long paymentId : found.get(shard)) {
+                shards.put(paymentId, shard);
+            }
+        }
+        return shards;
+    }
+    
+    /** Reads a payment from whichever shard holds it, or returns null. */
+    public PaymentRow find(long paymentId) {
+        for (List<PaymentRow> rows : scatter((shard, jdbcTemplate) -> jdbcTemplate.query(
+                "SELECT PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME FROM PAYMENTS WHERE PAYMENT_ID = ?",
+                (rs, rowNum) -> new PaymentRow(rs.getLong(1), rs.getObject(2, Long.class), rs.getBigDecimal(3),
+                    rs.getObject(4, LocalDateTime.class)), paymentId))) {
+            if (!rows.isEmpty()) {
+                return rows.get(0);
+            }
+        }
+        return null;
+    }
+    
+    /** Counts the payments of all shards. */
+    public long count() {
+        return scatter((shard, jdbcTemplate) -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PAYMENTS", Long.class))
+            .stream().mapToLong(Long::longValue).sum();
+    }
+    
+    /** Deletes the payments from whichever shards hold them and returns the rows deleted. */
+    public long delete(Collection<Long> paymentIds) {
+        if (paymentIds.isEmpty()) {
+            return 0;
+        }
+        return scatter((shard, jdbcTemplate) -> delete(jdbcTemplate, paymentIds))
+            .stream().mapToLong(Long::longValue).sum();
+    }
+    
+    static void insert(JdbcTemplate jdbcTemplate, List<PaymentRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.paymentId());
+            ps.setObject(2, row.empId());
+            ps.setBigDecimal(3, row.amount());
+            ps.setTimestamp(4, row.paymentTime() == null ? null : Timestamp.valueOf(row.paymentTime()));
+        });
+    }
+    
+    static long delete(JdbcTemplate jdbcTemplate, Collection<Long> paymentIds) {
+        long deleted = 0;
+        for (int count : jdbcTemplate.batchUpdate("DELETE FROM PAYMENTS WHERE PAYMENT_ID = ?", paymentIds,
+                paymentIds.size(), (ps, paymentId) -> ps.setLong(1, paymentId))[0]) {
+            deleted += Math.max(count, 0);
+        }
+        return deleted;
+    }
+    
+    /** Creates or upgrades the PAYMENTS schema of every shard. */
+    public void migrate() {
+        dataSources.forEach(PaymentShards::migrate);
+    }
+    
+    static void migrate(DataSource dataSource) {
+        Flyway.configure().dataSource(dataSource).locations(MIGRATIONS).load().migrate();
+    }
+    
+    @Override
+    public void close() throws Exception {
+        executor.shutdownNow();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+}
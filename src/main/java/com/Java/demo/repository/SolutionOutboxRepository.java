@@ -0,0 +1,66 @@
+package com.Java.demo.repository;
+
+import com.Java.demo.entity.SolutionOutboxEntry;
+import com.Java.demo.entity.SolutionOutboxEntry.Status;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SolutionOutboxRepository extends JpaRepository<SolutionOutboxEntry, Long> {
+    
+    // Read-write so the lookup goes to the primary: a lagging read replica would miss an entry
+    // that was just enqueued, including the one that beat us to the unique key
+    @Transactional
+    Optional<SolutionOutboxEntry> findByIdempotencyKey(String idempotencyKey);
+    
+    @Query("select o from SolutionOutboxEntry o where o.status = com.Java.demo.entity.SolutionOutboxEntry.Status.PENDING"
+        + " and o.nextAttemptAt <= :now order by o.nextAttemptAt, o.id")
+    List<SolutionOutboxEntry> findDue(@Param("now") LocalDateTime now, Limit limit);
+    
+    List<SolutionOutboxEntry> findByStatusOrderByIdDesc(Status status, Limit limit);
+    
+    long countByStatus(Status status);
+    
+    /**
+     * Claims a due entry by moving NEXT_ATTEMPT_AT to the end of the lease. Only one
+     * dispatcher (or instance) can win, because the update is conditional on the value
+     * it read; if the winner dies mid-delivery the entry becomes due again after the lease.
+     *
+     * @return 1 if the claim succeeded, 0 if another dispatcher got there first
+     */
+    @Modifying
+    @Transactional
+    @Query("update SolutionOutboxEntry o set o.nextAttemptAt = :leaseUntil, o.attempts = o.attempts + 1"
+        + " where o.id = :id and o.status = com.Java.demo.entity.SolutionOutboxEntry.Status.PENDING"
+        + " and o.nextAttemptAt = :seen")
+    int claim(@Param("id") Long id, @Param("seen") LocalDateTime seen, @Param("leaseUntil") LocalDateTime leaseUntil);
+    
+    @Modifying
+    @Transactional
+    @Query("update SolutionOutboxEntry o set o.status = com.Java.demo.entity.SolutionOutboxEntry.Status.DELIVERED,"
+        + " o.deliveredAt = :deliveredAt, o.lastError = null where o.id = :id")
+    int markDelivered(@Param("id") Long id, @Param("deliveredAt") LocalDateTime deliveredAt);
+    
+    @Modifying
+    @Transactional
+    @Query("update SolutionOutboxEntry o set o.status = :status, o.nextAttemptAt = :nextAttemptAt,"
+        + " o.lastError = :error where o.id = :id")
+    int markFailed(@Param("id") Long id, @Param("status") Status status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+    
+    @Modifying
+    @Transactional
+    @Query("update SolutionOutboxEntry o set o.status = com.Java.demo.entity.SolutionOutboxEntry.Status.PENDING,"
+        + " o.attempts = 0, o.nextAttemptAt = :now where o.id = :id"
+        + " and o.status = com.Java.demo.entity.SolutionOutboxEntry.Status.DEAD")
+    int requeueDead(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
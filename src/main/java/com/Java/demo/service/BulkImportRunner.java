@@ -0,0 +1,77 @@
+package com.Java.demo.service;
+
+import com.Java.demo.service.BulkImportService.ImportReport;
+import com.Java.demo.service.BulkImportService.Kind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a bulk import when the application is started with one or more of
+ * --import.departments=FILE, --import.employees=FILE and --import.payments=FILE, then exits:
+ * 0 if every line was imported or skipped, 1 if any line was rejected, 2 if the import failed.
+ */
+@Component
+public class BulkImportRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportRunner.class);
+
+    private static final String OPTION_PREFIX = "import.";
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Map<Kind, Path> files = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            List<String> values = args.getOptionValues(OPTION_PREFIX + kind.name().toLowerCase());
+            if (values != null && !values.isEmpty()) {
+                files.put(kind, Path.of(values.get(values.size() - 1)));
+            }
+        }
+        if (files.isEmpty()) {
+            return;
+        }
+
+        int exitCode;
+        try {
+            for (Path file : files.values()) {
+                if (!Files.isReadable(file)) {
+                    throw new IllegalArgumentException("Cannot read " + file);
+                }
+            }
+            List<ImportReport> reports = bulkImportService.importFiles(files);
+            exitCode = 0;
+            for (ImportReport report : reports) {
+                logger.info("{}: {} lines, {} accepted, {} skipped, {} rejected, {} ms ({} rows/sec, {} MB/s)",
+                    report.kind(), report.lines(), report.accepted(), report.skipped(), report.rejected(),
+                    report.elapsedMillis(), Math.round(report.rowsPerSecond()), Math.round(report.megabytesPerSecond()));
+                report.errors().forEach(error -> logger.warn("{} rejected {}", report.kind(), error));
+                if (report.rejected() > 0) {
+                    exitCode = 1;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Bulk import failed", e);
+            exitCode = 2;
+        }
+
+        int status = exitCode;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+}
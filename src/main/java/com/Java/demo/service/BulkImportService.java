@@ -0,0 +1,614 @@
+package com.Java.demo.service;
+
+import com.Java.demo.entity.IdSequences;
+import com.Java.demo.repository.PaymentShards;
+import com.Java.demo.repository.PaymentShards.PaymentRow;
+import com.Java.demo.service.CsvLineCursor.RejectedLine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk import of departments, employees and payments from CSV files, for back-filling payroll
+ * history that is too large for the JPA write path.
+ *
+ * Each file is memory-mapped in line-aligned chunks of app.import.chunk-size that are parsed
+ * in parallel by {@link CsvLineCursor}. References are checked against in-memory ID maps: the
+ * department IDs, read once per import, and {@link EmployeeReferenceCache} for employees.
+ * Accepted rows are written app.import.batch-size at a time, each batch in its own
+ * transaction, as multi-row INSERTs of app.import.rows-per-statement rows.
+ *
+ * Department and employee IDs are taken from the file, and rows whose ID already exists are
+ * skipped, so those files can be imported again. Payments get new IDs from ID_SEQUENCES.
+ * A failed batch is reported as rejected lines, and the rest of the file is still imported.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    private static final int MAX_ERRORS = 20;
+
+    public enum Kind {
+        DEPARTMENTS("DEPARTMENT_ID,DEPARTMENT_NAME"),
+        EMPLOYEES("EMP_ID,FIRST_NAME,LAST_NAME,DOB,GENDER,DEPARTMENT"),
+        PAYMENTS("EMP_ID,AMOUNT,PAYMENT_TIME");
+
+        private final String header;
+
+        Kind(String header) {
+            this.header = header;
+        }
+
+        public String header() {
+            return header;
+        }
+
+        int fields() {
+            return header.split(",").length;
+        }
+    }
+
+    /**
+     * Outcome of importing one file. {@code skipped} rows already existed; {@code errors} holds
+     * the first rejection reasons by line number.
+     */
+    public record ImportReport(Kind kind, Path file, long bytes, int chunks, long lines, long accepted,
+                               long skipped, long rejected, long elapsedMillis, List<String> errors) {
+
+        public double rowsPerSecond() {
+            return elapsedMillis > 0 ? accepted * 1000.0 / elapsedMillis : 0.0;
+        }
+
+        public double megabytesPerSecond() {
+            return elapsedMillis > 0 ? bytes / 1_048_576.0 * 1000.0 / elapsedMillis : 0.0;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IdRangeAllocator idRangeAllocator;
+
+    @Autowired
+    private EmployeeReferenceCache employeeReferenceCache;
+
+    @Autowired
+    private PaymentAggregateService paymentAggregateService;
+
+    @Autowired
+    private ObjectProvider<ReferenceDataCacheService> referenceDataCacheService;
+
+    @Autowired
+    private ObjectProvider<PaymentShards> paymentShards;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.import.threads:4}")
+    private int threads;
+
+    @Value("${app.import.chunk-size:64MB}")
+    private DataSize chunkSize;
+
+    @Value("${app.import.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.import.rows-per-statement:500}")
+    private int rowsPerStatement;
+
+    /**
+     * Imports the given files in dependency order (departments, employees, payments), then
+     * brings the derived state up to date: ID sequences, payment aggregates and caches.
+     */
+    public List<ImportReport> importFiles(Map<Kind, Path> files) {
+        List<ImportReport> reports = new ArrayList<>();
+        // Employees written by other JDBC paths since the cache was loaded must be visible
+        employeeReferenceCache.invalidate();
+        for (Kind kind : Kind.values()) {
+            if (files.containsKey(kind)) {
+                reports.add(importFile(kind, files.get(kind)));
+            }
+        }
+
+        // Keep Hibernate's table-based IDs clear of the imported ones
+        idRangeAllocator.reserve(IdSequences.DEPARTMENT, "DEPARTMENT", "DEPARTMENT_ID", 0);
+        idRangeAllocator.reserve(IdSequences.EMPLOYEE, "EMPLOYEE", "EMP_ID", 0);
+        if (files.containsKey(Kind.PAYMENTS) && paymentShards.getIfAvailable() == null) {
+            paymentAggregateService.rebuild();
+        }
+        referenceDataCacheService.ifAvailable(ReferenceDataCacheService::evictAll);
+        return reports;
+    }
+
+    public ImportReport importFile(Kind kind, Path file) {
+        long started = System.nanoTime();
+        String outcome = "error";
+        try (FileChannel channel = FileChannel.open(file)) {
+            long size = channel.size();
+            List<long[]> chunks = split(channel, headerEnd(channel, kind, file), Math.max(1, chunkSize.toBytes()));
+            logger.info("Importing {} from {}: {} bytes in {} chunks using {} threads",
+                kind, file, size, chunks.size(), threads);
+
+            ImportTarget target = target(kind);
+            AtomicLong rowsDone = new AtomicLong();
+            AtomicLong chunksDone = new AtomicLong();
+            long progressStep = Math.max(1, chunks.size() / 10);
+
+            List<ChunkResult> results = new ArrayList<>();
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, chunks.size())),
+                Thread.ofPlatform().name("bulk-import-", 0).factory());
+            try {
+                List<Future<ChunkResult>> futures = new ArrayList<>();
+                for (long[] chunk : chunks) {
+                    futures.add(executor.submit(() -> {
+                        ChunkResult result = importChunk(channel, chunk[0], chunk[1], kind, target);
+                        long rows = rowsDone.addAndGet(result.accepted);
+                        long done = chunksDone.incrementAndGet();
+                        if (done % progressStep == 0 || done == chunks.size()) {
+                            double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+                            logger.info("Import progress: {}/{} chunks, {} rows, {} rows/sec",
+                                done, chunks.size(), rows, Math.round(rows / Math.max(seconds, 0.001)));
+                        }
+                        return result;
+                    }));
+                }
+                for (Future<ChunkResult> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Bulk import interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Bulk import of " + file + " failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+
+            ImportReport report = report(kind, file, size, results, (System.nanoTime() - started) / 1_000_000);
+            logger.info("Imported {} from {}: {} accepted, {} skipped, {} rejected of {} lines in {} ms"
+                    + " ({} rows/sec, {} MB/s)", kind, file, report.accepted(), report.skipped(), report.rejected(),
+                report.lines(), report.elapsedMillis(), Math.round(report.rowsPerSecond()),
+                Math.round(report.megabytesPerSecond()));
+            outcome = "success";
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            Timer.builder("data.import")
+                .description("Bulk CSV imports")
+                .tags("kind", kind.name().toLowerCase(), "outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Checks the header line and returns the offset of the first data line. */
+    private static long headerEnd(FileChannel channel, Kind kind, Path file) throws IOException {
+        ByteBuffer start = ByteBuffer.allocate(1024);
+        channel.read(start, 0);
+        start.flip();
+        int end = 0;
+        while (end < start.limit() && start.get(end) != '\n') {
+            end++;
+        }
+        String header = StandardCharsets.UTF_8.decode(start.slice(0, end)).toString()
+            .replace("\uFEFF", "").replace(" ", "").trim();
+        if (!header.equalsIgnoreCase(kind.header())) {
+            throw new IllegalArgumentException(file + " must start with the header " + kind.header() + ", found " + header);
+        }
+        return Math.min(end + 1, channel.size());
+    }
+
+    /** [start, end) ranges of about chunkBytes each, every one ending just after a line break. */
+    private static List<long[]> split(FileChannel channel, long start, long chunkBytes) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        long size = channel.size();
+        ByteBuffer window = ByteBuffer.allocate(8192);
+        while (start < size) {
+            long end = Math.min(size, start + chunkBytes);
+            while (end < size) {
+                window.clear();
+                int read = channel.read(window, end);
+                int newline = -1;
+                for (int i = 0; i < read && newline < 0; i++) {
+                    if (window.get(i) == '\n') {
+                        newline = i;
+                    }
+                }
+                if (newline >= 0) {
+                    end += newline + 1;
+                    break;
+                }
+                end += Math.max(read, 0);
+            }
+            chunks.add(new long[] {start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private ChunkResult importChunk(FileChannel channel, long start, long end, Kind kind, ImportTarget target)
+            throws IOException {
+        // A mapping stays valid after the channel closes and is unmapped once unreachable
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        CsvLineCursor cursor = new CsvLineCursor(buffer, kind.fields());
+        ChunkResult result = new ChunkResult(start);
+        Batch batch = target.newBatch(batchSize);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        while (cursor.nextLine()) {
+            long line = ++result.lines;
+            if (cursor.isBlankLine()) {
+                continue;
+            }
+            String problem = cursor.problem(kind.fields());
+            if (problem != null) {
+                result.reject(line, problem);
+                continue;
+            }
+            try {
+                if (!batch.add(cursor, line)) {
+                    result.skipped++;
+                    continue;
+                }
+            } catch (RejectedLine e) {
+                result.reject(line, e.getMessage());
+                continue;
+            }
+            if (batch.size() == batchSize) {
+                flush(transactionTemplate, batch, result);
+            }
+        }
+        flush(transactionTemplate, batch, result);
+        return result;
+    }
+
+    private void flush(TransactionTemplate transactionTemplate, Batch batch, ChunkResult result) {
+        if (batch.size() == 0) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.write());
+            batch.committed();
+            result.accepted += batch.size();
+        } catch (RuntimeException e) {
+            logger.warn("Rejected import batch of {} rows at line {} of the chunk at byte {}",
+                batch.size(), batch.firstLine(), result.start, e);
+            result.rejectBatch(batch.firstLine(), batch.size(),
+                "batch failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+        batch.clear();
+    }
+
+    private ImportReport report(Kind kind, Path file, long bytes, List<ChunkResult> results, long elapsedMillis) {
+        long lines = 1;
+        long accepted = 0;
+        long skipped = 0;
+        long rejected = 0;
+        List<long[]> errorLines = new ArrayList<>();
+        List<String> errorReasons = new ArrayList<>();
+        for (ChunkResult result : results) {
+            // Chunks count lines from 1; the header and earlier chunks come before
+            for (Map.Entry<Long, String> error : result.errors.entrySet()) {
+                errorLines.add(new long[] {lines + error.getKey(), errorReasons.size()});
+                errorReasons.add(error.getValue());
+            }
+            lines += result.lines;
+            accepted += result.accepted;
+            skipped += result.skipped;
+            rejected += result.rejected;
+        }
+        List<String> errors = errorLines.stream()
+            .sorted(Comparator.comparingLong(error -> error[0]))
+            .limit(MAX_ERRORS)
+            .map(error -> "line " + error[0] + ": " + errorReasons.get((int) error[1]))
+            .toList();
+        return new ImportReport(kind, file, bytes, results.size(), lines, accepted, skipped, rejected,
+            elapsedMillis, errors);
+    }
+
+    /** Per-chunk counters; only the thread importing the chunk touches them. */
+    private static final class ChunkResult {
+        final long start;
+        final Map<Long, String> errors = new LinkedHashMap<>();
+        long lines;
+        long accepted;
+        long skipped;
+        long rejected;
+
+        ChunkResult(long start) {
+            this.start = start;
+        }
+
+        void reject(long line, String reason) {
+            rejected++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.put(line, reason);
+            }
+        }
+
+        void rejectBatch(long firstLine, long count, String reason) {
+            rejected += count;
+            if (errors.size() < MAX_ERRORS) {
+                errors.put(firstLine, count + " lines from here: " + reason);
+            }
+        }
+    }
+
+    // --- Import targets: parsing, reference checks and multi-row inserts per kind ---
+
+    private interface ImportTarget {
+        Batch newBatch(int capacity);
+    }
+
+    /** Rows parsed from one chunk and not yet written; reused across the chunk's batches. */
+    private abstract static class Batch {
+        protected final long[] lines;
+        protected int size;
+
+        Batch(int capacity) {
+            lines = new long[capacity];
+        }
+
+        /** Parses the line into the batch; false if its row already exists. */
+        abstract boolean add(CsvLineCursor cursor, long line);
+
+        /** Inserts the rows; runs inside the batch transaction. */
+        abstract void write();
+
+        /** Called once the batch transaction has committed. */
+        void committed() {}
+
+        int size() {
+            return size;
+        }
+
+        long firstLine() {
+            return lines[0];
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    private ImportTarget target(Kind kind) {
+        return switch (kind) {
+            case DEPARTMENTS -> departments();
+            case EMPLOYEES -> employees();
+            case PAYMENTS -> payments();
+        };
+    }
+
+    private ImportTarget departments() {
+        Set<Long> known = ConcurrentHashMap.newKeySet();
+        known.addAll(jdbcTemplate.queryForList("SELECT DEPARTMENT_ID FROM DEPARTMENT", Long.class));
+        return capacity -> new Batch(capacity) {
+            final long[] ids = new long[capacity];
+            final String[] names = new String[capacity];
+
+            @Override
+            boolean add(CsvLineCursor cursor, long line) {
+                long id = required(cursor, 0, "DEPARTMENT_ID");
+                String name = cursor.text(1);
+                if (!known.add(id)) {
+                    return false;
+                }
+                ids[size] = id;
+                names[size] = name;
+                lines[size++] = line;
+                return true;
+            }
+
+            @Override
+            void write() {
+                insertRows("DEPARTMENT (DEPARTMENT_ID, DEPARTMENT_NAME)", 2, size, (ps, at, row) -> {
+                    ps.setLong(at, ids[row]);
+                    ps.setString(at + 1, names[row]);
+                });
+            }
+        };
+    }
+
+    private ImportTarget employees() {
+        Set<Long> departments = ConcurrentHashMap.newKeySet();
+        departments.addAll(jdbcTemplate.queryForList("SELECT DEPARTMENT_ID FROM DEPARTMENT", Long.class));
+        Set<Long> claimed = ConcurrentHashMap.newKeySet();
+        return capacity -> new Batch(capacity) {
+            final long[] ids = new long[capacity];
+            final String[] firstNames = new String[capacity];
+            final String[] lastNames = new String[capacity];
+            final LocalDate[] dobs = new LocalDate[capacity];
+            final String[] genders = new String[capacity];
+            final long[] departmentIds = new long[capacity];
+
+            @Override
+            boolean add(CsvLineCursor cursor, long line) {
+                long id = required(cursor, 0, "EMP_ID");
+                LocalDate dob = cursor.isEmpty(3) ? null : cursor.date(3, "DOB");
+                long departmentId = EmployeeReferenceCache.NO_DEPARTMENT;
+                if (!cursor.isEmpty(5)) {
+                    departmentId = cursor.longValue(5, "DEPARTMENT");
+                    if (!departments.contains(departmentId)) {
+                        throw new RejectedLine("unknown department " + departmentId);
+                    }
+                }
+                if (employeeReferenceCache.loadedDepartmentOf(id) != null || !claimed.add(id)) {
+                    return false;
+                }
+                ids[size] = id;
+                firstNames[size] = cursor.text(1);
+                lastNames[size] = cursor.text(2);
+                dobs[size] = dob;
+                genders[size] = cursor.text(4);
+                departmentIds[size] = departmentId;
+                lines[size++] = line;
+                return true;
+            }
+
+            @Override
+            void write() {
+                insertRows("EMPLOYEE (EMP_ID, FIRST_NAME, LAST_NAME, DOB, GENDER, DEPARTMENT)", 6, size, (ps, at, row) -> {
+                    ps.setLong(at, ids[row]);
+                    ps.setString(at + 1, firstNames[row]);
+                    ps.setString(at + 2, lastNames[row]);
+                    ps.setObject(at + 3, dobs[row]);
+                    ps.setString(at + 4, genders[row]);
+                    if (departmentIds[row] == EmployeeReferenceCache.NO_DEPARTMENT) {
+                        ps.setNull(at + 5, Types.BIGINT);
+                    } else {
+                        ps.setLong(at + 5, departmentIds[row]);
+                    }
+                });
+            }
+
+            @Override
+            void committed() {
+                for (int row = 0; row < size; row++) {
+                    employeeReferenceCache.register(ids[row],
+                        departmentIds[row] == EmployeeReferenceCache.NO_DEPARTMENT ? null : departmentIds[row]);
+                }
+            }
+        };
+    }
+
+    private ImportTarget payments() {
+        PaymentShards shards = paymentShards.getIfAvailable();
+        return capacity -> new Batch(capacity) {
+            final long[] empIds = new long[capacity];
+            final long[] cents = new long[capacity];
+            final LocalDateTime[] times = new LocalDateTime[capacity];
+
+            @Override
+            boolean add(CsvLineCursor cursor, long line) {
+                long empId = required(cursor, 0, "EMP_ID");
+                if (cursor.isEmpty(1)) {
+                    throw new RejectedLine("AMOUNT is required");
+                }
+                long amount = cursor.cents(1, "AMOUNT");
+                if (cursor.isEmpty(2)) {
+                    throw new RejectedLine("PAYMENT_TIME is required");
+                }
+                LocalDateTime time = cursor.dateTime(2, "PAYMENT_TIME");
+                if (employeeReferenceCache.loadedDepartmentOf(empId) == null) {
+                    throw new RejectedLine("unknown employee " + empId);
+                }
+                empIds[size] = empId;
+                cents[size] = amount;
+                times[size] = time;
+                lines[size++] = line;
+                return true;
+            }
+
+            @Override
+            void write() {
+                long first = idRangeAllocator.reserve(IdSequences.PAYMENTS, "PAYMENTS", "PAYMENT_ID", size);
+                if (shards != null) {
+                    List<PaymentRow> rows = new ArrayList<>(size);
+                    for (int row = 0; row < size; row++) {
+                        rows.add(new PaymentRow(first + row, empIds[row], BigDecimal.valueOf(cents[row], 2), times[row]));
+                    }
+                    shards.insert(rows);
+                    return;
+                }
+                insertRows("PAYMENTS (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME)", 4, size, (ps, at, row) -> {
+                    ps.setLong(at, first + row);
+                    ps.setLong(at + 1, empIds[row]);
+                    ps.setBigDecimal(at + 2, BigDecimal.valueOf(cents[row], 2));
+                    ps.setObject(at + 3, times[row]);
+                });
+            }
+        };
+    }
+
+    private static long required(CsvLineCursor cursor, int field, String name) {
+        if (cursor.isEmpty(field)) {
+            throw new RejectedLine(name + " is required");
+        }
+        return cursor.longValue(field, name);
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, int firstParameter, int row) throws SQLException;
+    }
+
+    /**
+     * Inserts {@code rows} rows as JDBC batches of multi-row INSERTs, rowsPerStatement rows to a
+     * statement plus one statement for the remainder.
+     */
+    private void insertRows(String target, int columns, int rows, RowBinder binder) {
+        int perStatement = Math.max(1, Math.min(rowsPerStatement, rows));
+        int statements = rows / perStatement;
+        jdbcTemplate.batchUpdate(multiRowInsert(target, columns, perStatement), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                for (int row = 0; row < perStatement; row++) {
+                    binder.bind(ps, row * columns + 1, i * perStatement + row);
+                }
+            }
+
+            @Override
+            public int getBatchSize() {
+                return statements;
+            }
+        });
+        int done = statements * perStatement;
+        if (done < rows) {
+            jdbcTemplate.update(multiRowInsert(target, columns, rows - done), ps -> {
+                for (int row = done; row < rows; row++) {
+                    binder.bind(ps, (row - done) * columns + 1, row);
+                }
+            });
+        }
+    }
+
+    private static String multiRowInsert(String target, int columns, int rows) {
+        String values = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+        return "INSERT INTO " + target + " VALUES " + String.join(", ", Collections.nCopies(rows, values));
+    }
+}
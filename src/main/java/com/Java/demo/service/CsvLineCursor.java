@@ -0,0 +1,266 @@
+package com.Java.demo.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Walks the CSV lines of a buffer (a memory-mapped file chunk) in place. Each line is split
+ * into field offsets, and numbers, amounts and timestamps are decoded straight from the bytes;
+ * only {@link #text(int)} creates a String.
+ *
+ * Fields may be quoted, with "" for a quote inside, but a record must fit on one line: the
+ * import splits files at line breaks.
+ */
+final class CsvLineCursor {
+
+    /** A line that cannot be imported; carries no stack trace, since bad lines are expected. */
+    static final class RejectedLine extends RuntimeException {
+        RejectedLine(String reason) {
+            super(reason, null, false, false);
+        }
+    }
+
+    private static final int MAX_DIGITS = 18;
+
+    private final ByteBuffer buffer;
+    private final int[] starts;
+    private final int[] ends;
+    private final boolean[] escaped;
+    private byte[] scratch = new byte[256];
+    private int position;
+    private int fields;
+    private boolean malformed;
+
+    CsvLineCursor(ByteBuffer buffer, int maxFields) {
+        this.buffer = buffer;
+        this.position = buffer.position();
+        this.starts = new int[maxFields];
+        this.ends = new int[maxFields];
+        this.escaped = new boolean[maxFields];
+    }
+
+    /** Moves to the next line; false at the end of the buffer. */
+    boolean nextLine() {
+        int limit = buffer.limit();
+        if (position >= limit) {
+            return false;
+        }
+        fields = 0;
+        malformed = false;
+        int at = position;
+        while (true) {
+            int start = at;
+            int end;
+            boolean quotes = false;
+            if (at < limit && buffer.get(at) == '"') {
+                start = ++at;
+                while (true) {
+                    if (at >= limit || buffer.get(at) == '\n') {
+                        malformed = true;
+                        break;
+                    }
+                    if (buffer.get(at) == '"') {
+                        if (at + 1 < limit && buffer.get(at + 1) == '"') {
+                            quotes = true;
+                            at += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    at++;
+                }
+                end = at;
+                if (!malformed) {
+                    at++;
+                }
+            } else {
+                while (at < limit && buffer.get(at) != ',' && buffer.get(at) != '\n' && buffer.get(at) != '"') {
+                    at++;
+                }
+                end = at;
+            }
+            if (fields < starts.length) {
+                starts[fields] = start;
+                ends[fields] = end;
+                escaped[fields] = quotes;
+            }
+            fields++;
+
+            byte next = at < limit ? buffer.get(at) : (byte) '\n';
+            if (next == ',') {
+                at++;
+                continue;
+            }
+            if (next != '\n' && next != '\r') {
+                malformed = true;
+                while (at < limit && buffer.get(at) != '\n') {
+                    at++;
+                }
+            }
+            break;
+        }
+        // Drop the \r of a \r\n line end from an unquoted last field
+        int last = Math.min(fields, starts.length) - 1;
+        if (ends[last] > starts[last] && buffer.get(ends[last] - 1) == '\r'
+                && (ends[last] == limit || buffer.get(ends[last]) != '"')) {
+            ends[last]--;
+        }
+        while (at < limit && buffer.get(at) != '\n') {
+            at++;
+        }
+        position = Math.min(at + 1, limit);
+        return true;
+    }
+
+    boolean isBlankLine() {
+        return fields == 1 && ends[0] == starts[0];
+    }
+
+    /** Null if the line is well formed with {@code expected} fields, else why not. */
+    String problem(int expected) {
+        if (malformed) {
+            return "malformed CSV";
+        }
+        return fields == expected ? null : "expected " + expected + " fields, found " + fields;
+    }
+
+    boolean isEmpty(int field) {
+        return starts[field] == ends[field];
+    }
+
+    long longValue(int field, String name) {
+        int at = starts[field];
+        int end = ends[field];
+        boolean negative = at < end && buffer.get(at) == '-';
+        if (negative) {
+            at++;
+        }
+        if (at == end || end - at > MAX_DIGITS) {
+            throw new RejectedLine(name + " is not a number");
+        }
+        long value = 0;
+        for (; at < end; at++) {
+            int digit = buffer.get(at) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new RejectedLine(name + " is not a number");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /** A non-negative decimal with at most two fraction digits, in cents. */
+    long cents(int field, String name) {
+        int at = starts[field];
+        int end = ends[field];
+        long value = 0;
+        int digits = 0;
+        int fraction = -1;
+        for (; at < end; at++) {
+            byte b = buffer.get(at);
+            if (b == '.' && fraction < 0) {
+                fraction = 0;
+                continue;
+            }
+            if (b == '-') {
+                throw new RejectedLine(name + " must be zero or positive");
+            }
+            if (b < '0' || b > '9' || ++digits > MAX_DIGITS) {
+                throw new RejectedLine(name + " is not a decimal number");
+            }
+            if (fraction >= 0 && ++fraction > 2) {
+                throw new RejectedLine(name + " has more than two decimals");
+            }
+            value = value * 10 + (b - '0');
+        }
+        if (digits == 0) {
+            throw new RejectedLine(name + " is not a decimal number");
+        }
+        for (int scale = Math.max(fraction, 0); scale < 2; scale++) {
+            value *= 10;
+        }
+        return value;
+    }
+
+    /** yyyy-MM-dd. */
+    LocalDate date(int field, String name) {
+        if (ends[field] - starts[field] != 10) {
+            throw new RejectedLine(name + " must be yyyy-MM-dd");
+        }
+        try {
+            return LocalDate.of(digits(field, 0, 4, '-', name), digits(field, 5, 2, '-', name), digits(field, 8, 2, (char) 0, name));
+        } catch (DateTimeException e) {
+            throw new RejectedLine(name + " is not a valid date");
+        }
+    }
+
+    /** yyyy-MM-dd HH:mm[:ss[.fraction]], with a space or a T between date and time. */
+    LocalDateTime dateTime(int field, String name) {
+        int length = ends[field] - starts[field];
+        if (length < 16 || length > 26 || length == 17 || length == 18 || length == 20) {
+            throw new RejectedLine(name + " must be yyyy-MM-dd HH:mm:ss");
+        }
+        byte separator = buffer.get(starts[field] + 10);
+        if (separator != ' ' && separator != 'T') {
+            throw new RejectedLine(name + " must be yyyy-MM-dd HH:mm:ss");
+        }
+        int second = 0;
+        int nanos = 0;
+        if (length > 16) {
+            if (buffer.get(starts[field] + 16) != ':') {
+                throw new RejectedLine(name + " must be yyyy-MM-dd HH:mm:ss");
+            }
+            second = digits(field, 17, 2, length > 19 ? '.' : (char) 0, name);
+            if (length > 20) {
+                nanos = digits(field, 20, length - 20, (char) 0, name);
+                for (int scale = length - 20; scale < 9; scale++) {
+                    nanos *= 10;
+                }
+            }
+        }
+        try {
+            return LocalDateTime.of(digits(field, 0, 4, '-', name), digits(field, 5, 2, '-', name),
+                digits(field, 8, 2, (char) 0, name), digits(field, 11, 2, ':', name),
+                digits(field, 14, 2, (char) 0, name), second, nanos);
+        } catch (DateTimeException e) {
+            throw new RejectedLine(name + " is not a valid timestamp");
+        }
+    }
+
+    /** The field as a String, or null if it is empty and unquoted. */
+    String text(int field) {
+        int length = ends[field] - starts[field];
+        if (length == 0) {
+            return starts[field] > 0 && buffer.get(starts[field] - 1) == '"' ? "" : null;
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(starts[field], scratch, 0, length);
+        String text = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        return escaped[field] ? text.replace("\"\"", "\"") : text;
+    }
+
+    /**
+     * The {@code count} digits at {@code offset} within the field, which must be followed by
+     * {@code after} (0 for nothing to check).
+     */
+    private int digits(int field, int offset, int count, char after, String name) {
+        int at = starts[field] + offset;
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            int digit = buffer.get(at + i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new RejectedLine(name + " must be yyyy-MM-dd HH:mm:ss");
+            }
+            value = value * 10 + digit;
+        }
+        if (after != 0 && buffer.get(at + count) != after) {
+            throw new RejectedLine(name + " must be yyyy-MM-dd HH:mm:ss");
+        }
+        return value;
+    }
+}
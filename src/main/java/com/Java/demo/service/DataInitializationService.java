@@ -1,14 +1,22 @@
 package com.Java.demo.service;
 
+import com.Java.demo.config.DataGeneratorProperties;
+import com.Java.demo.dto.DataGenerationReport;
+import com.Java.demo.dto.DataGenerationRequest;
 import com.Java.demo.entity.Department;
 import com.Java.demo.entity.Employee;
 import com.Java.demo.entity.Payment;
 import com.Java.demo.repository.DepartmentRepository;
 import com.Java.demo.repository.EmployeeRepository;
 import com.Java.demo.repository.PaymentRepository;
+import com.Java.demo.repository.PaymentShards;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -30,9 +38,38 @@ public class DataInitializationService {
     @Autowired
     private PaymentRepository paymentRepository;
     
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+    
+    @Autowired
+    private DataGeneratorProperties generatorProperties;
+    
+    @Autowired
+    private PaymentAggregateService paymentAggregateService;
+    
+    @Autowired
+    private ReferenceDataCacheService referenceDataCacheService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ObjectProvider<PaymentShards> paymentShards;
+    
+    // "sample" seeds the small fixed dataset, "synthetic" runs the scalable generator
+    @Value("${app.data.mode:sample}")
+    private String dataMode;
+    
     public void initializeSampleData() {
+        if ("synthetic".equalsIgnoreCase(dataMode)) {
+            generateSyntheticData(null);
+            return;
+        }
+        
         logger.info("Initializing sample data...");
         
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
             // Create departments
             Department engineeringDept = new Department("Engineering");
@@ -82,10 +119,70 @@ public class DataInitializationService {
             
             logger.info("Sample data initialized successfully. Created {} departments, {} employees, and {} payments.",
                 departmentRepository.count(), employeeRepository.count(), paymentRepository.count());
+            outcome = "success";
             
         } catch (Exception e) {
             logger.error("Error initializing sample data", e);
             throw new RuntimeException("Failed to initialize sample data", e);
+        } finally {
+            sample.stop(seedTimer("sample", outcome));
+        }
+    }
+    
+    /**
+     * Runs the synthetic dataset generator, applying any non-null overrides
+     * on top of the configured app.data.generator.* settings.
+     */
+    public DataGenerationReport generateSyntheticData(DataGenerationRequest overrides) {
+        if (paymentShards.getIfAvailable() != null) {
+            throw new IllegalStateException("The synthetic generator writes PAYMENTS to the application database;"
+                + " it is not available while PAYMENTS is sharded");
         }
+        DataGeneratorProperties properties = generatorProperties.copy();
+        
+        if (overrides != null) {
+            if (overrides.getScaleFactor() != null) {
+                properties.setScaleFactor(overrides.getScaleFactor());
+            }
+            if (overrides.getDepartments() != null) {
+                properties.setDepartments(overrides.getDepartments());
+            }
+            if (overrides.getEmployeesPerDepartment() != null) {
+                properties.setEmployeesPerDepartment(overrides.getEmployeesPerDepartment());
+            }
+            if (overrides.getPaymentsPerEmployee() != null) {
+                properties.setPaymentsPerEmployee(overrides.getPaymentsPerEmployee());
+            }
+            if (overrides.getSpanDays() != null) {
+                properties.setSpanDays(overrides.getSpanDays());
+            }
+            if (overrides.getSeed() != null) {
+                properties.setSeed(overrides.getSeed());
+            }
+        }
+        
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            DataGenerationReport report = syntheticDataGenerator.generate(properties);
+            
+            // The generator writes through JDBC, bypassing the repository-maintained aggregates
+            // and the second-level cache
+            paymentAggregateService.rebuild();
+            referenceDataCacheService.evictAll();
+            
+            outcome = "success";
+            return report;
+        } finally {
+            sample.stop(seedTimer("synthetic", outcome));
+        }
+    }
+    
+    private Timer seedTimer(String mode, String outcome) {
+        return Timer.builder("data.seed")
+            .description("Sample and synthetic data seeding")
+            .tags("mode", mode, "outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
 }
@@ -0,0 +1,108 @@
+package com.Java.demo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ID-only view of EMPLOYEE (EMP_ID -> DEPARTMENT) used by the write paths to
+ * validate employee references without loading entities or issuing a SELECT per row.
+ * The table is read once on first use; unknown IDs fall back to a single lookup.
+ */
+@Service
+public class EmployeeReferenceCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeReferenceCache.class);
+    
+    /** Stored for employees without a department, since the map cannot hold nulls. */
+    public static final long NO_DEPARTMENT = 0L;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private final Map<Long, Long> departmentByEmployee = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    
+    /** A lock rather than a monitor: a virtual thread blocked on JDBC inside synchronized pins its carrier. */
+    private final ReentrantLock loadLock = new ReentrantLock();
+    
+    public boolean contains(long empId) {
+        return departmentOf(empId) != null;
+    }
+    
+    /**
+     * Returns the department ID of the employee, {@link #NO_DEPARTMENT} if it has none,
+     * or null if the employee does not exist.
+     */
+    public Long departmentOf(long empId) {
+        ensureLoaded();
+        Long departmentId = departmentByEmployee.get(empId);
+        if (departmentId != null) {
+            return departmentId;
+        }
+        
+        List<Long> found = jdbcTemplate.query(
+            "SELECT DEPARTMENT FROM EMPLOYEE WHERE EMP_ID = ?",
+            (rs, rowNum) -> {
+                long value = rs.getLong(1);
+                return rs.wasNull() ? NO_DEPARTMENT : value;
+            },
+            empId);
+        if (found.isEmpty()) {
+            return null;
+        }
+        departmentByEmployee.put(empId, found.get(0));
+        return found.get(0);
+    }
+    
+    /**
+     * Like {@link #departmentOf(long)}, but answers from the loaded table only: an employee
+     * written since by another connection reads as unknown. For bulk paths that would
+     * otherwise issue one SELECT per missing reference.
+     */
+    public Long loadedDepartmentOf(long empId) {
+        ensureLoaded();
+        return departmentByEmployee.get(empId);
+    }
+    
+    public void register(long empId, Long departmentId) {
+        departmentByEmployee.put(empId, departmentId == null ? NO_DEPARTMENT : departmentId);
+    }
+    
+    public void evict(long empId) {
+        departmentByEmployee.remove(empId);
+    }
+    
+    /** Drops all entries; the table is read again on next use. */
+    public void invalidate() {
+        loaded = false;
+        departmentByEmployee.clear();
+    }
+    
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            jdbcTemplate.query("SELECT EMP_ID, DEPARTMENT FROM EMPLOYEE", rs -> {
+                long departmentId = rs.getLong(2);
+                departmentByEmployee.put(rs.getLong(1), rs.wasNull() ? NO_DEPARTMENT : departmentId);
+            });
+            loaded = true;
+            logger.info("Loaded {} employee references", departmentByEmployee.size());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+}
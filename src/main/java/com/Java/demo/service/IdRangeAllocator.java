@@ -0,0 +1,61 @@
+package com.Java.demo.service;
+
+import com.Java.demo.entity.IdSequences;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Reserves contiguous ID blocks from the ID_SEQUENCES table for JDBC bulk writers,
+ * so rows they insert never collide with IDs Hibernate allocates for the entities.
+ */
+@Service
+public class IdRangeAllocator {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    /**
+     * Reserves {@code count} IDs for the given sequence and returns the first one.
+     * The block also starts above the current MAX(idColumn) of the table, in case
+     * rows were inserted without going through the sequence.
+     */
+    public long reserve(String sequenceName, String table, String idColumn, long count) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        
+        Long start = transactionTemplate.execute(status -> {
+            List<Long> current = jdbcTemplate.queryForList(
+                "SELECT " + IdSequences.VALUE_COLUMN + " FROM " + IdSequences.TABLE
+                    + " WHERE " + IdSequences.NAME_COLUMN + " = ? FOR UPDATE",
+                Long.class, sequenceName);
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + idColumn + ") FROM " + table, Long.class);
+            long floor = maxId == null ? 1L : maxId + 1;
+            
+            if (current.isEmpty()) {
+                jdbcTemplate.update(
+                    "INSERT INTO " + IdSequences.TABLE + " (" + IdSequences.NAME_COLUMN + ", "
+                        + IdSequences.VALUE_COLUMN + ") VALUES (?, ?)",
+                    sequenceName, floor + count);
+                return floor;
+            }
+            
+            long first = Math.max(current.get(0), floor);
+            jdbcTemplate.update(
+                "UPDATE " + IdSequences.TABLE + " SET " + IdSequences.VALUE_COLUMN + " = ? WHERE "
+                    + IdSequences.NAME_COLUMN + " = ?",
+                first + count, sequenceName);
+            return first;
+        });
+        
+        return start;
+    }
+}
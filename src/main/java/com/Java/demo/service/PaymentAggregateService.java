@@ -0,0 +1,346 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.AggregateDriftReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Maintains EMPLOYEE_PAYMENT_AGGREGATE and DEPARTMENT_PAYMENT_AGGREGATE.
+ *
+ * Inserts are applied as O(1) deltas (count/sum increments, LEAST/GREATEST for the
+ * extremes), as upserts that are safe against concurrent writers of the same row. A
+ * removed payment may have been the min/max/first/last value, so employees touched by
+ * deletes or updates are recomputed from PAYMENTS instead, and their departments from
+ * the employee aggregates. Changes to a closed month also take that
+ * month out of the monthly rollups of {@link PaymentRollupService} until it is compacted
+ * again. Changes reach this service through PaymentAggregateListener, once per transaction;
+ * writes that bypass JPA (JDBC bulk loads) are repaired with {@link #rebuild()}.
+ */
+@Service
+public class PaymentAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentAggregateService.class);
+
+    private static final String EMPLOYEE_TABLE = "EMPLOYEE_PAYMENT_AGGREGATE";
+    private static final String DEPARTMENT_TABLE = "DEPARTMENT_PAYMENT_AGGREGATE";
+
+    private static final String AGGREGATE_COLUMNS =
+        "PAYMENT_COUNT, TOTAL_AMOUNT, MIN_AMOUNT, MAX_AMOUNT, FIRST_PAYMENT_TIME, LAST_PAYMENT_TIME";
+
+    private static final String AGGREGATE_EXPRESSIONS =
+        "COUNT(*), SUM(p.AMOUNT), MIN(p.AMOUNT), MAX(p.AMOUNT), MIN(p.PAYMENT_TIME), MAX(p.PAYMENT_TIME)";
+
+    private static final String EMPLOYEE_AGGREGATES_FROM_PAYMENTS =
+        "SELECT p.EMP_ID, e.DEPARTMENT, " + AGGREGATE_EXPRESSIONS
+            + " FROM PAYMENTS p JOIN EMPLOYEE e ON e.EMP_ID = p.EMP_ID"
+            + " WHERE p.AMOUNT IS NOT NULL AND p.PAYMENT_TIME IS NOT NULL";
+
+    private static final String DEPARTMENT_AGGREGATES_FROM_EMPLOYEES =
+        "SELECT DEPARTMENT_ID, SUM(PAYMENT_COUNT), SUM(TOTAL_AMOUNT), MIN(MIN_AMOUNT), MAX(MAX_AMOUNT),"
+            + " MIN(FIRST_PAYMENT_TIME), MAX(LAST_PAYMENT_TIME) FROM " + EMPLOYEE_TABLE
+            + " WHERE DEPARTMENT_ID IS NOT NULL";
+
+    private static final String REPLACE_AGGREGATES =
+        "PAYMENT_COUNT = VALUES(PAYMENT_COUNT), TOTAL_AMOUNT = VALUES(TOTAL_AMOUNT), MIN_AMOUNT = VALUES(MIN_AMOUNT),"
+            + " MAX_AMOUNT = VALUES(MAX_AMOUNT), FIRST_PAYMENT_TIME = VALUES(FIRST_PAYMENT_TIME),"
+            + " LAST_PAYMENT_TIME = VALUES(LAST_PAYMENT_TIME)";
+
+    /** A payment row entering (insert) or leaving (delete) the aggregates. */
+    public record PaymentChange(long empId, BigDecimal amount, LocalDateTime paymentTime, boolean removal) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private EmployeeReferenceCache employeeReferenceCache;
+
+    /**
+     * Applies payment changes inside the caller's transaction. Removals require PAYMENTS
+     * to already reflect the change (flushed), since affected employees are recomputed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(List<PaymentChange> changes) {
+        Set<Long> recomputeEmployees = new HashSet<>();
+        for (PaymentChange change : changes) {
+            if (change.removal()) {
+                recomputeEmployees.add(change.empId());
+            }
+        }
+
+        Map<Long, Delta> employeeDeltas = new HashMap<>();
+        for (PaymentChange change : changes) {
+            if (change.removal() || recomputeEmployees.contains(change.empId())
+                    || change.amount() == null || change.paymentTime() == null) {
+                continue;
+            }
+            Long departmentId = employeeReferenceCache.departmentOf(change.empId());
+            if (departmentId == null) {
+                continue;
+            }
+            employeeDeltas.computeIfAbsent(change.empId(), id -> new Delta(toNullable(departmentId)))
+                .add(change.amount(), change.paymentTime());
+        }
+
+        Set<Long> recomputeDepartments = new HashSet<>();
+        for (Long empId : recomputeEmployees) {
+            Long departmentId = employeeReferenceCache.departmentOf(empId);
+            if (departmentId != null && departmentId != EmployeeReferenceCache.NO_DEPARTMENT) {
+                recomputeDepartments.add(departmentId);
+            }
+        }
+
+        Map<Long, Delta> departmentDeltas = new HashMap<>();
+        employeeDeltas.values().forEach(delta -> {
+            if (delta.departmentId != null && !recomputeDepartments.contains(delta.departmentId)) {
+                departmentDeltas.computeIfAbsent(delta.departmentId, id -> new Delta(null)).merge(delta);
+            }
+        });
+
+        upsert(EMPLOYEE_TABLE, "EMP_ID", employeeDeltas, true);
+        recomputeEmployees.forEach(this::recomputeEmployee);
+        upsert(DEPARTMENT_TABLE, "DEPARTMENT_ID", departmentDeltas, false);
+        recomputeDepartments.forEach(this::recomputeDepartment);
+        invalidateRollupMonths(changes);
+    }
+
+    /**
+     * Empties the aggregates and the monthly rollups, in the caller's transaction, after
+     * every payment was deleted.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void clear() {
+        jdbcTemplate.update("DELETE FROM " + DEPARTMENT_TABLE);
+        jdbcTemplate.update("DELETE FROM " + EMPLOYEE_TABLE);
+        jdbcTemplate.update("DELETE FROM " + PaymentRollupService.MONTH_TABLE);
+    }
+
+    /**
+     * Recomputes both aggregate tables from PAYMENTS in one transaction.
+     */
+    @Transactional
+    public AggregateDriftReport rebuild() {
+        long started = System.nanoTime();
+        AggregateDriftReport drift = verify();
+
+        jdbcTemplate.update("DELETE FROM " + DEPARTMENT_TABLE);
+        jdbcTemplate.update("DELETE FROM " + EMPLOYEE_TABLE);
+        jdbcTemplate.update("INSERT INTO " + EMPLOYEE_TABLE + " (EMP_ID, DEPARTMENT_ID, " + AGGREGATE_COLUMNS + ") "
+            + EMPLOYEE_AGGREGATES_FROM_PAYMENTS + " GROUP BY p.EMP_ID, e.DEPARTMENT");
+        jdbcTemplate.update("INSERT INTO " + DEPARTMENT_TABLE + " (DEPARTMENT_ID, " + AGGREGATE_COLUMNS + ") "
+            + DEPARTMENT_AGGREGATES_FROM_EMPLOYEES + " GROUP BY DEPARTMENT_ID");
+        // Any month may have changed; reports read PAYMENTS until the compaction job catches up
+        jdbcTemplate.update("DELETE FROM " + PaymentRollupService.MONTH_TABLE);
+
+        drift.setRebuilt(true);
+        drift.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        logger.info("Rebuilt payment aggregates in {} ms; {} drifted rows repaired",
+            drift.getElapsedMillis(), drift.getDriftedRows());
+        return drift;
+    }
+
+    /**
+     * Recomputes every aggregate from scratch and compares it with the stored rows.
+     */
+    @Transactional(readOnly = true)
+    public AggregateDriftReport verify() {
+        long started = System.nanoTime();
+        AggregateDriftReport report = new AggregateDriftReport();
+
+        Map<Long, Delta> expectedEmployees = new HashMap<>();
+        jdbcTemplate.query(EMPLOYEE_AGGREGATES_FROM_PAYMENTS + " GROUP BY p.EMP_ID, e.DEPARTMENT",
+            rs -> { expectedEmployees.put(rs.getLong(1), Delta.read(rs, 2, true)); });
+        Map<Long, Delta> storedEmployees = new HashMap<>();
+        jdbcTemplate.query("SELECT EMP_ID, DEPARTMENT_ID, " + AGGREGATE_COLUMNS + " FROM " + EMPLOYEE_TABLE,
+            rs -> { storedEmployees.put(rs.getLong(1), Delta.read(rs, 2, true)); });
+        compare("employee", expectedEmployees, storedEmployees, report);
+        report.setEmployeesChecked(expectedEmployees.size());
+
+        Map<Long, Delta> expectedDepartments = new HashMap<>();
+        expectedEmployees.values().forEach(delta -> {
+            if (delta.departmentId != null) {
+                expectedDepartments.computeIfAbsent(delta.departmentId, id -> new Delta(null)).merge(delta);
+            }
+        });
+        Map<Long, Delta> storedDepartments = new HashMap<>();
+        jdbcTemplate.query("SELECT DEPARTMENT_ID, " + AGGREGATE_COLUMNS + " FROM " + DEPARTMENT_TABLE,
+            rs -> { storedDepartments.put(rs.getLong(1), Delta.read(rs, 2, false)); });
+        compare("department", expectedDepartments, storedDepartments, report);
+        report.setDepartmentsChecked(expectedDepartments.size());
+
+        report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        return report;
+    }
+
+    private void compare(String kind, Map<Long, Delta> expected, Map<Long, Delta> stored, AggregateDriftReport report) {
+        expected.forEach((id, delta) -> {
+            Delta actual = stored.get(id);
+            if (actual == null) {
+                report.addDrift(kind + " " + id + " missing");
+            } else if (!delta.sameAs(actual)) {
+                report.addDrift(kind + " " + id + " expected " + delta + " but was " + actual);
+            }
+        });
+        stored.keySet().stream()
+            .filter(id -> !expected.containsKey(id))
+            .forEach(id -> report.addDrift(kind + " " + id + " has no payments"));
+    }
+
+    /**
+     * Adds the deltas with one INSERT ... ON DUPLICATE KEY UPDATE per row, so two transactions
+     * creating the same aggregate row both succeed instead of one failing on the primary key.
+     * Rows are written in key order, so concurrent upserts lock them in the same order.
+     */
+    private void upsert(String table, String keyColumn, Map<Long, Delta> deltas, boolean withDepartment) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        new TreeMap<>(deltas).forEach((key, delta) -> {
+            if (withDepartment) {
+                rows.add(new Object[]{key, delta.departmentId, delta.count, delta.sum, delta.min, delta.max,
+                    Timestamp.valueOf(delta.first), Timestamp.valueOf(delta.last)});
+            } else {
+                rows.add(new Object[]{key, delta.count, delta.sum, delta.min, delta.max,
+                    Timestamp.valueOf(delta.first), Timestamp.valueOf(delta.last)});
+            }
+        });
+
+        String columns = withDepartment ? keyColumn + ", DEPARTMENT_ID, " : keyColumn + ", ";
+        String placeholders = withDepartment ? "?, ?, ?, ?, ?, ?, ?, ?" : "?, ?, ?, ?, ?, ?, ?";
+        jdbcTemplate.batchUpdate("INSERT INTO " + table + " (" + columns + AGGREGATE_COLUMNS + ") VALUES ("
+            + placeholders + ") ON DUPLICATE KEY UPDATE PAYMENT_COUNT = PAYMENT_COUNT + VALUES(PAYMENT_COUNT),"
+            + " TOTAL_AMOUNT = TOTAL_AMOUNT + VALUES(TOTAL_AMOUNT), MIN_AMOUNT = LEAST(MIN_AMOUNT, VALUES(MIN_AMOUNT)),"
+            + " MAX_AMOUNT = GREATEST(MAX_AMOUNT, VALUES(MAX_AMOUNT)),"
+            + " FIRST_PAYMENT_TIME = LEAST(FIRST_PAYMENT_TIME, VALUES(FIRST_PAYMENT_TIME)),"
+            + " LAST_PAYMENT_TIME = GREATEST(LAST_PAYMENT_TIME, VALUES(LAST_PAYMENT_TIME))", rows);
+    }
+
+    private void invalidateRollupMonths(List<PaymentChange> changes) {
+        LocalDate openMonth = LocalDate.now().withDayOfMonth(1);
+        Set<LocalDate> months = new HashSet<>();
+        for (PaymentChange change : changes) {
+            if (change.paymentTime() != null) {
+                LocalDate month = change.paymentTime().toLocalDate().withDayOfMonth(1);
+                if (month.isBefore(openMonth)) {
+                    months.add(month);
+                }
+            }
+        }
+        if (!months.isEmpty()) {
+            namedParameterJdbcTemplate.update("DELETE FROM " + PaymentRollupService.MONTH_TABLE
+                + " WHERE PAYMENT_MONTH IN (:months)", Map.of("months", months));
+        }
+    }
+
+    /**
+     * The DELETE drops the row of an employee left without payments; the insert overwrites
+     * instead of failing when a concurrent transaction created the row in between.
+     */
+    private void recomputeEmployee(Long empId) {
+        jdbcTemplate.update("DELETE FROM " + EMPLOYEE_TABLE + " WHERE EMP_ID = ?", empId);
+        jdbcTemplate.update("INSERT INTO " + EMPLOYEE_TABLE + " (EMP_ID, DEPARTMENT_ID, " + AGGREGATE_COLUMNS + ") "
+            + EMPLOYEE_AGGREGATES_FROM_PAYMENTS + " AND p.EMP_ID = ? GROUP BY p.EMP_ID, e.DEPARTMENT"
+            + " ON DUPLICATE KEY UPDATE DEPARTMENT_ID = VALUES(DEPARTMENT_ID), " + REPLACE_AGGREGATES, empId);
+    }
+
+    private void recomputeDepartment(Long departmentId) {
+        jdbcTemplate.update("DELETE FROM " + DEPARTMENT_TABLE + " WHERE DEPARTMENT_ID = ?", departmentId);
+        jdbcTemplate.update("INSERT INTO " + DEPARTMENT_TABLE + " (DEPARTMENT_ID, " + AGGREGATE_COLUMNS + ") "
+            + DEPARTMENT_AGGREGATES_FROM_EMPLOYEES + " AND DEPARTMENT_ID = ? GROUP BY DEPARTMENT_ID"
+            + " ON DUPLICATE KEY UPDATE " + REPLACE_AGGREGATES, departmentId);
+    }
+
+    private static Long toNullable(Long departmentId) {
+        return departmentId == EmployeeReferenceCache.NO_DEPARTMENT ? null : departmentId;
+    }
+
+    /** Running aggregate for one key; also used to hold a row read back from the tables. */
+    private static final class Delta {
+        private final Long departmentId;
+        private long count;
+        private BigDecimal sum = BigDecimal.ZERO;
+        private BigDecimal min;
+        private BigDecimal max;
+        private LocalDateTime first;
+        private LocalDateTime last;
+
+        Delta(Long departmentId) {
+            this.departmentId = departmentId;
+        }
+
+        void add(BigDecimal amount, LocalDateTime time) {
+            count++;
+            sum = sum.add(amount);
+            min = min == null || amount.compareTo(min) < 0 ? amount : min;
+            max = max == null || amount.compareTo(max) > 0 ? amount : max;
+            first = first == null || time.isBefore(first) ? time : first;
+            last = last == null || time.isAfter(last) ? time : last;
+        }
+
+        void merge(Delta other) {
+            count += other.count;
+            sum = sum.add(other.sum);
+            min = min == null || other.min.compareTo(min) < 0 ? other.min : min;
+            max = max == null || other.max.compareTo(max) > 0 ? other.max : max;
+            first = first == null || other.first.isBefore(first) ? other.first : first;
+            last = last == null || other.last.isAfter(last) ? other.last : last;
+        }
+
+        static Delta read(ResultSet rs, int column, boolean withDepartment) throws SQLException {
+            Long departmentId = null;
+            if (withDepartment) {
+                long value = rs.getLong(column++);
+                departmentId = rs.wasNull() ? null : value;
+            }
+            Delta delta = new Delta(departmentId);
+            delta.count = rs.getLong(column);
+            delta.sum = rs.getBigDecimal(column + 1);
+            delta.min = rs.getBigDecimal(column + 2);
+            delta.max = rs.getBigDecimal(column + 3);
+            delta.first = rs.getObject(column + 4, LocalDateTime.class);
+            delta.last = rs.getObject(column + 5, LocalDateTime.class);
+            return delta;
+        }
+
+        boolean sameAs(Delta other) {
+            return count == other.count
+                && Objects.equals(departmentId, other.departmentId)
+                && sum.compareTo(other.sum) == 0
+                && min.compareTo(other.min) == 0
+                && max.compareTo(other.max) == 0
+                && first.equals(other.first)
+                && last.equals(other.last);
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max
+                + ", first=" + first + ", last=" + last + "}";
+        }
+    }
+}
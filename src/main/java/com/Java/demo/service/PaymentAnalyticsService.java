@@ -0,0 +1,319 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.PaymentReportRow;
+import com.Java.demo.service.PaymentColumnStore.EmployeeInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Computes the employee payment report of {@code WebhookService.generateFinalSQLQuery()}
+ * in process, over a columnar snapshot of PAYMENTS, using fork/join parallelism.
+ * The snapshot is loaded on first use and replaced by {@link #refresh()}.
+ */
+@Service
+public class PaymentAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentAnalyticsService.class);
+
+    /** Rows per fork/join leaf; below this splitting costs more than it saves. */
+    private static final int LEAF_ROWS = 32_768;
+
+    /** Scale of AVG over DECIMAL(38,2) in MySQL (div_precision_increment = 4). */
+    private static final int AVERAGE_SCALE = 6;
+
+    static final Comparator<PaymentReportRow> REPORT_ORDER = Comparator
+        .comparing(PaymentReportRow::getDepartmentName, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(PaymentReportRow::getTotalSalaryPaid, Comparator.reverseOrder())
+        .thenComparing(PaymentReportRow::getLastName, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(PaymentReportRow::getFirstName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    public enum GroupBy { EMPLOYEE, DEPARTMENT }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.analytics.fetch-size:10000}")
+    private int fetchSize;
+
+    private volatile PaymentColumnStore snapshot;
+    
+    /** Held across the JDBC load; a monitor would pin the carrier of a virtual thread. */
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    public PaymentColumnStore getSnapshot() {
+        PaymentColumnStore current = snapshot;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reloads the snapshot. Refreshes run one at a time under the load lock, so concurrent
+     * callers do not each load the table and an older load cannot replace a newer one.
+     */
+    public PaymentColumnStore refresh() {
+        loadLock.lock();
+        try {
+            PaymentColumnStore loaded = load();
+            snapshot = loaded;
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Builds the report from the current snapshot.
+     *
+     * @param from inclusive lower bound on PAYMENT_TIME, or null
+     * @param to exclusive upper bound on PAYMENT_TIME, or null
+     */
+    public List<PaymentReportRow> report(GroupBy groupBy, LocalDateTime from, LocalDateTime to) {
+        PaymentColumnStore store = getSnapshot();
+        long fromMicros = from == null ? Long.MIN_VALUE : toEpochMicros(from);
+        long toMicros = to == null ? Long.MAX_VALUE : toEpochMicros(to);
+
+        Aggregates aggregates = new Aggregates(store.employeeCount());
+        ForkJoinPool.commonPool().invoke(new AggregateTask(store, aggregates, fromMicros, toMicros, 0, store.employeeCount()));
+
+        List<PaymentReportRow> rows = groupBy == GroupBy.DEPARTMENT
+            ? departmentRows(store, aggregates)
+            : employeeRows(store, aggregates);
+        rows.sort(REPORT_ORDER);
+        return rows;
+    }
+
+    /** Both queries run in one read-only transaction, so the snapshot may come from a read replica. */
+    private PaymentColumnStore load() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> loadSnapshot());
+    }
+
+    private PaymentColumnStore loadSnapshot() {
+        long started = System.nanoTime();
+
+        List<EmployeeInfo> employees = jdbcTemplate.query(
+            "SELECT e.EMP_ID, e.FIRST_NAME, e.LAST_NAME, e.GENDER, e.DOB, d.DEPARTMENT_ID, d.DEPARTMENT_NAME "
+                + "FROM EMPLOYEE e LEFT JOIN DEPARTMENT d ON d.DEPARTMENT_ID = e.DEPARTMENT",
+            (rs, rowNum) -> {
+                Date dob = rs.getDate(5);
+                long departmentId = rs.getLong(6);
+                boolean noDepartment = rs.wasNull();
+                return new EmployeeInfo(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                    dob == null ? null : dob.toLocalDate(), noDepartment ? null : departmentId, rs.getString(7));
+            });
+
+        PaymentColumnStore.Builder builder = new PaymentColumnStore.Builder(employees.toArray(new EmployeeInfo[0]));
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                "SELECT EMP_ID, AMOUNT, PAYMENT_TIME FROM PAYMENTS WHERE EMP_ID IS NOT NULL AND PAYMENT_TIME IS NOT NULL");
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, rs -> {
+            BigDecimal amount = rs.getBigDecimal(2);
+            if (amount != null) {
+                builder.add(rs.getLong(1), toMinorUnits(amount),
+                    toEpochMicros(rs.getObject(3, LocalDateTime.class)));
+            }
+        });
+
+        PaymentColumnStore store = builder.build();
+        logger.info("Loaded payment snapshot: {} rows for {} employees in {} ms",
+            store.rowCount(), store.employeeCount(), (System.nanoTime() - started) / 1_000_000);
+        return store;
+    }
+
+    static long toEpochMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+            Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private List<PaymentReportRow> employeeRows(PaymentColumnStore store, Aggregates aggregates) {
+        List<PaymentReportRow> rows = new ArrayList<>();
+        for (int e = 0; e < store.employeeCount(); e++) {
+            EmployeeInfo employee = store.employee(e);
+            // Inner-join semantics of the SQL: the report is driven by DEPARTMENT and needs payments
+            if (aggregates.count[e] == 0 || employee.departmentId() == null) {
+                continue;
+            }
+            PaymentReportRow row = new PaymentReportRow();
+            row.setDepartmentId(employee.departmentId());
+            row.setDepartmentName(employee.departmentName());
+            row.setEmpId(employee.empId());
+            row.setFirstName(employee.firstName());
+            row.setLastName(employee.lastName());
+            row.setGender(employee.gender());
+            row.setDob(employee.dob());
+            fill(row, aggregates.count[e], aggregates.sum[e], aggregates.min[e], aggregates.max[e],
+                aggregates.first[e], aggregates.last[e]);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private List<PaymentReportRow> departmentRows(PaymentColumnStore store, Aggregates aggregates) {
+        Map<Long, long[]> byDepartment = new LinkedHashMap<>();
+        Map<Long, String> names = new LinkedHashMap<>();
+        for (int e = 0; e < store.employeeCount(); e++) {
+            EmployeeInfo employee = store.employee(e);
+            if (aggregates.count[e] == 0 || employee.departmentId() == null) {
+                continue;
+            }
+            names.putIfAbsent(employee.departmentId(), employee.departmentName());
+            long[] acc = byDepartment.computeIfAbsent(employee.departmentId(),
+                id -> new long[]{0, 0, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE});
+            acc[0] += aggregates.count[e];
+            acc[1] += aggregates.sum[e];
+            acc[2] = Math.min(acc[2], aggregates.min[e]);
+            acc[3] = Math.max(acc[3], aggregates.max[e]);
+            acc[4] = Math.min(acc[4], aggregates.first[e]);
+            acc[5] = Math.max(acc[5], aggregates.last[e]);
+        }
+
+        List<PaymentReportRow> rows = new ArrayList<>();
+        byDepartment.forEach((departmentId, acc) -> {
+            PaymentReportRow row = new PaymentReportRow();
+            row.setDepartmentId(departmentId);
+            row.setDepartmentName(names.get(departmentId));
+            fill(row, acc[0], acc[1], acc[2], acc[3], acc[4], acc[5]);
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    private static void fill(PaymentReportRow row, long count, long sum, long min, long max, long first, long last) {
+        LocalDateTime firstTime = fromEpochMicros(first);
+        LocalDateTime lastTime = fromEpochMicros(last);
+        BigDecimal total = BigDecimal.valueOf(sum, 2);
+
+        row.setTotalPayments(count);
+        row.setTotalSalaryPaid(total);
+        row.setAverageSalary(total.divide(BigDecimal.valueOf(count), AVERAGE_SCALE, RoundingMode.HALF_UP));
+        row.setMinSalary(BigDecimal.valueOf(min, 2));
+        row.setMaxSalary(BigDecimal.valueOf(max, 2));
+        row.setFirstPaymentDate(firstTime);
+        row.setLastPaymentDate(lastTime);
+        // DATEDIFF compares calendar dates only
+        row.setPaymentPeriodDays(ChronoUnit.DAYS.between(firstTime.toLocalDate(), lastTime.toLocalDate()));
+    }
+
+    /** Per-employee results; each task writes a disjoint index range, so no merging is needed. */
+    private static final class Aggregates {
+        final long[] count;
+        final long[] sum;
+        final long[] min;
+        final long[] max;
+        final long[] first;
+        final long[] last;
+
+        Aggregates(int employees) {
+            count = new long[employees];
+            sum = new long[employees];
+            min = new long[employees];
+            max = new long[employees];
+            first = new long[employees];
+            last = new long[employees];
+        }
+    }
+
+    // Serializable only through ForkJoinTask; the task never leaves the pool
+    @SuppressWarnings("serial")
+    private static final class AggregateTask extends RecursiveAction {
+        private final PaymentColumnStore store;
+        private final Aggregates aggregates;
+        private final long fromMicros;
+        private final long toMicros;
+        private final int lo;
+        private final int hi;
+
+        AggregateTask(PaymentColumnStore store, Aggregates aggregates, long fromMicros, long toMicros, int lo, int hi) {
+            this.store = store;
+            this.aggregates = aggregates;
+            this.fromMicros = fromMicros;
+            this.toMicros = toMicros;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1 && store.rowsTo(hi - 1) - store.rowsFrom(lo) > LEAF_ROWS) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new AggregateTask(store, aggregates, fromMicros, toMicros, lo, mid),
+                    new AggregateTask(store, aggregates, fromMicros, toMicros, mid, hi));
+                return;
+            }
+
+            for (int e = lo; e < hi; e++) {
+                long count = 0;
+                long sum = 0;
+                long min = Long.MAX_VALUE;
+                long max = Long.MIN_VALUE;
+                long first = Long.MAX_VALUE;
+                long last = Long.MIN_VALUE;
+                for (int r = store.rowsFrom(e), end = store.rowsTo(e); r < end; r++) {
+                    long time = store.time(r);
+                    if (time < fromMicros || time >= toMicros) {
+                        continue;
+                    }
+                    long amount = store.amount(r);
+                    count++;
+                    sum += amount;
+                    min = Math.min(min, amount);
+                    max = Math.max(max, amount);
+                    first = Math.min(first, time);
+                    last = Math.max(last, time);
+                }
+                aggregates.count[e] = count;
+                aggregates.sum[e] = sum;
+                aggregates.min[e] = min;
+                aggregates.max[e] = max;
+                aggregates.first[e] = first;
+                aggregates.last[e] = last;
+            }
+        }
+    }
+}
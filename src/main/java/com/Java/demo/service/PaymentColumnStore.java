@@ -0,0 +1,130 @@
+package com.Java.demo.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable columnar snapshot of PAYMENTS joined to its employee dimension.
+ *
+ * Rows are grouped by a dense employee index (CSR layout): the payments of employee
+ * {@code e} occupy {@code [offsets[e], offsets[e + 1])} of the amount and time columns.
+ * Amounts are stored in minor units (cents) and times as UTC epoch microseconds, so a full
+ * scan touches only primitive arrays.
+ */
+public final class PaymentColumnStore {
+
+    /** Dimension data for one employee, resolved once at load time. */
+    public record EmployeeInfo(long empId, String firstName, String lastName, String gender, LocalDate dob,
+                               Long departmentId, String departmentName) {}
+
+    private final EmployeeInfo[] employees;
+    private final int[] offsets;
+    private final long[] amounts;
+    private final long[] times;
+    private final LocalDateTime loadedAt;
+
+    private PaymentColumnStore(EmployeeInfo[] employees, int[] offsets, long[] amounts, long[] times,
+                               LocalDateTime loadedAt) {
+        this.employees = employees;
+        this.offsets = offsets;
+        this.amounts = amounts;
+        this.times = times;
+        this.loadedAt = loadedAt;
+    }
+
+    public int employeeCount() {
+        return employees.length;
+    }
+
+    public int rowCount() {
+        return amounts.length;
+    }
+
+    public EmployeeInfo employee(int index) {
+        return employees[index];
+    }
+
+    public int rowsFrom(int employeeIndex) {
+        return offsets[employeeIndex];
+    }
+
+    public int rowsTo(int employeeIndex) {
+        return offsets[employeeIndex + 1];
+    }
+
+    public long amount(int row) {
+        return amounts[row];
+    }
+
+    public long time(int row) {
+        return times[row];
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Accumulates rows in arrival order and regroups them by employee in {@link #build()}.
+     */
+    public static final class Builder {
+
+        private final EmployeeInfo[] employees;
+        private final Map<Long, Integer> indexByEmpId;
+        private int[] rowEmployee = new int[1024];
+        private long[] rowAmount = new long[1024];
+        private long[] rowTime = new long[1024];
+        private int size;
+
+        public Builder(EmployeeInfo[] employees) {
+            this.employees = employees;
+            this.indexByEmpId = new HashMap<>(employees.length * 2);
+            for (int i = 0; i < employees.length; i++) {
+                indexByEmpId.put(employees[i].empId(), i);
+            }
+        }
+
+        /** Adds a row; rows for employees missing from the dimension are skipped. */
+        public void add(long empId, long amountMinorUnits, long epochMicros) {
+            Integer index = indexByEmpId.get(empId);
+            if (index == null) {
+                return;
+            }
+            if (size == rowAmount.length) {
+                int capacity = size * 2;
+                rowEmployee = Arrays.copyOf(rowEmployee, capacity);
+                rowAmount = Arrays.copyOf(rowAmount, capacity);
+                rowTime = Arrays.copyOf(rowTime, capacity);
+            }
+            rowEmployee[size] = index;
+            rowAmount[size] = amountMinorUnits;
+            rowTime[size] = epochMicros;
+            size++;
+        }
+
+        public PaymentColumnStore build() {
+            // Counting sort by employee index into the CSR layout
+            int[] offsets = new int[employees.length + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[rowEmployee[i] + 1]++;
+            }
+            for (int e = 0; e < employees.length; e++) {
+                offsets[e + 1] += offsets[e];
+            }
+
+            int[] cursor = Arrays.copyOf(offsets, employees.length);
+            long[] amounts = new long[size];
+            long[] times = new long[size];
+            for (int i = 0; i < size; i++) {
+                int target = cursor[rowEmployee[i]]++;
+                amounts[target] = rowAmount[i];
+                times[target] = rowTime[i];
+            }
+
+            return new PaymentColumnStore(employees, offsets, amounts, times, LocalDateTime.now());
+        }
+    }
+}
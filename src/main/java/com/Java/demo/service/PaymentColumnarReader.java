@@ -0,0 +1,134 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.PaymentDetailRow;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads the {@code pcol} files written by the payment export (format described on
+ * {@code PaymentExportWriter.Columnar}), one row group at a time.
+ */
+public final class PaymentColumnarReader {
+
+    private PaymentColumnarReader() {}
+
+    /**
+     * Passes every row of {@code in} to {@code rows} in file order and returns the row count.
+     */
+    public static long read(ReadableByteChannel in, Consumer<PaymentDetailRow> rows) throws IOException {
+        ByteBuffer magic = readFully(in, ByteBuffer.allocate(PaymentExportWriter.Columnar.MAGIC.length));
+        if (!Arrays.equals(magic.array(), PaymentExportWriter.Columnar.MAGIC)) {
+            throw new IOException("Not a payment columnar export");
+        }
+        long count = 0;
+        Inflater inflater = new Inflater();
+        try {
+            while (true) {
+                ByteBuffer header = readFully(in, ByteBuffer.allocate(4));
+                int groupRows = header.getInt();
+                if (groupRows == 0) {
+                    return count;
+                }
+                header = readFully(in, ByteBuffer.allocate(8));
+                int rawLength = header.getInt();
+                ByteBuffer compressed = readFully(in, ByteBuffer.allocate(header.getInt()));
+
+                byte[] raw = new byte[rawLength];
+                inflater.reset();
+                inflater.setInput(compressed);
+                if (inflater.inflate(raw) != rawLength || !inflater.finished()) {
+                    throw new IOException("Corrupt payment column group");
+                }
+                readGroup(ByteBuffer.wrap(raw), groupRows, rows);
+                count += groupRows;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt payment column group", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void readGroup(ByteBuffer raw, int groupRows, Consumer<PaymentDetailRow> rows) {
+        Long[] paymentIds = longs(raw, groupRows, true);
+        Long[] times = longs(raw, groupRows, true);
+        Long[] amounts = longs(raw, groupRows, false);
+        Long[] empIds = longs(raw, groupRows, true);
+        String[] firstNames = strings(raw, groupRows);
+        String[] lastNames = strings(raw, groupRows);
+        Long[] departmentIds = longs(raw, groupRows, true);
+        String[] departmentNames = strings(raw, groupRows);
+        for (int row = 0; row < groupRows; row++) {
+            rows.accept(new PaymentDetailRow(paymentIds[row],
+                times[row] == null ? null : PaymentAnalyticsService.fromEpochMicros(times[row]),
+                amounts[row] == null ? null : BigDecimal.valueOf(amounts[row], 2),
+                empIds[row], firstNames[row], lastNames[row], departmentIds[row], departmentNames[row]));
+        }
+    }
+
+    private static Long[] longs(ByteBuffer raw, int groupRows, boolean delta) {
+        byte[] bitmap = bitmap(raw, groupRows);
+        Long[] values = new Long[groupRows];
+        long previous = 0;
+        for (int row = 0; row < groupRows; row++) {
+            if ((bitmap[row / 8] & 1 << (row % 8)) != 0) {
+                long value = unzigzag(varint(raw));
+                previous = delta ? previous + value : value;
+                values[row] = previous;
+            }
+        }
+        return values;
+    }
+
+    private static String[] strings(ByteBuffer raw, int groupRows) {
+        byte[] bitmap = bitmap(raw, groupRows);
+        String[] values = new String[groupRows];
+        for (int row = 0; row < groupRows; row++) {
+            if ((bitmap[row / 8] & 1 << (row % 8)) != 0) {
+                int length = (int) varint(raw);
+                values[row] = new String(raw.array(), raw.position(), length, StandardCharsets.UTF_8);
+                raw.position(raw.position() + length);
+            }
+        }
+        return values;
+    }
+
+    private static byte[] bitmap(ByteBuffer raw, int groupRows) {
+        byte[] bitmap = new byte[(groupRows + 7) / 8];
+        raw.get(bitmap);
+        return bitmap;
+    }
+
+    private static long varint(ByteBuffer raw) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = raw.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static ByteBuffer readFully(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                throw new EOFException("Truncated payment columnar export");
+            }
+        }
+        return buffer.flip();
+    }
+}
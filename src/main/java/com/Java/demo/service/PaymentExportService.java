@@ -0,0 +1,441 @@
+package com.Java.demo.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Bulk export of PAYMENTS joined with EMPLOYEE and DEPARTMENT, for the nightly warehouse load.
+ *
+ * Rows are read in PAYMENT_ID order through a forward-only cursor with a JDBC fetch size and
+ * encoded by {@link PaymentExportWriter} into a direct buffer that is written out through an
+ * NIO channel whenever it fills up: a {@link FileChannel} for snapshot files, the response for
+ * {@code GET /api/exports/payments}. Buffers are pooled, so an export holds one buffer of
+ * app.export.buffer-size whatever the table size. Every export covers a PAYMENT_ID range
+ * (afterId, untilId], which is what makes it resumable.
+ *
+ * A snapshot is a directory per day under app.export.directory with the rows split over files
+ * of app.export.rows-per-file rows, named after their first and last PAYMENT_ID. A file only
+ * gets its name once it is complete, so a snapshot interrupted by a restart continues after
+ * the last complete file, up to the untilId recorded when it started. _SUCCESS marks the end.
+ */
+@Service
+public class PaymentExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentExportService.class);
+
+    /** Export columns, in the order {@link PaymentExportWriter} reads them. */
+    static final String COLUMNS = "SELECT p.PAYMENT_ID, p.PAYMENT_TIME, p.AMOUNT, p.EMP_ID, e.FIRST_NAME, e.LAST_NAME,"
+        + " d.DEPARTMENT_ID, d.DEPARTMENT_NAME FROM PAYMENTS p"
+        + " LEFT JOIN EMPLOYEE e ON e.EMP_ID = p.EMP_ID"
+        + " LEFT JOIN DEPARTMENT d ON d.DEPARTMENT_ID = e.DEPARTMENT";
+
+    private static final String RANGE = COLUMNS + " WHERE p.PAYMENT_ID > ? AND p.PAYMENT_ID <= ? ORDER BY p.PAYMENT_ID";
+
+    public static final String SUCCESS_FILE = "_SUCCESS";
+    private static final String MANIFEST_FILE = "manifest.properties";
+    private static final Pattern PART_FILE = Pattern.compile("payments-(\\d+)-(\\d+)\\.(csv|pcol)");
+
+    /** Buffers kept for reuse; exports beyond this many at once allocate and drop their own. */
+    private static final int POOLED_BUFFERS = 4;
+
+    public enum Format {
+        CSV("csv"), COLUMNAR("pcol");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    /** Rows written and the PAYMENT_ID of the last one, or null if there were none. */
+    public record ExportResult(long rows, Long lastPaymentId, long bytes, long elapsedMillis) {}
+
+    /** Outcome of a snapshot run; {@code files} and {@code rows} count this run only. */
+    public record SnapshotResult(Path directory, Format format, long untilId, boolean resumed, int files,
+                                 long rows, long elapsedMillis) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.export.directory:exports}")
+    private Path directory;
+
+    @Value("${app.export.format:COLUMNAR}")
+    private Format snapshotFormat;
+
+    @Value("${app.export.rows-per-file:1000000}")
+    private long rowsPerFile;
+
+    @Value("${app.export.fetch-size:10000}")
+    private int fetchSize;
+
+    @Value("${app.export.buffer-size:1MB}")
+    private DataSize bufferSize;
+
+    @Value("${app.export.nightly.enabled:false}")
+    private boolean nightly;
+
+    @Value("${app.export.nightly.time:02:00}")
+    private LocalTime nightlyTime;
+
+    private final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("payment-export").daemon().factory());
+    private final ReentrantLock snapshotting = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (nightly) {
+            scheduleNightly();
+        }
+    }
+
+    /**
+     * Writes the payments with PAYMENT_ID in (afterId, untilId] to {@code channel}, which is
+     * left open. The rows are read in one read-only transaction.
+     */
+    public ExportResult export(Format format, long afterId, long untilId, WritableByteChannel channel) {
+        long started = System.nanoTime();
+        String outcome = "error";
+        ByteBuffer buffer = acquireBuffer();
+        try {
+            PaymentExportWriter writer = PaymentExportWriter.create(format, channel, buffer);
+            long[] last = {0, 0};
+            query(afterId, untilId, rs -> {
+                writer.write(rs);
+                last[0]++;
+                last[1] = rs.getLong(1);
+            });
+            writer.finish();
+            outcome = "success";
+            return new ExportResult(last[0], last[0] == 0 ? null : last[1], writer.bytesWritten(),
+                (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            releaseBuffer(buffer);
+            record(format, "stream", outcome, started);
+        }
+    }
+
+    /**
+     * Writes the snapshot of {@code date}, or continues it after its last complete file. Runs
+     * on the caller's thread.
+     *
+     * @throws IllegalStateException if a snapshot is already running
+     */
+    public SnapshotResult snapshot(LocalDate date) {
+        if (!snapshotting.tryLock()) {
+            throw new IllegalStateException("A payment snapshot is already running");
+        }
+        long started = System.nanoTime();
+        String outcome = "error";
+        Format format = snapshotFormat;
+        try {
+            Path target = snapshotDirectory(date);
+            Files.createDirectories(target);
+            Properties manifest = readManifest(target);
+            boolean resumed = manifest != null;
+            if (manifest == null) {
+                // Rows committed after this point belong to tomorrow's snapshot
+                Long maxId = jdbcTemplate.queryForObject("SELECT MAX(PAYMENT_ID) FROM PAYMENTS", Long.class);
+                manifest = new Properties();
+                manifest.setProperty("format", format.name());
+                manifest.setProperty("untilId", String.valueOf(maxId == null ? 0 : maxId));
+                manifest.setProperty("startedAt", LocalDateTime.now().toString());
+                writeManifest(target, manifest);
+            }
+            format = Format.valueOf(manifest.getProperty("format"));
+            long untilId = Long.parseLong(manifest.getProperty("untilId"));
+
+            if (Files.exists(target.resolve(SUCCESS_FILE))) {
+                outcome = "success";
+                return new SnapshotResult(target, format, untilId, true, 0, 0, 0);
+            }
+            long afterId = lastCompleteId(target);
+            SnapshotFiles files = new SnapshotFiles(target, format, acquireBuffer());
+            try {
+                query(afterId, untilId, files::write);
+                files.close();
+            } finally {
+                files.abort();
+                releaseBuffer(files.buffer);
+            }
+            Files.createFile(target.resolve(SUCCESS_FILE));
+
+            outcome = "success";
+            long elapsed = (System.nanoTime() - started) / 1_000_000;
+            logger.info("Payment snapshot {} {}: {} rows in {} files up to PAYMENT_ID {} in {} ms",
+                date, resumed ? "resumed" : "written", files.rows, files.files, untilId, elapsed);
+            return new SnapshotResult(target, format, untilId, resumed, files.files, files.rows, elapsed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            record(format, "snapshot", outcome, started);
+            snapshotting.unlock();
+        }
+    }
+
+    /** Starts {@link #snapshot(LocalDate)} on the export thread unless one is already running. */
+    public boolean snapshotAsync(LocalDate date) {
+        if (snapshotting.isLocked()) {
+            return false;
+        }
+        scheduler.execute(() -> snapshotQuietly(date));
+        return true;
+    }
+
+    public Path snapshotDirectory(LocalDate date) {
+        return directory.resolve(date.toString());
+    }
+
+    /** Completed files of the snapshot of {@code date}, in PAYMENT_ID order. */
+    public List<Path> snapshotFiles(LocalDate date) throws IOException {
+        Path target = snapshotDirectory(date);
+        if (!Files.isDirectory(target)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            return files.filter(file -> PART_FILE.matcher(file.getFileName().toString()).matches())
+                .sorted((a, b) -> Long.compare(firstId(a), firstId(b)))
+                .toList();
+        }
+    }
+
+    /**
+     * A completed file or _SUCCESS of the snapshot of {@code date}, or null if there is no
+     * such file. Only the names written by snapshots are accepted.
+     */
+    public Path snapshotFile(LocalDate date, String name) {
+        if (!PART_FILE.matcher(name).matches() && !SUCCESS_FILE.equals(name)) {
+            return null;
+        }
+        Path file = snapshotDirectory(date).resolve(name);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    private void query(long afterId, long untilId, ExportRowHandler handler) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(RANGE);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, afterId);
+            statement.setLong(2, untilId);
+            return statement;
+        }, rs -> {
+            try {
+                handler.handle(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    @FunctionalInterface
+    private interface ExportRowHandler {
+        void handle(ResultSet rs) throws SQLException, IOException;
+    }
+
+    /** Writes a snapshot's rows into files of rowsPerFile rows, each renamed once complete. */
+    private final class SnapshotFiles {
+        private final Path target;
+        private final Format format;
+        private final ByteBuffer buffer;
+        private Path partial;
+        private FileChannel channel;
+        private PaymentExportWriter writer;
+        private long firstId;
+        private long lastId;
+        private long fileRows;
+        int files;
+        long rows;
+
+        SnapshotFiles(Path target, Format format, ByteBuffer buffer) {
+            this.target = target;
+            this.format = format;
+            this.buffer = buffer;
+        }
+
+        void write(ResultSet rs) throws SQLException, IOException {
+            long paymentId = rs.getLong(1);
+            if (writer == null) {
+                partial = target.resolve("payments-" + paymentId + "." + format.extension() + ".partial");
+                channel = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                writer = PaymentExportWriter.create(format, channel, buffer);
+                firstId = paymentId;
+                fileRows = 0;
+            }
+            writer.write(rs);
+            lastId = paymentId;
+            rows++;
+            if (++fileRows == rowsPerFile) {
+                close();
+            }
+        }
+
+        /** Completes the open file, if any: flushed, synced, then renamed to its final name. */
+        void close() throws IOException {
+            if (writer == null) {
+                return;
+            }
+            writer.finish();
+            channel.force(true);
+            channel.close();
+            Files.move(partial, target.resolve("payments-" + firstId + "-" + lastId + "." + format.extension()),
+                StandardCopyOption.ATOMIC_MOVE);
+            writer = null;
+            files++;
+        }
+
+        /** Drops an incomplete file after a failure; a no-op once {@link #close()} has run. */
+        void abort() throws IOException {
+            if (writer != null) {
+                channel.close();
+                Files.deleteIfExists(partial);
+                writer = null;
+            }
+        }
+    }
+
+    private static long lastCompleteId(Path target) throws IOException {
+        long last = 0;
+        try (Stream<Path> files = Files.list(target)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                Matcher matcher = PART_FILE.matcher(name);
+                if (matcher.matches()) {
+                    last = Math.max(last, Long.parseLong(matcher.group(2)));
+                } else if (name.endsWith(".partial")) {
+                    Files.delete(file);
+                }
+            }
+        }
+        return last;
+    }
+
+    private static long firstId(Path file) {
+        Matcher matcher = PART_FILE.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    private static Properties readManifest(Path target) throws IOException {
+        Path file = target.resolve(MANIFEST_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties manifest = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            manifest.load(reader);
+        }
+        return manifest;
+    }
+
+    private static void writeManifest(Path target, Properties manifest) throws IOException {
+        Path temporary = target.resolve(MANIFEST_FILE + ".partial");
+        try (Writer writer = Files.newBufferedWriter(temporary)) {
+            manifest.store(writer, "Payment snapshot");
+        }
+        Files.move(temporary, target.resolve(MANIFEST_FILE), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = buffers.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect((int) bufferSize.toBytes());
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        if (buffers.size() < POOLED_BUFFERS) {
+            buffers.offer(buffer.clear());
+        }
+    }
+
+    private void scheduleNightly() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().atTime(nightlyTime);
+        if (!next.isAfter(now)) {
+            next = next.plusDays(1);
+        }
+        LocalDate date = next.toLocalDate();
+        scheduler.schedule(() -> {
+            snapshotQuietly(date);
+            scheduleNightly();
+        }, Duration.between(now, next).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void snapshotQuietly(LocalDate date) {
+        try {
+            snapshot(date);
+        } catch (RuntimeException e) {
+            // The next run (or a manual one) continues after the last complete file
+            logger.error("Payment snapshot {} failed", date, e);
+        }
+    }
+
+    private void record(Format format, String mode, String outcome, long started) {
+        Timer.builder("payments.export")
+            .description("Bulk payment exports")
+            .tag("format", format.name().toLowerCase())
+            .tag("mode", mode)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,384 @@
+package com.Java.demo.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes export rows into an off-heap buffer and writes the buffer to a channel whenever it
+ * fills up, so an export holds one buffer no matter how many rows it writes. Rows come straight
+ * from the export cursor in {@link PaymentExportService#COLUMNS} order.
+ */
+abstract class PaymentExportWriter {
+
+    protected final WritableByteChannel channel;
+    private long bytesWritten;
+
+    protected PaymentExportWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    static PaymentExportWriter create(PaymentExportService.Format format, WritableByteChannel channel, ByteBuffer buffer)
+            throws IOException {
+        return format == PaymentExportService.Format.CSV
+            ? new Csv(channel, buffer)
+            : new Columnar(channel, buffer);
+    }
+
+    /** Writes the current row of {@code rs}. */
+    abstract void write(ResultSet rs) throws SQLException, IOException;
+
+    /** Writes whatever is still buffered plus the format's trailer. The channel stays open. */
+    abstract void finish() throws IOException;
+
+    long bytesWritten() {
+        return bytesWritten;
+    }
+
+    protected void drain(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /** Same header and quoting as the CSV of {@code /api/reports/payments/export}. */
+    static final class Csv extends PaymentExportWriter {
+
+        private final ByteBuffer buffer;
+        private final byte[] digits = new byte[20];
+
+        Csv(WritableByteChannel channel, ByteBuffer buffer) {
+            super(channel);
+            this.buffer = buffer.clear();
+            putAscii(PaymentReportService.CSV_HEADER);
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException, IOException {
+            ensure(128);
+            putLong(rs.getLong(1));
+            buffer.put((byte) ',');
+            LocalDateTime time = rs.getObject(2, LocalDateTime.class);
+            if (time != null) {
+                putTime(time);
+            }
+            buffer.put((byte) ',');
+            BigDecimal amount = rs.getBigDecimal(3);
+            if (amount != null) {
+                putText(amount.toPlainString());
+            }
+            putId(rs, 4);
+            putText(',', rs.getString(5));
+            putText(',', rs.getString(6));
+            putId(rs, 7);
+            putText(',', rs.getString(8));
+            ensure(1);
+            buffer.put((byte) '\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            drain(buffer);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                drain(buffer);
+            }
+        }
+
+        private void putId(ResultSet rs, int column) throws SQLException, IOException {
+            long id = rs.getLong(column);
+            boolean present = !rs.wasNull();
+            ensure(21);
+            buffer.put((byte) ',');
+            if (present) {
+                putLong(id);
+            }
+        }
+
+        private void putLong(long value) {
+            if (value == Long.MIN_VALUE) {
+                putAscii(Long.toString(value));
+                return;
+            }
+            if (value < 0) {
+                buffer.put((byte) '-');
+                value = -value;
+            }
+            int at = digits.length;
+            do {
+                digits[--at] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            buffer.put(digits, at, digits.length - at);
+        }
+
+        /** ISO-8601 with seconds always present, and microseconds when there are any. */
+        private void putTime(LocalDateTime time) {
+            putPadded(time.getYear(), 4);
+            buffer.put((byte) '-');
+            putPadded(time.getMonthValue(), 2);
+            buffer.put((byte) '-');
+            putPadded(time.getDayOfMonth(), 2);
+            buffer.put((byte) 'T');
+            putPadded(time.getHour(), 2);
+            buffer.put((byte) ':');
+            putPadded(time.getMinute(), 2);
+            buffer.put((byte) ':');
+            putPadded(time.getSecond(), 2);
+            int micros = time.getNano() / 1_000;
+            if (micros != 0) {
+                buffer.put((byte) '.');
+                putPadded(micros, 6);
+            }
+        }
+
+        private void putPadded(int value, int width) {
+            for (int i = width - 1; i >= 0; i--) {
+                digits[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            buffer.put(digits, 0, width);
+        }
+
+        private void putText(char separator, String text) throws IOException {
+            ensure(1);
+            buffer.put((byte) separator);
+            if (text != null) {
+                putText(text);
+            }
+        }
+
+        private void putText(String text) throws IOException {
+            boolean quote = false;
+            boolean ascii = true;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                quote |= c == ',' || c == '"' || c == '\n' || c == '\r';
+                ascii &= c < 0x80;
+            }
+            if (!quote && ascii && text.length() <= buffer.capacity()) {
+                ensure(text.length());
+                putAscii(text);
+                return;
+            }
+            byte[] bytes = (quote ? '"' + text.replace("\"", "\"\"") + '"' : text).getBytes(StandardCharsets.UTF_8);
+            for (int at = 0; at < bytes.length; ) {
+                ensure(1);
+                int length = Math.min(buffer.remaining(), bytes.length - at);
+                buffer.put(bytes, at, length);
+                at += length;
+            }
+        }
+
+        private void putAscii(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                buffer.put((byte) text.charAt(i));
+            }
+        }
+    }
+
+    /**
+     * The {@code pcol} columnar format, read back by {@link PaymentColumnarReader}:
+     *
+     * <pre>
+     * file   = "PAYCOL01", { group }, int32 0
+     * group  = int32 rows, int32 rawLength, int32 compressedLength, deflate(column x 8)
+     * column = presence bitmap (one bit per row, set = not null), then the non-null values
+     * </pre>
+     *
+     * Columns are in CSV order. PAYMENT_ID, EMP_ID and DEPARTMENT_ID are zigzag varints of the
+     * difference to the previous value of the column in the group, PAYMENT_TIME likewise in UTC
+     * epoch microseconds, AMOUNT a zigzag varint in cents and the names a varint length followed
+     * by UTF-8. Rows are in PAYMENT_ID order, so the ID column costs about a byte per row and
+     * the repeated names compress away.
+     *
+     * The buffer is split into eight column regions and one output region. A group ends at
+     * {@link #MAX_GROUP_ROWS} rows or when a column region cannot take the next row.
+     */
+    static final class Columnar extends PaymentExportWriter {
+
+        static final byte[] MAGIC = "PAYCOL01".getBytes(StandardCharsets.US_ASCII);
+        static final int COLUMNS = 8;
+        static final int MAX_GROUP_ROWS = 16 * 1024;
+        private static final int HEADER = 12;
+        /** Longest encoding of one value other than a name. */
+        private static final int MAX_VARINT = 10;
+
+        private final ByteBuffer[] bitmaps = new ByteBuffer[COLUMNS];
+        private final ByteBuffer[] values = new ByteBuffer[COLUMNS];
+        private final long[] previous = new long[COLUMNS];
+        private final ByteBuffer output;
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final byte[][] names = new byte[COLUMNS][];
+        private int rows;
+
+        Columnar(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+            super(channel);
+            buffer.clear();
+            int bitmapBytes = MAX_GROUP_ROWS / 8;
+            // Output must hold a whole compressed group: the raw size plus deflate's worst-case overhead
+            int columnBytes = (buffer.capacity() * 63 / 128 - COLUMNS * bitmapBytes - HEADER - 64) / COLUMNS;
+            if (columnBytes < 4 * 1024) {
+                throw new IllegalArgumentException("Export buffer too small for the columnar format: " + buffer.capacity());
+            }
+            int at = 0;
+            for (int column = 0; column < COLUMNS; column++) {
+                bitmaps[column] = buffer.slice(at, bitmapBytes);
+                at += bitmapBytes;
+                values[column] = buffer.slice(at, columnBytes);
+                at += columnBytes;
+            }
+            output = buffer.slice(at, buffer.capacity() - at);
+
+            output.put(MAGIC);
+            drain(output);
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException, IOException {
+            long paymentId = rs.getLong(1);
+            LocalDateTime time = rs.getObject(2, LocalDateTime.class);
+            BigDecimal amount = rs.getBigDecimal(3);
+            long empId = rs.getLong(4);
+            boolean hasEmployee = !rs.wasNull();
+            long departmentId = rs.getLong(7);
+            boolean hasDepartment = !rs.wasNull();
+            names[4] = utf8(rs.getString(5));
+            names[5] = utf8(rs.getString(6));
+            names[7] = utf8(rs.getString(8));
+
+            if (rows == MAX_GROUP_ROWS || !roomForRow()) {
+                flushGroup();
+                if (!roomForRow()) {
+                    throw new IllegalStateException("Payment " + paymentId + " is too large for the export buffer");
+                }
+            }
+            if (rows % 8 == 0) {
+                for (ByteBuffer bitmap : bitmaps) {
+                    bitmap.put((byte) 0);
+                }
+            }
+            putDelta(0, paymentId, true);
+            putDelta(1, time == null ? 0 : PaymentAnalyticsService.toEpochMicros(time), time != null);
+            if (amount != null) {
+                present(2);
+                putVarint(values[2], zigzag(PaymentAnalyticsService.toMinorUnits(amount)));
+            }
+            putDelta(3, empId, hasEmployee);
+            putName(4);
+            putName(5);
+            putDelta(6, departmentId, hasDepartment);
+            putName(7);
+            rows++;
+        }
+
+        @Override
+        void finish() throws IOException {
+            flushGroup();
+            deflater.end();
+            output.putInt(0);
+            drain(output);
+        }
+
+        private boolean roomForRow() {
+            for (int column = 0; column < COLUMNS; column++) {
+                int needed = MAX_VARINT + (names[column] == null ? 0 : names[column].length);
+                if (values[column].remaining() < needed) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void present(int column) {
+            ByteBuffer bitmap = bitmaps[column];
+            int last = bitmap.position() - 1;
+            bitmap.put(last, (byte) (bitmap.get(last) | 1 << (rows % 8)));
+        }
+
+        private void putDelta(int column, long value, boolean present) {
+            if (present) {
+                present(column);
+                putVarint(values[column], zigzag(value - previous[column]));
+                previous[column] = value;
+            }
+        }
+
+        private void putName(int column) {
+            byte[] name = names[column];
+            if (name != null) {
+                present(column);
+                putVarint(values[column], name.length);
+                values[column].put(name);
+            }
+        }
+
+        private void flushGroup() throws IOException {
+            if (rows == 0) {
+                return;
+            }
+            int rawLength = 0;
+            output.clear().position(HEADER);
+            for (int column = 0; column < COLUMNS; column++) {
+                rawLength += deflate(bitmaps[column]) + deflate(values[column]);
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                if (!output.hasRemaining()) {
+                    throw new IllegalStateException("Compressed group larger than the export buffer");
+                }
+                deflater.deflate(output);
+            }
+            output.putInt(0, rows).putInt(4, rawLength).putInt(8, output.position() - HEADER);
+            drain(output);
+
+            deflater.reset();
+            Arrays.fill(previous, 0);
+            for (int column = 0; column < COLUMNS; column++) {
+                bitmaps[column].clear();
+                values[column].clear();
+            }
+            rows = 0;
+        }
+
+        private int deflate(ByteBuffer column) {
+            column.flip();
+            int length = column.remaining();
+            deflater.setInput(column);
+            while (!deflater.needsInput()) {
+                if (!output.hasRemaining()) {
+                    throw new IllegalStateException("Compressed group larger than the export buffer");
+                }
+                deflater.deflate(output);
+            }
+            return length;
+        }
+
+        private static byte[] utf8(String text) {
+            return text == null ? null : text.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+
+        private static void putVarint(ByteBuffer buffer, long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+    }
+}
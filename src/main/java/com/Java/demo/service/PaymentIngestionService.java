@@ -0,0 +1,178 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.IngestionResult;
+import com.Java.demo.dto.PaymentRecord;
+import com.Java.demo.entity.Employee;
+import com.Java.demo.entity.Payment;
+import com.Java.demo.repository.PaymentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ingests NDJSON payment uploads. The body is read line by line, so memory use is
+ * bounded by the batch size rather than the upload size, and every batch is persisted
+ * in its own transaction using JDBC batching; PaymentRepository keeps the payment
+ * aggregates in step. A batch the database refuses is split in halves and retried, so
+ * only the lines that cannot be stored are rejected.
+ */
+@Service
+public class PaymentIngestionService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PaymentIngestionService.class);
+    
+    /** Bound on the unknown employee IDs remembered during one upload. */
+    private static final int MAX_UNKNOWN_EMPLOYEES = 10_000;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private EmployeeReferenceCache employeeReferenceCache;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${app.ingestion.batch-size:1000}")
+    private int batchSize;
+    
+    public IngestionResult ingest(InputStream body) throws IOException {
+        long started = System.nanoTime();
+        IngestionResult result = new IngestionResult();
+        ObjectReader reader = objectMapper.readerFor(PaymentRecord.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        List<PaymentRecord> batch = new ArrayList<>(batchSize);
+        long[] batchLines = new long[batchSize];
+        // Negative cache: a missing employee is looked up once per upload, not once per line
+        Set<Long> unknownEmployees = new HashSet<>();
+        long lineNumber = 0;
+        
+        BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            
+            PaymentRecord record;
+            try {
+                record = reader.readValue(line);
+            } catch (IOException e) {
+                result.reject(lineNumber, "malformed JSON");
+                continue;
+            }
+            
+            String problem = validate(record, unknownEmployees);
+            if (problem != null) {
+                result.reject(lineNumber, problem);
+                continue;
+            }
+            
+            batchLines[batch.size()] = lineNumber;
+            batch.add(record);
+            
+            if (batch.size() >= batchSize) {
+                flush(transactionTemplate, batch, batchLines, result);
+            }
+        }
+        flush(transactionTemplate, batch, batchLines, result);
+        
+        result.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        logger.info("Payment ingestion finished: {} accepted, {} rejected in {} batches ({} ms)",
+            result.getAccepted(), result.getRejected(), result.getBatches(), result.getElapsedMillis());
+        return result;
+    }
+    
+    private String validate(PaymentRecord record, Set<Long> unknownEmployees) {
+        if (record.getEmpId() == null) {
+            return "empId is required";
+        }
+        if (record.getAmount() == null || record.getAmount().signum() < 0) {
+            return "amount must be zero or positive";
+        }
+        if (record.getPaymentTime() == null) {
+            return "paymentTime is required";
+        }
+        if (unknownEmployees.contains(record.getEmpId())) {
+            return "unknown employee " + record.getEmpId();
+        }
+        if (!employeeReferenceCache.contains(record.getEmpId())) {
+            if (unknownEmployees.size() < MAX_UNKNOWN_EMPLOYEES) {
+                unknownEmployees.add(record.getEmpId());
+            }
+            return "unknown employee " + record.getEmpId();
+        }
+        return null;
+    }
+    
+    /**
+     * Uninitialized proxy carrying only the ID; persisting a payment never loads the employee.
+     */
+    private Employee referenceTo(Long empId) {
+        return entityManager.getReference(Employee.class, empId);
+    }
+    
+    private void flush(TransactionTemplate transactionTemplate, List<PaymentRecord> batch, long[] lines,
+                       IngestionResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        store(transactionTemplate, batch, lines, 0, result);
+        batch.clear();
+    }
+    
+    /**
+     * Stores batch rows [from, from + rows.size()) in one transaction. If that fails, each half
+     * is retried on its own, down to single rows, which are then rejected with the cause.
+     */
+    private void store(TransactionTemplate transactionTemplate, List<PaymentRecord> rows, long[] lines, int from,
+                       IngestionResult result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Payment> payments = new ArrayList<>(rows.size());
+                for (PaymentRecord record : rows) {
+                    payments.add(new Payment(referenceTo(record.getEmpId()), record.getAmount(), record.getPaymentTime()));
+                }
+                paymentRepository.saveAll(payments);
+            });
+            result.accept(rows.size());
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                logger.warn("Rejected payment at line {}", lines[from], e);
+                result.reject(lines[from], "not stored: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                return;
+            }
+            logger.debug("Payment batch of {} rows from line {} failed, retrying in halves", rows.size(), lines[from]);
+            int half = rows.size() / 2;
+            store(transactionTemplate, rows.subList(0, half), lines, from, result);
+            store(transactionTemplate, rows.subList(half, rows.size()), lines, from + half, result);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.PaymentReportRow;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Running totals of one report key, merged from partial aggregates: rollup and raw rows in
+ * PaymentRollupService, the results of every payment shard in ShardedPaymentReportService.
+ */
+final class PaymentPartial {
+
+    /** Scale of AVG over DECIMAL(38,2) in MySQL (div_precision_increment = 4). */
+    private static final int AVERAGE_SCALE = 6;
+
+    private long count;
+    private BigDecimal sum = BigDecimal.ZERO;
+    private BigDecimal min;
+    private BigDecimal max;
+    private LocalDateTime first;
+    private LocalDateTime last;
+
+    /**
+     * Merges count, sum, min, max, first and last time, read from six consecutive columns
+     * starting at {@code column}.
+     */
+    void merge(ResultSet rs, int column) throws SQLException {
+        merge(rs.getLong(column), rs.getBigDecimal(column + 1), rs.getBigDecimal(column + 2),
+            rs.getBigDecimal(column + 3), rs.getObject(column + 4, LocalDateTime.class),
+            rs.getObject(column + 5, LocalDateTime.class));
+    }
+
+    void merge(PaymentPartial other) {
+        merge(other.count, other.sum, other.min, other.max, other.first, other.last);
+    }
+
+    private void merge(long otherCount, BigDecimal otherSum, BigDecimal otherMin, BigDecimal otherMax,
+                       LocalDateTime otherFirst, LocalDateTime otherLast) {
+        count += otherCount;
+        sum = sum.add(otherSum);
+        min = min == null || otherMin.compareTo(min) < 0 ? otherMin : min;
+        max = max == null || otherMax.compareTo(max) > 0 ? otherMax : max;
+        first = first == null || otherFirst.isBefore(first) ? otherFirst : first;
+        last = last == null || otherLast.isAfter(last) ? otherLast : last;
+    }
+
+    void fill(PaymentReportRow row) {
+        row.setTotalPayments(count);
+        row.setTotalSalaryPaid(sum);
+        row.setAverageSalary(sum.divide(BigDecimal.valueOf(count), AVERAGE_SCALE, RoundingMode.HALF_UP));
+        row.setMinSalary(min);
+        row.setMaxSalary(max);
+        row.setFirstPaymentDate(first);
+        row.setLastPaymentDate(last);
+        // DATEDIFF compares calendar dates only
+        row.setPaymentPeriodDays(ChronoUnit.DAYS.between(first.toLocalDate(), last.toLocalDate()));
+    }
+}
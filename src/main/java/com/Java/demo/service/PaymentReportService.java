@@ -0,0 +1,175 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.PaymentDetailRow;
+import com.Java.demo.repository.PaymentRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Serves payment detail reports without materializing the result set: exports stream
+ * rows from a database cursor straight into the response, and pages are addressed by
+ * a (PAYMENT_TIME, PAYMENT_ID) keyset cursor rather than an offset.
+ */
+@Service
+public class PaymentReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReportService.class);
+
+    public static final int MAX_PAGE_SIZE = 5000;
+
+    /** Rows between explicit flushes, so clients see progress on long exports. */
+    private static final int FLUSH_EVERY = 1000;
+
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    static final String CSV_HEADER =
+        "PAYMENT_ID,PAYMENT_TIME,AMOUNT,EMP_ID,FIRST_NAME,LAST_NAME,DEPARTMENT_ID,DEPARTMENT_NAME\n";
+
+    public enum Format { NDJSON, CSV }
+
+    /** A page of rows plus the cursor of its last row, or null when there are no more rows. */
+    public record Page(List<PaymentDetailRow> rows, LocalDateTime nextAfterTime, Long nextAfterId) {
+        public boolean hasMore() {
+            return nextAfterId != null;
+        }
+    }
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Returns up to {@code limit} rows after the given cursor; pass a null cursor for the first page.
+     */
+    public Page page(LocalDateTime afterTime, Long afterId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists
+        List<PaymentDetailRow> rows = afterTime == null || afterId == null
+            ? paymentRepository.findFirstDetailPage(Limit.of(size + 1))
+            : paymentRepository.findDetailPageAfter(afterTime, afterId, Limit.of(size + 1));
+
+        if (rows.size() <= size) {
+            return new Page(rows, null, null);
+        }
+        List<PaymentDetailRow> page = rows.subList(0, size);
+        PaymentDetailRow last = page.get(size - 1);
+        return new Page(page, last.getPaymentTime(), last.getPaymentId());
+    }
+
+    /**
+     * Writes every payment in [from, to) to {@code out} in the given format and returns the
+     * row count. Rows are read through a forward-only cursor inside a read-only transaction,
+     * so memory stays flat regardless of the result size.
+     */
+    public long export(Format format, LocalDateTime from, LocalDateTime to, OutputStream out) {
+        long started = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        Long rows = transactionTemplate.execute(status -> {
+            try (Stream<PaymentDetailRow> stream = paymentRepository.streamDetails(
+                    from == null ? MIN_TIME : from, to == null ? MAX_TIME : to)) {
+                return format == Format.CSV
+                    ? writeCsv(stream.iterator(), out)
+                    : writeNdjson(stream.iterator(), out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        logger.info("Exported {} payment rows as {} in {} ms",
+            rows, format, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<PaymentDetailRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        // The caller owns the response stream; the sequence writer must not close it
+        try (SequenceWriter writer = objectMapper.writerFor(PaymentDetailRow.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(out)) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<PaymentDetailRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(CSV_HEADER);
+        while (rows.hasNext()) {
+            PaymentDetailRow row = rows.next();
+            writer.write(String.valueOf(row.getPaymentId()));
+            writer.write(',');
+            writeCsvValue(writer, row.getPaymentTime());
+            writer.write(',');
+            writeCsvValue(writer, row.getAmount() == null ? null : row.getAmount().toPlainString());
+            writer.write(',');
+            writeCsvValue(writer, row.getEmpId());
+            writer.write(',');
+            writeCsvValue(writer, row.getFirstName());
+            writer.write(',');
+            writeCsvValue(writer, row.getLastName());
+            writer.write(',');
+            writeCsvValue(writer, row.getDepartmentId());
+            writer.write(',');
+            writeCsvValue(writer, row.getDepartmentName());
+            writer.write('\n');
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,314 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.PaymentReportRow;
+import com.Java.demo.service.PaymentAnalyticsService.GroupBy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maintains PAYMENT_MONTHLY_ROLLUP, per-employee payment totals of each closed calendar
+ * month, and answers payroll reports from it.
+ *
+ * A background job compacts every month before the current one that is not yet listed in
+ * PAYMENT_ROLLUP_MONTH. Reports read the rollups for the whole compacted months inside the
+ * requested range and aggregate raw PAYMENTS rows only for the rest: the partial months at
+ * either end, the open month and any month invalidated by a later write. A year-over-year
+ * report therefore reads one row per employee and month instead of every payment.
+ */
+@Service
+public class PaymentRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentRollupService.class);
+
+    public static final String ROLLUP_TABLE = "PAYMENT_MONTHLY_ROLLUP";
+    public static final String MONTH_TABLE = "PAYMENT_ROLLUP_MONTH";
+
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 1, 0, 0);
+
+    private static final String PARTIAL_COLUMNS =
+        "PAYMENT_COUNT, TOTAL_AMOUNT, MIN_AMOUNT, MAX_AMOUNT, FIRST_PAYMENT_TIME, LAST_PAYMENT_TIME";
+
+    /** A slice of [from, to) that is not covered by compacted months. */
+    public record RawRange(LocalDateTime from, LocalDateTime to) {}
+
+    /**
+     * Report rows plus where they came from: {@code rollupRowsRead} rollup rows covering
+     * {@code compactedMonths} months, and {@code rawPaymentsRead} payments from {@code rawRanges}.
+     */
+    public record PayrollReport(List<PaymentReportRow> rows, int compactedMonths, long rollupRowsRead,
+                                List<RawRange> rawRanges, long rawPaymentsRead) {}
+
+    /** Outcome of one compaction pass. */
+    public record CompactionResult(int monthsCompacted, long rollupRows, long elapsedMillis) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.rollup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rollup.compaction-interval:10m}")
+    private Duration compactionInterval;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("rollup-compaction").daemon().factory());
+    private final ReentrantLock compacting = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::compactQuietly,
+                compactionInterval.toMillis(), compactionInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Compacts every closed month that has no current rollup, oldest first, each in its own
+     * transaction.
+     *
+     * @return what was compacted; nothing if another pass is already running
+     */
+    public CompactionResult compactClosedMonths() {
+        if (!compacting.tryLock()) {
+            return new CompactionResult(0, 0, 0);
+        }
+        long started = System.nanoTime();
+        String outcome = "error";
+        try {
+            LocalDateTime oldest = jdbcTemplate.queryForObject("SELECT MIN(PAYMENT_TIME) FROM PAYMENTS", LocalDateTime.class);
+            LocalDate openMonth = monthOf(LocalDateTime.now());
+            Set<LocalDate> compacted = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT PAYMENT_MONTH FROM " + MONTH_TABLE, LocalDate.class));
+
+            int months = 0;
+            long rollupRows = 0;
+            for (LocalDate month = oldest == null ? openMonth : monthOf(oldest); month.isBefore(openMonth);
+                    month = month.plusMonths(1)) {
+                if (!compacted.contains(month)) {
+                    rollupRows += compactMonth(month);
+                    months++;
+                }
+            }
+
+            outcome = "success";
+            long elapsed = (System.nanoTime() - started) / 1_000_000;
+            if (months > 0) {
+                logger.info("Compacted {} payment months into {} rollup rows in {} ms", months, rollupRows, elapsed);
+            }
+            return new CompactionResult(months, rollupRows, elapsed);
+        } finally {
+            Timer.builder("payments.rollup.compaction")
+                .description("Monthly payment rollup compaction passes")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            compacting.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the rollup rows of one month from PAYMENTS and marks the month compacted.
+     */
+    long compactMonth(LocalDate month) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Long rows = transactionTemplate.execute(status -> {
+            // The month row is written first: a concurrent payment write into the month then
+            // either waits for this transaction or deletes the row after it commits
+            jdbcTemplate.update("DELETE FROM " + MONTH_TABLE + " WHERE PAYMENT_MONTH = ?", Date.valueOf(month));
+            jdbcTemplate.update("INSERT INTO " + MONTH_TABLE + " (PAYMENT_MONTH, ROLLUP_ROWS, COMPACTED_AT) VALUES (?, 0, ?)",
+                Date.valueOf(month), Timestamp.valueOf(LocalDateTime.now()));
+            jdbcTemplate.update("DELETE FROM " + ROLLUP_TABLE + " WHERE PAYMENT_MONTH = ?", Date.valueOf(month));
+            long inserted = jdbcTemplate.update("INSERT INTO " + ROLLUP_TABLE
+                    + " (PAYMENT_MONTH, EMP_ID, DEPARTMENT_ID, " + PARTIAL_COLUMNS + ")"
+                    + " SELECT ?, p.EMP_ID, e.DEPARTMENT, COUNT(*), SUM(p.AMOUNT), MIN(p.AMOUNT), MAX(p.AMOUNT),"
+                    + " MIN(p.PAYMENT_TIME), MAX(p.PAYMENT_TIME)"
+                    + " FROM PAYMENTS p JOIN EMPLOYEE e ON e.EMP_ID = p.EMP_ID"
+                    + " WHERE p.AMOUNT IS NOT NULL AND p.PAYMENT_TIME >= ? AND p.PAYMENT_TIME < ?"
+                    + " GROUP BY p.EMP_ID, e.DEPARTMENT",
+                Date.valueOf(month), Timestamp.valueOf(month.atStartOfDay()),
+                Timestamp.valueOf(month.plusMonths(1).atStartOfDay()));
+            jdbcTemplate.update("UPDATE " + MONTH_TABLE + " SET ROLLUP_ROWS = ? WHERE PAYMENT_MONTH = ?",
+                inserted, Date.valueOf(month));
+            return inserted;
+        });
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * Builds the payment report over [from, to), combining compacted months with raw rows.
+     *
+     * @param from inclusive lower bound on PAYMENT_TIME, or null
+     * @param to exclusive upper bound on PAYMENT_TIME, or null
+     */
+    @Transactional(readOnly = true)
+    public PayrollReport report(GroupBy groupBy, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime lower = from == null ? MIN_TIME : from;
+        LocalDateTime upper = to == null ? MAX_TIME : to;
+        if (!lower.isBefore(upper)) {
+            return new PayrollReport(List.of(), 0, 0, List.of(), 0);
+        }
+        boolean byDepartment = groupBy == GroupBy.DEPARTMENT;
+        Map<Long, PaymentPartial> partials = new HashMap<>();
+
+        // Whole months inside the range; only those can come from the rollups
+        LocalDate firstWhole = monthOf(lower).atStartOfDay().equals(lower) ? monthOf(lower) : monthOf(lower).plusMonths(1);
+        LocalDate endWhole = monthOf(upper);
+        List<LocalDate> compacted = firstWhole.isBefore(endWhole)
+            ? jdbcTemplate.queryForList("SELECT PAYMENT_MONTH FROM " + MONTH_TABLE
+                + " WHERE PAYMENT_MONTH >= ? AND PAYMENT_MONTH < ? ORDER BY PAYMENT_MONTH",
+                LocalDate.class, Date.valueOf(firstWhole), Date.valueOf(endWhole))
+            : List.of();
+
+        long rollupRows = 0;
+        if (!compacted.isEmpty()) {
+            String key = byDepartment ? "r.DEPARTMENT_ID" : "r.EMP_ID";
+            rollupRows = read(partials, "SELECT " + key + ", COUNT(*), SUM(r.PAYMENT_COUNT), SUM(r.TOTAL_AMOUNT),"
+                    + " MIN(r.MIN_AMOUNT), MAX(r.MAX_AMOUNT), MIN(r.FIRST_PAYMENT_TIME), MAX(r.LAST_PAYMENT_TIME)"
+                    + " FROM " + ROLLUP_TABLE + " r JOIN " + MONTH_TABLE + " m ON m.PAYMENT_MONTH = r.PAYMENT_MONTH"
+                    + " WHERE r.PAYMENT_MONTH >= ? AND r.PAYMENT_MONTH < ? AND r.DEPARTMENT_ID IS NOT NULL"
+                    + " GROUP BY " + key,
+                Date.valueOf(compacted.get(0)), Date.valueOf(compacted.get(compacted.size() - 1).plusMonths(1)));
+        }
+
+        List<RawRange> rawRanges = rawRanges(lower, upper, compacted);
+        long rawPayments = 0;
+        String key = byDepartment ? "e.DEPARTMENT" : "p.EMP_ID";
+        for (RawRange range : rawRanges) {
+            rawPayments += read(partials, "SELECT " + key + ", COUNT(*), COUNT(*), SUM(p.AMOUNT), MIN(p.AMOUNT), MAX(p.AMOUNT),"
+                    + " MIN(p.PAYMENT_TIME), MAX(p.PAYMENT_TIME)"
+                    + " FROM PAYMENTS p JOIN EMPLOYEE e ON e.EMP_ID = p.EMP_ID"
+                    + " WHERE p.AMOUNT IS NOT NULL AND p.PAYMENT_TIME >= ? AND p.PAYMENT_TIME < ?"
+                    + " AND e.DEPARTMENT IS NOT NULL GROUP BY " + key,
+                Timestamp.valueOf(range.from()), Timestamp.valueOf(range.to()));
+        }
+
+        List<PaymentReportRow> rows = byDepartment ? departmentRows(partials) : employeeRows(partials);
+        rows.sort(PaymentAnalyticsService.REPORT_ORDER);
+        return new PayrollReport(rows, compacted.size(), rollupRows, rawRanges, rawPayments);
+    }
+
+    /** [lower, upper) minus the compacted months, which are sorted and lie inside it. */
+    static List<RawRange> rawRanges(LocalDateTime lower, LocalDateTime upper, List<LocalDate> compacted) {
+        List<RawRange> ranges = new ArrayList<>();
+        LocalDateTime cursor = lower;
+        for (LocalDate month : compacted) {
+            LocalDateTime start = month.atStartOfDay();
+            if (cursor.isBefore(start)) {
+                ranges.add(new RawRange(cursor, start));
+            }
+            cursor = month.plusMonths(1).atStartOfDay();
+        }
+        if (cursor.isBefore(upper)) {
+            ranges.add(new RawRange(cursor, upper));
+        }
+        return ranges;
+    }
+
+    /** Merges grouped partial aggregates into {@code partials} and returns the source rows they cover. */
+    private long read(Map<Long, PaymentPartial> partials, String sql, Object... args) {
+        long[] sourceRows = {0};
+        jdbcTemplate.query(sql, rs -> {
+            sourceRows[0] += rs.getLong(2);
+            partials.computeIfAbsent(rs.getLong(1), id -> new PaymentPartial()).merge(rs, 3);
+        }, args);
+        return sourceRows[0];
+    }
+
+    private List<PaymentReportRow> employeeRows(Map<Long, PaymentPartial> partials) {
+        List<PaymentReportRow> rows = new ArrayList<>();
+        if (partials.isEmpty()) {
+            return rows;
+        }
+        jdbcTemplate.query("SELECT e.EMP_ID, e.FIRST_NAME, e.LAST_NAME, e.GENDER, e.DOB, d.DEPARTMENT_ID, d.DEPARTMENT_NAME"
+            + " FROM EMPLOYEE e JOIN DEPARTMENT d ON d.DEPARTMENT_ID = e.DEPARTMENT", rs -> {
+            PaymentPartial partial = partials.get(rs.getLong(1));
+            if (partial == null) {
+                return;
+            }
+            Date dob = rs.getDate(5);
+            PaymentReportRow row = new PaymentReportRow();
+            row.setEmpId(rs.getLong(1));
+            row.setFirstName(rs.getString(2));
+            row.setLastName(rs.getString(3));
+            row.setGender(rs.getString(4));
+            row.setDob(dob == null ? null : dob.toLocalDate());
+            row.setDepartmentId(rs.getLong(6));
+            row.setDepartmentName(rs.getString(7));
+            partial.fill(row);
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    private List<PaymentReportRow> departmentRows(Map<Long, PaymentPartial> partials) {
+        List<PaymentReportRow> rows = new ArrayList<>();
+        if (partials.isEmpty()) {
+            return rows;
+        }
+        jdbcTemplate.query("SELECT DEPARTMENT_ID, DEPARTMENT_NAME FROM DEPARTMENT", rs -> {
+            PaymentPartial partial = partials.get(rs.getLong(1));
+            if (partial == null) {
+                return;
+            }
+            PaymentReportRow row = new PaymentReportRow();
+            row.setDepartmentId(rs.getLong(1));
+            row.setDepartmentName(rs.getString(2));
+            partial.fill(row);
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    private static LocalDate monthOf(LocalDateTime time) {
+        return time.toLocalDate().withDayOfMonth(1);
+    }
+
+    private void compactQuietly() {
+        try {
+            compactClosedMonths();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; uncompacted months are served from PAYMENTS meanwhile
+            logger.error("Payment rollup compaction failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,133 @@
+package com.Java.demo.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Progress of one execution of the webhook pipeline: overall state, the stage in
+ * flight and the timing of every stage. Updated by the pipeline threads and read
+ * by status endpoints, so all access is synchronized.
+ */
+public class PipelineRun {
+    
+    public enum State { PENDING, RUNNING, COMPLETED, FAILED }
+    
+    public enum StageStatus { PENDING, RUNNING, COMPLETED, FAILED }
+    
+    private final String id = UUID.randomUUID().toString();
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private final CompletableFuture<PipelineRun> completion = new CompletableFuture<>();
+    private State state = State.PENDING;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    
+    public PipelineRun(List<String> stageNames) {
+        for (String name : stageNames) {
+            stages.put(name, new Stage());
+        }
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    /** Completes with this run once it has finished, successfully or not. */
+    public CompletableFuture<PipelineRun> getCompletion() {
+        return completion;
+    }
+    
+    synchronized void stageStarted(String name) {
+        if (state == State.PENDING) {
+            startedAt = LocalDateTime.now();
+        }
+        state = State.RUNNING;
+        Stage stage = stages.get(name);
+        stage.status = StageStatus.RUNNING;
+        stage.startedAt = LocalDateTime.now();
+        stage.startedNanos = System.nanoTime();
+    }
+    
+    synchronized void stageCompleted(String name) {
+        Stage stage = stages.get(name);
+        stage.status = StageStatus.COMPLETED;
+        stage.elapsedMillis = (System.nanoTime() - stage.startedNanos) / 1_000_000;
+    }
+    
+    void finish(Throwable failure) {
+        synchronized (this) {
+            finishedAt = LocalDateTime.now();
+            if (failure == null) {
+                state = State.COMPLETED;
+            } else {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+                state = State.FAILED;
+                error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+                // A stage cut off by a timeout never reports back, so close it here
+                for (Stage stage : stages.values()) {
+                    if (stage.status == StageStatus.RUNNING) {
+                        stage.status = StageStatus.FAILED;
+                        stage.elapsedMillis = (System.nanoTime() - stage.startedNanos) / 1_000_000;
+                    }
+                }
+            }
+        }
+        completion.complete(this);
+    }
+    
+    /** Snapshot for JSON responses and health details. */
+    public synchronized Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        List<Map<String, Object>> stageList = new ArrayList<>();
+        String currentStage = null;
+        long completedStages = 0;
+        for (Map.Entry<String, Stage> entry : stages.entrySet()) {
+            Stage stage = entry.getValue();
+            if (stage.status == StageStatus.RUNNING) {
+                currentStage = entry.getKey();
+            } else if (stage.status == StageStatus.COMPLETED) {
+                completedStages++;
+            }
+            Map<String, Object> stageDescription = new LinkedHashMap<>();
+            stageDescription.put("name", entry.getKey());
+            stageDescription.put("status", stage.status);
+            stageDescription.put("startedAt", stage.startedAt);
+            stageDescription.put("elapsedMillis", stage.status == StageStatus.RUNNING
+                ? Long.valueOf((System.nanoTime() - stage.startedNanos) / 1_000_000) : stage.elapsedMillis);
+            stageList.add(stageDescription);
+        }
+        
+        description.put("id", id);
+        description.put("state", state);
+        description.put("currentStage", currentStage);
+        description.put("completedStages", completedStages);
+        description.put("totalStages", stages.size());
+        description.put("stages", stageList);
+        description.put("createdAt", createdAt);
+        description.put("startedAt", startedAt);
+        description.put("finishedAt", finishedAt);
+        if (error != null) {
+            description.put("error", error);
+        }
+        return description;
+    }
+    
+    private static final class Stage {
+        StageStatus status = StageStatus.PENDING;
+        LocalDateTime startedAt;
+        long startedNanos;
+        Long elapsedMillis;
+    }
+}
@@ -0,0 +1,58 @@
+package com.Java.demo.service;
+
+import com.Java.demo.config.SecondLevelCacheConfig;
+import com.Java.demo.dto.CacheRegionStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statistics and bulk invalidation for the Hibernate second-level cache. Writes made
+ * through JPA keep the cache consistent on their own; writers that go straight to JDBC
+ * must call {@link #evictAll()} once they commit.
+ */
+@Service
+public class ReferenceDataCacheService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCacheService.class);
+    
+    @Autowired
+    private CacheManager secondLevelCacheManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    public List<CacheRegionStats> stats() {
+        List<CacheRegionStats> stats = new ArrayList<>();
+        for (String region : SecondLevelCacheConfig.ENTITY_REGIONS) {
+            javax.cache.Cache<Object, Object> cache = secondLevelCacheManager.getCache(region);
+            if (cache == null) {
+                continue;
+            }
+            Cache<?, ?> store = cache.unwrap(Cache.class);
+            CacheStats counters = store.stats();
+            Long maxEntries = store.policy().eviction().map(Policy.Eviction::getMaximum).orElse(null);
+            stats.add(new CacheRegionStats(region, store.estimatedSize(), maxEntries,
+                counters.hitCount(), counters.missCount(), counters.hitRate(), counters.evictionCount()));
+        }
+        return stats;
+    }
+    
+    /**
+     * Drops every cached entity.
+     */
+    public void evictAll() {
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        cache.evictAll();
+        logger.info("Second-level cache evicted");
+    }
+}
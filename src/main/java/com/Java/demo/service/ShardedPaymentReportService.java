@@ -0,0 +1,111 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.PaymentReportRow;
+import com.Java.demo.repository.PaymentShards;
+import com.Java.demo.service.PaymentAnalyticsService.GroupBy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The payment analysis report of {@code WebhookService.generateFinalSQLQuery()} over sharded
+ * PAYMENTS, by scatter-gather: every shard aggregates its payments per employee in parallel,
+ * and the partial results are merged here and joined with the employees and departments of
+ * the application database. An employee's payments live on one shard, so partials of the
+ * same employee only meet while a rebalance is moving rows.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.sharding.payments", name = "urls")
+public class ShardedPaymentReportService {
+
+    private static final String EMPLOYEE_PARTIALS = "SELECT EMP_ID, COUNT(*), SUM(AMOUNT), MIN(AMOUNT), MAX(AMOUNT),"
+        + " MIN(PAYMENT_TIME), MAX(PAYMENT_TIME) FROM PAYMENTS"
+        + " WHERE EMP_ID IS NOT NULL AND AMOUNT IS NOT NULL AND PAYMENT_TIME >= ? AND PAYMENT_TIME < ?"
+        + " GROUP BY EMP_ID";
+
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 1, 0, 0);
+
+    @Autowired
+    private PaymentShards paymentShards;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param from inclusive lower bound on PAYMENT_TIME, or null
+     * @param to exclusive upper bound on PAYMENT_TIME, or null
+     */
+    @Transactional(readOnly = true)
+    public List<PaymentReportRow> report(GroupBy groupBy, LocalDateTime from, LocalDateTime to) {
+        Timestamp lower = Timestamp.valueOf(from == null ? MIN_TIME : from);
+        Timestamp upper = Timestamp.valueOf(to == null ? MAX_TIME : to);
+
+        List<Map<Long, PaymentPartial>> shardPartials = paymentShards.scatter((shard, shardJdbc) -> {
+            Map<Long, PaymentPartial> partials = new HashMap<>();
+            shardJdbc.query(EMPLOYEE_PARTIALS, rs -> {
+                partials.computeIfAbsent(rs.getLong(1), id -> new PaymentPartial()).merge(rs, 2);
+            }, lower, upper);
+            return partials;
+        });
+        Map<Long, PaymentPartial> byEmployee = shardPartials.get(0);
+        for (Map<Long, PaymentPartial> partials : shardPartials.subList(1, shardPartials.size())) {
+            partials.forEach((empId, partial) -> byEmployee.merge(empId, partial, (merged, other) -> {
+                merged.merge(other);
+                return merged;
+            }));
+        }
+
+        List<PaymentReportRow> rows = new ArrayList<>();
+        if (byEmployee.isEmpty()) {
+            return rows;
+        }
+        boolean byDepartment = groupBy == GroupBy.DEPARTMENT;
+        Map<Long, PaymentPartial> departmentPartials = new LinkedHashMap<>();
+        Map<Long, String> departmentNames = new HashMap<>();
+        // Inner joins: like the SQL, the report is driven by DEPARTMENT
+        jdbcTemplate.query("SELECT e.EMP_ID, e.FIRST_NAME, e.LAST_NAME, e.GENDER, e.DOB, d.DEPARTMENT_ID, d.DEPARTMENT_NAME"
+            + " FROM EMPLOYEE e JOIN DEPARTMENT d ON d.DEPARTMENT_ID = e.DEPARTMENT", rs -> {
+            PaymentPartial partial = byEmployee.get(rs.getLong(1));
+            if (partial == null) {
+                return;
+            }
+            if (byDepartment) {
+                departmentNames.putIfAbsent(rs.getLong(6), rs.getString(7));
+                departmentPartials.computeIfAbsent(rs.getLong(6), id -> new PaymentPartial()).merge(partial);
+                return;
+            }
+            Date dob = rs.getDate(5);
+            PaymentReportRow row = new PaymentReportRow();
+            row.setEmpId(rs.getLong(1));
+            row.setFirstName(rs.getString(2));
+            row.setLastName(rs.getString(3));
+            row.setGender(rs.getString(4));
+            row.setDob(dob == null ? null : dob.toLocalDate());
+            row.setDepartmentId(rs.getLong(6));
+            row.setDepartmentName(rs.getString(7));
+            partial.fill(row);
+            rows.add(row);
+        });
+        departmentPartials.forEach((departmentId, partial) -> {
+            PaymentReportRow row = new PaymentReportRow();
+            row.setDepartmentId(departmentId);
+            row.setDepartmentName(departmentNames.get(departmentId));
+            partial.fill(row);
+            rows.add(row);
+        });
+        rows.sort(PaymentAnalyticsService.REPORT_ORDER);
+        return rows;
+    }
+}
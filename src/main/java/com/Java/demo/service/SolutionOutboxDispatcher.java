@@ -0,0 +1,231 @@
+package com.Java.demo.service;
+
+import com.Java.demo.entity.SolutionOutboxEntry;
+import com.Java.demo.entity.SolutionOutboxEntry.Status;
+import com.Java.demo.repository.SolutionOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains SOLUTION_OUTBOX in the background. Due entries are claimed one by one, delivered
+ * concurrently on virtual threads (at most {@code app.outbox.parallelism} at a time) and then
+ * marked delivered, rescheduled with exponential backoff plus jitter, or dead-lettered once
+ * the attempt budget is spent or the endpoint rejects the submission outright.
+ */
+@Service
+public class SolutionOutboxDispatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SolutionOutboxDispatcher.class);
+    
+    @Autowired
+    private SolutionOutboxRepository outboxRepository;
+    
+    @Autowired
+    private WebhookService webhookService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.outbox.poll-interval:5s}")
+    private Duration pollInterval;
+    
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${app.outbox.parallelism:4}")
+    private int parallelism;
+    
+    @Value("${app.outbox.max-attempts:8}")
+    private int maxAttempts;
+    
+    @Value("${app.outbox.initial-backoff:1s}")
+    private Duration initialBackoff;
+    
+    @Value("${app.outbox.max-backoff:5m}")
+    private Duration maxBackoff;
+    
+    @Value("${app.outbox.lease:2m}")
+    private Duration lease;
+    
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("outbox-dispatcher").daemon().factory());
+    private final ExecutorService deliveries = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("outbox-delivery-", 0).factory());
+    private final ReentrantLock polling = new ReentrantLock();
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong deadLetters = new AtomicLong();
+    
+    private Semaphore inFlight;
+    private Timer deliveryLatency;
+    
+    @PostConstruct
+    void init() {
+        inFlight = new Semaphore(Math.max(1, parallelism));
+        Gauge.builder("outbox.queue.depth", queueDepth, AtomicLong::get)
+            .description("Solution submissions waiting for delivery")
+            .register(meterRegistry);
+        Gauge.builder("outbox.dead.letters", deadLetters, AtomicLong::get)
+            .description("Solution submissions that gave up")
+            .register(meterRegistry);
+        deliveryLatency = Timer.builder("outbox.delivery.latency")
+            .description("Time from enqueue to successful delivery")
+            .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /** Delivers a new submission right after its transaction commits instead of at the next poll. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnqueued(SolutionOutboxEntry entry) {
+        if (enabled) {
+            scheduler.execute(this::poll);
+        }
+    }
+    
+    /**
+     * Delivers every entry that is due now and waits for the attempts to finish.
+     *
+     * @return the number of delivery attempts made, or 0 if another poll is already running
+     */
+    public int dispatchDue() {
+        if (!polling.tryLock()) {
+            return 0;
+        }
+        try {
+            int dispatched = 0;
+            List<SolutionOutboxEntry> due;
+            do {
+                LocalDateTime now = SolutionOutboxService.now();
+                due = outboxRepository.findDue(now, Limit.of(batchSize));
+                List<Callable<Void>> attempts = new ArrayList<>(due.size());
+                for (SolutionOutboxEntry entry : due) {
+                    if (outboxRepository.claim(entry.getId(), entry.getNextAttemptAt(), now.plus(lease)) == 1) {
+                        entry.setAttempts(entry.getAttempts() + 1);
+                        attempts.add(() -> {
+                            deliver(entry);
+                            return null;
+                        });
+                    }
+                }
+                deliveries.invokeAll(attempts);
+                dispatched += attempts.size();
+            } while (due.size() == batchSize);
+            return dispatched;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            queueDepth.set(outboxRepository.countByStatus(Status.PENDING));
+            deadLetters.set(outboxRepository.countByStatus(Status.DEAD));
+            polling.unlock();
+        }
+    }
+    
+    private void poll() {
+        try {
+            dispatchDue();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; claimed entries become due again when their lease runs out
+            logger.error("Outbox dispatch failed", e);
+        }
+    }
+    
+    private void deliver(SolutionOutboxEntry entry) throws InterruptedException {
+        inFlight.acquire();
+        long started = System.nanoTime();
+        String outcome;
+        try {
+            webhookService.deliverSolution(entry);
+            LocalDateTime deliveredAt = SolutionOutboxService.now();
+            outboxRepository.markDelivered(entry.getId(), deliveredAt);
+            deliveryLatency.record(Duration.between(entry.getCreatedAt(), deliveredAt));
+            outcome = "delivered";
+            logger.info("Solution {} delivered on attempt {}", entry.getId(), entry.getAttempts());
+        } catch (RuntimeException e) {
+            String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+            if (isPermanent(e) || entry.getAttempts() >= maxAttempts) {
+                outboxRepository.markFailed(entry.getId(), Status.DEAD, SolutionOutboxService.now(), error);
+                outcome = "dead";
+                logger.error("Solution {} dead-lettered after {} attempts: {}", entry.getId(), entry.getAttempts(), error);
+            } else {
+                Duration delay = backoff(entry.getAttempts());
+                outboxRepository.markFailed(entry.getId(), Status.PENDING, SolutionOutboxService.now().plus(delay), error);
+                outcome = "retry";
+                logger.warn("Solution {} attempt {} failed, retrying in {} ms: {}",
+                    entry.getId(), entry.getAttempts(), delay.toMillis(), error);
+            }
+        } finally {
+            inFlight.release();
+        }
+        meterRegistry.timer("outbox.delivery.attempts", "outcome", outcome)
+            .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Exponential backoff with "equal jitter": half of the capped delay is fixed and the other
+     * half random, so retries of a burst spread out without ever firing immediately.
+     */
+    Duration backoff(int attempt) {
+        long initial = Math.max(1, initialBackoff.toMillis());
+        long cap = Math.min(maxBackoff.toMillis(), initial << Math.min(attempt - 1, 30));
+        long half = Math.max(1, cap / 2);
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+    
+    /** 4xx means the request itself is wrong, except for the statuses that ask to come back later. */
+    private static boolean isPermanent(RuntimeException e) {
+        if (e instanceof HttpClientErrorException clientError) {
+            int status = clientError.getStatusCode().value();
+            return status != HttpStatus.REQUEST_TIMEOUT.value()
+                && status != HttpStatus.TOO_EARLY.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return false;
+    }
+    
+    private static String truncate(String error) {
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        deliveries.shutdownNow();
+    }
+}
@@ -0,0 +1,112 @@
+package com.Java.demo.service;
+
+import com.Java.demo.entity.SolutionOutboxEntry;
+import com.Java.demo.entity.SolutionOutboxEntry.Status;
+import com.Java.demo.repository.SolutionOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists solution submissions for SolutionOutboxDispatcher to deliver. Enqueueing is
+ * idempotent: the same token and query map to the same entry, and its key is sent as the
+ * Idempotency-Key header on every delivery attempt.
+ */
+@Service
+public class SolutionOutboxService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SolutionOutboxService.class);
+    
+    @Autowired
+    private SolutionOutboxRepository outboxRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    public SolutionOutboxEntry enqueue(String accessToken, String finalQuery) {
+        String key = idempotencyKey(accessToken, finalQuery);
+        SolutionOutboxEntry existing = outboxRepository.findByIdempotencyKey(key).orElse(null);
+        if (existing != null) {
+            logger.info("Solution {} already in the outbox ({})", existing.getId(), existing.getStatus());
+            return existing;
+        }
+        
+        SolutionOutboxEntry entry;
+        try {
+            entry = outboxRepository.saveAndFlush(new SolutionOutboxEntry(key, accessToken, finalQuery, now()));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent enqueue of the same submission won the unique key
+            return outboxRepository.findByIdempotencyKey(key).orElseThrow(() -> e);
+        }
+        logger.info("Solution {} queued for submission", entry.getId());
+        eventPublisher.publishEvent(entry);
+        return entry;
+    }
+    
+    /**
+     * Puts a dead-lettered entry back in the queue with a fresh attempt budget. Read-write, so
+     * the entry handed to the dispatcher is read back from the primary.
+     */
+    @Transactional
+    public boolean requeue(Long id) {
+        boolean requeued = outboxRepository.requeueDead(id, now()) == 1;
+        if (requeued) {
+            outboxRepository.findById(id).ifPresent(eventPublisher::publishEvent);
+        }
+        return requeued;
+    }
+    
+    public Map<String, Object> stats(int deadLetterLimit) {
+        List<Map<String, Object>> deadLetters = outboxRepository
+            .findByStatusOrderByIdDesc(Status.DEAD, Limit.of(Math.max(1, deadLetterLimit))).stream()
+            .map(entry -> {
+                Map<String, Object> description = new LinkedHashMap<>();
+                description.put("id", entry.getId());
+                description.put("idempotencyKey", entry.getIdempotencyKey());
+                description.put("attempts", entry.getAttempts());
+                description.put("createdAt", entry.getCreatedAt());
+                description.put("lastError", entry.getLastError());
+                return description;
+            })
+            .toList();
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", outboxRepository.countByStatus(Status.PENDING));
+        stats.put("delivered", outboxRepository.countByStatus(Status.DELIVERED));
+        stats.put("dead", outboxRepository.countByStatus(Status.DEAD));
+        stats.put("deadLetters", deadLetters);
+        return stats;
+    }
+    
+    static String idempotencyKey(String accessToken, String finalQuery) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(accessToken.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(finalQuery.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /** DATETIME(6) keeps microseconds; the claim compares timestamps for equality. */
+    static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
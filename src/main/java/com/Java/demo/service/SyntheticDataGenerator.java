@@ -0,0 +1,229 @@
+package com.Java.demo.service;
+
+import com.Java.demo.config.DataGeneratorProperties;
+import com.Java.demo.dto.DataGenerationReport;
+import com.Java.demo.entity.IdSequences;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills DEPARTMENT, EMPLOYEE and PAYMENTS with a deterministic synthetic dataset.
+ * Employees are split into chunks that are written in parallel, each chunk in its
+ * own transaction using batched JDBC inserts, so millions of rows load in minutes.
+ */
+@Service
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String INSERT_DEPARTMENT =
+        "INSERT INTO DEPARTMENT (DEPARTMENT_ID, DEPARTMENT_NAME) VALUES (?, ?)";
+    private static final String INSERT_EMPLOYEE =
+        "INSERT INTO EMPLOYEE (EMP_ID, FIRST_NAME, LAST_NAME, DOB, GENDER, DEPARTMENT) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PAYMENT =
+        "INSERT INTO PAYMENTS (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME) VALUES (?, ?, ?, ?)";
+
+    private static final String[] DEPARTMENT_NAMES = {
+        "Engineering", "Sales", "Marketing", "Human Resources", "Finance",
+        "Operations", "Legal", "Support", "Research", "Procurement"
+    };
+    private static final String[] FIRST_NAMES = {
+        "John", "Jane", "Bob", "Alice", "Charlie", "Diana", "Edward", "Fiona",
+        "George", "Hannah", "Ivan", "Julia", "Kevin", "Laura", "Michael", "Nina"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Doe", "Johnson", "Brown", "Wilson", "Miller", "Davis", "Garcia",
+        "Martinez", "Lopez", "Clark", "Lewis", "Walker", "Young", "King", "Wright"
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataGeneratorProperties defaultProperties;
+
+    @Autowired
+    private IdRangeAllocator idRangeAllocator;
+
+    public DataGenerationReport generate() {
+        return generate(defaultProperties);
+    }
+
+    public DataGenerationReport generate(DataGeneratorProperties properties) {
+        int departments = Math.max(1, properties.getDepartments());
+        int employeesPerDepartment = Math.max(1,
+            (int) Math.round(properties.getEmployeesPerDepartment() * properties.getScaleFactor()));
+        int paymentsPerEmployee = Math.max(0, properties.getPaymentsPerEmployee());
+        long totalEmployees = (long) departments * employeesPerDepartment;
+        long totalPayments = totalEmployees * paymentsPerEmployee;
+
+        logger.info("Generating synthetic data: {} departments, {} employees, {} payments using {} threads",
+            departments, totalEmployees, totalPayments, properties.getThreads());
+
+        long started = System.nanoTime();
+
+        long departmentBase = idRangeAllocator.reserve(IdSequences.DEPARTMENT, "DEPARTMENT", "DEPARTMENT_ID", departments);
+        long employeeBase = idRangeAllocator.reserve(IdSequences.EMPLOYEE, "EMPLOYEE", "EMP_ID", totalEmployees);
+        long paymentBase = idRangeAllocator.reserve(IdSequences.PAYMENTS, "PAYMENTS", "PAYMENT_ID", totalPayments);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> insertDepartments(departmentBase, departments));
+
+        GenerationPlan plan = new GenerationPlan(properties, departmentBase, employeeBase, paymentBase,
+            employeesPerDepartment, paymentsPerEmployee, LocalDateTime.now().withNano(0));
+
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        long chunks = (totalEmployees + chunkSize - 1) / chunkSize;
+        AtomicLong rowsWritten = new AtomicLong(departments);
+        AtomicLong chunksDone = new AtomicLong();
+        long progressStep = Math.max(1, chunks / 10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long chunk = 0; chunk < chunks; chunk++) {
+                long from = chunk * chunkSize;
+                long to = Math.min(totalEmployees, from + chunkSize);
+                futures.add(executor.submit(() -> {
+                    long rows = transactionTemplate.execute(status -> writeChunk(plan, from, to));
+                    long written = rowsWritten.addAndGet(rows);
+                    long done = chunksDone.incrementAndGet();
+                    if (done % progressStep == 0 || done == chunks) {
+                        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+                        logger.info("Synthetic data progress: {}/{} chunks, {} rows, {} rows/sec",
+                            done, chunks, written, Math.round(written / Math.max(seconds, 0.001)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Synthetic data generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Synthetic data generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        DataGenerationReport report = new DataGenerationReport(departments, totalEmployees, totalPayments, elapsedMillis);
+        logger.info("Synthetic data generated: {} rows in {} ms ({} rows/sec)",
+            departments + totalEmployees + totalPayments, elapsedMillis, Math.round(report.getRowsPerSecond()));
+        return report;
+    }
+
+    private void insertDepartments(long departmentBase, int departments) {
+        jdbcTemplate.batchUpdate(INSERT_DEPARTMENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                String name = DEPARTMENT_NAMES[i % DEPARTMENT_NAMES.length];
+                if (i >= DEPARTMENT_NAMES.length) {
+                    name = name + " " + (i / DEPARTMENT_NAMES.length + 1);
+                }
+                ps.setLong(1, departmentBase + i);
+                ps.setString(2, name);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return departments;
+            }
+        });
+    }
+
+    /**
+     * Writes employees [from, to) and all of their payments. Returns the number of rows inserted.
+     */
+    private long writeChunk(GenerationPlan plan, long from, long to) {
+        int employees = (int) (to - from);
+        // Seed per chunk so the dataset does not depend on thread scheduling
+        SplittableRandom random = new SplittableRandom(plan.seed() + from * 0x9E3779B97F4A7C15L);
+
+        long[] salaryCents = new long[employees];
+        batchInsert(INSERT_EMPLOYEE, employees, plan.batchSize(), (ps, i) -> {
+            long index = from + i;
+            salaryCents[i] = 300_000 + random.nextLong(900_000);
+            ps.setLong(1, plan.employeeBase() + index);
+            ps.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            ps.setString(3, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            ps.setObject(4, LocalDate.of(1960 + random.nextInt(44), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            ps.setString(5, random.nextBoolean() ? "M" : "F");
+            ps.setLong(6, plan.departmentBase() + index / plan.employeesPerDepartment());
+        });
+
+        int perEmployee = plan.paymentsPerEmployee();
+        long spanSeconds = Math.max(1L, plan.spanDays() * 86_400L);
+        LocalDateTime start = plan.end().minusSeconds(spanSeconds);
+        batchInsert(INSERT_PAYMENT, employees * perEmployee, plan.batchSize(), (ps, i) -> {
+            int employee = i / perEmployee;
+            long index = from + employee;
+            long cents = salaryCents[employee] + random.nextLong(-salaryCents[employee] / 20, salaryCents[employee] / 20 + 1);
+            ps.setLong(1, plan.paymentBase() + index * perEmployee + i % perEmployee);
+            ps.setLong(2, plan.employeeBase() + index);
+            ps.setBigDecimal(3, BigDecimal.valueOf(cents, 2));
+            ps.setObject(4, start.plusSeconds(random.nextLong(spanSeconds)));
+        });
+
+        return employees + (long) employees * perEmployee;
+    }
+
+    private void batchInsert(String sql, int rows, int batchSize, RowWriter writer) {
+        int size = Math.max(1, batchSize);
+        for (int offset = 0; offset < rows; offset += size) {
+            int base = offset;
+            int count = Math.min(size, rows - offset);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    writer.write(ps, base + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return count;
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, int row) throws SQLException;
+    }
+
+    private record GenerationPlan(long seed, int batchSize, int spanDays,
+                                  long departmentBase, long employeeBase, long paymentBase,
+                                  int employeesPerDepartment, int paymentsPerEmployee, LocalDateTime end) {
+
+        GenerationPlan(DataGeneratorProperties properties, long departmentBase, long employeeBase, long paymentBase,
+                       int employeesPerDepartment, int paymentsPerEmployee, LocalDateTime end) {
+            this(properties.getSeed(), properties.getBatchSize(), properties.getSpanDays(),
+                departmentBase, employeeBase, paymentBase, employeesPerDepartment, paymentsPerEmployee, end);
+        }
+    }
+}
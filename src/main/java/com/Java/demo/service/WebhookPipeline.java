@@ -0,0 +1,197 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.WebhookResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs generate webhook -> initialize data -> submit solution as asynchronous stages on
+ * virtual threads. The startup run is kicked off once the application reports ready, so
+ * a slow remote endpoint no longer delays readiness.
+ *
+ * Runs are admitted as jobs: at most {@code app.pipeline.max-concurrent-runs} execute at a
+ * time, up to {@code app.pipeline.queue-capacity} more wait, and anything beyond that is
+ * rejected so callers can back off. Recent runs stay addressable by ID.
+ */
+@Service
+public class WebhookPipeline {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WebhookPipeline.class);
+    
+    public static final String GENERATE_WEBHOOK = "generateWebhook";
+    public static final String INITIALIZE_DATA = "initializeSampleData";
+    public static final String SUBMIT_SOLUTION = "submitSolution";
+    public static final List<String> STAGES = List.of(GENERATE_WEBHOOK, INITIALIZE_DATA, SUBMIT_SOLUTION);
+    
+    @Autowired
+    private WebhookService webhookService;
+    
+    @Autowired
+    private WebhookTokenCache webhookTokenCache;
+    
+    @Autowired
+    private DataInitializationService dataInitializationService;
+    
+    @Value("${app.pipeline.run-on-startup:true}")
+    private boolean runOnStartup;
+    
+    // Opt-in: runs skip the initializeSampleData stage's seeding unless enabled
+    @Value("${app.pipeline.seed-data:false}")
+    private boolean seedData;
+    
+    @Value("${app.pipeline.remote-stage-timeout:30s}")
+    private Duration remoteStageTimeout;
+    
+    @Value("${app.pipeline.max-concurrent-runs:2}")
+    private int maxConcurrentRuns;
+    
+    @Value("${app.pipeline.queue-capacity:10}")
+    private int queueCapacity;
+    
+    @Value("${app.pipeline.retained-runs:100}")
+    private int retainedRuns;
+    
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("webhook-pipeline-", 0).factory());
+    
+    /** Admission: each worker carries one run from its first stage to completion. */
+    private ThreadPoolExecutor jobs;
+    private Map<String, PipelineRun> runs;
+    
+    private volatile PipelineRun lastRun;
+    private volatile Long startupToReadyMillis;
+    
+    @PostConstruct
+    void init() {
+        int workers = Math.max(1, maxConcurrentRuns);
+        jobs = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            Thread.ofVirtual().name("webhook-job-", 0).factory());
+        int retained = Math.max(1, retainedRuns);
+        runs = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PipelineRun> eldest) {
+                return size() > retained;
+            }
+        });
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        startupToReadyMillis = event.getTimeTaken() == null ? null : event.getTimeTaken().toMillis();
+        logger.info("Application ready in {} ms", startupToReadyMillis);
+        
+        if (runOnStartup) {
+            start();
+        }
+    }
+    
+    /**
+     * Queues a new run and returns immediately; the run reports its progress as it goes.
+     *
+     * @throws RejectedExecutionException if the configured number of runs is already
+     *         executing and the queue is full
+     */
+    public PipelineRun start() {
+        PipelineRun run = new PipelineRun(STAGES);
+        jobs.execute(() -> execute(run).join());
+        runs.put(run.getId(), run);
+        lastRun = run;
+        logger.info("Queued webhook process {}", run.getId());
+        return run;
+    }
+    
+    public PipelineRun findRun(String id) {
+        return runs.get(id);
+    }
+    
+    public int getActiveRuns() {
+        return jobs.getActiveCount();
+    }
+    
+    public int getQueuedRuns() {
+        return jobs.getQueue().size();
+    }
+    
+    private CompletableFuture<PipelineRun> execute(PipelineRun run) {
+        logger.info("Starting webhook process {}...", run.getId());
+        
+        stage(run, GENERATE_WEBHOOK, () -> {
+                WebhookResponse webhookResponse = webhookTokenCache.get();
+                if (webhookResponse == null) {
+                    throw new IllegalStateException("Failed to generate webhook");
+                }
+                logger.info("Webhook generated successfully: {}", webhookResponse.getWebhook());
+                return webhookResponse;
+            })
+            .orTimeout(remoteStageTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .thenCompose(webhookResponse -> stage(run, INITIALIZE_DATA, () -> {
+                if (seedData) {
+                    dataInitializationService.initializeSampleData();
+                } else {
+                    logger.info("Skipping sample data for webhook process {} (app.pipeline.seed-data=false)", run.getId());
+                }
+                return webhookResponse;
+            }))
+            .thenCompose(webhookResponse -> stage(run, SUBMIT_SOLUTION, () -> {
+                    // Queues the submission; the outbox dispatcher delivers and retries it
+                    webhookService.submitSolution(webhookResponse.getAccessToken());
+                    return webhookResponse;
+                })
+                .orTimeout(remoteStageTimeout.toMillis(), TimeUnit.MILLISECONDS))
+            .whenComplete((webhookResponse, failure) -> {
+                run.finish(failure);
+                if (failure == null) {
+                    logger.info("Webhook process {} completed successfully!", run.getId());
+                } else {
+                    logger.error("Error in webhook process {}", run.getId(), failure);
+                }
+            });
+        
+        return run.getCompletion();
+    }
+    
+    public PipelineRun getLastRun() {
+        return lastRun;
+    }
+    
+    public Long getStartupToReadyMillis() {
+        return startupToReadyMillis;
+    }
+    
+    private <T> CompletableFuture<T> stage(PipelineRun run, String name, Supplier<T> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            run.stageStarted(name);
+            T result = work.get();
+            run.stageCompleted(name);
+            return result;
+        }, executor);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        jobs.shutdownNow();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,33 @@
+package com.Java.demo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the progress of the latest webhook pipeline run under /actuator/health.
+ * The pipeline runs after startup and its outcome does not affect whether the
+ * application can serve requests, so the indicator stays UP and carries the
+ * progress in its details.
+ */
+@Component
+public class WebhookPipelineHealthIndicator implements HealthIndicator {
+    
+    @Autowired
+    private WebhookPipeline webhookPipeline;
+    
+    @Override
+    public Health health() {
+        Health.Builder health = Health.up();
+        if (webhookPipeline.getStartupToReadyMillis() != null) {
+            health.withDetail("startupToReadyMillis", webhookPipeline.getStartupToReadyMillis());
+        }
+        
+        PipelineRun run = webhookPipeline.getLastRun();
+        if (run == null) {
+            return health.withDetail("state", "NOT_STARTED").build();
+        }
+        return health.withDetails(run.describe()).build();
+    }
+}
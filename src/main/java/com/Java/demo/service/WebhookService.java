@@ -3,55 +3,42 @@ package com.Java.demo.service;
 import com.Java.demo.dto.SolutionRequest;
 import com.Java.demo.dto.WebhookRequest;
 import com.Java.demo.dto.WebhookResponse;
+import com.Java.demo.entity.SolutionOutboxEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.TimeUnit;
+
 @Service
-public class WebhookService implements CommandLineRunner {
+public class WebhookService {
     
     private static final Logger logger = LoggerFactory.getLogger(WebhookService.class);
-    private static final String WEBHOOK_GENERATION_URL = "https://bfhldevapigw.healthrx.co.in/hiring/generateWebhook/JAVA";
-    private static final String SOLUTION_SUBMISSION_URL = "https://bfhldevapigw.healthrx.co.in/hiring/testWebhook/JAVA";
     
-    @Autowired
-    private DataInitializationService dataInitializationService;
+    @Value("${app.webhook.generation-url:https://bfhldevapigw.healthrx.co.in/hiring/generateWebhook/JAVA}")
+    private String webhookGenerationUrl;
+    
+    @Value("${app.webhook.submission-url:https://bfhldevapigw.healthrx.co.in/hiring/testWebhook/JAVA}")
+    private String solutionSubmissionUrl;
     
     @Autowired
     private RestTemplate restTemplate;
     
-    @Override
-    public void run(String... args) throws Exception {
-        logger.info("Starting webhook process...");
-        
-        try {
-            // Step 1: Generate webhook
-            WebhookResponse webhookResponse = generateWebhook();
-            if (webhookResponse == null) {
-                logger.error("Failed to generate webhook");
-                return;
-            }
-            
-            logger.info("Webhook generated successfully: {}", webhookResponse.getWebhook());
-            
-            // Step 2: Solve SQL problem and store data
-            dataInitializationService.initializeSampleData();
-            
-            // Step 3: Submit solution
-            submitSolution(webhookResponse.getAccessToken());
-            
-            logger.info("Webhook process completed successfully!");
-            
-        } catch (Exception e) {
-            logger.error("Error in webhook process", e);
-        }
-    }
+    @Autowired
+    private SolutionOutboxService solutionOutboxService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
     
     public WebhookResponse generateWebhook() {
+        long started = System.nanoTime();
+        String outcome = "error";
         try {
             WebhookRequest request = new WebhookRequest("John Doe", "REG12347", "john@example.com");
             
@@ -61,55 +48,93 @@ public class WebhookService implements CommandLineRunner {
             HttpEntity<WebhookRequest> entity = new HttpEntity<>(request, headers);
             
             ResponseEntity<WebhookResponse> response = restTemplate.postForEntity(
-                WEBHOOK_GENERATION_URL, 
+                webhookGenerationUrl, 
                 entity, 
                 WebhookResponse.class
             );
             
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+                outcome = "success";
                 return response.getBody();
             }
             
         } catch (Exception e) {
             logger.error("Error generating webhook", e);
+        } finally {
+            record("webhook.remote.requests", "Calls to the remote webhook gateway", started,
+                "operation", "generate", "outcome", outcome);
         }
         
         return null;
     }
     
-
+    /**
+     * Queues the solution in the outbox; SolutionOutboxDispatcher delivers it in the background
+     * and retries until the endpoint accepts it.
+     */
+    public SolutionOutboxEntry submitSolution(String accessToken) {
+        // Generate a comprehensive SQL query based on the table structure
+        String finalQuery = generateFinalSQLQuery();
+        
+        long started = System.nanoTime();
+        String outcome = "error";
+        try {
+            SolutionOutboxEntry entry = solutionOutboxService.enqueue(accessToken, finalQuery);
+            outcome = "success";
+            return entry;
+        } finally {
+            record("webhook.solution.submit", "Solutions queued in the outbox", started, "outcome", outcome);
+        }
+    }
     
-    public void submitSolution(String accessToken) {
+    /**
+     * Makes one delivery attempt for an outbox entry. Any exception means the attempt failed.
+     */
+    public void deliverSolution(SolutionOutboxEntry entry) {
+        SolutionRequest solutionRequest = new SolutionRequest(entry.getFinalQuery());
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Authorization", entry.getAccessToken());
+        // Same key on every retry so the endpoint can drop duplicates of a submission it already has
+        headers.set("Idempotency-Key", entry.getIdempotencyKey());
+        
+        HttpEntity<SolutionRequest> httpEntity = new HttpEntity<>(solutionRequest, headers);
+        
+        long started = System.nanoTime();
+        String outcome = "error";
         try {
-            // Generate a comprehensive SQL query based on the table structure
-            String finalQuery = generateFinalSQLQuery();
-            
-            SolutionRequest solutionRequest = new SolutionRequest(finalQuery);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", accessToken);
-            
-            HttpEntity<SolutionRequest> entity = new HttpEntity<>(solutionRequest, headers);
-            
             ResponseEntity<String> response = restTemplate.postForEntity(
-                SOLUTION_SUBMISSION_URL, 
-                entity, 
+                solutionSubmissionUrl, 
+                httpEntity, 
                 String.class
             );
             
-            if (response.getStatusCode() == HttpStatus.OK) {
-                logger.info("Solution submitted successfully: {}", response.getBody());
-            } else {
-                logger.error("Failed to submit solution. Status: {}", response.getStatusCode());
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                throw new IllegalStateException("Unexpected status " + response.getStatusCode());
             }
-            
-        } catch (Exception e) {
-            logger.error("Error submitting solution", e);
+            outcome = "success";
+            logger.info("Solution submitted successfully: {}", response.getBody());
+        } finally {
+            record("webhook.remote.requests", "Calls to the remote webhook gateway", started,
+                "operation", "submit", "outcome", outcome);
         }
     }
     
-    private String generateFinalSQLQuery() {
+    /**
+     * Records a latency with histogram buckets, so p99 can be aggregated across instances;
+     * the outcome tag doubles as the error counter.
+     */
+    private void record(String name, String description, long startedNanos, String... tags) {
+        Timer.builder(name)
+            .description(description)
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public String generateFinalSQLQuery() {
         // Generate a comprehensive SQL query that demonstrates understanding of the table structure
         return """
             -- Comprehensive Employee Payment Analysis Query
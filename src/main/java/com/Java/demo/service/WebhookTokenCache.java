@@ -0,0 +1,131 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.WebhookResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Caches the webhook URL and access token returned by {@link WebhookService#generateWebhook()}.
+ *
+ * A cached response is served until {@code app.webhook.token-cache.ttl} has passed; within the
+ * last {@code refresh-ahead} of that window the first caller triggers a background refresh and
+ * still gets the cached value. Callers that find no usable value share a single in-flight
+ * remote call, so a burst of N triggers costs one request. Failed calls (null) are not cached.
+ * A TTL of zero disables caching but keeps the coalescing.
+ */
+@Service
+public class WebhookTokenCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WebhookTokenCache.class);
+    
+    @Autowired
+    private WebhookService webhookService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.webhook.token-cache.ttl:10m}")
+    private Duration ttl;
+    
+    @Value("${app.webhook.token-cache.refresh-ahead:1m}")
+    private Duration refreshAhead;
+    
+    private final ExecutorService refresher = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("webhook-token-refresh-", 0).factory());
+    private final AtomicReference<CompletableFuture<WebhookResponse>> inFlight = new AtomicReference<>();
+    
+    private volatile Cached cached;
+    
+    private Counter hits;
+    private Counter misses;
+    private Counter coalesced;
+    private Counter refreshes;
+    
+    private record Cached(WebhookResponse response, long fetchedAtNanos) {}
+    
+    @PostConstruct
+    void init() {
+        hits = requests("hit");
+        misses = requests("miss");
+        coalesced = requests("coalesced");
+        refreshes = Counter.builder("webhook.token.refreshes")
+            .description("Background refreshes started ahead of expiry")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Returns a webhook response that is younger than the TTL, fetching one if needed.
+     *
+     * @return the response, or null if the remote call failed
+     */
+    public WebhookResponse get() {
+        Cached current = cached;
+        if (current != null) {
+            long age = System.nanoTime() - current.fetchedAtNanos();
+            if (age < ttl.toNanos()) {
+                if (age >= ttl.minus(refreshAhead).toNanos() && inFlight.get() == null) {
+                    refreshes.increment();
+                    refresher.execute(this::fetch);
+                }
+                hits.increment();
+                return current.response();
+            }
+        }
+        return fetch().join();
+    }
+    
+    /** Forgets the cached response; the next call goes to the remote endpoint. */
+    public void invalidate() {
+        cached = null;
+    }
+    
+    private CompletableFuture<WebhookResponse> fetch() {
+        CompletableFuture<WebhookResponse> call = new CompletableFuture<>();
+        CompletableFuture<WebhookResponse> running = inFlight.compareAndExchange(null, call);
+        if (running != null) {
+            coalesced.increment();
+            return running;
+        }
+        
+        misses.increment();
+        try {
+            WebhookResponse response = webhookService.generateWebhook();
+            if (response != null && ttl.isPositive()) {
+                cached = new Cached(response, System.nanoTime());
+            }
+            call.complete(response);
+        } catch (Throwable e) {
+            // Waiters must never be left hanging on a call that died
+            logger.error("Error refreshing webhook token", e);
+            call.completeExceptionally(e);
+        } finally {
+            inFlight.set(null);
+        }
+        return call;
+    }
+    
+    private Counter requests(String outcome) {
+        return Counter.builder("webhook.token.requests")
+            .description("Webhook token lookups by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,105 @@
+-- Baseline: the schema Hibernate generated from the entity mappings before migrations
+-- were introduced. Written to run unchanged on MySQL and on H2 in MySQL mode (tests).
+
+CREATE TABLE DEPARTMENT (
+    DEPARTMENT_ID BIGINT NOT NULL,
+    DEPARTMENT_NAME VARCHAR(255),
+    PRIMARY KEY (DEPARTMENT_ID)
+);
+
+CREATE TABLE EMPLOYEE (
+    EMP_ID BIGINT NOT NULL,
+    FIRST_NAME VARCHAR(255),
+    LAST_NAME VARCHAR(255),
+    DOB DATE,
+    GENDER VARCHAR(255),
+    DEPARTMENT BIGINT,
+    PRIMARY KEY (EMP_ID),
+    CONSTRAINT FK_EMPLOYEE_DEPARTMENT FOREIGN KEY (DEPARTMENT) REFERENCES DEPARTMENT (DEPARTMENT_ID)
+);
+
+CREATE TABLE PAYMENTS (
+    PAYMENT_ID BIGINT NOT NULL,
+    EMP_ID BIGINT,
+    AMOUNT DECIMAL(38,2),
+    PAYMENT_TIME DATETIME(6),
+    PRIMARY KEY (PAYMENT_ID),
+    CONSTRAINT FK_PAYMENTS_EMPLOYEE FOREIGN KEY (EMP_ID) REFERENCES EMPLOYEE (EMP_ID)
+);
+
+-- Keyset pagination and time-ordered streaming over (PAYMENT_TIME, PAYMENT_ID)
+CREATE INDEX IDX_PAYMENTS_TIME_ID ON PAYMENTS (PAYMENT_TIME, PAYMENT_ID);
+
+CREATE TABLE EMPLOYEE_PAYMENT_AGGREGATE (
+    EMP_ID BIGINT NOT NULL,
+    DEPARTMENT_ID BIGINT,
+    PAYMENT_COUNT BIGINT,
+    TOTAL_AMOUNT DECIMAL(38,2),
+    MIN_AMOUNT DECIMAL(38,2),
+    MAX_AMOUNT DECIMAL(38,2),
+    FIRST_PAYMENT_TIME DATETIME(6),
+    LAST_PAYMENT_TIME DATETIME(6),
+    PRIMARY KEY (EMP_ID)
+);
+
+CREATE TABLE DEPARTMENT_PAYMENT_AGGREGATE (
+    DEPARTMENT_ID BIGINT NOT NULL,
+    PAYMENT_COUNT BIGINT,
+    TOTAL_AMOUNT DECIMAL(38,2),
+    MIN_AMOUNT DECIMAL(38,2),
+    MAX_AMOUNT DECIMAL(38,2),
+    FIRST_PAYMENT_TIME DATETIME(6),
+    LAST_PAYMENT_TIME DATETIME(6),
+    PRIMARY KEY (DEPARTMENT_ID)
+);
+
+CREATE TABLE PAYMENT_MONTHLY_ROLLUP (
+    PAYMENT_MONTH DATE NOT NULL,
+    EMP_ID BIGINT NOT NULL,
+    DEPARTMENT_ID BIGINT,
+    PAYMENT_COUNT BIGINT,
+    TOTAL_AMOUNT DECIMAL(38,2),
+    MIN_AMOUNT DECIMAL(38,2),
+    MAX_AMOUNT DECIMAL(38,2),
+    FIRST_PAYMENT_TIME DATETIME(6),
+    LAST_PAYMENT_TIME DATETIME(6),
+    PRIMARY KEY (PAYMENT_MONTH, EMP_ID)
+);
+
+CREATE INDEX IDX_ROLLUP_MONTH_DEPARTMENT ON PAYMENT_MONTHLY_ROLLUP (PAYMENT_MONTH, DEPARTMENT_ID);
+
+CREATE TABLE PAYMENT_ROLLUP_MONTH (
+    PAYMENT_MONTH DATE NOT NULL,
+    ROLLUP_ROWS BIGINT,
+    COMPACTED_AT DATETIME(6),
+    PRIMARY KEY (PAYMENT_MONTH)
+);
+
+CREATE TABLE SOLUTION_OUTBOX (
+    ID BIGINT NOT NULL,
+    IDEMPOTENCY_KEY VARCHAR(64) NOT NULL,
+    ACCESS_TOKEN VARCHAR(4096) NOT NULL,
+    FINAL_QUERY TEXT NOT NULL,
+    STATUS ENUM('DEAD', 'DELIVERED', 'PENDING') NOT NULL,
+    ATTEMPTS INTEGER NOT NULL,
+    CREATED_AT DATETIME(6) NOT NULL,
+    NEXT_ATTEMPT_AT DATETIME(6) NOT NULL,
+    DELIVERED_AT DATETIME(6),
+    LAST_ERROR VARCHAR(1000),
+    PRIMARY KEY (ID),
+    CONSTRAINT UK_SOLUTION_OUTBOX_KEY UNIQUE (IDEMPOTENCY_KEY)
+);
+
+CREATE INDEX IDX_SOLUTION_OUTBOX_DUE ON SOLUTION_OUTBOX (STATUS, NEXT_ATTEMPT_AT);
+
+-- Table-based ID generators (see IdSequences); pooled-lo keeps NEXT_VAL at the first free ID
+CREATE TABLE ID_SEQUENCES (
+    SEQUENCE_NAME VARCHAR(255) NOT NULL,
+    NEXT_VAL BIGINT,
+    PRIMARY KEY (SEQUENCE_NAME)
+);
+
+INSERT INTO ID_SEQUENCES (SEQUENCE_NAME, NEXT_VAL) VALUES ('DEPARTMENT', 0);
+INSERT INTO ID_SEQUENCES (SEQUENCE_NAME, NEXT_VAL) VALUES ('EMPLOYEE', 0);
+INSERT INTO ID_SEQUENCES (SEQUENCE_NAME, NEXT_VAL) VALUES ('PAYMENTS', 0);
+INSERT INTO ID_SEQUENCES (SEQUENCE_NAME, NEXT_VAL) VALUES ('SOLUTION_OUTBOX', 0);
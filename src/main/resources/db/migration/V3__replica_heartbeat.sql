@@ -0,0 +1,8 @@
+-- Replication heartbeat for read/write routing (ReplicaDataSource): the application stamps the
+-- time on the primary every check interval and measures replica lag from the replicated row.
+CREATE TABLE REPLICA_HEARTBEAT (
+    ID INT NOT NULL PRIMARY KEY,
+    BEAT_MILLIS BIGINT NOT NULL
+);
+
+INSERT INTO REPLICA_HEARTBEAT (ID, BEAT_MILLIS) VALUES (1, 0);
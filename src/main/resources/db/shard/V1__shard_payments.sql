@@ -0,0 +1,14 @@
+-- PAYMENTS on a payment shard (PaymentShards). Same columns and indexes as on the application
+-- database, without the employee foreign key: employees stay on the application database.
+CREATE TABLE PAYMENTS (
+    PAYMENT_ID BIGINT NOT NULL,
+    EMP_ID BIGINT,
+    AMOUNT DECIMAL(38,2),
+    PAYMENT_TIME DATETIME(6),
+    PRIMARY KEY (PAYMENT_ID)
+);
+
+-- Per-employee aggregation of the scatter-gather report, index-only
+CREATE INDEX IDX_PAYMENTS_EMP_TIME ON PAYMENTS (EMP_ID, PAYMENT_TIME, AMOUNT);
+
+CREATE INDEX IDX_PAYMENTS_TIME_ID ON PAYMENTS (PAYMENT_TIME, PAYMENT_ID, EMP_ID, AMOUNT);
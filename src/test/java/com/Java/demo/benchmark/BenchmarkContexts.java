@@ -0,0 +1,31 @@
+package com.Java.demo.benchmark;
+
+import com.Java.demo.DemoApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots DemoApplication without a web server on the embedded test database for the JMH
+ * benchmarks; each benchmark state owns one context for its trial.
+ */
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(DemoApplication.class)
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false)
+            // Running from the test classpath: keep the other tests' stub configurations out of the scan
+            .initializers(context -> context.getBeanFactory()
+                .registerSingleton("benchmarkTypeExcludeFilter", new TestClassExcludeFilter()))
+            .properties(
+                // The context is closed before the forked JVM exits; let it shut the database down
+                "spring.datasource.url=jdbc:h2:mem:demo_db;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "logging.level.com.Java.demo=WARN")
+            .properties(properties)
+            .run();
+    }
+}
@@ -0,0 +1,54 @@
+package com.Java.demo.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the JMH benchmarks of this package: payment persistence, the payment report and
+ * response serialization. Excluded from the default build; run with
+ * {@code mvn test -Pbenchmark -Dtest=JmhBenchmarkTest}. Results are written in JMH's JSON
+ * format to target/benchmarks/jmh.json, which tools such as jmh.morethan.io can compare
+ * across runs; the GC profiler adds allocation per operation (gc.alloc.rate.norm).
+ * Narrow the run with {@code -Djmh.include=<regex>} and tune it with
+ * {@code -Djmh.forks}, {@code -Djmh.warmupIterations}, {@code -Djmh.iterations} and
+ * {@code -Djmh.iterationTime} (seconds).
+ */
+@Tag("benchmark")
+class JmhBenchmarkTest {
+
+    @Test
+    void runBenchmarks() throws Exception {
+        Path output = Path.of("target", "benchmarks", "jmh.json");
+        Files.createDirectories(output.getParent());
+
+        Options options = new OptionsBuilder()
+            .include(System.getProperty("jmh.include", JmhBenchmarkTest.class.getPackageName() + "\\..*Benchmark"))
+            .forks(Integer.getInteger("jmh.forks", 1))
+            .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+            .warmupTime(TimeValue.seconds(Integer.getInteger("jmh.iterationTime", 2)))
+            .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+            .measurementTime(TimeValue.seconds(Integer.getInteger("jmh.iterationTime", 2)))
+            .addProfiler(GCProfiler.class)
+            .shouldFailOnError(true)
+            .resultFormat(ResultFormatType.JSON)
+            .result(output.toString())
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertFalse(results.isEmpty(), "No benchmarks matched");
+    }
+}
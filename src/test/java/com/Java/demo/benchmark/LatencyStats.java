@@ -0,0 +1,43 @@
+package com.Java.demo.benchmark;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Latency percentiles and throughput of one benchmark run, in the JSON shape written to
+ * target/benchmarks.
+ */
+record LatencyStats(String name, long[] sortedLatencies, long elapsedNanos, long errors) {
+
+    static LatencyStats of(String name, long[] latencies, long elapsedNanos, long errors) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return new LatencyStats(name, sorted, elapsedNanos, errors);
+    }
+
+    double percentileMicros(double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000.0;
+    }
+
+    double throughput() {
+        return sortedLatencies.length / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    String toJson() {
+        return String.format(Locale.ROOT,
+            "{\"name\":\"%s\",\"requests\":%d,\"errors\":%d,\"p50Micros\":%.1f,\"p99Micros\":%.1f,"
+                + "\"maxMicros\":%.1f,\"requestsPerSecond\":%.1f}",
+            name, sortedLatencies.length, errors, percentileMicros(50), percentileMicros(99),
+            percentileMicros(100), throughput());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-24s p50=%10.1f us  p99=%10.1f us  throughput=%9.1f req/s  errors=%d",
+            name, percentileMicros(50), percentileMicros(99), throughput(), errors);
+    }
+}
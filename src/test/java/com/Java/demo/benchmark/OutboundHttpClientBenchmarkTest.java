@@ -0,0 +1,159 @@
+package com.Java.demo.benchmark;
+
+import com.Java.demo.config.AppConfig;
+import com.Java.demo.config.OutboundHttpProperties;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestTemplate;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the default RestTemplate (HttpURLConnection, no timeouts) with the clients built
+ * by {@link AppConfig} against a local HTTPS stub that mimics the webhook endpoint. TLS makes
+ * connection reuse visible the way it is against the real gateway.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}. Results are
+ * printed and written to target/benchmarks/outbound-http.json.
+ */
+@Tag("benchmark")
+class OutboundHttpClientBenchmarkTest {
+
+    private static final int CONCURRENCY = 32;
+    private static final int WARMUP_REQUESTS = 5_000;
+    private static final int MEASURED_REQUESTS = 10_000;
+    private static final char[] KEYSTORE_PASSWORD = "changeit".toCharArray();
+    private static final String RESPONSE = "{\"webhook\":\"https://example.test/webhook\",\"accessToken\":\"token\"}";
+
+    static {
+        // Without TCP_NODELAY the stub's header/body writes stall on delayed ACKs and dominate latency
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @Test
+    void pooledClientAgainstDefaultClient() throws Exception {
+        // Every client under test trusts the stub's self-signed certificate through the default context
+        SSLContext.setDefault(stubSslContext());
+
+        HttpsServer server = HttpsServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setHttpsConfigurator(new HttpsConfigurator(SSLContext.getDefault()));
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/hiring/generateWebhook/JAVA", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        String url = "https://127.0.0.1:" + server.getAddress().getPort() + "/hiring/generateWebhook/JAVA";
+
+        try {
+            List<LatencyStats> results = new ArrayList<>();
+            results.add(run("default-resttemplate", new RestTemplate(), url));
+            results.add(run("pooled-http1.1", configured(false), url));
+            results.add(run("jdk-http2", configured(true), url));
+
+            StringBuilder json = new StringBuilder("{\"concurrency\":").append(CONCURRENCY)
+                .append(",\"requests\":").append(MEASURED_REQUESTS).append(",\"results\":[");
+            for (int i = 0; i < results.size(); i++) {
+                json.append(i > 0 ? "," : "").append(results.get(i).toJson());
+                System.out.println(results.get(i));
+            }
+            json.append("]}");
+
+            Path output = Path.of("target", "benchmarks", "outbound-http.json");
+            Files.createDirectories(output.getParent());
+            Files.writeString(output, json);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static RestTemplate configured(boolean http2) {
+        OutboundHttpProperties properties = new OutboundHttpProperties();
+        properties.setHttp2(http2);
+        properties.setMaxConnectionsPerHost(CONCURRENCY);
+        AppConfig config = new AppConfig();
+        return config.restTemplate(new RestTemplateBuilder(),
+            AppConfig.createRequestFactory(properties, false, new SimpleMeterRegistry()));
+    }
+
+    private static SSLContext stubSslContext() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = OutboundHttpClientBenchmarkTest.class.getResourceAsStream("/benchmark/stub-server.p12")) {
+            keyStore.load(in, KEYSTORE_PASSWORD);
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, KEYSTORE_PASSWORD);
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(keyStore);
+
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagers.getKeyManagers(), trustManagers.getTrustManagers(), null);
+        return context;
+    }
+
+    private static LatencyStats run(String name, RestTemplate restTemplate, String url) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<String> request = new HttpEntity<>("{\"name\":\"John Doe\",\"regNo\":\"REG12347\"}", headers);
+
+        drive(restTemplate, url, request, WARMUP_REQUESTS);
+        long started = System.nanoTime();
+        long[] latencies = drive(restTemplate, url, request, MEASURED_REQUESTS);
+        return LatencyStats.of(name, latencies, System.nanoTime() - started, 0);
+    }
+
+    private static long[] drive(RestTemplate restTemplate, String url, HttpEntity<String> request, int requests)
+            throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < CONCURRENCY; w++) {
+                futures.add(workers.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long started = System.nanoTime();
+                        String body = restTemplate.postForObject(url, request, String.class);
+                        latencies[i] = System.nanoTime() - started;
+                        assertEquals(RESPONSE, body);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return latencies;
+    }
+}
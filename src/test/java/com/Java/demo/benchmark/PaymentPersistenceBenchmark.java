@@ -0,0 +1,101 @@
+package com.Java.demo.benchmark;
+
+import com.Java.demo.dto.IngestionResult;
+import com.Java.demo.entity.Employee;
+import com.Java.demo.entity.Payment;
+import com.Java.demo.repository.EmployeeRepository;
+import com.Java.demo.repository.PaymentRepository;
+import com.Java.demo.service.DataInitializationService;
+import com.Java.demo.service.PaymentIngestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batched payment writes on the embedded database: {@code PaymentRepository.saveAll} in one
+ * transaction (which also maintains the payment aggregates), and the NDJSON ingestion path
+ * that wraps it. Rows written during an iteration are removed after it, so every iteration
+ * starts from the seeded sample data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PaymentPersistenceBenchmark {
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private PaymentRepository paymentRepository;
+    private PaymentIngestionService paymentIngestionService;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private List<Employee> employees;
+    private byte[] ndjson;
+    private long seededMaxPaymentId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContexts.start("app.ingestion.batch-size=" + batchSize);
+        paymentRepository = context.getBean(PaymentRepository.class);
+        paymentIngestionService = context.getBean(PaymentIngestionService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        context.getBean(DataInitializationService.class).initializeSampleData();
+        employees = context.getBean(EmployeeRepository.class).findAll();
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < batchSize; i++) {
+            body.append("{\"empId\":").append(employees.get(i % employees.size()).getEmpId())
+                .append(",\"amount\":").append(50_000 + i)
+                .append(",\"paymentTime\":\"2025-01-01T10:00:00\"}\n");
+        }
+        ndjson = body.toString().getBytes(StandardCharsets.UTF_8);
+        seededMaxPaymentId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(PAYMENT_ID), 0) FROM PAYMENTS", Long.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeWrittenRows() {
+        jdbcTemplate.update("DELETE FROM PAYMENTS WHERE PAYMENT_ID > ?", seededMaxPaymentId);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Payment> saveAll() {
+        LocalDateTime paidAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        List<Payment> payments = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            payments.add(new Payment(employees.get(i % employees.size()), BigDecimal.valueOf(50_000 + i, 2), paidAt));
+        }
+        return transactionTemplate.execute(status -> paymentRepository.saveAll(payments));
+    }
+
+    @Benchmark
+    public IngestionResult ingestNdjson() throws IOException {
+        return paymentIngestionService.ingest(new ByteArrayInputStream(ndjson));
+    }
+}
@@ -0,0 +1,103 @@
+package com.Java.demo.benchmark;
+
+import com.Java.demo.dto.DataGenerationRequest;
+import com.Java.demo.dto.PaymentReportRow;
+import com.Java.demo.service.DataInitializationService;
+import com.Java.demo.service.PaymentAnalyticsService;
+import com.Java.demo.service.PaymentRollupService;
+import com.Java.demo.service.WebhookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The employee payment report of {@code WebhookService.generateFinalSQLQuery()}, executed as
+ * SQL on the embedded database and computed in memory by {@link PaymentAnalyticsService} over
+ * the same synthetic dataset (10 departments, 24 payments per employee). The {@code year*}
+ * benchmarks report the last twelve closed months, aggregating PAYMENTS directly versus
+ * reading the compacted monthly rollups of {@link PaymentRollupService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PaymentReportBenchmark {
+
+    @Param({"100", "500"})
+    public int employeesPerDepartment;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private PaymentAnalyticsService paymentAnalyticsService;
+    private PaymentRollupService paymentRollupService;
+    private String reportSql;
+    private LocalDateTime yearFrom;
+    private LocalDateTime yearTo;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContexts.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        paymentAnalyticsService = context.getBean(PaymentAnalyticsService.class);
+
+        DataGenerationRequest request = new DataGenerationRequest();
+        request.setDepartments(10);
+        request.setEmployeesPerDepartment(employeesPerDepartment);
+        request.setPaymentsPerEmployee(24);
+        request.setSeed(42L);
+        context.getBean(DataInitializationService.class).generateSyntheticData(request);
+        paymentAnalyticsService.refresh();
+        paymentRollupService = context.getBean(PaymentRollupService.class);
+        paymentRollupService.compactClosedMonths();
+        yearTo = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+        yearFrom = yearTo.minusYears(1);
+
+        // H2 only knows the three-argument DATEDIFF, and JDBC takes no trailing semicolon
+        String sql = context.getBean(WebhookService.class).generateFinalSQLQuery().trim()
+            .replace("DATEDIFF(MAX(p.PAYMENT_TIME), MIN(p.PAYMENT_TIME))",
+                "DATEDIFF(DAY, MIN(p.PAYMENT_TIME), MAX(p.PAYMENT_TIME))");
+        reportSql = sql.substring(0, sql.length() - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sqlReport() {
+        return jdbcTemplate.queryForList(reportSql);
+    }
+
+    @Benchmark
+    public List<PaymentReportRow> inMemoryReport() {
+        return paymentAnalyticsService.report(PaymentAnalyticsService.GroupBy.EMPLOYEE, null, null);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> yearRawSql() {
+        return jdbcTemplate.queryForList("SELECT p.EMP_ID, COUNT(*), SUM(p.AMOUNT), MIN(p.AMOUNT), MAX(p.AMOUNT),"
+            + " MIN(p.PAYMENT_TIME), MAX(p.PAYMENT_TIME) FROM PAYMENTS p JOIN EMPLOYEE e ON e.EMP_ID = p.EMP_ID"
+            + " WHERE p.AMOUNT IS NOT NULL AND p.PAYMENT_TIME >= ? AND p.PAYMENT_TIME < ? GROUP BY p.EMP_ID",
+            yearFrom, yearTo);
+    }
+
+    @Benchmark
+    public PaymentRollupService.PayrollReport yearRollupReport() {
+        return paymentRollupService.report(PaymentAnalyticsService.GroupBy.EMPLOYEE, yearFrom, yearTo);
+    }
+}
@@ -0,0 +1,196 @@
+package com.Java.demo.benchmark;
+
+import com.Java.demo.config.StubGatewayProperties;
+import com.Java.demo.config.StubGatewayServer;
+import org.flywaydb.core.Flyway;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Time to first request of the packaged application: each run starts a fresh JVM from
+ * target/startup and polls a database-backed endpoint until it answers 200. The modes add
+ * one step of the fast-startup build at a time, starting from the default profile with
+ * sample seeding (the startup before that build): the fast-startup profile, then Spring AOT,
+ * then the CDS archive. Runs of the modes are interleaved. All instances use one H2 TCP
+ * server, migrated up front, and the stub gateway hosted by this JVM, so neither MySQL nor
+ * network access is needed.
+ * Needs the fast-startup build and is excluded from the default build; run with
+ * {@code mvn -Pfast-startup package -DskipTests} followed by
+ * {@code mvn test -Pbenchmark -Dtest=StartupTimeBenchmarkTest}. Tunables:
+ * {@code -Dstartup.runs} (per mode, default 5) and {@code -Dstartup.path} (default
+ * /api/reports/employees/1/payments). Results are printed and written to
+ * target/benchmarks/startup.json; the output of every instance goes to target/benchmarks/startup-logs.
+ */
+@Tag("benchmark")
+class StartupTimeBenchmarkTest {
+
+    private static final Path STARTUP_DIRECTORY = Path.of("target", "startup");
+    private static final Path LOG_DIRECTORY = Path.of("target", "benchmarks", "startup-logs");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private record Mode(String name, List<String> jvmArguments, List<String> arguments) {}
+
+    private record Result(String name, long[] sortedMillis) {
+
+        long percentile(double percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedMillis.length) - 1;
+            return sortedMillis[Math.max(0, index)];
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT, "{\"name\":\"%s\",\"runs\":%d,\"minMillis\":%d,\"medianMillis\":%d,\"maxMillis\":%d}",
+                name, sortedMillis.length, sortedMillis[0], percentile(50), sortedMillis[sortedMillis.length - 1]);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "  %-22s min=%6d ms  median=%6d ms  max=%6d ms",
+                name, sortedMillis[0], percentile(50), sortedMillis[sortedMillis.length - 1]);
+        }
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        Path archive = STARTUP_DIRECTORY.resolve("application.jsa");
+        assumeTrue(Files.exists(archive), "No fast-startup build; run mvn -Pfast-startup package -DskipTests first");
+        Path applicationJar;
+        try (Stream<Path> files = Files.list(STARTUP_DIRECTORY)) {
+            applicationJar = files.filter(file -> file.toString().endsWith(".jar")).findFirst().orElseThrow();
+        }
+        // Same classpath as the training run plus the H2 driver; CDS accepts entries appended at the end
+        String classpath = applicationJar.getFileName() + File.pathSeparator
+            + Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+        int runs = Integer.getInteger("startup.runs", 5);
+        String path = System.getProperty("startup.path", "/api/reports/employees/1/payments");
+
+        int databasePort = freePort();
+        Server database = Server.createTcpServer("-tcpPort", String.valueOf(databasePort), "-ifNotExists").start();
+        StubGatewayProperties gatewayProperties = new StubGatewayProperties();
+        gatewayProperties.setPort(freePort());
+        StubGatewayServer gateway = new StubGatewayServer(gatewayProperties);
+        gateway.start();
+        try {
+            String url = "jdbc:h2:tcp://127.0.0.1:" + databasePort + "/mem:startup;MODE=MySQL;DB_CLOSE_DELAY=-1";
+            Flyway.configure().dataSource(url, "sa", "").load().migrate();
+
+            List<String> common = List.of(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--app.webhook.generation-url=" + gateway.getBaseUrl() + StubGatewayServer.GENERATE_PATH,
+                "--app.webhook.submission-url=" + gateway.getBaseUrl() + StubGatewayServer.SUBMIT_PATH);
+            List<Mode> modes = List.of(
+                new Mode("default+seeding", List.of(), List.of("--app.pipeline.seed-data=true")),
+                new Mode("fast-startup", List.of(), List.of("--spring.profiles.active=fast-startup")),
+                new Mode("fast-startup+aot", List.of("-Dspring.aot.enabled=true"),
+                    List.of("--spring.profiles.active=fast-startup")),
+                new Mode("fast-startup+aot+cds", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa",
+                    // Fail instead of silently starting without the archive
+                    "-Xshare:on"), List.of("--spring.profiles.active=fast-startup")));
+
+            Files.createDirectories(LOG_DIRECTORY);
+            Map<String, long[]> millis = new LinkedHashMap<>();
+            modes.forEach(mode -> millis.put(mode.name(), new long[runs]));
+            for (int run = 0; run < runs; run++) {
+                for (Mode mode : modes) {
+                    List<String> command = new ArrayList<>();
+                    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+                    command.addAll(mode.jvmArguments());
+                    command.addAll(List.of("-cp", classpath, "com.Java.demo.DemoApplication", "--server.port=" + freePort()));
+                    command.addAll(common);
+                    command.addAll(mode.arguments());
+                    millis.get(mode.name())[run] = timeToFirstRequest(command, path,
+                        LOG_DIRECTORY.resolve(mode.name() + "-" + run + ".log"));
+                }
+            }
+
+            List<Result> results = millis.entrySet().stream()
+                .map(entry -> {
+                    long[] sorted = entry.getValue().clone();
+                    Arrays.sort(sorted);
+                    return new Result(entry.getKey(), sorted);
+                })
+                .toList();
+            System.out.printf(Locale.ROOT, "time to first 200 from GET %s, %d runs per mode%n", path, runs);
+            results.forEach(System.out::println);
+            Files.writeString(Path.of("target", "benchmarks", "startup.json"), String.format(Locale.ROOT,
+                "{\"path\":\"%s\",\"results\":[%s]}", path,
+                results.stream().map(Result::toJson).collect(Collectors.joining(","))));
+            assertEquals(modes.size(), results.size());
+        } finally {
+            gateway.stop();
+            database.stop();
+        }
+    }
+
+    /** Starts the command and returns the milliseconds until {@code path} first answers 200. */
+    private long timeToFirstRequest(List<String> command, String path, Path log) throws Exception {
+        String port = command.stream().filter(argument -> argument.startsWith("--server.port="))
+            .findFirst().orElseThrow().substring("--server.port=".length());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+            .timeout(STARTUP_TIMEOUT).GET().build();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(STARTUP_DIRECTORY.toFile())
+            .redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            while (System.nanoTime() - started < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    fail("Instance exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    }
+                    fail("GET " + path + " answered " + status + ", see " + log);
+                } catch (IOException e) {
+                    // Not listening yet
+                    Thread.sleep(10);
+                }
+            }
+            return fail("No response within " + STARTUP_TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
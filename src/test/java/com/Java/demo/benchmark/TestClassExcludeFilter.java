@@ -0,0 +1,30 @@
+package com.Java.demo.benchmark;
+
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+/**
+ * Leaves out test classes and their nested configurations when a benchmark boots
+ * DemoApplication from the test classpath.
+ */
+class TestClassExcludeFilter extends TypeExcludeFilter {
+
+    @Override
+    public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+        String className = metadataReader.getClassMetadata().getClassName();
+        String enclosing = metadataReader.getClassMetadata().getEnclosingClassName();
+        return className.endsWith("Test") || className.endsWith("Tests")
+            || (enclosing != null && (enclosing.endsWith("Test") || enclosing.endsWith("Tests")));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other != null && other.getClass() == getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,204 @@
+package com.Java.demo.benchmark;
+
+import com.Java.demo.DemoApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the application once with platform threads and once with
+ * {@code spring.threads.virtual.enabled=true}, and drives a request path that blocks the
+ * way the webhook endpoints do: an outbound call through the application's RestTemplate to
+ * a stub with fixed latency, plus a JDBC query through the Hikari pool. Closed-loop clients
+ * (100, 1000 and 5000 by default; override with -Dbenchmark.clients=...) each keep one
+ * request in flight. Client, application and stub share the machine, so absolute numbers
+ * depend on its core count; compare the two modes at the same client count.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}. Results are
+ * printed and written to target/benchmarks/thread-modes.json.
+ */
+@Tag("benchmark")
+class ThreadModeLoadBenchmarkTest {
+
+    private static final int DOWNSTREAM_LATENCY_MILLIS = 20;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    static {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        // The stub would otherwise close pooled keep-alive connections beyond 200 idle ones
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "10000");
+    }
+
+    @Test
+    void platformThreadsAgainstVirtualThreads() throws Exception {
+        int[] clientLevels = Arrays.stream(System.getProperty("benchmark.clients", "100,1000,5000").split(","))
+            .map(String::trim).mapToInt(Integer::parseInt).toArray();
+
+        HttpServer downstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 8192);
+        downstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        downstream.createContext("/remote", exchange -> {
+            try {
+                Thread.sleep(DOWNSTREAM_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        downstream.start();
+        String downstreamUrl = "http://127.0.0.1:" + downstream.getAddress().getPort() + "/remote";
+
+        List<LatencyStats> results = new ArrayList<>();
+        try {
+            for (boolean virtual : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext context = start(virtual, downstreamUrl)) {
+                    String url = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port")
+                        + "/benchmark/blocking";
+                    for (int clients : clientLevels) {
+                        LatencyStats stats = drive((virtual ? "virtual" : "platform") + "-" + clients, url, clients);
+                        System.out.println(stats);
+                        results.add(stats);
+                    }
+                }
+            }
+        } finally {
+            downstream.stop(0);
+        }
+
+        StringBuilder json = new StringBuilder("{\"downstreamLatencyMillis\":").append(DOWNSTREAM_LATENCY_MILLIS)
+            .append(",\"measurementSeconds\":").append(MEASUREMENT.toSeconds()).append(",\"results\":[");
+        for (int i = 0; i < results.size(); i++) {
+            json.append(i > 0 ? "," : "").append(results.get(i).toJson());
+        }
+        json.append("]}");
+        Path output = Path.of("target", "benchmarks", "thread-modes.json");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, json);
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads, String downstreamUrl) {
+        return new SpringApplicationBuilder(DemoApplication.class, BlockingEndpoint.class)
+            // Running from the test classpath: keep the other tests' stub configurations out of the scan
+            .initializers(context -> context.getBeanFactory()
+                .registerSingleton("benchmarkTypeExcludeFilter", new TestClassExcludeFilter()))
+            .properties(
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "benchmark.downstream-url=" + downstreamUrl,
+                "server.tomcat.max-connections=10000",
+                "server.tomcat.accept-count=1000",
+                "app.http.client.max-connections-per-host=1000",
+                "app.http.client.max-connections-total=1000",
+                "app.http.client.acquire-timeout=60s",
+                "spring.datasource.hikari.connection-timeout=60000",
+                "logging.level.com.Java.demo=WARN",
+                "logging.level.org.springframework.web=WARN")
+            .run();
+    }
+
+    private static LatencyStats drive(String name, String url, int clients) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).build();
+
+        long warmupEnds = System.nanoTime() + WARMUP.toNanos();
+        long measurementEnds = warmupEnds + MEASUREMENT.toNanos();
+        AtomicLong errors = new AtomicLong();
+        long[][] perClient = new long[clients][];
+        int[] counts = new int[clients];
+
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                clientThreads.execute(() -> {
+                    long[] latencies = new long[256];
+                    int count = 0;
+                    for (long now = System.nanoTime(); now < measurementEnds; now = System.nanoTime()) {
+                        boolean ok;
+                        try {
+                            ok = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long finished = System.nanoTime();
+                        // Completions inside the window count, so queueing delay shows up in the latency
+                        if (finished < warmupEnds || finished > measurementEnds) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = finished - now;
+                    }
+                    perClient[client] = latencies;
+                    counts[client] = count;
+                });
+            }
+        }
+        httpClient.shutdownNow();
+        httpClient.awaitTermination(Duration.ofSeconds(5));
+
+        long[] all = new long[Arrays.stream(counts).sum()];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(perClient[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        return LatencyStats.of(name, all, MEASUREMENT.toNanos(), errors.get());
+    }
+
+    @RestController
+    static class BlockingEndpoint {
+
+        @Autowired
+        private RestTemplate restTemplate;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Value("${benchmark.downstream-url}")
+        private String downstreamUrl;
+
+        @GetMapping("/benchmark/blocking")
+        String blocking() {
+            String remote = restTemplate.getForObject(downstreamUrl, String.class);
+            Integer departments = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM DEPARTMENT", Integer.class);
+            return remote + departments;
+        }
+    }
+}
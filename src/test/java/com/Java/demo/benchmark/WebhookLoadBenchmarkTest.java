@@ -0,0 +1,78 @@
+package com.Java.demo.benchmark;
+
+import com.Java.demo.DemoApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test of the /api/webhook/* endpoints with {@link WebhookLoadDriver}.
+ * By default it boots the application with the stub-gateway profile, so the pipeline,
+ * token cache and outbox talk to the embedded stand-in instead of the remote gateway; pass
+ * {@code -Dload.target=http://host:8080} to drive an already running instance instead.
+ * Excluded from the default build; run with
+ * {@code mvn test -Pbenchmark -Dtest=WebhookLoadBenchmarkTest}. Tunables:
+ * {@code -Dload.rate} (requests/s, default 100), {@code -Dload.seconds} (default 30),
+ * {@code -Dload.warmupSeconds} (default 5), {@code -Dload.mix} (see
+ * {@link WebhookLoadDriver#DEFAULT_MIX}) and, for the embedded stub,
+ * {@code -Dload.stubLatency} (default 50ms) and {@code -Dload.stubErrorRate} (default 0.0).
+ * Results are printed and written to target/benchmarks/webhook-load.json, with the full
+ * latency distribution of each endpoint in webhook-load-&lt;endpoint&gt;.hgrm.
+ */
+@Tag("benchmark")
+class WebhookLoadBenchmarkTest {
+
+    @Test
+    void driveWebhookEndpoints() throws Exception {
+        String target = System.getProperty("load.target", "");
+        ConfigurableApplicationContext context = target.isBlank() ? startWithStubGateway() : null;
+        try {
+            String baseUrl = context == null ? target
+                : "http://127.0.0.1:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            WebhookLoadDriver driver = new WebhookLoadDriver(baseUrl, System.getProperty("load.mix", WebhookLoadDriver.DEFAULT_MIX));
+            WebhookLoadDriver.Report report = driver.run(
+                Double.parseDouble(System.getProperty("load.rate", "100")),
+                Duration.ofSeconds(Long.getLong("load.warmupSeconds", 5)),
+                Duration.ofSeconds(Long.getLong("load.seconds", 30)));
+
+            System.out.print(report);
+            report.write(Path.of("target", "benchmarks"), "webhook-load");
+            assertTrue(report.requests() > 0, "No requests completed");
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startWithStubGateway() throws Exception {
+        int stubPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            stubPort = socket.getLocalPort();
+        }
+        return new SpringApplicationBuilder(DemoApplication.class)
+            .profiles("stub-gateway")
+            // Running from the test classpath: keep the other tests' stub configurations out of the scan
+            .initializers(context -> context.getBeanFactory()
+                .registerSingleton("benchmarkTypeExcludeFilter", new TestClassExcludeFilter()))
+            .properties(
+                "server.port=0",
+                "app.stub-gateway.port=" + stubPort,
+                "app.stub-gateway.latency=" + System.getProperty("load.stubLatency", "50ms"),
+                "app.stub-gateway.error-rate=" + System.getProperty("load.stubErrorRate", "0.0"),
+                "app.outbox.enabled=true",
+                "app.outbox.poll-interval=1s",
+                "logging.level.com.Java.demo=WARN",
+                "logging.level.org.springframework.web=WARN")
+            .run();
+    }
+}
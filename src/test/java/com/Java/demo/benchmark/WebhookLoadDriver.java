@@ -0,0 +1,300 @@
+package com.Java.demo.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-loop load driver for the /api/webhook/* endpoints. Requests are issued at a fixed
+ * target rate with a weighted endpoint mix, each on its own virtual thread, whether or not
+ * earlier requests have completed. Latency is measured from the intended start time, so a
+ * stalled server shows up in the percentiles instead of silently lowering the offered load
+ * (no coordinated omission). Latencies are recorded in HdrHistograms, one per endpoint.
+ */
+final class WebhookLoadDriver {
+
+    /** Endpoint weights used when no mix is given. */
+    static final String DEFAULT_MIX =
+        "status:30,pipeline:15,jobs:15,generate:15,submit:10,trigger:5,init-data:5,generate-data:5";
+
+    private static final Pattern JOB_ID = Pattern.compile("\"jobId\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    /** Outcome counters and latency histogram of one endpoint. */
+    static final class EndpointStats {
+        final String name;
+        final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+
+        EndpointStats(String name) {
+            this.name = name;
+        }
+
+        long requests() {
+            return latencyMicros.getTotalCount();
+        }
+
+        double errorRate() {
+            return requests() == 0 ? 0 : (double) errors.get() / requests();
+        }
+
+        double percentileMillis(double percentile) {
+            return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    /** Results of one run. */
+    record Report(double targetRate, Duration measurement, Map<String, EndpointStats> endpoints) {
+
+        long requests() {
+            return endpoints.values().stream().mapToLong(EndpointStats::requests).sum();
+        }
+
+        long errors() {
+            return endpoints.values().stream().mapToLong(stats -> stats.errors.get()).sum();
+        }
+
+        double achievedRate() {
+            return requests() / (measurement.toNanos() / 1e9);
+        }
+
+        String toJson() {
+            StringBuilder json = new StringBuilder();
+            json.append(String.format(Locale.ROOT,
+                "{\"targetRate\":%.1f,\"achievedRate\":%.1f,\"measurementSeconds\":%d,\"requests\":%d,\"errors\":%d,\"endpoints\":[",
+                targetRate, achievedRate(), measurement.toSeconds(), requests(), errors()));
+            String separator = "";
+            for (EndpointStats stats : endpoints.values()) {
+                json.append(separator).append(String.format(Locale.ROOT,
+                    "{\"name\":\"%s\",\"requests\":%d,\"errors\":%d,\"rejected\":%d,\"errorRate\":%.4f,"
+                        + "\"p50Millis\":%.3f,\"p90Millis\":%.3f,\"p99Millis\":%.3f,\"p999Millis\":%.3f,\"maxMillis\":%.3f}",
+                    stats.name, stats.requests(), stats.errors.get(), stats.rejected.get(), stats.errorRate(),
+                    stats.percentileMillis(50), stats.percentileMillis(90), stats.percentileMillis(99),
+                    stats.percentileMillis(99.9), stats.latencyMicros.getMaxValue() / 1000.0));
+                separator = ",";
+            }
+            return json.append("]}").toString();
+        }
+
+        /** Writes the JSON summary plus one HdrHistogram percentile distribution (.hgrm, in ms) per endpoint. */
+        void write(Path directory, String name) throws IOException {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(name + ".json"), toJson());
+            for (EndpointStats stats : endpoints.values()) {
+                try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + "-" + stats.name + ".hgrm")))) {
+                    stats.latencyMicros.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+                "target %.0f req/s, achieved %.1f req/s, %d requests, %d errors%n", targetRate, achievedRate(), requests(), errors()));
+            for (EndpointStats stats : endpoints.values()) {
+                text.append(String.format(Locale.ROOT,
+                    "  %-14s n=%7d  errors=%6.2f%%  rejected=%5d  p50=%9.2f ms  p99=%9.2f ms  p99.9=%9.2f ms  max=%9.2f ms%n",
+                    stats.name, stats.requests(), stats.errorRate() * 100, stats.rejected.get(),
+                    stats.percentileMillis(50), stats.percentileMillis(99), stats.percentileMillis(99.9),
+                    stats.latencyMicros.getMaxValue() / 1000.0));
+            }
+            return text.toString();
+        }
+    }
+
+    private record Endpoint(String name, int weight, Function<Long, HttpRequest> request) {}
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final int totalWeight;
+    private final AtomicReference<String> lastJobId = new AtomicReference<>("unknown");
+    private final AtomicReference<String> accessToken = new AtomicReference<>("load-driver");
+
+    WebhookLoadDriver(String baseUrl, String mix) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+        int weights = 0;
+        for (String part : mix.split(",")) {
+            String[] nameAndWeight = part.trim().split(":");
+            int weight = Integer.parseInt(nameAndWeight[1].trim());
+            if (weight > 0) {
+                endpoints.add(new Endpoint(nameAndWeight[0].trim(), weight, requestFor(nameAndWeight[0].trim())));
+                weights += weight;
+            }
+        }
+        if (weights == 0) {
+            throw new IllegalArgumentException("Endpoint mix selects nothing: " + mix);
+        }
+        this.totalWeight = weights;
+    }
+
+    private Function<Long, HttpRequest> requestFor(String name) {
+        return switch (name) {
+            case "status" -> sequence -> get("/api/webhook/status");
+            case "pipeline" -> sequence -> get("/api/webhook/pipeline");
+            case "jobs" -> sequence -> get("/api/webhook/jobs/" + lastJobId.get());
+            case "generate" -> sequence -> post("/api/webhook/generate",
+                "{\"name\":\"John Doe\",\"regNo\":\"REG12347\",\"email\":\"john@example.com\"}");
+            // A distinct token per request, so every submission is a new outbox entry rather than a duplicate
+            case "submit" -> sequence -> HttpRequest.newBuilder(uri("/api/webhook/submit"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + accessToken.get() + "-" + sequence)
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"finalQuery\":\"SELECT 1\"}"))
+                .build();
+            case "trigger" -> sequence -> post("/api/webhook/trigger", "");
+            case "init-data" -> sequence -> post("/api/webhook/init-data", "");
+            case "generate-data" -> sequence -> post("/api/webhook/generate-data",
+                "{\"departments\":1,\"employeesPerDepartment\":2,\"paymentsPerEmployee\":2}");
+            default -> throw new IllegalArgumentException("Unknown endpoint in mix: " + name);
+        };
+    }
+
+    /**
+     * Offers {@code rate} requests per second for warmup + measurement. Only requests scheduled
+     * after the warmup are recorded; the run ends once every request has completed or timed out.
+     */
+    Report run(double rate, Duration warmup, Duration measurement) throws InterruptedException {
+        seed();
+
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (Endpoint endpoint : endpoints) {
+            stats.put(endpoint.name(), new EndpointStats(endpoint.name()));
+        }
+
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        long start = System.nanoTime();
+        long warmupEnds = start + warmup.toNanos();
+        long end = warmupEnds + measurement.toNanos();
+        SplittableRandom random = new SplittableRandom(42);
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long sequence = 0; ; sequence++) {
+                long intended = start + sequence * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Endpoint endpoint = pick(random);
+                EndpointStats endpointStats = intended >= warmupEnds ? stats.get(endpoint.name()) : null;
+                long requestSequence = sequence;
+                requests.execute(() -> send(endpoint, requestSequence, intended, endpointStats));
+            }
+        }
+        return new Report(rate, measurement, stats);
+    }
+
+    /** Learns a job ID and an access token, so jobs/{id} and submit are meaningful from the start. */
+    private void seed() throws InterruptedException {
+        try {
+            HttpResponse<String> trigger = httpClient.send(post("/api/webhook/trigger", ""), HttpResponse.BodyHandlers.ofString());
+            rememberJobId(trigger.body());
+            HttpResponse<String> generate = httpClient.send(post("/api/webhook/generate",
+                "{\"name\":\"John Doe\",\"regNo\":\"REG12347\",\"email\":\"john@example.com\"}"), HttpResponse.BodyHandlers.ofString());
+            Matcher token = ACCESS_TOKEN.matcher(generate.body());
+            if (token.find()) {
+                accessToken.set(token.group(1));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Target " + baseUrl + " is not reachable", e);
+        }
+    }
+
+    private void send(Endpoint endpoint, long sequence, long intended, EndpointStats stats) {
+        int status;
+        try {
+            HttpResponse<String> response = httpClient.send(endpoint.request().apply(sequence), HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            if ("trigger".equals(endpoint.name()) && status == 202) {
+                rememberJobId(response.body());
+            }
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (stats == null) {
+            return;
+        }
+
+        long latencyMicros = (System.nanoTime() - intended) / 1_000;
+        stats.latencyMicros.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+        // 429 is the trigger queue's backpressure working as designed, not a failure
+        if (status == 429) {
+            stats.rejected.incrementAndGet();
+        } else if (status < 200 || status >= 300) {
+            stats.errors.incrementAndGet();
+        }
+    }
+
+    private void rememberJobId(String body) {
+        Matcher jobId = JOB_ID.matcher(body);
+        if (jobId.find()) {
+            lastJobId.set(jobId.group(1));
+        }
+    }
+
+    private Endpoint pick(SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            ticket -= endpoint.weight();
+            if (ticket < 0) {
+                return endpoint;
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+            .header("Content-Type", "application/json")
+            .timeout(Duration.ofSeconds(30))
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.Java.demo.config;
+
+import com.Java.demo.service.DataInitializationService;
+import com.Java.demo.service.WebhookService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The test application.properties replaces the main one, so the metrics settings are repeated here
+@SpringBootTest(properties = {
+    "management.endpoints.web.exposure.include=health,metrics,prometheus",
+    "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+    "management.metrics.distribution.percentiles-histogram.hikaricp.connections.acquire=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // Nothing listens on port 1, so the remote call fails fast and is counted as an error
+    "app.webhook.generation-url=http://127.0.0.1:1/hiring/generateWebhook/JAVA",
+    "app.webhook.token-cache.ttl=0s"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebhookService webhookService;
+
+    @Autowired
+    private DataInitializationService dataInitializationService;
+
+    @Test
+    void prometheusScrapeExposesHotPathMetrics() throws Exception {
+        mockMvc.perform(get("/api/webhook/status")).andExpect(status().isOk());
+        assertNull(webhookService.generateWebhook());
+        dataInitializationService.initializeSampleData();
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertMetric(scrape, "http_server_requests_seconds_bucket\\{.*uri=\"/api/webhook/status\".*le=\"[^\"]+\"}");
+        assertMetric(scrape, "webhook_remote_requests_seconds_count\\{.*operation=\"generate\",outcome=\"error\"} 1(\\.0)?$");
+        assertMetric(scrape, "webhook_remote_requests_seconds_bucket\\{.*operation=\"generate\".*}");
+        assertMetric(scrape, "data_seed_seconds_count\\{.*mode=\"sample\",outcome=\"success\"} 1(\\.0)?$");
+        assertMetric(scrape, "hikaricp_connections_pending\\{.*}");
+        assertMetric(scrape, "hikaricp_connections_acquire_seconds_bucket\\{.*}");
+        assertMetric(scrape, "hibernate_sessions_open_total\\{.*}");
+        assertMetric(scrape, "hibernate_query_executions_total\\{.*}");
+    }
+
+    private static void assertMetric(String scrape, String line) {
+        assertTrue(Pattern.compile("^" + line, Pattern.MULTILINE).matcher(scrape).find(), "Missing metric: " + line);
+    }
+}
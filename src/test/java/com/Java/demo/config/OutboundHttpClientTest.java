@@ -0,0 +1,123 @@
+package com.Java.demo.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundHttpClientTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private MeterRegistry meterRegistry;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/ok", exchange -> {
+            byte[] body = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        OutboundHttpProperties properties = new OutboundHttpProperties();
+        properties.setReadTimeout(Duration.ofMillis(300));
+        properties.setMaxConnectionsPerHost(1);
+        properties.setAcquireTimeout(Duration.ofMillis(200));
+        meterRegistry = new SimpleMeterRegistry();
+        restTemplate = restTemplate(properties);
+    }
+
+    private RestTemplate restTemplate(OutboundHttpProperties properties) {
+        AppConfig config = new AppConfig();
+        return config.restTemplate(new RestTemplateBuilder(),
+            AppConfig.createRequestFactory(properties, false, meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void callsArePooledAndMeteredPerHost() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("{\"status\":\"ok\"}", restTemplate.getForObject(baseUrl + "/ok", String.class));
+        }
+
+        String host = "127.0.0.1:" + server.getAddress().getPort();
+        assertEquals(0.0, gauge("http.client.pool.leased", host));
+        assertEquals(1.0, gauge("http.client.pool.available", host), "one kept-alive connection reused");
+        assertEquals(1.0, gauge("http.client.pool.max", host));
+        assertEquals(200.0, meterRegistry.get("http.client.pool.total.max").gauge().value());
+    }
+
+    @Test
+    void connectionsStayLeasedUntilTheBodyIsReadAndAreLimitedPerHost() {
+        String host = "127.0.0.1:" + server.getAddress().getPort();
+        restTemplate.getForObject(baseUrl + "/ok", String.class);
+
+        restTemplate.execute(baseUrl + "/ok", HttpMethod.GET, null, response -> {
+            // The body has not been read, so the connection is still out of the pool
+            assertEquals(1.0, gauge("http.client.pool.leased", host));
+            // max-connections-per-host=1: a second call waits for it and gives up after acquire-timeout
+            assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(baseUrl + "/ok", String.class));
+            return null;
+        });
+
+        assertEquals(0.0, gauge("http.client.pool.leased", host));
+        assertEquals(0.0, gauge("http.client.pool.pending", host));
+    }
+
+    private double gauge(String name, String host) {
+        return meterRegistry.get(name).tag("host", host).gauge().value();
+    }
+
+    @Test
+    void readTimeoutBoundsSlowResponses() {
+        assertTimesOut(restTemplate);
+
+        OutboundHttpProperties http2 = new OutboundHttpProperties();
+        http2.setHttp2(true);
+        http2.setReadTimeout(Duration.ofMillis(300));
+        assertTimesOut(restTemplate(http2));
+    }
+
+    private void assertTimesOut(RestTemplate client) {
+        long started = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> client.getForObject(baseUrl + "/slow", String.class));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        assertTrue(elapsedMillis < 1_500, "took " + elapsedMillis + " ms");
+    }
+}
@@ -0,0 +1,253 @@
+package com.Java.demo.config;
+
+import com.Java.demo.config.ReplicaDataSource.ReplicaStatus;
+import com.Java.demo.dto.PaymentDetailRow;
+import com.Java.demo.entity.Department;
+import com.Java.demo.repository.DepartmentRepository;
+import com.Java.demo.repository.PaymentRepository;
+import com.Java.demo.service.PaymentAnalyticsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing against two embedded databases: demo_db as the primary and demo_replica as its
+ * replica. Nothing replicates between them, so each side gets its own rows and a read shows
+ * which database served it. Health checks are driven explicitly.
+ */
+@DataJpaTest(properties = {
+    "app.datasource.replicas.urls=" + ReadReplicaRoutingTest.REPLICA_URL,
+    "app.datasource.replicas.max-lag=5s",
+    "app.datasource.replicas.check-interval=1h"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReadReplicaConfig.class, PaymentAnalyticsService.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:demo_replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final long EMP_ID = 900_001;
+
+    @Autowired
+    private ReplicaDataSource replicaDataSource;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private PaymentAnalyticsService paymentAnalyticsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final JdbcTemplate replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        for (JdbcTemplate database : List.of(jdbcTemplate, replicaJdbc)) {
+            database.update("DELETE FROM EMPLOYEE_PAYMENT_AGGREGATE");
+            database.update("DELETE FROM DEPARTMENT_PAYMENT_AGGREGATE");
+            database.update("DELETE FROM PAYMENTS");
+            database.update("DELETE FROM EMPLOYEE");
+            database.update("DELETE FROM DEPARTMENT");
+        }
+        insertEmployee(jdbcTemplate, "Primary", 1);
+        insertEmployee(replicaJdbc, "Replica", 2);
+        replicaHeartbeatAge(Duration.ZERO);
+        replicaDataSource.checkReplicas();
+    }
+
+    @Test
+    void replicaUrlsInheritThePrimaryConnectionParameters() {
+        String primary = "jdbc:mysql://primary:3306/demo_db?createDatabaseIfNotExist=true&serverTimezone=UTC"
+            + "&rewriteBatchedStatements=true&useCursorFetch=true";
+        assertEquals("jdbc:mysql://replica-1:3306/demo_db?createDatabaseIfNotExist=true&serverTimezone=UTC"
+                + "&rewriteBatchedStatements=true&useCursorFetch=true",
+            ReadReplicaConfig.withPrimaryParameters("jdbc:mysql://replica-1:3306/demo_db", primary));
+        // The replica's own settings win
+        assertEquals("jdbc:mysql://replica-2:3306/demo_db?serverTimezone=Europe/Berlin&createDatabaseIfNotExist=true"
+                + "&rewriteBatchedStatements=true&useCursorFetch=true",
+            ReadReplicaConfig.withPrimaryParameters("jdbc:mysql://replica-2:3306/demo_db?serverTimezone=Europe/Berlin", primary));
+        assertEquals("jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+            ReadReplicaConfig.withPrimaryParameters("jdbc:h2:mem:replica", "jdbc:h2:mem:demo_db;MODE=MySQL;DB_CLOSE_DELAY=-1"));
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromTheReplica() {
+        List<PaymentDetailRow> rows = paymentRepository.findDetailsByEmpId(EMP_ID);
+        assertEquals(2, rows.size());
+        assertEquals("Replica", rows.get(0).getDepartmentName());
+
+        assertEquals(2, paymentAnalyticsService.refresh().rowCount());
+        assertEquals("Replica", readOnly(() -> departmentName()));
+        // Outside a read-only transaction the primary answers
+        assertEquals("Primary", departmentName());
+    }
+
+    @Test
+    void writesStayOnThePrimary() {
+        Department written = departmentRepository.save(new Department("Written"));
+
+        String query = "SELECT COUNT(*) FROM DEPARTMENT WHERE DEPARTMENT_ID = ?";
+        assertEquals(1, jdbcTemplate.queryForObject(query, Long.class, written.getDepartmentId()));
+        assertEquals(0, replicaJdbc.queryForObject(query, Long.class, written.getDepartmentId()));
+    }
+
+    @Test
+    void laggingReplicaLeavesTheRotationUntilItCatchesUp() {
+        replicaHeartbeatAge(Duration.ofMinutes(1));
+        replicaDataSource.checkReplicas();
+
+        ReplicaStatus status = replicaDataSource.status().get(0);
+        assertFalse(status.available());
+        assertTrue(status.lagMillis() >= Duration.ofMinutes(1).toMillis(), "lag " + status.lagMillis());
+        assertEquals("Primary", paymentRepository.findDetailsByEmpId(EMP_ID).get(0).getDepartmentName());
+        assertEquals("Primary", readOnly(() -> departmentName()));
+
+        replicaHeartbeatAge(Duration.ZERO);
+        replicaDataSource.checkReplicas();
+        assertTrue(replicaDataSource.status().get(0).available());
+        assertEquals("Replica", readOnly(() -> departmentName()));
+    }
+
+    @Test
+    void checkStampsTheHeartbeatOnThePrimary() {
+        long before = System.currentTimeMillis();
+        replicaDataSource.checkReplicas();
+        long beat = jdbcTemplate.queryForObject("SELECT BEAT_MILLIS FROM REPLICA_HEARTBEAT WHERE ID = 1", Long.class);
+        assertTrue(beat >= before, "heartbeat " + beat + " before " + before);
+    }
+
+    @Test
+    void roundRobinWithFailoverAndPrimaryFallback() throws SQLException {
+        SwitchableDataSource a = heartbeatDatabase("rr_a");
+        SwitchableDataSource b = heartbeatDatabase("rr_b");
+        SwitchableDataSource down = heartbeatDatabase("rr_down");
+        down.failing = true;
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("a", a);
+        replicas.put("b", b);
+        replicas.put("down", down);
+        ReplicaDataSource routing = new ReplicaDataSource(heartbeatDatabase("rr_primary"), replicas,
+            Duration.ofSeconds(5), Duration.ofHours(1), new SimpleMeterRegistry());
+
+        // Nothing is handed to a replica before its first check
+        assertEquals(List.of("RR_PRIMARY"), databases(routing, 1));
+
+        routing.checkReplicas();
+        assertEquals(List.of(true, true, false),
+            routing.status().stream().map(ReplicaStatus::available).toList());
+        assertNotNull(routing.status().get(2).lastError());
+        assertEquals(List.of("RR_A", "RR_B", "RR_A", "RR_B"), databases(routing, 4));
+
+        // A failed connection attempt takes the replica out without waiting for a check
+        b.failing = true;
+        assertEquals(List.of("RR_A", "RR_A", "RR_A"), databases(routing, 3));
+        assertFalse(routing.status().get(1).available());
+
+        a.failing = true;
+        assertEquals(List.of("RR_PRIMARY"), databases(routing, 1));
+
+        a.failing = false;
+        b.failing = false;
+        routing.checkReplicas();
+        assertEquals(List.of("RR_A", "RR_B"), databases(routing, 2).stream().sorted().toList());
+    }
+
+    private static List<String> databases(DataSource dataSource, int connections) throws SQLException {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            try (Connection connection = dataSource.getConnection()) {
+                names.add(new JdbcTemplate(new SingleConnectionDataSource(connection, true)).queryForObject("SELECT DATABASE()", String.class));
+            }
+        }
+        return names;
+    }
+
+    private static SwitchableDataSource heartbeatDatabase(String name) {
+        SwitchableDataSource dataSource = new SwitchableDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS REPLICA_HEARTBEAT (ID INT PRIMARY KEY, BEAT_MILLIS BIGINT NOT NULL)");
+        jdbc.update("MERGE INTO REPLICA_HEARTBEAT KEY (ID) VALUES (1, ?)", System.currentTimeMillis());
+        return dataSource;
+    }
+
+    /** Stands in for a replica that can be taken down. */
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+        volatile boolean failing;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failing) {
+                throw new SQLTransientConnectionException("replica down");
+            }
+            return super.getConnection();
+        }
+    }
+
+    private <T> T readOnly(Supplier<T> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private String departmentName() {
+        return jdbcTemplate.queryForObject("SELECT DEPARTMENT_NAME FROM DEPARTMENT WHERE DEPARTMENT_ID = ?",
+            String.class, EMP_ID);
+    }
+
+    private void replicaHeartbeatAge(Duration age) {
+        replicaJdbc.update("UPDATE REPLICA_HEARTBEAT SET BEAT_MILLIS = ? WHERE ID = 1",
+            System.currentTimeMillis() - age.toMillis());
+    }
+
+    private static void insertEmployee(JdbcTemplate database, String departmentName, int payments) {
+        database.update("INSERT INTO DEPARTMENT (DEPARTMENT_ID, DEPARTMENT_NAME) VALUES (?, ?)", EMP_ID, departmentName);
+        database.update("INSERT INTO EMPLOYEE (EMP_ID, FIRST_NAME, LAST_NAME, DEPARTMENT) VALUES (?, 'Ada', 'Lovelace', ?)",
+            EMP_ID, EMP_ID);
+        for (int i = 0; i < payments; i++) {
+            database.update("INSERT INTO PAYMENTS (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME) VALUES (?, ?, 100.00, ?)",
+                EMP_ID + i, EMP_ID, Timestamp.valueOf("2025-01-0" + (i + 1) + " 09:00:00"));
+        }
+    }
+}
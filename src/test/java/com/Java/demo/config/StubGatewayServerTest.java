@@ -0,0 +1,80 @@
+package com.Java.demo.config;
+
+import com.Java.demo.dto.WebhookResponse;
+import com.Java.demo.entity.SolutionOutboxEntry;
+import com.Java.demo.service.WebhookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class StubGatewayServerTest {
+
+    @DynamicPropertySource
+    static void stubGateway(DynamicPropertyRegistry registry) throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        String baseUrl = "http://127.0.0.1:" + port;
+        registry.add("app.stub-gateway.enabled", () -> "true");
+        registry.add("app.stub-gateway.port", () -> port);
+        registry.add("app.stub-gateway.latency", () -> "0ms");
+        registry.add("app.webhook.generation-url", () -> baseUrl + StubGatewayServer.GENERATE_PATH);
+        registry.add("app.webhook.submission-url", () -> baseUrl + StubGatewayServer.SUBMIT_PATH);
+    }
+
+    @Autowired
+    private WebhookService webhookService;
+
+    @Autowired
+    private StubGatewayServer stubGatewayServer;
+
+    @Autowired
+    private StubGatewayProperties stubGatewayProperties;
+
+    @AfterEach
+    void resetFaults() {
+        stubGatewayProperties.setErrorRate(0.0);
+    }
+
+    @Test
+    void generateWebhookIsServedByTheStub() {
+        long before = stubGatewayServer.getGenerateRequests();
+
+        WebhookResponse first = webhookService.generateWebhook();
+        WebhookResponse second = webhookService.generateWebhook();
+
+        assertNotNull(first);
+        assertTrue(first.getAccessToken().startsWith("stub-"));
+        assertNotEquals(first.getAccessToken(), second.getAccessToken());
+        assertEquals(stubGatewayServer.getBaseUrl() + StubGatewayServer.SUBMIT_PATH, first.getWebhook());
+        assertEquals(before + 2, stubGatewayServer.getGenerateRequests());
+    }
+
+    @Test
+    void solutionDeliveryReachesTheStubAndSeesInjectedErrors() {
+        SolutionOutboxEntry entry = new SolutionOutboxEntry("key-1", "stub-token", "SELECT 1", LocalDateTime.now());
+        long before = stubGatewayServer.getSubmitRequests();
+
+        assertDoesNotThrow(() -> webhookService.deliverSolution(entry));
+        assertEquals(before + 1, stubGatewayServer.getSubmitRequests());
+
+        // The HTTP client may repeat a 503 itself before giving up, so only the outcome is checked
+        stubGatewayProperties.setErrorRate(1.0);
+        HttpServerErrorException error = assertThrows(HttpServerErrorException.class,
+            () -> webhookService.deliverSolution(entry));
+        assertEquals(503, error.getStatusCode().value());
+        assertTrue(stubGatewayServer.getInjectedErrors() > 0);
+    }
+}
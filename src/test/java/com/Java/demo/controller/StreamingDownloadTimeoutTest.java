@@ -0,0 +1,112 @@
+package com.Java.demo.controller;
+
+import com.Java.demo.service.PaymentExportService;
+import com.Java.demo.service.PaymentReportService;
+import org.apache.catalina.connector.Connector;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * The streamed downloads run on a real Tomcat whose async timeout is cut to 200 ms, standing in
+ * for its 30s default, and must still be delivered whole when they take far longer. Tomcat
+ * checks for timed-out requests about once a second, so each download lasts a few seconds.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StreamingDownloadTimeoutTest {
+
+    private static final long CONTAINER_ASYNC_TIMEOUT_MILLIS = 200;
+    private static final int LINES = 20;
+    private static final long LINE_DELAY_MILLIS = 150;
+
+    @TestConfiguration
+    static class ShortContainerTimeout {
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> shortAsyncTimeout() {
+            return factory -> factory.addConnectorCustomizers(
+                (Connector connector) -> connector.setAsyncTimeout(CONTAINER_ASYNC_TIMEOUT_MILLIS));
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private PaymentExportService paymentExportService;
+
+    @MockitoBean
+    private PaymentReportService paymentReportService;
+
+    @Test
+    void exportsStreamPastTheContainerAsyncTimeout() throws Exception {
+        doAnswer(invocation -> {
+            WritableByteChannel channel = invocation.getArgument(3);
+            for (int i = 0; i < LINES; i++) {
+                channel.write(ByteBuffer.wrap(line(i).getBytes(StandardCharsets.US_ASCII)));
+                Thread.sleep(LINE_DELAY_MILLIS);
+            }
+            return null;
+        }).when(paymentExportService).export(any(), anyLong(), anyLong(), any());
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(3);
+            for (int i = 0; i < LINES; i++) {
+                out.write(line(i).getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                Thread.sleep(LINE_DELAY_MILLIS);
+            }
+            return (long) LINES;
+        }).when(paymentReportService).export(any(), any(), any(), any());
+
+        assertStreamedWhole("/api/exports/payments?format=csv");
+        assertStreamedWhole("/api/reports/payments/export?format=csv");
+    }
+
+    @Test
+    void anUnknownFormatIsRejectedBeforeStreaming() throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/exports/payments?format=xml")).build(),
+            HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("\"message\":\"format must be 'csv' or 'columnar'\""), response.body());
+    }
+
+    private void assertStreamedWhole(String path) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        long started = System.nanoTime();
+        HttpResponse<String> response = client.send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+            HttpResponse.BodyHandlers.ofString());
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(200, response.statusCode(), path);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            expected.append(line(i));
+        }
+        assertEquals(expected.toString(), response.body(), path);
+        assertTrue(elapsedMillis > 10 * CONTAINER_ASYNC_TIMEOUT_MILLIS, path + " took only " + elapsedMillis + " ms");
+    }
+
+    private static String line(int i) {
+        return "line " + i + "\n";
+    }
+}
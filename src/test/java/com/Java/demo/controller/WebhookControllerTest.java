@@ -0,0 +1,73 @@
+package com.Java.demo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WebhookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void statusBodyIsValidJsonWithAFreshTimestamp() throws Exception {
+        LocalDateTime before = LocalDateTime.now();
+
+        String body = mockMvc.perform(get("/api/webhook/status"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+
+        List<String> fields = new ArrayList<>();
+        json.fieldNames().forEachRemaining(fields::add);
+        assertEquals(List.of("status", "application", "version", "endpoints", "timestamp"), fields);
+        assertEquals("running", json.get("status").asText());
+        assertEquals("Webhook SQL Problem Solver", json.get("application").asText());
+        assertEquals(8, json.get("endpoints").size());
+        LocalDateTime timestamp = objectMapper.convertValue(json.get("timestamp"), LocalDateTime.class);
+        assertFalse(timestamp.isBefore(before));
+    }
+
+    @Test
+    void typedResponsesKeepTheirFields() throws Exception {
+        mockMvc.perform(get("/api/webhook/jobs/no-such-job"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.success").value(false))
+            .andExpect(jsonPath("$.message").value("Unknown job: no-such-job"))
+            .andExpect(jsonPath("$.timestamp").isString());
+
+        mockMvc.perform(get("/api/webhook/pipeline"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.success").value(true))
+            .andExpect(jsonPath("$.activeJobs").value(0))
+            .andExpect(jsonPath("$.queuedJobs").value(0))
+            .andExpect(jsonPath("$.run").hasJsonPath());
+
+        mockMvc.perform(post("/api/webhook/init-data"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.success").value(true))
+            .andExpect(jsonPath("$.message").value("Sample data initialized successfully"));
+    }
+}
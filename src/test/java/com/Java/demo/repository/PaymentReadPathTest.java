@@ -0,0 +1,134 @@
+package com.Java.demo.repository;
+
+import com.Java.demo.dto.PaymentDetailRow;
+import com.Java.demo.entity.Department;
+import com.Java.demo.entity.Employee;
+import com.Java.demo.entity.Payment;
+import com.Java.demo.service.EmployeeReferenceCache;
+import com.Java.demo.service.PaymentAggregateService;
+import com.Java.demo.support.JdbcStatementCounter;
+import com.Java.demo.support.SqlStatementBudget;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PaymentAggregateService.class, PaymentAggregateListener.class, EmployeeReferenceCache.class,
+    JdbcStatementCounter.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentReadPathTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+    private static final int DEPARTMENTS = 3;
+    private static final int EMPLOYEES_PER_DEPARTMENT = 10;
+    private static final int PAYMENTS_PER_EMPLOYEE = 3;
+    private static final int PAYMENTS = DEPARTMENTS * EMPLOYEES_PER_DEPARTMENT * PAYMENTS_PER_EMPLOYEE;
+
+    @Autowired
+    private EmployeeReferenceCache employeeReferenceCache;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Employee firstEmployee;
+    private Department firstDepartment;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM EMPLOYEE_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM PAYMENTS");
+        jdbcTemplate.update("DELETE FROM EMPLOYEE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT");
+        employeeReferenceCache.invalidate();
+
+        List<Employee> employees = new ArrayList<>();
+        for (int d = 0; d < DEPARTMENTS; d++) {
+            Department department = departmentRepository.save(new Department("Department " + d));
+            for (int e = 0; e < EMPLOYEES_PER_DEPARTMENT; e++) {
+                employees.add(new Employee("First" + e, "Last" + d, LocalDate.of(1990, 1, 1 + e), "F", department));
+            }
+        }
+        employees = employeeRepository.saveAll(employees);
+        firstEmployee = employees.get(0);
+        firstDepartment = firstEmployee.getDepartment();
+
+        List<Payment> payments = new ArrayList<>();
+        for (Employee employee : employees) {
+            for (int p = 0; p < PAYMENTS_PER_EMPLOYEE; p++) {
+                payments.add(new Payment(employee, BigDecimal.valueOf(1000 + p), BASE.plusMonths(p)));
+            }
+        }
+        paymentRepository.saveAll(payments);
+    }
+
+    @Test
+    @SqlStatementBudget(1)
+    void plainFindAllLeavesAssociationsUnloaded() {
+        List<Payment> payments = paymentRepository.findAll();
+
+        assertEquals(PAYMENTS, payments.size());
+        assertFalse(Hibernate.isInitialized(payments.get(0).getEmployee()));
+    }
+
+    @Test
+    @SqlStatementBudget(1)
+    void entityGraphLoadsPaymentsWithEmployeeAndDepartmentInOneSelect() {
+        List<Payment> payments = paymentRepository.findWithEmployeeBetween(BASE, BASE.plusYears(1));
+
+        assertEquals(PAYMENTS, payments.size());
+        long departments = payments.stream()
+            .map(payment -> payment.getEmployee().getDepartment().getDepartmentName())
+            .distinct()
+            .count();
+        assertEquals(DEPARTMENTS, departments);
+    }
+
+    @Test
+    @SqlStatementBudget(1)
+    void entityGraphLoadsEmployeesWithDepartmentInOneSelect() {
+        List<Employee> employees = employeeRepository.findAllWithDepartment();
+
+        assertEquals(DEPARTMENTS * EMPLOYEES_PER_DEPARTMENT, employees.size());
+        employees.forEach(employee -> assertNotNull(employee.getDepartment().getDepartmentName()));
+    }
+
+    @Test
+    @SqlStatementBudget(2)
+    void detailProjectionsReadOneStatementEach() {
+        List<PaymentDetailRow> byEmployee = paymentRepository.findDetailsByEmpId(firstEmployee.getEmpId());
+        List<PaymentDetailRow> byDepartment = paymentRepository.findDetailsByDepartmentId(
+            firstDepartment.getDepartmentId(), Limit.of(100));
+
+        assertEquals(PAYMENTS_PER_EMPLOYEE, byEmployee.size());
+        assertEquals("First0", byEmployee.get(0).getFirstName());
+        assertEquals(EMPLOYEES_PER_DEPARTMENT * PAYMENTS_PER_EMPLOYEE, byDepartment.size());
+        byDepartment.forEach(row -> assertEquals(firstDepartment.getDepartmentName(), row.getDepartmentName()));
+    }
+}
@@ -0,0 +1,310 @@
+package com.Java.demo.repository;
+
+import com.Java.demo.config.PaymentShardConfig;
+import com.Java.demo.dto.PaymentReportRow;
+import com.Java.demo.entity.Department;
+import com.Java.demo.entity.Employee;
+import com.Java.demo.entity.Payment;
+import com.Java.demo.service.IdRangeAllocator;
+import com.Java.demo.service.PaymentAnalyticsService.GroupBy;
+import com.Java.demo.service.ShardedPaymentReportService;
+import com.Java.demo.service.WebhookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PAYMENTS sharded over two embedded databases next to demo_db, which keeps the employees and
+ * departments. The scatter-gather report is checked against the submitted SQL query run over
+ * a copy of all shards on demo_db.
+ */
+@DataJpaTest(properties = "app.sharding.payments.urls=" + PaymentShardingTest.SHARD_0 + "," + PaymentShardingTest.SHARD_1)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PaymentShardConfig.class, ShardedPaymentReportService.class, IdRangeAllocator.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentShardingTest {
+
+    static final String SHARD_0 = "jdbc:h2:mem:payment_shard_0;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String SHARD_1 = "jdbc:h2:mem:payment_shard_1;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String SHARD_2 = "jdbc:h2:mem:payment_shard_2;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private PaymentShards paymentShards;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ShardedPaymentReportService shardedPaymentReportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final DataSource shard2 = new DriverManagerDataSource(SHARD_2, "sa", "");
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        PaymentShards.migrate(shard2);
+        for (DataSource shard : List.of(paymentShards.dataSource(0), paymentShards.dataSource(1), shard2)) {
+            new JdbcTemplate(shard).update("DELETE FROM PAYMENTS");
+        }
+        jdbcTemplate.update("DELETE FROM EMPLOYEE_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM PAYMENTS");
+        jdbcTemplate.update("DELETE FROM EMPLOYEE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT");
+
+        Random random = new Random(23);
+        List<Payment> payments = new ArrayList<>();
+        for (int d = 0; d < 3; d++) {
+            Department department = departmentRepository.save(new Department("Department " + d));
+            for (int e = 0; e < 10; e++) {
+                Employee employee = employeeRepository.save(new Employee("First" + e, "Last" + d + e,
+                    LocalDate.of(1980 + e, 1 + d, 1 + e), e % 2 == 0 ? "F" : "M", department));
+                employees.add(employee);
+                for (int p = 0; p < 1 + random.nextInt(8); p++) {
+                    payments.add(new Payment(employee, BigDecimal.valueOf(100_000 + random.nextInt(900_000), 2),
+                        LocalDateTime.of(2024, 1, 1, 9, 0).plusDays(random.nextInt(500)).plusMinutes(random.nextInt(600))));
+                }
+            }
+        }
+        paymentRepository.saveAll(payments);
+    }
+
+    @Test
+    void paymentsAreWrittenToTheShardOfTheirEmployee() {
+        List<Map<String, Object>> shard0 = rows(paymentShards.dataSource(0));
+        List<Map<String, Object>> shard1 = rows(paymentShards.dataSource(1));
+        assertFalse(shard0.isEmpty());
+        assertFalse(shard1.isEmpty());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PAYMENTS", Long.class));
+        assertOwnedBy(shard0, 0, 2);
+        assertOwnedBy(shard1, 1, 2);
+
+        // Moving a payment to another employee moves it to that employee's shard
+        Employee from = employees.stream().filter(e -> paymentShards.shardOf(e.getEmpId()) == 0).findFirst().orElseThrow();
+        Employee to = employees.stream().filter(e -> paymentShards.shardOf(e.getEmpId()) == 1).findFirst().orElseThrow();
+        long paymentId = new JdbcTemplate(paymentShards.dataSource(0)).queryForObject(
+            "SELECT MIN(PAYMENT_ID) FROM PAYMENTS WHERE EMP_ID = ?", Long.class, from.getEmpId());
+        Payment payment = new Payment(to, new BigDecimal("1.00"), LocalDateTime.of(2025, 6, 1, 0, 0));
+        payment.setPaymentId(paymentId);
+        paymentRepository.save(payment);
+        assertEquals(shard0.size() - 1, rows(paymentShards.dataSource(0)).size());
+        assertEquals(to.getEmpId(), new JdbcTemplate(paymentShards.dataSource(1)).queryForObject(
+            "SELECT EMP_ID FROM PAYMENTS WHERE PAYMENT_ID = ?", Long.class, paymentId));
+
+        paymentRepository.deleteById(paymentId);
+        assertEquals(shard1.size(), rows(paymentShards.dataSource(1)).size());
+    }
+
+    @Test
+    void failedUpdatesLeaveTheStoredPaymentInPlace() {
+        Employee stay = employees.stream().filter(e -> paymentShards.shardOf(e.getEmpId()) == 0).findFirst().orElseThrow();
+        Employee to = employees.stream().filter(e -> paymentShards.shardOf(e.getEmpId()) == 1).findFirst().orElseThrow();
+        JdbcTemplate shard0 = new JdbcTemplate(paymentShards.dataSource(0));
+        JdbcTemplate shard1 = new JdbcTemplate(paymentShards.dataSource(1));
+        long paymentId = shard0.queryForObject("SELECT MIN(PAYMENT_ID) FROM PAYMENTS WHERE EMP_ID = ?", Long.class,
+            stay.getEmpId());
+        Map<String, Object> stored = shard0.queryForMap("SELECT * FROM PAYMENTS WHERE PAYMENT_ID = ?", paymentId);
+        long total = paymentRepository.count();
+        // Too large for DECIMAL(38,2): the insert fails after the stored row was replaced or copied
+        BigDecimal overflow = new BigDecimal("1e40");
+
+        Payment inPlace = new Payment(stay, overflow, LocalDateTime.of(2025, 6, 1, 0, 0));
+        inPlace.setPaymentId(paymentId);
+        assertThrows(RuntimeException.class, () -> paymentRepository.save(inPlace));
+        assertEquals(stored, shard0.queryForMap("SELECT * FROM PAYMENTS WHERE PAYMENT_ID = ?", paymentId));
+
+        Payment moved = new Payment(to, overflow, LocalDateTime.of(2025, 6, 1, 0, 0));
+        moved.setPaymentId(paymentId);
+        assertThrows(RuntimeException.class, () -> paymentRepository.save(moved));
+        assertEquals(stored, shard0.queryForMap("SELECT * FROM PAYMENTS WHERE PAYMENT_ID = ?", paymentId));
+        assertEquals(0, shard1.queryForObject("SELECT COUNT(*) FROM PAYMENTS WHERE PAYMENT_ID = ?", Long.class, paymentId));
+
+        // A successful update replaces the row in place, and reads by ID see it on its shard
+        Payment updated = new Payment(stay, new BigDecimal("2.50"), LocalDateTime.of(2025, 6, 1, 0, 0));
+        updated.setPaymentId(paymentId);
+        paymentRepository.save(updated);
+        Payment read = paymentRepository.findById(paymentId).orElseThrow();
+        assertEquals(0, new BigDecimal("2.50").compareTo(read.getAmount()));
+        assertEquals(stay.getEmpId(), read.getEmployee().getEmpId());
+        assertEquals(total, paymentRepository.count());
+        assertTrue(paymentRepository.existsById(paymentId));
+        assertFalse(paymentRepository.findById(-1L).isPresent());
+    }
+
+    @Test
+    void queriesOfTheLocalTableAreRejected() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        Long empId = employees.get(0).getEmpId();
+        List<Executable> localReads = List.of(
+            () -> paymentRepository.findAll(),
+            () -> paymentRepository.findAllById(List.of(1L)),
+            () -> paymentRepository.getReferenceById(1L),
+            () -> paymentRepository.findWithEmployeeBetween(from, from.plusYears(1)),
+            () -> paymentRepository.findByEmployeeEmpIdOrderByPaymentTime(empId),
+            () -> paymentRepository.findDetailsByEmpId(empId),
+            () -> paymentRepository.findDetailsByDepartmentId(1L, Limit.of(10)),
+            () -> paymentRepository.streamDetails(from, from.plusYears(1)).close(),
+            () -> paymentRepository.findFirstDetailPage(Limit.of(10)),
+            () -> paymentRepository.findDetailPageAfter(from, 1L, Limit.of(10)),
+            () -> paymentRepository.saveAndFlush(new Payment(employees.get(0), BigDecimal.ONE, from)));
+        for (Executable localRead : localReads) {
+            IllegalStateException failure = assertThrows(IllegalStateException.class, localRead);
+            assertTrue(failure.getMessage().contains("sharded"), failure.getMessage());
+        }
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PAYMENTS", Long.class));
+    }
+
+    @Test
+    void refusesToStartAlongsideJobsThatReadLocalPayments() {
+        new ApplicationContextRunner()
+            .withUserConfiguration(PaymentShardConfig.class)
+            .withBean(DataSourceProperties.class)
+            .withBean(SimpleMeterRegistry.class)
+            .withPropertyValues("app.sharding.payments.urls=" + SHARD_2, "app.sharding.payments.migrate=false",
+                "app.export.nightly.enabled=true")
+            .run(context -> {
+                Throwable failure = context.getStartupFailure();
+                assertNotNull(failure);
+                while (failure.getCause() != null) {
+                    failure = failure.getCause();
+                }
+                assertEquals("PAYMENTS is sharded (app.sharding.payments.urls), but these read or write PAYMENTS"
+                    + " on the application database: app.rollup.enabled=true (monthly rollup compaction),"
+                    + " app.export.nightly.enabled=true (nightly payment snapshot)", failure.getMessage());
+            });
+    }
+
+    @Test
+    void scatterGatherReportMatchesSubmittedSqlQuery() {
+        // Oracle: all shards copied back into one PAYMENTS table
+        for (int shard = 0; shard < paymentShards.size(); shard++) {
+            for (Map<String, Object> row : rows(paymentShards.dataSource(shard))) {
+                jdbcTemplate.update("INSERT INTO PAYMENTS (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME) VALUES (?, ?, ?, ?)",
+                    row.get("PAYMENT_ID"), row.get("EMP_ID"), row.get("AMOUNT"), row.get("PAYMENT_TIME"));
+            }
+        }
+        // H2 only knows the three-argument DATEDIFF; both count calendar-day boundaries
+        String sql = new WebhookService().generateFinalSQLQuery().trim()
+            .replace("DATEDIFF(MAX(p.PAYMENT_TIME), MIN(p.PAYMENT_TIME))",
+                "DATEDIFF(DAY, MIN(p.PAYMENT_TIME), MAX(p.PAYMENT_TIME))");
+        List<Map<String, Object>> expected = jdbcTemplate.queryForList(sql.substring(0, sql.length() - 1));
+
+        List<PaymentReportRow> actual = shardedPaymentReportService.report(GroupBy.EMPLOYEE, null, null);
+
+        assertEquals(employees.size(), expected.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Map<String, Object> row = expected.get(i);
+            PaymentReportRow report = actual.get(i);
+            assertEquals(((Number) row.get("EMP_ID")).longValue(), report.getEmpId(), "row " + i);
+            assertEquals(row.get("DEPARTMENT_NAME"), report.getDepartmentName());
+            assertEquals(((Number) row.get("total_payments")).longValue(), report.getTotalPayments());
+            assertEquals(0, ((BigDecimal) row.get("total_salary_paid")).compareTo(report.getTotalSalaryPaid()));
+            assertEquals(0, ((BigDecimal) row.get("min_salary")).compareTo(report.getMinSalary()));
+            assertEquals(0, ((BigDecimal) row.get("max_salary")).compareTo(report.getMaxSalary()));
+            assertEquals(((Timestamp) row.get("first_payment_date")).toLocalDateTime(), report.getFirstPaymentDate());
+            assertEquals(((Timestamp) row.get("last_payment_date")).toLocalDateTime(), report.getLastPaymentDate());
+            assertEquals(((Number) row.get("payment_period_days")).longValue(), report.getPaymentPeriodDays());
+        }
+
+        List<PaymentReportRow> departments = shardedPaymentReportService.report(GroupBy.DEPARTMENT, null, null);
+        assertEquals(3, departments.size());
+        assertEquals(expected.stream().mapToLong(row -> ((Number) row.get("total_payments")).longValue()).sum(),
+            departments.stream().mapToLong(PaymentReportRow::getTotalPayments).sum());
+    }
+
+    @Test
+    void rebalancingToAThirdShardOnlyMovesRowsOntoIt() {
+        DataSource shard0 = paymentShards.dataSource(0);
+        DataSource shard1 = paymentShards.dataSource(1);
+        Set<Object> before0 = ids(rows(shard0));
+        Set<Object> before1 = ids(rows(shard1));
+
+        PaymentShardRebalancer.Result result =
+            new PaymentShardRebalancer(List.of(shard0, shard1), List.of(shard0, shard1, shard2), 7).rebalance();
+
+        List<Map<String, Object>> after0 = rows(shard0);
+        List<Map<String, Object>> after1 = rows(shard1);
+        List<Map<String, Object>> after2 = rows(shard2);
+        assertEquals(before0.size() + before1.size(), result.rowsScanned());
+        assertEquals(after2.size(), result.rowsMoved());
+        assertTrue(result.rowsMoved() > 0);
+        assertEquals(before0.size() + before1.size(), after0.size() + after1.size() + after2.size());
+        assertTrue(before0.containsAll(ids(after0)));
+        assertTrue(before1.containsAll(ids(after1)));
+        assertOwnedBy(after0, 0, 3);
+        assertOwnedBy(after1, 1, 3);
+        assertOwnedBy(after2, 2, 3);
+
+        // Repeating the run finds nothing to move
+        assertEquals(0, new PaymentShardRebalancer(List.of(shard0, shard1, shard2),
+            List.of(shard0, shard1, shard2), 7).rebalance().rowsMoved());
+    }
+
+    @Test
+    void jumpHashIsBalancedAndMovesOnlyToANewShard() {
+        int[] counts = new int[4];
+        for (long empId = 1; empId <= 40_000; empId++) {
+            int shard = PaymentShards.shardOf(empId, 4);
+            counts[shard]++;
+            int grown = PaymentShards.shardOf(empId, 5);
+            assertTrue(grown == shard || grown == 4, "employee " + empId + " moved from " + shard + " to " + grown);
+        }
+        for (int count : counts) {
+            assertEquals(10_000, count, 500);
+        }
+    }
+
+    private static List<Map<String, Object>> rows(DataSource shard) {
+        return new JdbcTemplate(shard).queryForList("SELECT PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME FROM PAYMENTS");
+    }
+
+    private static Set<Object> ids(List<Map<String, Object>> rows) {
+        Set<Object> ids = new HashSet<>();
+        rows.forEach(row -> ids.add(row.get("PAYMENT_ID")));
+        return ids;
+    }
+
+    private static void assertOwnedBy(List<Map<String, Object>> rows, int shard, int shards) {
+        for (Map<String, Object> row : rows) {
+            long empId = ((Number) row.get("EMP_ID")).longValue();
+            assertEquals(shard, PaymentShards.shardOf(empId, shards), "payment " + row.get("PAYMENT_ID"));
+        }
+    }
+}
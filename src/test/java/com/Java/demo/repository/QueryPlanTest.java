@@ -0,0 +1,219 @@
+package com.Java.demo.repository;
+
+import com.Java.demo.entity.Employee;
+import com.Java.demo.entity.Payment;
+import com.Java.demo.entity.PaymentMonthlyRollup;
+import com.Java.demo.entity.SolutionOutboxEntry;
+import com.Java.demo.service.WebhookService;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.flywaydb.core.Flyway;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plan-regression checks on the embedded database: with the schema built by the Flyway
+ * migrations, the payment analysis query and the report paths must stay on their indexes.
+ * Repository queries are explained exactly as Hibernate generates them, so a mapping change,
+ * a query change or a migration that drops an index fails here as a table scan.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.Java.demo.repository.QueryPlanTest$RecordingInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+    private static final int DEPARTMENTS = 10;
+    private static final int EMPLOYEES_PER_DEPARTMENT = 20;
+    private static final int PAYMENTS_PER_EMPLOYEE = 12;
+
+    /** Records the SQL of every statement Hibernate prepares. */
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Flyway flyway;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM PAYMENTS");
+        jdbcTemplate.update("DELETE FROM EMPLOYEE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT");
+
+        List<Object[]> departments = new ArrayList<>();
+        List<Object[]> employees = new ArrayList<>();
+        List<Object[]> payments = new ArrayList<>();
+        long empId = 0;
+        long paymentId = 0;
+        for (long d = 1; d <= DEPARTMENTS; d++) {
+            departments.add(new Object[]{d, "Department " + d});
+            for (int e = 0; e < EMPLOYEES_PER_DEPARTMENT; e++) {
+                empId++;
+                employees.add(new Object[]{empId, "First" + empId, "Last" + empId,
+                    Date.valueOf(LocalDate.of(1990, 1, 1).plusDays(empId)), empId % 2 == 0 ? "F" : "M", d});
+                for (int p = 0; p < PAYMENTS_PER_EMPLOYEE; p++) {
+                    payments.add(new Object[]{++paymentId, empId, BigDecimal.valueOf(100_000 + paymentId, 2),
+                        Timestamp.valueOf(BASE.plusMonths(p).plusHours(empId))});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO DEPARTMENT (DEPARTMENT_ID, DEPARTMENT_NAME) VALUES (?, ?)", departments);
+        jdbcTemplate.batchUpdate("INSERT INTO EMPLOYEE (EMP_ID, FIRST_NAME, LAST_NAME, DOB, GENDER, DEPARTMENT)"
+            + " VALUES (?, ?, ?, ?, ?, ?)", employees);
+        jdbcTemplate.batchUpdate("INSERT INTO PAYMENTS (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME) VALUES (?, ?, ?, ?)", payments);
+        // Fresh selectivity statistics, so the optimizer costs the indexes on this data
+        jdbcTemplate.execute("ANALYZE");
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void migrationsAreAppliedAndCreateEveryMappedIndex() {
+        assertEquals(0, flyway.info().pending().length);
+
+        Set<String> indexes = new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_SCHEMA = 'PUBLIC'", String.class));
+        for (Class<?> entity : List.of(Payment.class, Employee.class, SolutionOutboxEntry.class, PaymentMonthlyRollup.class)) {
+            for (Index index : entity.getAnnotation(Table.class).indexes()) {
+                assertTrue(indexes.contains(index.name()),
+                    index.name() + " of " + entity.getSimpleName() + " has no migration; found " + indexes);
+            }
+        }
+    }
+
+    @Test
+    void everyIndexKeyFitsInnoDbKeyLimit() {
+        // H2 takes any key length; InnoDB refuses keys over 3072 bytes, counting 4 bytes per
+        // character for utf8mb4 VARCHARs
+        List<Map<String, Object>> columns = jdbcTemplate.queryForList(
+            "SELECT i.INDEX_NAME, c.DATA_TYPE, c.CHARACTER_MAXIMUM_LENGTH, c.NUMERIC_PRECISION"
+                + " FROM INFORMATION_SCHEMA.INDEX_COLUMNS i JOIN INFORMATION_SCHEMA.COLUMNS c"
+                + " ON c.TABLE_SCHEMA = i.TABLE_SCHEMA AND c.TABLE_NAME = i.TABLE_NAME AND c.COLUMN_NAME = i.COLUMN_NAME"
+                + " WHERE i.TABLE_SCHEMA = 'PUBLIC'");
+        Map<String, Long> keyBytes = new HashMap<>();
+        for (Map<String, Object> column : columns) {
+            String type = (String) column.get("DATA_TYPE");
+            long bytes = switch (type) {
+                case "CHARACTER VARYING", "CHARACTER" -> 4 * ((Number) column.get("CHARACTER_MAXIMUM_LENGTH")).longValue() + 2;
+                case "NUMERIC", "DECIMAL" -> (((Number) column.get("NUMERIC_PRECISION")).longValue() + 8) / 9 * 4;
+                default -> 8;
+            };
+            keyBytes.merge((String) column.get("INDEX_NAME"), bytes, Long::sum);
+        }
+        assertFalse(keyBytes.isEmpty());
+        keyBytes.forEach((index, bytes) -> assertTrue(bytes <= 3072, index + " key is " + bytes + " bytes"));
+    }
+
+    @Test
+    void paymentAnalysisQueryJoinsThroughIndexes() {
+        // H2 only knows the three-argument DATEDIFF, and JDBC takes no trailing semicolon
+        String sql = new WebhookService().generateFinalSQLQuery().trim()
+            .replace("DATEDIFF(MAX(p.PAYMENT_TIME), MIN(p.PAYMENT_TIME))",
+                "DATEDIFF(DAY, MIN(p.PAYMENT_TIME), MAX(p.PAYMENT_TIME))");
+        String plan = explain(sql.substring(0, sql.length() - 1));
+
+        // DEPARTMENT drives the query and is read whole; every join below it is an index lookup
+        assertIndexLookup(plan, "EMPLOYEE", "\\w+", "DEPARTMENT = D.DEPARTMENT_ID");
+        assertIndexLookup(plan, "PAYMENTS", "IDX_PAYMENTS_EMP_TIME", "EMP_ID = E.EMP_ID");
+    }
+
+    @Test
+    void employeePaymentDetailsUseTheEmployeeIndex() {
+        paymentRepository.findDetailsByEmpId(5L);
+
+        String plan = explainRecorded("PAYMENTS", 5L);
+        assertIndexLookup(plan, "PAYMENTS", "IDX_PAYMENTS_EMP_TIME", "EMP_ID = ");
+    }
+
+    @Test
+    void departmentPaymentDetailsStopAtTheLimit() {
+        paymentRepository.findDetailsByDepartmentId(3L, Limit.of(50));
+
+        // Payments are walked in (PAYMENT_TIME, PAYMENT_ID) order until the limit is filled,
+        // joining each to its employee by key, instead of sorting the department's payments
+        String plan = explainRecorded("PAYMENTS", 3L, 50);
+        assertIndexLookup(plan, "PAYMENTS", "IDX_PAYMENTS_TIME_ID", "");
+        assertTrue(plan.contains("/* index sorted */"), plan);
+        assertIndexLookup(plan, "EMPLOYEE", "\\w+", "EMP_ID = P1_0.EMP_ID");
+    }
+
+    @Test
+    void timeRangeReadsUseTheCoveringTimeIndex() {
+        LocalDateTime from = BASE.plusMonths(2);
+        LocalDateTime to = BASE.plusMonths(3);
+        paymentRepository.findDetailPageAfter(from, 100L, Limit.of(50));
+        assertIndexLookup(explainRecorded("PAYMENTS", from, 100L, 50), "PAYMENTS", "IDX_PAYMENTS_TIME_ID", "");
+
+        // Monthly rollup compaction and rollup raw ranges aggregate one time range
+        String plan = explain("SELECT p.EMP_ID, COUNT(*), SUM(p.AMOUNT), MIN(p.AMOUNT), MAX(p.AMOUNT),"
+                + " MIN(p.PAYMENT_TIME), MAX(p.PAYMENT_TIME) FROM PAYMENTS p"
+                + " WHERE p.AMOUNT IS NOT NULL AND p.PAYMENT_TIME >= ? AND p.PAYMENT_TIME < ? GROUP BY p.EMP_ID",
+            Timestamp.valueOf(from), Timestamp.valueOf(to));
+        assertIndexLookup(plan, "PAYMENTS", "IDX_PAYMENTS_TIME_ID", "PAYMENT_TIME ");
+    }
+
+    private String explain(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+    }
+
+    /** Explains the last recorded Hibernate statement that reads {@code table}. */
+    private String explainRecorded(String table, Object... args) {
+        Pattern from = Pattern.compile("\\b(from|join) " + table + "\\b", Pattern.CASE_INSENSITIVE);
+        List<String> statements = RecordingInspector.STATEMENTS;
+        for (int i = statements.size() - 1; i >= 0; i--) {
+            if (from.matcher(statements.get(i)).find()) {
+                return explain(statements.get(i), args);
+            }
+        }
+        return fail("No statement on " + table + " recorded: " + statements);
+    }
+
+    /**
+     * Asserts the plan reads {@code table} through {@code index} (a regex) with a condition starting
+     * with {@code condition}, i.e. H2 annotated the table with {@code PUBLIC.INDEX: CONDITION}. An
+     * empty condition also accepts an ordered walk of the index.
+     */
+    private static void assertIndexLookup(String plan, String table, String index, String condition) {
+        Pattern access = Pattern.compile("\"PUBLIC\"\\.\"" + table + "\" \"\\w+\"\\s*/\\* PUBLIC\\." + index
+            + (condition.isEmpty() ? "[: ]" : ": " + Pattern.quote(condition)));
+        assertTrue(access.matcher(plan).find(), table + " is not read through " + index + ":\n" + plan);
+        assertFalse(plan.contains("PUBLIC." + table + ".tableScan"), plan);
+    }
+}
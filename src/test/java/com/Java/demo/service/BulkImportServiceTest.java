@@ -0,0 +1,200 @@
+package com.Java.demo.service;
+
+import com.Java.demo.config.SecondLevelCacheConfig;
+import com.Java.demo.repository.PaymentAggregateListener;
+import com.Java.demo.service.BulkImportService.ImportReport;
+import com.Java.demo.service.BulkImportService.Kind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+    // Small chunks and batches, so a few thousand lines span many of each
+    "app.import.chunk-size=4KB",
+    "app.import.batch-size=300",
+    "app.import.rows-per-statement=64",
+    "app.import.threads=4"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BulkImportService.class, IdRangeAllocator.class, EmployeeReferenceCache.class, PaymentAggregateService.class,
+    PaymentAggregateListener.class, ReferenceDataCacheService.class, SecondLevelCacheConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkImportServiceTest {
+
+    private static final int EMPLOYEES = 1000;
+    private static final int PAYMENTS = 6000;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM EMPLOYEE_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM PAYMENTS");
+        jdbcTemplate.update("DELETE FROM EMPLOYEE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT");
+    }
+
+    @Test
+    void importsEveryKindAcrossManyChunks() throws IOException {
+        List<ImportReport> reports = bulkImportService.importFiles(files());
+
+        ImportReport departments = reports.get(0);
+        ImportReport employees = reports.get(1);
+        ImportReport payments = reports.get(2);
+        assertEquals(3, departments.accepted());
+        assertEquals(EMPLOYEES, employees.accepted());
+        assertEquals(PAYMENTS, payments.accepted());
+        assertEquals(PAYMENTS + 1, payments.lines());
+        assertTrue(payments.chunks() > 10);
+        assertEquals(0, employees.rejected() + payments.rejected());
+
+        assertEquals("Research, Applied", jdbcTemplate.queryForObject(
+            "SELECT DEPARTMENT_NAME FROM DEPARTMENT WHERE DEPARTMENT_ID = 1", String.class));
+        assertEquals("O\"Neil", jdbcTemplate.queryForObject(
+            "SELECT LAST_NAME FROM EMPLOYEE WHERE EMP_ID = 7", String.class));
+        // CRLF line ends are not part of the last field
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT DEPARTMENT FROM EMPLOYEE WHERE EMP_ID = 2", Long.class));
+        assertNull(jdbcTemplate.queryForObject("SELECT DEPARTMENT FROM EMPLOYEE WHERE EMP_ID = 3", Long.class));
+        assertEquals(LocalDate.of(1980, 1, 8), jdbcTemplate.queryForObject(
+            "SELECT DOB FROM EMPLOYEE WHERE EMP_ID = 7", LocalDate.class));
+
+        // Every payment line exactly once, whichever chunk it fell into
+        assertEquals(PAYMENTS, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT PAYMENT_TIME) FROM PAYMENTS", Long.class));
+        assertEquals(expectedTotal(), jdbcTemplate.queryForObject("SELECT SUM(AMOUNT) FROM PAYMENTS", BigDecimal.class));
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 1, 0, 250_000_000), jdbcTemplate.queryForObject(
+            "SELECT PAYMENT_TIME FROM PAYMENTS WHERE AMOUNT = 10.01", LocalDateTime.class));
+
+        // Derived state is brought up to date
+        assertEquals(expectedTotal(), jdbcTemplate.queryForObject(
+            "SELECT SUM(TOTAL_AMOUNT) FROM EMPLOYEE_PAYMENT_AGGREGATE", BigDecimal.class));
+        assertTrue(jdbcTemplate.queryForObject(
+            "SELECT NEXT_VAL FROM ID_SEQUENCES WHERE SEQUENCE_NAME = 'EMPLOYEE'", Long.class) > EMPLOYEES);
+        assertTrue(jdbcTemplate.queryForObject(
+            "SELECT NEXT_VAL FROM ID_SEQUENCES WHERE SEQUENCE_NAME = 'PAYMENTS'", Long.class) > PAYMENTS);
+    }
+
+    @Test
+    void rejectedLinesAreReportedWithTheirLineNumbers() throws IOException {
+        bulkImportService.importFiles(Map.of(Kind.DEPARTMENTS, departments(), Kind.EMPLOYEES, employees()));
+
+        StringBuilder csv = new StringBuilder(Kind.PAYMENTS.header()).append('\n');
+        for (int i = 1; i <= 2000; i++) {
+            String line = switch (i) {
+                case 100 -> "5,-1.00,2024-01-01 00:00:00";
+                case 700 -> "5,1.005,2024-01-01 00:00:00";
+                case 1200 -> "99999,1.00,2024-01-01 00:00:00";
+                case 1500 -> "5,1.00,2024-02-30 00:00:00";
+                case 1800 -> "5,\"1.00,2024-01-01 00:00:00";
+                case 1900 -> "5,1.00";
+                default -> "5,1.00,2024-01-01 00:00:00";
+            };
+            csv.append(line).append('\n');
+        }
+        Path file = Files.writeString(directory.resolve("payments.csv"), csv);
+
+        ImportReport report = bulkImportService.importFiles(Map.of(Kind.PAYMENTS, file)).get(0);
+
+        assertEquals(1994, report.accepted());
+        assertEquals(6, report.rejected());
+        assertEquals(List.of(
+            "line 101: AMOUNT must be zero or positive",
+            "line 701: AMOUNT has more than two decimals",
+            "line 1201: unknown employee 99999",
+            "line 1501: PAYMENT_TIME is not a valid timestamp",
+            "line 1801: malformed CSV",
+            "line 1901: expected 3 fields, found 2"), report.errors());
+        assertEquals(1994L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PAYMENTS", Long.class));
+    }
+
+    @Test
+    void existingRowsAreSkippedAndFailedBatchesRejected() throws IOException {
+        bulkImportService.importFiles(Map.of(Kind.DEPARTMENTS, departments(), Kind.EMPLOYEES, employees()));
+
+        String tooLong = "x".repeat(300);
+        Path file = Files.writeString(directory.resolve("more-employees.csv"), Kind.EMPLOYEES.header() + "\n"
+            + "1,Again,Imported,,,1\n"
+            + "5001,New,Starter,1999-12-31,F,2\n"
+            + "5002," + tooLong + ",Rejected,,,\n"
+            + "5003,Bad,Department,,,42\n");
+
+        ImportReport report = bulkImportService.importFile(Kind.EMPLOYEES, file);
+
+        assertEquals(1, report.skipped());
+        assertEquals(0, report.accepted());
+        assertEquals(3, report.rejected());
+        // The over-long name fails its whole batch, which also held the new starter
+        assertTrue(report.errors().get(0).startsWith("line 3: 2 lines from here: batch failed"));
+        assertEquals("line 5: unknown department 42", report.errors().get(1));
+        assertEquals(EMPLOYEES, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EMPLOYEE", Long.class));
+        assertEquals("Employee1", jdbcTemplate.queryForObject("SELECT FIRST_NAME FROM EMPLOYEE WHERE EMP_ID = 1", String.class));
+    }
+
+    private Map<Kind, Path> files() throws IOException {
+        StringBuilder csv = new StringBuilder(Kind.PAYMENTS.header()).append('\n');
+        for (int i = 1; i <= PAYMENTS; i++) {
+            csv.append(i % EMPLOYEES + 1).append(',')
+                .append(10 + i / 100).append('.').append(String.format("%02d", i % 100)).append(',')
+                .append(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i * 60L).plusNanos(i % 4 * 250_000_000L)
+                    .toString().replace('T', ' '))
+                .append('\n');
+        }
+        return Map.of(Kind.DEPARTMENTS, departments(), Kind.EMPLOYEES, employees(),
+            Kind.PAYMENTS, Files.writeString(directory.resolve("payments.csv"), csv));
+    }
+
+    private static BigDecimal expectedTotal() {
+        long cents = 0;
+        for (int i = 1; i <= PAYMENTS; i++) {
+            cents += (10 + i / 100) * 100L + i % 100;
+        }
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private Path departments() throws IOException {
+        return Files.writeString(directory.resolve("departments.csv"), Kind.DEPARTMENTS.header() + "\n"
+            + "1,\"Research, Applied\"\n"
+            + "2,Sales\n"
+            + "\n"
+            + "3,Finance\n"
+            + "2,Sales again\n");
+    }
+
+    private Path employees() throws IOException {
+        StringBuilder csv = new StringBuilder(Kind.EMPLOYEES.header()).append("\r\n");
+        for (int id = 1; id <= EMPLOYEES; id++) {
+            String lastName = id == 7 ? "\"O\"\"Neil\"" : "Last" + id;
+            String department = id % 3 == 0 ? "" : String.valueOf(id % 3);
+            csv.append(id).append(",Employee").append(id).append(',').append(lastName).append(',')
+                .append(LocalDate.of(1980, 1, 1).plusDays(id)).append(',').append(id % 2 == 0 ? "F" : "M")
+                .append(',').append(department).append("\r\n");
+        }
+        return Files.writeString(directory.resolve("employees.csv"), csv);
+    }
+}
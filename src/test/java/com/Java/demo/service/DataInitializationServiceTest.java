@@ -0,0 +1,92 @@
+package com.Java.demo.service;
+
+import com.Java.demo.config.DataGeneratorProperties;
+import com.Java.demo.config.SecondLevelCacheConfig;
+import com.Java.demo.dto.DataGenerationRequest;
+import com.Java.demo.entity.Payment;
+import com.Java.demo.repository.PaymentAggregateListener;
+import com.Java.demo.repository.PaymentRepository;
+import com.Java.demo.support.JdbcStatementCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DataInitializationService.class, SyntheticDataGenerator.class, IdRangeAllocator.class,
+    PaymentAggregateService.class, PaymentAggregateListener.class, EmployeeReferenceCache.class,
+    ReferenceDataCacheService.class, SecondLevelCacheConfig.class, JdbcStatementCounter.Config.class, SimpleMeterRegistry.class})
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DataInitializationServiceTest {
+
+    @Autowired
+    private DataInitializationService dataInitializationService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcStatementCounter counter;
+
+    @BeforeEach
+    void clearTables() {
+        jdbcTemplate.update("DELETE FROM PAYMENTS");
+        jdbcTemplate.update("DELETE FROM EMPLOYEE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT");
+        counter.reset();
+    }
+
+    @Test
+    void sampleDataIsInsertedInJdbcBatches() {
+        dataInitializationService.initializeSampleData();
+
+        // No row-by-row inserts: every entity insert goes through addBatch/executeBatch
+        assertEquals(0, counter.singleExecutions("insert into DEPARTMENT ("));
+        assertEquals(0, counter.singleExecutions("insert into EMPLOYEE ("));
+        assertEquals(0, counter.singleExecutions("insert into PAYMENTS ("));
+
+        assertEquals(5, counter.batchedRows("insert into DEPARTMENT ("));
+        assertEquals(8, counter.batchedRows("insert into EMPLOYEE ("));
+        assertEquals(12, counter.batchedRows("insert into PAYMENTS ("));
+        assertEquals(1, counter.batchExecutions("insert into DEPARTMENT ("));
+        assertEquals(1, counter.batchExecutions("insert into EMPLOYEE ("));
+        assertEquals(1, counter.batchExecutions("insert into PAYMENTS ("));
+
+        // One ID block per entity instead of one round trip per row
+        assertTrue(counter.singleExecutions("update ID_SEQUENCES") <= 3);
+    }
+
+    @Test
+    void entityInsertsDoNotCollideWithGeneratedRanges() {
+        DataGenerationRequest request = new DataGenerationRequest();
+        request.setDepartments(3);
+        request.setEmployeesPerDepartment(10);
+        request.setPaymentsPerEmployee(5);
+        dataInitializationService.generateSyntheticData(request);
+
+        dataInitializationService.initializeSampleData();
+
+        assertEquals(8, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM DEPARTMENT", Long.class));
+        assertEquals(38, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EMPLOYEE", Long.class));
+        assertEquals(162, paymentRepository.count());
+
+        List<Payment> payments = paymentRepository.findAll();
+        assertEquals(payments.size(), payments.stream().map(Payment::getPaymentId).distinct().count());
+    }
+}
@@ -0,0 +1,263 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.AggregateDriftReport;
+import com.Java.demo.entity.Department;
+import com.Java.demo.entity.DepartmentPaymentAggregate;
+import com.Java.demo.entity.Employee;
+import com.Java.demo.entity.EmployeePaymentAggregate;
+import com.Java.demo.entity.Payment;
+import com.Java.demo.repository.DepartmentPaymentAggregateRepository;
+import com.Java.demo.repository.DepartmentRepository;
+import com.Java.demo.repository.EmployeePaymentAggregateRepository;
+import com.Java.demo.repository.EmployeeRepository;
+import com.Java.demo.repository.PaymentAggregateListener;
+import com.Java.demo.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PaymentAggregateService.class, PaymentAggregateListener.class, EmployeeReferenceCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentAggregateServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Autowired
+    private PaymentAggregateService paymentAggregateService;
+
+    @Autowired
+    private EmployeeReferenceCache employeeReferenceCache;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EmployeePaymentAggregateRepository employeeAggregates;
+
+    @Autowired
+    private DepartmentPaymentAggregateRepository departmentAggregates;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Department department;
+    private Employee alice;
+    private Employee bob;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM EMPLOYEE_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM PAYMENTS");
+        jdbcTemplate.update("DELETE FROM EMPLOYEE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT");
+        employeeReferenceCache.invalidate();
+
+        department = departmentRepository.save(new Department("Engineering"));
+        alice = employeeRepository.save(new Employee("Alice", "Brown", LocalDate.of(1991, 12, 5), "F", department));
+        bob = employeeRepository.save(new Employee("Bob", "Johnson", LocalDate.of(1992, 3, 10), "M", department));
+    }
+
+    @Test
+    void insertsAreAppliedIncrementally() {
+        paymentRepository.saveAll(List.of(
+            new Payment(alice, new BigDecimal("100.00"), BASE),
+            new Payment(alice, new BigDecimal("300.00"), BASE.plusDays(10)),
+            new Payment(bob, new BigDecimal("50.00"), BASE.plusDays(5))));
+        paymentRepository.save(new Payment(alice, new BigDecimal("200.00"), BASE.minusDays(3)));
+
+        EmployeePaymentAggregate aggregate = employeeAggregates.findById(alice.getEmpId()).orElseThrow();
+        assertEquals(3, aggregate.getPaymentCount());
+        assertEquals(0, new BigDecimal("600.00").compareTo(aggregate.getTotalAmount()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(aggregate.getMinAmount()));
+        assertEquals(0, new BigDecimal("300.00").compareTo(aggregate.getMaxAmount()));
+        assertEquals(BASE.minusDays(3), aggregate.getFirstPaymentTime());
+        assertEquals(BASE.plusDays(10), aggregate.getLastPaymentTime());
+
+        DepartmentPaymentAggregate departmentAggregate = departmentAggregates.findById(department.getDepartmentId()).orElseThrow();
+        assertEquals(4, departmentAggregate.getPaymentCount());
+        assertEquals(0, new BigDecimal("650.00").compareTo(departmentAggregate.getTotalAmount()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(departmentAggregate.getMinAmount()));
+
+        assertEquals(0, paymentAggregateService.verify().getDriftedRows());
+    }
+
+    @Test
+    void updatesAndDeletesRecomputeExtremes() {
+        Payment largest = paymentRepository.save(new Payment(alice, new BigDecimal("300.00"), BASE.plusDays(10)));
+        Payment earliest = paymentRepository.save(new Payment(alice, new BigDecimal("100.00"), BASE));
+        paymentRepository.save(new Payment(alice, new BigDecimal("200.00"), BASE.plusDays(5)));
+
+        largest.setAmount(new BigDecimal("150.00"));
+        paymentRepository.save(largest);
+        paymentRepository.deleteById(earliest.getPaymentId());
+
+        EmployeePaymentAggregate aggregate = employeeAggregates.findById(alice.getEmpId()).orElseThrow();
+        assertEquals(2, aggregate.getPaymentCount());
+        assertEquals(0, new BigDecimal("350.00").compareTo(aggregate.getTotalAmount()));
+        assertEquals(0, new BigDecimal("150.00").compareTo(aggregate.getMinAmount()));
+        assertEquals(0, new BigDecimal("200.00").compareTo(aggregate.getMaxAmount()));
+        assertEquals(BASE.plusDays(5), aggregate.getFirstPaymentTime());
+
+        assertEquals(0, paymentAggregateService.verify().getDriftedRows());
+    }
+
+    @Test
+    void dirtyCheckedChangesWithoutSaveReachTheAggregates() {
+        Payment payment = paymentRepository.save(new Payment(alice, new BigDecimal("100.00"), BASE));
+        paymentRepository.save(new Payment(alice, new BigDecimal("200.00"), BASE.plusDays(1)));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            paymentRepository.findById(payment.getPaymentId()).orElseThrow().setAmount(new BigDecimal("400.00")));
+
+        EmployeePaymentAggregate aggregate = employeeAggregates.findById(alice.getEmpId()).orElseThrow();
+        assertEquals(0, new BigDecimal("600.00").compareTo(aggregate.getTotalAmount()));
+        assertEquals(0, new BigDecimal("400.00").compareTo(aggregate.getMaxAmount()));
+        assertEquals(0, paymentAggregateService.verify().getDriftedRows());
+    }
+
+    @Test
+    void changesAutoFlushedBeforeSaveAreNotLost() {
+        Payment payment = paymentRepository.save(new Payment(alice, new BigDecimal("100.00"), BASE));
+        paymentRepository.save(new Payment(alice, new BigDecimal("200.00"), BASE.plusDays(1)));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Payment managed = paymentRepository.findById(payment.getPaymentId()).orElseThrow();
+            managed.setEmployee(bob);
+            // The query flushes the move first, so PAYMENTS no longer holds the committed row
+            assertEquals(1, paymentRepository.findByEmployeeEmpIdOrderByPaymentTime(bob.getEmpId()).size());
+            managed.setAmount(new BigDecimal("150.00"));
+            paymentRepository.save(managed);
+        });
+
+        EmployeePaymentAggregate aliceAggregate = employeeAggregates.findById(alice.getEmpId()).orElseThrow();
+        assertEquals(1, aliceAggregate.getPaymentCount());
+        assertEquals(0, new BigDecimal("200.00").compareTo(aliceAggregate.getTotalAmount()));
+        assertEquals(0, new BigDecimal("150.00").compareTo(
+            employeeAggregates.findById(bob.getEmpId()).orElseThrow().getTotalAmount()));
+        assertEquals(0, paymentAggregateService.verify().getDriftedRows());
+    }
+
+    @Test
+    void rebuildRepairsDriftFromWritesThatBypassTheRepository() {
+        paymentRepository.save(new Payment(alice, new BigDecimal("100.00"), BASE));
+        jdbcTemplate.update("INSERT INTO PAYMENTS (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME) VALUES (?, ?, ?, ?)",
+            999_999L, bob.getEmpId(), new BigDecimal("75.00"), BASE);
+
+        AggregateDriftReport verify = paymentAggregateService.verify();
+        assertEquals(2, verify.getDriftedRows(), verify.getSamples().toString());
+
+        AggregateDriftReport rebuild = paymentAggregateService.rebuild();
+        assertTrue(rebuild.isRebuilt());
+        assertEquals(0, paymentAggregateService.verify().getDriftedRows());
+        assertEquals(1, employeeAggregates.findById(bob.getEmpId()).orElseThrow().getPaymentCount());
+    }
+
+    @Test
+    void concurrentFirstPaymentsOfAnEmployeeBothCommit() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // The first transaction creates Alice's aggregate row and holds it uncommitted. The
+            // flush queues the aggregate update, so the process registered after it runs later
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                paymentRepository.save(new Payment(alice, new BigDecimal("100.00"), BASE));
+                entityManager.flush();
+                entityManager.unwrap(SessionImplementor.class).getActionQueue().registerProcess(
+                    (BeforeTransactionCompletionProcess) session -> {
+                        firstWritten.countDown();
+                        try {
+                            releaseFirst.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+            }));
+            assertTrue(firstWritten.await(10, TimeUnit.SECONDS));
+            // The second cannot see that row yet, so it also has to create it
+            Future<?> second = executor.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                paymentRepository.save(new Payment(alice, new BigDecimal("50.00"), BASE.plusDays(1)))));
+            Thread.sleep(200);
+            releaseFirst.countDown();
+
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        EmployeePaymentAggregate aggregate = employeeAggregates.findById(alice.getEmpId()).orElseThrow();
+        assertEquals(2, aggregate.getPaymentCount());
+        assertEquals(0, new BigDecimal("150.00").compareTo(aggregate.getTotalAmount()));
+        assertEquals(2, departmentAggregates.findById(department.getDepartmentId()).orElseThrow().getPaymentCount());
+        assertEquals(0, paymentAggregateService.verify().getDriftedRows());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void inheritedDeleteMethodsKeepTheAggregatesInStep() {
+        List<Payment> payments = paymentRepository.saveAll(List.of(
+            new Payment(alice, new BigDecimal("100.00"), BASE),
+            new Payment(alice, new BigDecimal("300.00"), BASE.plusDays(1)),
+            new Payment(alice, new BigDecimal("200.00"), BASE.plusDays(2)),
+            new Payment(bob, new BigDecimal("50.00"), BASE.plusDays(3)),
+            new Payment(bob, new BigDecimal("70.00"), BASE.plusDays(4))));
+
+        paymentRepository.deleteAllByIdInBatch(List.of(payments.get(1).getPaymentId()));
+        assertEquals(0, paymentAggregateService.verify().getDriftedRows());
+        assertEquals(0, new BigDecimal("200.00").compareTo(
+            employeeAggregates.findById(alice.getEmpId()).orElseThrow().getMaxAmount()));
+
+        paymentRepository.deleteAllById(List.of(payments.get(0).getPaymentId()));
+        assertEquals(0, paymentAggregateService.verify().getDriftedRows());
+
+        paymentRepository.deleteInBatch(List.of(payments.get(3)));
+        assertEquals(0, paymentAggregateService.verify().getDriftedRows());
+        assertEquals(1, employeeAggregates.findById(bob.getEmpId()).orElseThrow().getPaymentCount());
+
+        paymentRepository.deleteAll();
+        assertEquals(0, paymentRepository.count());
+        assertEquals(0, employeeAggregates.count());
+        assertEquals(0, departmentAggregates.count());
+        assertEquals(0, paymentAggregateService.verify().getDriftedRows());
+    }
+}
@@ -0,0 +1,124 @@
+package com.Java.demo.service;
+
+import com.Java.demo.config.DataGeneratorProperties;
+import com.Java.demo.config.SecondLevelCacheConfig;
+import com.Java.demo.dto.DataGenerationRequest;
+import com.Java.demo.dto.PaymentReportRow;
+import com.Java.demo.repository.PaymentAggregateListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PaymentAnalyticsService.class, DataInitializationService.class, SyntheticDataGenerator.class,
+    IdRangeAllocator.class, PaymentAggregateService.class, PaymentAggregateListener.class, EmployeeReferenceCache.class,
+    ReferenceDataCacheService.class, SecondLevelCacheConfig.class, SimpleMeterRegistry.class})
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentAnalyticsServiceTest {
+
+    @Autowired
+    private PaymentAnalyticsService paymentAnalyticsService;
+
+    @Autowired
+    private DataInitializationService dataInitializationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void loadData() {
+        jdbcTemplate.update("DELETE FROM PAYMENTS");
+        jdbcTemplate.update("DELETE FROM EMPLOYEE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT");
+
+        DataGenerationRequest request = new DataGenerationRequest();
+        request.setDepartments(4);
+        request.setEmployeesPerDepartment(25);
+        request.setPaymentsPerEmployee(30);
+        request.setSeed(11L);
+        dataInitializationService.generateSyntheticData(request);
+        dataInitializationService.initializeSampleData();
+
+        // An employee without payments and one without a department must not show up
+        jdbcTemplate.update("INSERT INTO EMPLOYEE (EMP_ID, FIRST_NAME, LAST_NAME, GENDER) VALUES (900001, 'No', 'Dept', 'M')");
+        jdbcTemplate.update("INSERT INTO PAYMENTS (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME) VALUES (900001, 900001, 10.00, ?)",
+            Timestamp.valueOf(LocalDateTime.now()));
+
+        paymentAnalyticsService.refresh();
+    }
+
+    @Test
+    void employeeReportMatchesSubmittedSqlQuery() {
+        // H2 only knows the three-argument DATEDIFF; both count calendar-day boundaries
+        String sql = new WebhookService().generateFinalSQLQuery().trim()
+            .replace("DATEDIFF(MAX(p.PAYMENT_TIME), MIN(p.PAYMENT_TIME))",
+                "DATEDIFF(DAY, MIN(p.PAYMENT_TIME), MAX(p.PAYMENT_TIME))");
+        List<Map<String, Object>> expected = jdbcTemplate.queryForList(sql.substring(0, sql.length() - 1));
+
+        List<PaymentReportRow> actual = paymentAnalyticsService.report(PaymentAnalyticsService.GroupBy.EMPLOYEE, null, null);
+
+        assertEquals(108, expected.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Map<String, Object> row = expected.get(i);
+            PaymentReportRow report = actual.get(i);
+            assertEquals(((Number) row.get("EMP_ID")).longValue(), report.getEmpId(), "row " + i);
+            assertEquals(row.get("DEPARTMENT_NAME"), report.getDepartmentName());
+            assertEquals(((Number) row.get("total_payments")).longValue(), report.getTotalPayments());
+            assertEquals(0, ((BigDecimal) row.get("total_salary_paid")).compareTo(report.getTotalSalaryPaid()));
+            assertEquals(0, ((BigDecimal) row.get("min_salary")).compareTo(report.getMinSalary()));
+            assertEquals(0, ((BigDecimal) row.get("max_salary")).compareTo(report.getMaxSalary()));
+            assertEquals(((BigDecimal) row.get("average_salary")).doubleValue(), report.getAverageSalary().doubleValue(), 0.01);
+            assertEquals(((Timestamp) row.get("first_payment_date")).toLocalDateTime(), report.getFirstPaymentDate());
+            assertEquals(((Timestamp) row.get("last_payment_date")).toLocalDateTime(), report.getLastPaymentDate());
+            assertEquals(((Number) row.get("payment_period_days")).longValue(), report.getPaymentPeriodDays());
+        }
+    }
+
+    @Test
+    void departmentReportHonoursTimeWindow() {
+        LocalDateTime from = LocalDateTime.now().minusDays(200);
+        LocalDateTime to = LocalDateTime.now().minusDays(20);
+        List<Map<String, Object>> expected = jdbcTemplate.queryForList("""
+            SELECT d.DEPARTMENT_ID, COUNT(*) AS CNT, SUM(p.AMOUNT) AS TOTAL, MIN(p.PAYMENT_TIME) AS FIRST_TIME
+            FROM DEPARTMENT d
+            JOIN EMPLOYEE e ON d.DEPARTMENT_ID = e.DEPARTMENT
+            JOIN PAYMENTS p ON e.EMP_ID = p.EMP_ID
+            WHERE p.PAYMENT_TIME >= ? AND p.PAYMENT_TIME < ?
+            GROUP BY d.DEPARTMENT_ID, d.DEPARTMENT_NAME
+            ORDER BY d.DEPARTMENT_NAME ASC, TOTAL DESC
+            """, Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        List<PaymentReportRow> actual = paymentAnalyticsService.report(PaymentAnalyticsService.GroupBy.DEPARTMENT, from, to);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Map<String, Object> row = expected.get(i);
+            PaymentReportRow report = actual.get(i);
+            assertNull(report.getEmpId());
+            assertEquals(((Number) row.get("DEPARTMENT_ID")).longValue(), report.getDepartmentId());
+            assertEquals(((Number) row.get("CNT")).longValue(), report.getTotalPayments());
+            assertEquals(0, ((BigDecimal) row.get("TOTAL")).compareTo(report.getTotalSalaryPaid()));
+            assertEquals(((Timestamp) row.get("FIRST_TIME")).toLocalDateTime(), report.getFirstPaymentDate());
+        }
+    }
+}
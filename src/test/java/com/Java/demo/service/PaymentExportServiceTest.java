@@ -0,0 +1,197 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.PaymentDetailRow;
+import com.Java.demo.service.PaymentExportService.ExportResult;
+import com.Java.demo.service.PaymentExportService.Format;
+import com.Java.demo.service.PaymentExportService.SnapshotResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+    // Small buffers and files, so a few thousand rows span many column groups, flushes and files
+    "app.export.buffer-size=128KB",
+    "app.export.rows-per-file=1000",
+    "app.export.format=columnar"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PaymentExportService.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentExportServiceTest {
+
+    private static final int PAYMENTS = 5000;
+    private static final LocalDate DAY = LocalDate.of(2025, 2, 1);
+    private static final Path EXPORTS;
+
+    static {
+        try {
+            EXPORTS = Files.createTempDirectory("payment-exports");
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void exportDirectory(DynamicPropertyRegistry registry) {
+        registry.add("app.export.directory", EXPORTS::toString);
+    }
+
+    @Autowired
+    private PaymentExportService paymentExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        FileSystemUtils.deleteRecursively(EXPORTS);
+        Files.createDirectories(EXPORTS);
+        jdbcTemplate.update("DELETE FROM EMPLOYEE_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM PAYMENTS");
+        jdbcTemplate.update("DELETE FROM EMPLOYEE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT");
+
+        jdbcTemplate.update("INSERT INTO DEPARTMENT (DEPARTMENT_ID, DEPARTMENT_NAME) VALUES (1, 'Research, Applied'), (2, 'Sales')");
+        jdbcTemplate.update("INSERT INTO EMPLOYEE (EMP_ID, FIRST_NAME, LAST_NAME, DEPARTMENT) VALUES"
+            + " (1, 'Alice', 'Brown', 1), (2, 'Zoë', 'O\"Neil', 2), (3, 'Nomad', NULL, NULL)");
+        List<Object[]> payments = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int id = 1; id <= PAYMENTS; id++) {
+            payments.add(new Object[] {
+                id,
+                id % 97 == 0 ? null : (long) (id % 3 + 1),
+                id % 89 == 0 ? null : BigDecimal.valueOf(100_000L + id * 37L % 900_000, 2),
+                id % 83 == 0 ? null : Timestamp.valueOf(base.plusMinutes(id * 7L).plusNanos(id % 5 * 1_000L))
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO PAYMENTS (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME) VALUES (?, ?, ?, ?)", payments);
+    }
+
+    @Test
+    void csvExportWritesTheJoinedRows() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportResult result = paymentExportService.export(Format.CSV, 0, 3, Channels.newChannel(out));
+
+        assertEquals(3, result.rows());
+        assertEquals(3L, result.lastPaymentId());
+        assertEquals(out.size(), result.bytes());
+        assertEquals(PaymentReportService.CSV_HEADER
+                + "1,2025-01-01T09:07:00.000001,1000.37,2,Zoë,\"O\"\"Neil\",2,Sales\n"
+                + "2,2025-01-01T09:14:00.000002,1000.74,3,Nomad,,,\n"
+                + "3,2025-01-01T09:21:00.000003,1001.11,1,Alice,Brown,1,\"Research, Applied\"\n",
+            out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void columnarExportReadsBackEveryRow() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportResult result = paymentExportService.export(Format.COLUMNAR, 0, Long.MAX_VALUE, Channels.newChannel(out));
+
+        assertEquals(PAYMENTS, result.rows());
+        assertEquals(expectedRows(0, Long.MAX_VALUE), readColumnar(out.toByteArray()));
+    }
+
+    @Test
+    void rangesResumeAfterTheLastPaymentId() throws IOException {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ExportResult head = paymentExportService.export(Format.COLUMNAR, 0, 2000, Channels.newChannel(first));
+        ByteArrayOutputStream rest = new ByteArrayOutputStream();
+        ExportResult tail = paymentExportService.export(Format.COLUMNAR, head.lastPaymentId(), Long.MAX_VALUE,
+            Channels.newChannel(rest));
+
+        assertEquals(2000L, head.lastPaymentId());
+        assertEquals(PAYMENTS - 2000, tail.rows());
+        List<List<Object>> rows = new ArrayList<>(readColumnar(first.toByteArray()));
+        rows.addAll(readColumnar(rest.toByteArray()));
+        assertEquals(expectedRows(0, Long.MAX_VALUE), rows);
+
+        ByteArrayOutputStream none = new ByteArrayOutputStream();
+        ExportResult empty = paymentExportService.export(Format.COLUMNAR, PAYMENTS, Long.MAX_VALUE, Channels.newChannel(none));
+        assertNull(empty.lastPaymentId());
+        assertTrue(readColumnar(none.toByteArray()).isEmpty());
+    }
+
+    @Test
+    void snapshotResumesAfterTheLastCompleteFile() throws IOException {
+        SnapshotResult first = paymentExportService.snapshot(DAY);
+        assertFalse(first.resumed());
+        assertEquals(Format.COLUMNAR, first.format());
+        assertEquals(5, first.files());
+        assertEquals(PAYMENTS, first.untilId());
+        List<Path> files = paymentExportService.snapshotFiles(DAY);
+        assertEquals("payments-1-1000.pcol", files.get(0).getFileName().toString());
+        assertEquals("payments-4001-5000.pcol", files.get(4).getFileName().toString());
+
+        // A run that died while writing the fourth file, after which new payments arrived
+        Files.delete(files.get(3));
+        Files.delete(files.get(4));
+        Files.delete(first.directory().resolve(PaymentExportService.SUCCESS_FILE));
+        Files.writeString(first.directory().resolve("payments-3001.pcol.partial"), "torn");
+        jdbcTemplate.update("INSERT INTO PAYMENTS (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME) VALUES (9999, 1, 1.00, NULL)");
+
+        SnapshotResult second = paymentExportService.snapshot(DAY);
+        assertTrue(second.resumed());
+        assertEquals(2, second.files());
+        assertEquals(2000, second.rows());
+        assertFalse(Files.exists(first.directory().resolve("payments-3001.pcol.partial")));
+        assertNotNull(paymentExportService.snapshotFile(DAY, PaymentExportService.SUCCESS_FILE));
+        assertNull(paymentExportService.snapshotFile(DAY, "../" + DAY + "/manifest.properties"));
+
+        List<List<Object>> rows = new ArrayList<>();
+        for (Path file : paymentExportService.snapshotFiles(DAY)) {
+            try (FileChannel channel = FileChannel.open(file)) {
+                PaymentColumnarReader.read(channel, row -> rows.add(values(row)));
+            }
+        }
+        assertEquals(expectedRows(0, PAYMENTS), rows);
+    }
+
+    private List<List<Object>> expectedRows(long afterId, long untilId) {
+        return jdbcTemplate.query(PaymentExportService.COLUMNS + " WHERE p.PAYMENT_ID > ? AND p.PAYMENT_ID <= ?"
+                + " ORDER BY p.PAYMENT_ID",
+            (rs, rowNum) -> values(new PaymentDetailRow(rs.getLong(1), rs.getObject(2, LocalDateTime.class),
+                rs.getBigDecimal(3), rs.getObject(4, Long.class), rs.getString(5), rs.getString(6),
+                rs.getObject(7, Long.class), rs.getString(8))),
+            afterId, untilId);
+    }
+
+    private static List<List<Object>> readColumnar(byte[] export) throws IOException {
+        List<List<Object>> rows = new ArrayList<>();
+        PaymentColumnarReader.read(Channels.newChannel(new ByteArrayInputStream(export)), row -> rows.add(values(row)));
+        return rows;
+    }
+
+    private static List<Object> values(PaymentDetailRow row) {
+        return Arrays.asList(row.getPaymentId(), row.getPaymentTime(), row.getAmount(), row.getEmpId(),
+            row.getFirstName(), row.getLastName(), row.getDepartmentId(), row.getDepartmentName());
+    }
+}
@@ -0,0 +1,143 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.IngestionResult;
+import com.Java.demo.entity.Department;
+import com.Java.demo.entity.Employee;
+import com.Java.demo.repository.DepartmentRepository;
+import com.Java.demo.repository.EmployeeRepository;
+import com.Java.demo.repository.PaymentAggregateListener;
+import com.Java.demo.repository.PaymentRepository;
+import com.Java.demo.support.JdbcStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "app.ingestion.batch-size=50")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({PaymentIngestionService.class, EmployeeReferenceCache.class, PaymentAggregateService.class,
+    PaymentAggregateListener.class, JdbcStatementCounter.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentIngestionServiceTest {
+
+    @Autowired
+    private PaymentIngestionService paymentIngestionService;
+
+    @Autowired
+    private EmployeeReferenceCache employeeReferenceCache;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcStatementCounter counter;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM PAYMENTS");
+        jdbcTemplate.update("DELETE FROM EMPLOYEE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT");
+        employeeReferenceCache.invalidate();
+
+        Department department = departmentRepository.save(new Department("Engineering"));
+        employee = employeeRepository.save(new Employee("John", "Smith", LocalDate.of(1990, 5, 15), "M", department));
+        counter.reset();
+    }
+
+    @Test
+    void acceptsValidLinesAndRejectsBadOnes() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            body.append("{\"empId\":").append(employee.getEmpId())
+                .append(",\"amount\":").append(1000 + i)
+                .append(",\"paymentTime\":\"2025-01-01T10:00:00\"}\n");
+        }
+        body.append("{\"empId\":999999,\"amount\":10,\"paymentTime\":\"2025-01-01T10:00:00\"}\n");
+        body.append("not json\n");
+        body.append("\n");
+        body.append("{\"empId\":").append(employee.getEmpId()).append(",\"amount\":-5,\"paymentTime\":\"2025-01-01T10:00:00\"}\n");
+
+        IngestionResult result = paymentIngestionService.ingest(
+            new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(120, result.getAccepted());
+        assertEquals(3, result.getRejected());
+        assertEquals(3, result.getBatches());
+        assertEquals(120, paymentRepository.count());
+    }
+
+    @Test
+    void aFailedBatchRejectsOnlyTheLinesThatCannotBeStored() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 120; i++) {
+            // Line 77 passes validation but overflows AMOUNT DECIMAL(38,2) in the database
+            String amount = i == 77 ? "1e40" : String.valueOf(1000 + i);
+            body.append("{\"empId\":").append(employee.getEmpId())
+                .append(",\"amount\":").append(amount)
+                .append(",\"paymentTime\":\"2025-01-01T10:00:00\"}\n");
+        }
+
+        IngestionResult result = paymentIngestionService.ingest(
+            new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(119, result.getAccepted());
+        assertEquals(1, result.getRejected());
+        assertTrue(result.getErrors().get(0).startsWith("line 77: not stored"), result.getErrors()::toString);
+        assertEquals(119, paymentRepository.count());
+    }
+
+    @Test
+    void unknownEmployeesAreLookedUpOncePerUpload() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            body.append("{\"empId\":999999,\"amount\":10,\"paymentTime\":\"2025-01-01T10:00:00\"}\n");
+        }
+
+        IngestionResult result = paymentIngestionService.ingest(
+            new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(100, result.getRejected());
+        // The initial table load plus one lookup of the missing ID
+        assertTrue(counter.singleExecutionsContaining("from EMPLOYEE ") <= 2, counter::describe);
+    }
+
+    @Test
+    void employeeReferencesDoNotCostASelectPerRow() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            body.append("{\"empId\":").append(employee.getEmpId())
+                .append(",\"amount\":100.50,\"paymentTime\":\"2025-02-01T09:30:00\"}\n");
+        }
+
+        paymentIngestionService.ingest(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(counter.singleExecutionsContaining("from EMPLOYEE ") <= 1, counter::describe);
+        assertEquals(0, counter.singleExecutions("insert into PAYMENTS"));
+        assertEquals(200, counter.batchedRows("insert into PAYMENTS"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.PaymentDetailRow;
+import com.Java.demo.entity.Department;
+import com.Java.demo.entity.Employee;
+import com.Java.demo.entity.Payment;
+import com.Java.demo.repository.DepartmentRepository;
+import com.Java.demo.repository.EmployeeRepository;
+import com.Java.demo.repository.PaymentAggregateListener;
+import com.Java.demo.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PaymentReportService.class, PaymentAggregateService.class, PaymentAggregateListener.class,
+    EmployeeReferenceCache.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentReportServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Autowired
+    private PaymentReportService paymentReportService;
+
+    @Autowired
+    private EmployeeReferenceCache employeeReferenceCache;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM EMPLOYEE_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM PAYMENTS");
+        jdbcTemplate.update("DELETE FROM EMPLOYEE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT");
+        employeeReferenceCache.invalidate();
+
+        Department department = departmentRepository.save(new Department("Research, Applied"));
+        Employee alice = employeeRepository.save(new Employee("Alice", "Brown", LocalDate.of(1991, 12, 5), "F", department));
+        Employee bob = employeeRepository.save(new Employee("Bob", "Johnson", LocalDate.of(1992, 3, 10), "M", department));
+
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // Pairs share a timestamp so the PAYMENT_ID tie-break is exercised
+            payments.add(new Payment(i % 2 == 0 ? alice : bob, BigDecimal.valueOf(1000 + i), BASE.plusDays(i / 2)));
+        }
+        paymentRepository.saveAll(payments);
+    }
+
+    @Test
+    void keysetPagesCoverEveryRowOnceInOrder() {
+        List<PaymentDetailRow> all = new ArrayList<>();
+        LocalDateTime afterTime = null;
+        Long afterId = null;
+        int pages = 0;
+        do {
+            PaymentReportService.Page page = paymentReportService.page(afterTime, afterId, 3);
+            all.addAll(page.rows());
+            afterTime = page.nextAfterTime();
+            afterId = page.nextAfterId();
+            pages++;
+        } while (afterId != null);
+
+        assertEquals(4, pages);
+        assertEquals(10, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            PaymentDetailRow previous = all.get(i - 1);
+            PaymentDetailRow current = all.get(i);
+            int byTime = previous.getPaymentTime().compareTo(current.getPaymentTime());
+            assertTrue(byTime < 0 || (byTime == 0 && previous.getPaymentId() < current.getPaymentId()),
+                "rows out of keyset order at " + i);
+        }
+        assertEquals("Research, Applied", all.get(0).getDepartmentName());
+        assertNotNull(all.get(0).getFirstName());
+    }
+
+    @Test
+    void exportStreamsNdjsonAndCsv() {
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long rows = paymentReportService.export(PaymentReportService.Format.NDJSON, null, null, ndjson);
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(10, rows);
+        assertEquals(10, lines.length);
+        assertTrue(lines[0].startsWith("{\"paymentId\":"), lines[0]);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        rows = paymentReportService.export(PaymentReportService.Format.CSV, BASE.plusDays(1), BASE.plusDays(3), csv);
+        lines = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, rows);
+        assertEquals(5, lines.length);
+        assertTrue(lines[1].endsWith(",\"Research, Applied\""), lines[1]);
+    }
+}
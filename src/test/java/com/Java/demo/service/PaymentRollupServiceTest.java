@@ -0,0 +1,161 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.PaymentReportRow;
+import com.Java.demo.entity.Department;
+import com.Java.demo.entity.Employee;
+import com.Java.demo.entity.Payment;
+import com.Java.demo.repository.DepartmentRepository;
+import com.Java.demo.repository.EmployeeRepository;
+import com.Java.demo.repository.PaymentAggregateListener;
+import com.Java.demo.repository.PaymentRepository;
+import com.Java.demo.service.PaymentAnalyticsService.GroupBy;
+import com.Java.demo.service.PaymentRollupService.PayrollReport;
+import com.Java.demo.service.PaymentRollupService.RawRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PaymentRollupService.class, PaymentAggregateService.class, PaymentAggregateListener.class,
+    EmployeeReferenceCache.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentRollupServiceTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private PaymentRollupService paymentRollupService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EmployeeReferenceCache employeeReferenceCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Employee alice;
+    private Employee bob;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM PAYMENT_MONTHLY_ROLLUP");
+        jdbcTemplate.update("DELETE FROM PAYMENT_ROLLUP_MONTH");
+        jdbcTemplate.update("DELETE FROM EMPLOYEE_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT_PAYMENT_AGGREGATE");
+        jdbcTemplate.update("DELETE FROM PAYMENTS");
+        jdbcTemplate.update("DELETE FROM EMPLOYEE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT");
+        employeeReferenceCache.invalidate();
+
+        Department engineering = departmentRepository.save(new Department("Engineering"));
+        Department sales = departmentRepository.save(new Department("Sales"));
+        alice = employeeRepository.save(new Employee("Alice", "Brown", LocalDate.of(1991, 12, 5), "F", engineering));
+        bob = employeeRepository.save(new Employee("Bob", "Johnson", LocalDate.of(1992, 3, 10), "M", sales));
+
+        // Two payments per employee in each month of 2025
+        List<Payment> payments = new ArrayList<>();
+        for (int month = 0; month < 12; month++) {
+            LocalDateTime start = JANUARY.plusMonths(month);
+            payments.add(new Payment(alice, new BigDecimal(1000 + month * 10 + ".00"), start.plusDays(4).plusHours(9)));
+            payments.add(new Payment(alice, new BigDecimal("50.25"), start.plusDays(19)));
+            payments.add(new Payment(bob, new BigDecimal(700 + month + ".50"), start.plusDays(14).plusHours(12)));
+            payments.add(new Payment(bob, new BigDecimal("80.00"), start.plusDays(27)));
+        }
+        paymentRepository.saveAll(payments);
+    }
+
+    @Test
+    void rollupsAnswerWholeMonthsAndRawRowsTheRest() {
+        LocalDateTime from = JANUARY.plusDays(10);
+        LocalDateTime to = JANUARY.plusMonths(11).plusDays(16);
+        List<String> rawEmployees = describe(paymentRollupService.report(GroupBy.EMPLOYEE, from, to));
+        List<String> rawDepartments = describe(paymentRollupService.report(GroupBy.DEPARTMENT, from, to));
+
+        PaymentRollupService.CompactionResult result = paymentRollupService.compactClosedMonths();
+        // Every closed month since the first payment, including the empty ones after 2025
+        assertEquals(ChronoUnit.MONTHS.between(JANUARY.toLocalDate(), LocalDate.now().withDayOfMonth(1)),
+            result.monthsCompacted());
+        assertEquals(24, result.rollupRows());
+        assertEquals(0, paymentRollupService.compactClosedMonths().monthsCompacted());
+
+        PayrollReport report = paymentRollupService.report(GroupBy.EMPLOYEE, from, to);
+        assertEquals(rawEmployees, describe(report));
+        assertEquals(rawDepartments, describe(paymentRollupService.report(GroupBy.DEPARTMENT, from, to)));
+
+        // February to November from the rollups, the partial ends of January and December from PAYMENTS
+        assertEquals(10, report.compactedMonths());
+        assertEquals(20, report.rollupRowsRead());
+        assertEquals(List.of(new RawRange(from, JANUARY.plusMonths(1)), new RawRange(JANUARY.plusMonths(11), to)),
+            report.rawRanges());
+        assertEquals(5, report.rawPaymentsRead());
+    }
+
+    @Test
+    void writesIntoACompactedMonthFallBackToRawRowsUntilRecompacted() {
+        paymentRollupService.compactClosedMonths();
+        paymentRepository.save(new Payment(alice, new BigDecimal("5000.00"), JANUARY.plusMonths(3).plusDays(2)));
+
+        PayrollReport stale = paymentRollupService.report(GroupBy.EMPLOYEE, JANUARY, JANUARY.plusYears(1));
+        assertEquals(11, stale.compactedMonths());
+        assertEquals(List.of(new RawRange(JANUARY.plusMonths(3), JANUARY.plusMonths(4))), stale.rawRanges());
+        assertEquals(5, stale.rawPaymentsRead());
+        PaymentReportRow aliceRow = stale.rows().stream()
+            .filter(row -> row.getEmpId().equals(alice.getEmpId())).findFirst().orElseThrow();
+        assertEquals(25, aliceRow.getTotalPayments());
+        assertEquals(0, new BigDecimal("5000.00").compareTo(aliceRow.getMaxSalary()));
+
+        assertEquals(1, paymentRollupService.compactClosedMonths().monthsCompacted());
+        PayrollReport compacted = paymentRollupService.report(GroupBy.EMPLOYEE, JANUARY, JANUARY.plusYears(1));
+        assertEquals(12, compacted.compactedMonths());
+        assertEquals(List.of(), compacted.rawRanges());
+        assertEquals(describe(stale), describe(compacted));
+    }
+
+    @Test
+    void rawRangesSkipCompactedMonths() {
+        LocalDateTime from = JANUARY.plusDays(3);
+        LocalDateTime to = JANUARY.plusMonths(5);
+        List<LocalDate> compacted = List.of(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 4, 1));
+
+        assertEquals(List.of(
+                new RawRange(from, JANUARY.plusMonths(1)),
+                new RawRange(JANUARY.plusMonths(2), JANUARY.plusMonths(3)),
+                new RawRange(JANUARY.plusMonths(4), to)),
+            PaymentRollupService.rawRanges(from, to, compacted));
+        assertEquals(List.of(new RawRange(from, to)), PaymentRollupService.rawRanges(from, to, List.of()));
+    }
+
+    private static List<String> describe(PayrollReport report) {
+        return report.rows().stream()
+            .map(row -> row.getDepartmentName() + "|" + row.getEmpId() + "|" + row.getTotalPayments() + "|"
+                + row.getTotalSalaryPaid().stripTrailingZeros() + "|" + row.getAverageSalary().stripTrailingZeros() + "|"
+                + row.getMinSalary().stripTrailingZeros() + "|" + row.getMaxSalary().stripTrailingZeros() + "|"
+                + row.getFirstPaymentDate() + "|" + row.getLastPaymentDate() + "|" + row.getPaymentPeriodDays())
+            .toList();
+    }
+}
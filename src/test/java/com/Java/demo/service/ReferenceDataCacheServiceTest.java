@@ -0,0 +1,154 @@
+package com.Java.demo.service;
+
+import com.Java.demo.config.SecondLevelCacheConfig;
+import com.Java.demo.dto.CacheRegionStats;
+import com.Java.demo.entity.Department;
+import com.Java.demo.entity.Employee;
+import com.Java.demo.repository.DepartmentRepository;
+import com.Java.demo.repository.EmployeeRepository;
+import com.Java.demo.support.JdbcStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.cache.CacheManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SecondLevelCacheConfig.class, ReferenceDataCacheService.class, EmployeeReferenceCache.class,
+    JdbcStatementCounter.Config.class})
+@TestPropertySource(properties = "app.cache.reference.max-entries=5")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheServiceTest {
+
+    private static final String DEPARTMENT_REGION = Department.class.getName();
+    private static final String EMPLOYEE_REGION = Employee.class.getName();
+
+    @Autowired
+    private ReferenceDataCacheService referenceDataCacheService;
+
+    @Autowired
+    private EmployeeReferenceCache employeeReferenceCache;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CacheManager secondLevelCacheManager;
+
+    @Autowired
+    private JdbcStatementCounter counter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM PAYMENTS");
+        jdbcTemplate.update("DELETE FROM EMPLOYEE");
+        jdbcTemplate.update("DELETE FROM DEPARTMENT");
+        referenceDataCacheService.evictAll();
+        employeeReferenceCache.invalidate();
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromCache() {
+        Department department = departmentRepository.save(new Department("Engineering"));
+
+        counter.reset();
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Engineering", departmentRepository.findById(department.getDepartmentId())
+                .orElseThrow().getDepartmentName());
+        }
+
+        // The write put the entity into the cache, so no lookup reaches the database
+        assertEquals(0, counter.totalStatements(), counter.describe());
+        CacheRegionStats stats = region(DEPARTMENT_REGION);
+        assertTrue(stats.getHits() >= 5, "hits: " + stats.getHits());
+    }
+
+    @Test
+    void writesRefreshCachedEntities() {
+        Department department = departmentRepository.save(new Department("Sales"));
+        assertEquals("Sales", departmentRepository.findById(department.getDepartmentId())
+            .orElseThrow().getDepartmentName());
+
+        department.setDepartmentName("Sales EMEA");
+        departmentRepository.save(department);
+
+        counter.reset();
+        assertEquals("Sales EMEA", departmentRepository.findById(department.getDepartmentId())
+            .orElseThrow().getDepartmentName());
+        assertEquals(0, counter.totalStatements(), counter.describe());
+
+        Employee employee = employeeRepository.save(
+            new Employee("Jane", "Doe", LocalDate.of(1988, 8, 22), "F", department));
+        counter.reset();
+        assertEquals(department.getDepartmentId(), employeeReferenceCache.departmentOf(employee.getEmpId()));
+        assertEquals(1, counter.totalStatements(), "only the initial EMPLOYEE load: " + counter.describe());
+
+        employeeRepository.delete(employee);
+        assertNull(employeeReferenceCache.departmentOf(employee.getEmpId()));
+    }
+
+    @Test
+    void regionsAreBoundedBySize() {
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            departments.add(new Department("Department " + i));
+        }
+        departmentRepository.saveAll(departments);
+        departments.forEach(department -> departmentRepository.findById(department.getDepartmentId()));
+
+        secondLevelCacheManager.getCache(DEPARTMENT_REGION)
+            .unwrap(com.github.benmanes.caffeine.cache.Cache.class)
+            .cleanUp();
+
+        CacheRegionStats stats = region(DEPARTMENT_REGION);
+        assertEquals(5L, stats.getMaxEntries());
+        assertTrue(stats.getSize() <= 5, "size: " + stats.getSize());
+        assertTrue(stats.getEvictions() >= 15, "evictions: " + stats.getEvictions());
+    }
+
+    @Test
+    void fullTableReadsDoNotEvictTheWorkingSet() {
+        Department department = departmentRepository.save(new Department("Support"));
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            employees.add(new Employee("First" + i, "Last" + i, LocalDate.of(1990, 1, 1), "F", department));
+        }
+        employeeRepository.saveAll(employees);
+        referenceDataCacheService.evictAll();
+        Long hot = employees.get(0).getEmpId();
+        employeeRepository.findById(hot);
+
+        assertEquals(20, employeeRepository.findAllWithDepartment().size());
+
+        assertEquals(1, region(EMPLOYEE_REGION).getSize());
+        counter.reset();
+        assertTrue(employeeRepository.findById(hot).isPresent());
+        assertEquals(0, counter.totalStatements(), counter.describe());
+    }
+
+    private CacheRegionStats region(String name) {
+        return referenceDataCacheService.stats().stream()
+            .filter(stats -> stats.getRegion().equals(name))
+            .findFirst()
+            .orElseThrow();
+    }
+}
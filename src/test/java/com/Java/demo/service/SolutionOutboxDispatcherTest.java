@@ -0,0 +1,204 @@
+package com.Java.demo.service;
+
+import com.Java.demo.entity.SolutionOutboxEntry;
+import com.Java.demo.entity.SolutionOutboxEntry.Status;
+import com.Java.demo.repository.SolutionOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SolutionOutboxService.class, SolutionOutboxDispatcher.class, SolutionOutboxDispatcherTest.RemoteStub.class})
+@TestPropertySource(properties = {
+    "app.outbox.parallelism=3",
+    "app.outbox.max-attempts=3",
+    "app.outbox.initial-backoff=20ms",
+    "app.outbox.max-backoff=50ms"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SolutionOutboxDispatcherTest {
+
+    /** Scripted endpoint: maps the n-th attempt (1-based) of a token to the exception it throws, or null. */
+    private static volatile Function<Integer, RuntimeException> endpoint = attempt -> null;
+    private static final Map<String, AtomicInteger> ATTEMPTS = new ConcurrentHashMap<>();
+    private static final List<String> SENT_KEYS = Collections.synchronizedList(new ArrayList<>());
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final AtomicInteger MAX_IN_FLIGHT = new AtomicInteger();
+
+    @Autowired
+    private SolutionOutboxService outboxService;
+
+    @Autowired
+    private SolutionOutboxDispatcher dispatcher;
+
+    @Autowired
+    private SolutionOutboxRepository outboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        endpoint = attempt -> null;
+        ATTEMPTS.clear();
+        SENT_KEYS.clear();
+        MAX_IN_FLIGHT.set(0);
+    }
+
+    @Test
+    void enqueueIsIdempotent() {
+        SolutionOutboxEntry first = outboxService.enqueue("token-1", "SELECT 1");
+        SolutionOutboxEntry again = outboxService.enqueue("token-1", "SELECT 1");
+        SolutionOutboxEntry other = outboxService.enqueue("token-2", "SELECT 1");
+
+        assertEquals(first.getId(), again.getId());
+        assertNotEquals(first.getIdempotencyKey(), other.getIdempotencyKey());
+        assertEquals(2, outboxRepository.count());
+        assertEquals(Status.PENDING, first.getStatus());
+    }
+
+    @Test
+    void transientFailuresAreRetriedWithTheSameKey() throws Exception {
+        endpoint = attempt -> attempt < 3 ? new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE) : null;
+        SolutionOutboxEntry entry = outboxService.enqueue("token-1", "SELECT 1");
+
+        SolutionOutboxEntry delivered = drainUntil(entry.getId(), Status.DELIVERED);
+
+        assertEquals(3, delivered.getAttempts());
+        assertNotNull(delivered.getDeliveredAt());
+        assertNull(delivered.getLastError());
+        assertEquals(List.of(entry.getIdempotencyKey(), entry.getIdempotencyKey(), entry.getIdempotencyKey()), SENT_KEYS);
+        assertEquals(1, meterRegistry.get("outbox.delivery.latency").timer().count());
+        assertEquals(2, meterRegistry.get("outbox.delivery.attempts").tag("outcome", "retry").timer().count());
+        assertEquals(0.0, meterRegistry.get("outbox.queue.depth").gauge().value());
+    }
+
+    @Test
+    void exhaustedAndRejectedSubmissionsAreDeadLettered() throws Exception {
+        endpoint = attempt -> new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+        SolutionOutboxEntry flaky = outboxService.enqueue("token-flaky", "SELECT 1");
+        SolutionOutboxEntry exhausted = drainUntil(flaky.getId(), Status.DEAD);
+        assertEquals(3, exhausted.getAttempts());
+        assertTrue(exhausted.getLastError().contains("502"), exhausted.getLastError());
+
+        endpoint = attempt -> new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+        SolutionOutboxEntry rejected = outboxService.enqueue("token-rejected", "SELECT 1");
+        assertEquals(1, dispatcher.dispatchDue());
+        assertEquals(Status.DEAD, outboxRepository.findById(rejected.getId()).orElseThrow().getStatus());
+        assertEquals(2.0, meterRegistry.get("outbox.dead.letters").gauge().value());
+
+        // A dead letter can be put back with a fresh attempt budget
+        endpoint = attempt -> null;
+        assertTrue(outboxService.requeue(rejected.getId()));
+        assertFalse(outboxService.requeue(rejected.getId()));
+        SolutionOutboxEntry redelivered = drainUntil(rejected.getId(), Status.DELIVERED);
+        assertEquals(1, redelivered.getAttempts());
+    }
+
+    @Test
+    void deliveriesRunConcurrentlyWithinTheParallelismBound() {
+        for (int i = 0; i < 12; i++) {
+            outboxService.enqueue("token-" + i, "SELECT " + i);
+        }
+
+        assertEquals(12, dispatcher.dispatchDue());
+
+        assertEquals(12, outboxRepository.findAll().stream().filter(e -> e.getStatus() == Status.DELIVERED).count());
+        assertEquals(3, MAX_IN_FLIGHT.get());
+        assertEquals(0, dispatcher.dispatchDue());
+    }
+
+    @Test
+    void backoffGrowsExponentiallyWithJitterUpToTheCap() {
+        for (int i = 0; i < 50; i++) {
+            long first = dispatcher.backoff(1).toMillis();
+            long second = dispatcher.backoff(2).toMillis();
+            long capped = dispatcher.backoff(10).toMillis();
+            assertTrue(first >= 10 && first <= 20, "attempt 1: " + first);
+            assertTrue(second >= 20 && second <= 40, "attempt 2: " + second);
+            assertTrue(capped >= 25 && capped <= 50, "attempt 10: " + capped);
+        }
+    }
+
+    private SolutionOutboxEntry drainUntil(Long id, Status status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            dispatcher.dispatchDue();
+            SolutionOutboxEntry entry = outboxRepository.findById(id).orElseThrow();
+            if (entry.getStatus() == status) {
+                return entry;
+            }
+            assertTrue(System.nanoTime() < deadline, "entry never reached " + status + ": " + entry.getStatus());
+            Thread.sleep(Duration.ofMillis(10));
+        }
+    }
+
+    @TestConfiguration
+    static class RemoteStub {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        RestTemplate restTemplate() {
+            return new RestTemplate();
+        }
+
+        @Bean
+        WebhookService webhookService() {
+            return new WebhookService() {
+                @Override
+                public void deliverSolution(SolutionOutboxEntry entry) {
+                    int inFlight = IN_FLIGHT.incrementAndGet();
+                    MAX_IN_FLIGHT.accumulateAndGet(inFlight, Math::max);
+                    try {
+                        SENT_KEYS.add(entry.getIdempotencyKey());
+                        int attempt = ATTEMPTS.computeIfAbsent(entry.getAccessToken(), token -> new AtomicInteger())
+                            .incrementAndGet();
+                        // Long enough for the dispatcher to fill every delivery slot
+                        Thread.sleep(50);
+                        RuntimeException failure = endpoint.apply(attempt);
+                        if (failure != null) {
+                            throw failure;
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                    } finally {
+                        IN_FLIGHT.decrementAndGet();
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.WebhookResponse;
+import com.Java.demo.entity.SolutionOutboxEntry;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "app.pipeline.run-on-startup=true",
+    "app.pipeline.max-concurrent-runs=1",
+    "app.pipeline.queue-capacity=1",
+    // Every run must reach the stubbed remote call
+    "app.webhook.token-cache.ttl=0s"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class WebhookPipelineTest {
+
+    /** Holds the remote webhook call until the test releases it. */
+    private static final AtomicReference<CountDownLatch> REMOTE_RESPONSE = new AtomicReference<>(new CountDownLatch(1));
+    private static final AtomicBoolean REMOTE_FAILS = new AtomicBoolean();
+    private static final AtomicReference<String> SUBMITTED_TOKEN = new AtomicReference<>();
+
+    @Autowired
+    private WebhookPipeline webhookPipeline;
+
+    @Autowired
+    private WebhookPipelineHealthIndicator healthIndicator;
+
+    @Test
+    @Order(1)
+    @SuppressWarnings("unchecked")
+    void startupRunDoesNotGateReadiness() throws Exception {
+        // The context finished starting while the first stage is still waiting on the remote call
+        PipelineRun run = webhookPipeline.getLastRun();
+        assertNotNull(run);
+        assertNotNull(webhookPipeline.getStartupToReadyMillis());
+        awaitStage(run, WebhookPipeline.GENERATE_WEBHOOK);
+
+        Health health = healthIndicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(PipelineRun.State.RUNNING, health.getDetails().get("state"));
+        assertEquals(0L, health.getDetails().get("completedStages"));
+
+        REMOTE_RESPONSE.get().countDown();
+        run.getCompletion().get(30, TimeUnit.SECONDS);
+
+        Map<String, Object> description = run.describe();
+        assertEquals(PipelineRun.State.COMPLETED, description.get("state"));
+        assertEquals(3L, description.get("completedStages"));
+        List<Map<String, Object>> stages = (List<Map<String, Object>>) description.get("stages");
+        assertEquals(WebhookPipeline.STAGES, stages.stream().map(stage -> stage.get("name")).toList());
+        stages.forEach(stage -> assertNotNull(stage.get("elapsedMillis"), stage.toString()));
+        assertEquals("token-1", SUBMITTED_TOKEN.get());
+    }
+
+    @Test
+    @Order(2)
+    void failedRemoteStageFailsTheRun() throws Exception {
+        REMOTE_RESPONSE.get().countDown();
+        webhookPipeline.getLastRun().getCompletion().get(30, TimeUnit.SECONDS);
+        REMOTE_FAILS.set(true);
+        try {
+            PipelineRun run = webhookPipeline.start().getCompletion().get(30, TimeUnit.SECONDS);
+
+            assertEquals(PipelineRun.State.FAILED, run.getState());
+            assertEquals("Failed to generate webhook", run.describe().get("error"));
+        } finally {
+            REMOTE_FAILS.set(false);
+        }
+    }
+
+    @Test
+    @Order(3)
+    void runsBeyondTheQueueAreRejected() throws Exception {
+        REMOTE_RESPONSE.set(new CountDownLatch(1));
+        PipelineRun running = webhookPipeline.start();
+        awaitStage(running, WebhookPipeline.GENERATE_WEBHOOK);
+        PipelineRun queued = webhookPipeline.start();
+
+        assertThrows(RejectedExecutionException.class, () -> webhookPipeline.start());
+        assertEquals(1, webhookPipeline.getActiveRuns());
+        assertEquals(1, webhookPipeline.getQueuedRuns());
+        assertSame(queued, webhookPipeline.findRun(queued.getId()));
+        assertEquals(PipelineRun.State.PENDING, queued.describe().get("state"));
+        assertNull(queued.describe().get("startedAt"));
+
+        REMOTE_RESPONSE.get().countDown();
+        assertEquals(PipelineRun.State.COMPLETED, running.getCompletion().get(30, TimeUnit.SECONDS).getState());
+        assertEquals(PipelineRun.State.COMPLETED, queued.getCompletion().get(30, TimeUnit.SECONDS).getState());
+        assertNotNull(webhookPipeline.findRun(running.getId()).describe().get("startedAt"));
+        assertNull(webhookPipeline.findRun("unknown"));
+    }
+
+    private static void awaitStage(PipelineRun run, String stage) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!stage.equals(run.describe().get("currentStage"))) {
+            assertTrue(System.nanoTime() < deadline, "stage never started: " + run.describe());
+            Thread.sleep(10);
+        }
+    }
+
+    @TestConfiguration
+    static class RemoteStub {
+
+        @Bean
+        @Primary
+        WebhookService stubWebhookService() {
+            return new WebhookService() {
+                @Override
+                public WebhookResponse generateWebhook() {
+                    try {
+                        REMOTE_RESPONSE.get().await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return null;
+                    }
+                    return REMOTE_FAILS.get() ? null : new WebhookResponse("https://example.test/webhook", "token-1");
+                }
+
+                @Override
+                public SolutionOutboxEntry submitSolution(String accessToken) {
+                    SUBMITTED_TOKEN.set(accessToken);
+                    return null;
+                }
+            };
+        }
+    }
+}
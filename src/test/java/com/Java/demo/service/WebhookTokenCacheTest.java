@@ -0,0 +1,137 @@
+package com.Java.demo.service;
+
+import com.Java.demo.dto.WebhookResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "app.webhook.token-cache.ttl=2s",
+    "app.webhook.token-cache.refresh-ahead=1s"
+})
+class WebhookTokenCacheTest {
+
+    private static final AtomicInteger REMOTE_CALLS = new AtomicInteger();
+    private static final AtomicBoolean REMOTE_FAILS = new AtomicBoolean();
+    private static final AtomicReference<CountDownLatch> REMOTE_RESPONSE = new AtomicReference<>(new CountDownLatch(0));
+
+    @Autowired
+    private WebhookTokenCache webhookTokenCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        webhookTokenCache.invalidate();
+        REMOTE_CALLS.set(0);
+        REMOTE_FAILS.set(false);
+        REMOTE_RESPONSE.set(new CountDownLatch(0));
+    }
+
+    @Test
+    void burstOfCallersSharesOneRemoteCall() throws Exception {
+        REMOTE_RESPONSE.set(new CountDownLatch(1));
+        double coalescedBefore = count("coalesced");
+
+        ExecutorService callers = Executors.newFixedThreadPool(20);
+        try {
+            List<Future<WebhookResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                responses.add(callers.submit(webhookTokenCache::get));
+            }
+            await(() -> count("coalesced") - coalescedBefore == 19);
+            REMOTE_RESPONSE.get().countDown();
+
+            for (Future<WebhookResponse> response : responses) {
+                assertEquals("token-1", response.get(10, TimeUnit.SECONDS).getAccessToken());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, REMOTE_CALLS.get());
+
+        // Still fresh: served from the cache
+        assertEquals("token-1", webhookTokenCache.get().getAccessToken());
+        assertEquals(1, REMOTE_CALLS.get());
+    }
+
+    @Test
+    void refreshesAheadOfExpiryWithoutBlockingCallers() throws Exception {
+        assertEquals("token-1", webhookTokenCache.get().getAccessToken());
+        Thread.sleep(1_200);
+
+        // Inside the refresh-ahead window: the cached token is returned while a refresh runs
+        REMOTE_RESPONSE.set(new CountDownLatch(1));
+        assertEquals("token-1", webhookTokenCache.get().getAccessToken());
+        await(() -> REMOTE_CALLS.get() == 2);
+        REMOTE_RESPONSE.get().countDown();
+
+        await(() -> "token-2".equals(webhookTokenCache.get().getAccessToken()));
+        assertEquals(2, REMOTE_CALLS.get());
+    }
+
+    @Test
+    void failedCallsAreNotCached() {
+        REMOTE_FAILS.set(true);
+        assertNull(webhookTokenCache.get());
+        assertNull(webhookTokenCache.get());
+        assertEquals(2, REMOTE_CALLS.get());
+
+        REMOTE_FAILS.set(false);
+        assertEquals("token-3", webhookTokenCache.get().getAccessToken());
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("webhook.token.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached");
+            Thread.sleep(5);
+        }
+    }
+
+    @TestConfiguration
+    static class RemoteStub {
+
+        @Bean
+        @Primary
+        WebhookService stubWebhookService() {
+            return new WebhookService() {
+                @Override
+                public WebhookResponse generateWebhook() {
+                    int call = REMOTE_CALLS.incrementAndGet();
+                    try {
+                        REMOTE_RESPONSE.get().await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return null;
+                    }
+                    return REMOTE_FAILS.get() ? null : new WebhookResponse("https://example.test/webhook", "token-" + call);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.Java.demo.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps the application DataSource with JDK proxies and counts what reaches the
+ * driver: single statement executions, JDBC batches and the rows inside them.
+ * Import {@link Config} into a test to install it.
+ */
+public class JdbcStatementCounter {
+
+    private static final Set<String> SINGLE_EXECUTIONS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+    private static final Set<String> BATCH_EXECUTIONS = Set.of("executeBatch", "executeLargeBatch");
+
+    private final Map<String, AtomicLong> singles = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> batches = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> batchedRows = new ConcurrentHashMap<>();
+
+    public DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            return result instanceof Connection connection ? wrapConnection(connection) : result;
+        });
+    }
+
+    public void reset() {
+        singles.clear();
+        batches.clear();
+        batchedRows.clear();
+    }
+
+    /** Statements sent to the database, counting each JDBC batch once. */
+    public long totalStatements() {
+        return sum(singles, "") + sum(batches, "");
+    }
+
+    public long singleExecutions(String sqlPrefix) {
+        return sum(singles, sqlPrefix);
+    }
+
+    public long singleExecutionsContaining(String sqlFragment) {
+        // Not trimmed, so a trailing space can mark the end of a table name
+        String fragment = sqlFragment.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return singles.entrySet().stream()
+            .filter(entry -> entry.getKey().contains(fragment))
+            .mapToLong(entry -> entry.getValue().get())
+            .sum();
+    }
+
+    public long batchExecutions(String sqlPrefix) {
+        return sum(batches, sqlPrefix);
+    }
+
+    public long batchedRows(String sqlPrefix) {
+        return sum(batchedRows, sqlPrefix);
+    }
+
+    /** Executed statements with their counts, for assertion messages. */
+    public String describe() {
+        StringBuilder description = new StringBuilder();
+        singles.forEach((sql, count) -> description.append(count).append(" x ").append(sql).append('\n'));
+        batches.forEach((sql, count) -> description.append(count).append(" x batch ").append(sql).append('\n'));
+        return description.toString();
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            if (result instanceof PreparedStatement statement && args != null && args[0] instanceof String sql) {
+                return wrapStatement(PreparedStatement.class, statement, sql);
+            }
+            if (result instanceof Statement statement && !(result instanceof PreparedStatement)) {
+                return wrapStatement(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    private <T extends Statement> T wrapStatement(Class<T> type, T statement, String preparedSql) {
+        return proxy(type, statement, (target, method, args) -> {
+            String name = method.getName();
+            String sql = preparedSql != null ? preparedSql
+                : args != null && args.length > 0 && args[0] instanceof String s ? s : "";
+            if (SINGLE_EXECUTIONS.contains(name)) {
+                increment(singles, sql, 1);
+            } else if (BATCH_EXECUTIONS.contains(name)) {
+                increment(batches, sql, 1);
+            } else if ("addBatch".equals(name)) {
+                increment(batchedRows, sql, 1);
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    private static void increment(Map<String, AtomicLong> counters, String sql, long delta) {
+        counters.computeIfAbsent(normalize(sql), key -> new AtomicLong()).addAndGet(delta);
+    }
+
+    private static long sum(Map<String, AtomicLong> counters, String sqlPrefix) {
+        String prefix = normalize(sqlPrefix);
+        return counters.entrySet().stream()
+            .filter(entry -> entry.getKey().startsWith(prefix))
+            .mapToLong(entry -> entry.getValue().get())
+            .sum();
+    }
+
+    private static String normalize(String sql) {
+        return sql.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return interceptor.invoke(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+        Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable;
+    }
+
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        public static JdbcStatementCounter jdbcStatementCounter() {
+            return new JdbcStatementCounter();
+        }
+
+        @Bean
+        public static BeanPostProcessor statementCountingDataSourcePostProcessor(JdbcStatementCounter counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? counter.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.Java.demo.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the annotated test when its body sends more than {@link #value()} statements to the
+ * database, counting each JDBC batch once. {@code @BeforeEach} and {@code @AfterEach} work is
+ * not counted. The test context must import {@link JdbcStatementCounter.Config}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlStatementBudgetExtension.class)
+public @interface SqlStatementBudget {
+
+    int value();
+}
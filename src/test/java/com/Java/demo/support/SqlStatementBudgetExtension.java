@@ -0,0 +1,37 @@
+package com.Java.demo.support;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Resets the {@link JdbcStatementCounter} right before a {@link SqlStatementBudget} test body
+ * runs and checks the count right after it.
+ */
+public class SqlStatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        counter(context).reset();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        SqlStatementBudget budget = context.getRequiredTestMethod().getAnnotation(SqlStatementBudget.class);
+        JdbcStatementCounter counter = counter(context);
+        long executed = counter.totalStatements();
+        if (budget != null && executed > budget.value()) {
+            throw new AssertionFailedError("SQL statement budget exceeded: " + executed + " > " + budget.value()
+                + "\n" + counter.describe());
+        }
+    }
+
+    private static JdbcStatementCounter counter(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(JdbcStatementCounter.class);
+    }
+}